@@ -0,0 +1,219 @@
+/*
+ * BenchmarkFixtures.java:  offline fixtures shared by benchmarks
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.nomencurator.model.DefaultNameUsage;
+import org.nomencurator.model.NameUsage;
+
+/**
+ * {@code BenchmarkFixtures} provides fixtures of benchmarks without
+ * accessing remote data sources.  Hierarchies are generated from a seed
+ * so that every run measures the same data; others are resources under
+ * {@code src/jmh/resources}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class BenchmarkFixtures
+{
+    /** Ranks of generated hierarchies, from the root */
+    public static final String[] RANKS = {
+	"kingdom", "phylum", "class", "order", "family", "genus", "species"
+    };
+
+    protected BenchmarkFixtures() { }
+
+    /**
+     * Generates a hierarchy of {@code RANKS} where each {@code NameUsage}
+     * has {@code fanOut} lower {@code NameUsage}s.  A {@code NameUsage}
+     * is placed under another {@code NameUsage} of the same level with
+     * probability of {@code variation}, so that hierarchies generated
+     * with different {@code seed}s share names but disagree in part.
+     *
+     * @param fanOut number of lower {@code NameUsage}s of each {@code NameUsage}
+     * @param seed of placement
+     * @param variation probability to misplace a {@code NameUsage}
+     * @return the root of the hierarchy
+     */
+    public static DefaultNameUsage createHierarchy(int fanOut, long seed, double variation)
+    {
+	Random random = new Random(seed);
+	DefaultNameUsage root = createNameUsage(RANKS[0], "Animalia");
+	List<DefaultNameUsage> parents = new ArrayList<DefaultNameUsage>(1);
+	parents.add(root);
+
+	for(int level = 1; level < RANKS.length; level++) {
+	    String rank = RANKS[level];
+	    List<DefaultNameUsage> children = new ArrayList<DefaultNameUsage>(parents.size() * fanOut);
+	    for(int p = 0; p < parents.size(); p++) {
+		DefaultNameUsage parent = parents.get(p);
+		for(int c = 0; c < fanOut; c++) {
+		    String name = "species".equals(rank) ?
+			parent.getLiteral() + " species" + c :
+			capitalize(rank) + (p * fanOut + c);
+		    DefaultNameUsage child = createNameUsage(rank, name);
+		    DefaultNameUsage higher = parent;
+		    if(variation > 0 && random.nextDouble() < variation)
+			higher = parents.get(random.nextInt(parents.size()));
+		    child.setHigherNameUsage(higher);
+		    children.add(child);
+		}
+	    }
+	    parents = children;
+	}
+	return root;
+    }
+
+    /**
+     * Generates {@code count} hierarchies sharing names.
+     *
+     * @param count number of hierarchies
+     * @param fanOut number of lower {@code NameUsage}s of each {@code NameUsage}
+     * @param variation probability to misplace a {@code NameUsage}
+     * @return {@code List} of roots
+     */
+    public static List<DefaultNameUsage> createHierarchies(int count, int fanOut, double variation)
+    {
+	List<DefaultNameUsage> roots = new ArrayList<DefaultNameUsage>(count);
+	for(int i = 0; i < count; i++)
+	    roots.add(createHierarchy(fanOut, i, i == 0 ? 0 : variation));
+	return roots;
+    }
+
+    public static DefaultNameUsage createNameUsage(String rank, String name)
+    {
+	DefaultNameUsage nameUsage = new DefaultNameUsage();
+	nameUsage.setRankLiteral(rank);
+	nameUsage.setLiteral(name);
+	return nameUsage;
+    }
+
+    /**
+     * Returns literals of {@code root} and its descendants in pre-order.
+     *
+     * @param root of a hierarchy
+     * @return {@code List} of literals
+     */
+    public static List<String> getLiterals(NameUsage<?> root)
+    {
+	List<String> literals = new ArrayList<String>();
+	collectLiterals(root, literals);
+	return literals;
+    }
+
+    protected static void collectLiterals(NameUsage<?> nameUsage, List<String> literals)
+    {
+	literals.add(nameUsage.getLiteral());
+	List<? extends NameUsage<?>> lowers = nameUsage.getLowerNameUsages();
+	if(lowers == null)
+	    return;
+	for(NameUsage<?> lower : lowers)
+	    collectLiterals(lower, literals);
+    }
+
+    /**
+     * Returns a Newick representation of the hierarchy under {@code root}.
+     *
+     * @param root of a hierarchy
+     * @return Newick {@code String} terminated by a semicolon
+     */
+    public static String toNewick(NameUsage<?> root)
+    {
+	StringBuffer buffer = new StringBuffer();
+	appendNewick(root, buffer);
+	return buffer.append(';').toString();
+    }
+
+    protected static void appendNewick(NameUsage<?> nameUsage, StringBuffer buffer)
+    {
+	List<? extends NameUsage<?>> lowers = nameUsage.getLowerNameUsages();
+	if(lowers != null && !lowers.isEmpty()) {
+	    buffer.append('(');
+	    boolean first = true;
+	    for(NameUsage<?> lower : lowers) {
+		if(!first)
+		    buffer.append(',');
+		first = false;
+		appendNewick(lower, buffer);
+	    }
+	    buffer.append(')');
+	}
+	buffer.append(nameUsage.getLiteral().replace(' ', '_'));
+    }
+
+    /**
+     * Returns contents of a resource of this package.
+     *
+     * @param name of the resource
+     * @return contents of the resource
+     * @exception IOException if the resource is not found or unreadable
+     */
+    public static byte[] readResource(String name)
+	throws IOException
+    {
+	try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(name)) {
+	    if(in == null)
+		throw new IOException("no fixture " + name);
+	    ByteArrayOutputStream out = new ByteArrayOutputStream();
+	    byte[] buffer = new byte[8192];
+	    int length;
+	    while((length = in.read(buffer)) != -1)
+		out.write(buffer, 0, length);
+	    return out.toByteArray();
+	}
+    }
+
+    /**
+     * Writes {@code contents} to a temporary file deleted on exit.
+     *
+     * @param contents to be written
+     * @param suffix of the file name
+     * @return the temporary file
+     * @exception IOException if the file is not writable
+     */
+    public static File createTempFile(byte[] contents, String suffix)
+	throws IOException
+    {
+	File file = File.createTempFile("benchmark", suffix);
+	file.deleteOnExit();
+	try (OutputStream out = new FileOutputStream(file)) {
+	    out.write(contents);
+	}
+	return file;
+    }
+
+    protected static String capitalize(String word)
+    {
+	return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
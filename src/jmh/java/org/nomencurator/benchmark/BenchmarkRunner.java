@@ -0,0 +1,320 @@
+/*
+ * BenchmarkRunner.java:  runs benchmarks and checks them against the baseline
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@code BenchmarkRunner} runs benchmarks of this package and compares
+ * their scores, in time per operation, with a baseline recorded in a
+ * properties file.  It writes JMH results and a report to the report
+ * directory, and exits with status 1 if a benchmark is slower than its
+ * baseline by more than the tolerance.  The baseline is scaled by the
+ * ratio of the score of {@link CalibrationBenchmark} to its recorded
+ * score, so that it can be compared with scores on another machine.
+ * Benchmarks without baseline are reported but do not fail, while a
+ * baseline without any score of the benchmarks run fails the check.
+ * With {@code -update true}, the scores are written to the baseline
+ * file instead.
+ *
+ * <pre>
+ * BenchmarkRunner [-baseline file] [-report directory] [-tolerance ratio] [-update true|false] [-include regexp]
+ * </pre>
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class BenchmarkRunner
+{
+    public static final String DEFAULT_BASELINE = "src/jmh/baseline.properties";
+
+    public static final String DEFAULT_REPORT = "target/benchmark";
+
+    public static final double DEFAULT_TOLERANCE = 0.25;
+
+    public static final String DEFAULT_INCLUDE = "org\\.nomencurator\\.benchmark\\..*Benchmark.*";
+
+    /** Label of the benchmark calibrating the baseline */
+    public static final String CALIBRATION = "CalibrationBenchmark.calibrate";
+
+    protected File baseline = new File(DEFAULT_BASELINE);
+
+    protected File report = new File(DEFAULT_REPORT);
+
+    protected double tolerance = DEFAULT_TOLERANCE;
+
+    protected boolean update;
+
+    protected String include = DEFAULT_INCLUDE;
+
+    public BenchmarkRunner(String[] args)
+    {
+	for(int i = 0; i + 1 < args.length; i += 2) {
+	    String value = args[i + 1];
+	    switch(args[i]) {
+	    case "-baseline":
+		baseline = new File(value);
+		break;
+	    case "-report":
+		report = new File(value);
+		break;
+	    case "-tolerance":
+		tolerance = Double.parseDouble(value);
+		break;
+	    case "-update":
+		update = Boolean.parseBoolean(value);
+		break;
+	    case "-include":
+		include = value;
+		break;
+	    default:
+		throw new IllegalArgumentException("unknown option " + args[i]);
+	    }
+	}
+    }
+
+    /**
+     * Runs the benchmarks and checks their scores.
+     *
+     * @return number of regressions
+     */
+    public int run()
+	throws IOException, RunnerException
+    {
+	report.mkdirs();
+	Options options = new OptionsBuilder()
+	    .include(include)
+	    .include(Pattern.quote(BenchmarkRunner.class.getPackage().getName() + "." + CALIBRATION))
+	    .resultFormat(ResultFormatType.JSON)
+	    .result(new File(report, "jmh-result.json").getPath())
+	    .build();
+	Collection<RunResult> results = new Runner(options).run();
+
+	Map<String, Double> scores = new TreeMap<String, Double>();
+	Map<String, String> units = new TreeMap<String, String>();
+	for(RunResult result : results) {
+	    String label = getLabel(result.getParams());
+	    Result<?> primary = result.getPrimaryResult();
+	    scores.put(label, primary.getScore());
+	    units.put(label, primary.getScoreUnit());
+	}
+
+	if(update) {
+	    Properties recorded = loadBaseline();
+	    for(Map.Entry<String, Double> entry : scores.entrySet())
+		recorded.setProperty(entry.getKey(), format(entry.getValue()));
+	    storeBaseline(recorded);
+	}
+
+	return check(scores, units, update ? new Properties() : loadBaseline());
+    }
+
+    /**
+     * Returns ratio of the calibration score to its baseline,
+     * or 1 if either of them is unknown.
+     */
+    protected static double getScale(Map<String, Double> scores, Properties baselines)
+    {
+	Double score = scores.get(CALIBRATION);
+	String recorded = baselines.getProperty(CALIBRATION);
+	if(score == null || recorded == null)
+	    return 1.0;
+	double base = Double.parseDouble(recorded);
+	return base > 0 ? score / base : 1.0;
+    }
+
+    /**
+     * Compares {@code scores} with {@code baselines} scaled by the
+     * calibration and writes the report.
+     *
+     * @return number of regressions, or of benchmarks if none of them has baseline
+     */
+    protected int check(Map<String, Double> scores, Map<String, String> units, Properties baselines)
+	throws IOException
+    {
+	int regressions = 0;
+	int checked = 0;
+	double scale = getScale(scores, baselines);
+	try (PrintWriter writer =
+	     new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(report, "report.txt")), StandardCharsets.UTF_8))) {
+	    String header = String.format("%-72s %12s %12s %8s  %s", "benchmark", "baseline", "score", "ratio", "status");
+	    writer.println(header);
+	    System.out.println(header);
+	    String calibration = String.format(Locale.ROOT, "baseline scaled by %.2f", scale);
+	    writer.println(calibration);
+	    System.out.println(calibration);
+	    for(Map.Entry<String, Double> entry : scores.entrySet()) {
+		String label = entry.getKey();
+		double score = entry.getValue();
+		String recorded = baselines.getProperty(label);
+		String line = null;
+		if(recorded == null) {
+		    line = String.format("%-72s %12s %12.3f %8s  %s %s", label, "-", score, "-", update ? "recorded" : "new", units.get(label));
+		}
+		else {
+		    double base = Double.parseDouble(recorded) * scale;
+		    double ratio = base > 0 ? score / base : 1.0;
+		    boolean regressed = ratio > 1.0 + tolerance;
+		    if(regressed)
+			regressions++;
+		    if(!CALIBRATION.equals(label))
+			checked++;
+		    line = String.format("%-72s %12.3f %12.3f %8.2f  %s %s", label, base, score, ratio, regressed ? "REGRESSED" : "ok", units.get(label));
+		}
+		writer.println(line);
+		System.out.println(line);
+	    }
+	    // an empty or stale baseline would pass any score
+	    if(!update && checked == 0 && scores.size() > 1) {
+		String line = "no benchmark has baseline in " + baseline;
+		writer.println(line);
+		System.out.println(line);
+		regressions = scores.size() - 1;
+	    }
+	}
+	return regressions;
+    }
+
+    /**
+     * Returns a label of a benchmark with its parameters, e.g.
+     * {@code RoughSetBenchmark.union[size=100]}.
+     */
+    protected static String getLabel(BenchmarkParams params)
+    {
+	String benchmark = params.getBenchmark();
+	String prefix = BenchmarkRunner.class.getPackage().getName() + ".";
+	if(benchmark.startsWith(prefix))
+	    benchmark = benchmark.substring(prefix.length());
+
+	StringBuffer label = new StringBuffer(benchmark);
+	Collection<String> keys = params.getParamsKeys();
+	if(!keys.isEmpty()) {
+	    label.append('[');
+	    boolean first = true;
+	    for(String key : keys) {
+		if(!first)
+		    label.append(',');
+		first = false;
+		label.append(key).append('=').append(params.getParam(key));
+	    }
+	    label.append(']');
+	}
+	return label.toString();
+    }
+
+    protected static String format(double score)
+    {
+	return String.format(Locale.ROOT, "%.3f", score);
+    }
+
+    protected Properties loadBaseline()
+	throws IOException
+    {
+	Properties properties = new Properties();
+	if(!baseline.exists())
+	    return properties;
+	try (Reader reader = new InputStreamReader(new FileInputStream(baseline), StandardCharsets.UTF_8)) {
+	    properties.load(reader);
+	}
+	return properties;
+    }
+
+    /**
+     * Writes {@code properties} to the baseline file sorted by keys,
+     * so that changes of the baseline are easy to review.
+     */
+    protected void storeBaseline(Properties properties)
+	throws IOException
+    {
+	Map<String, String> sorted = new TreeMap<String, String>();
+	for(String key : properties.stringPropertyNames())
+	    sorted.put(key, properties.getProperty(key));
+
+	File parent = baseline.getAbsoluteFile().getParentFile();
+	if(parent != null)
+	    parent.mkdirs();
+	try (PrintWriter writer =
+	     new PrintWriter(new OutputStreamWriter(new FileOutputStream(baseline), StandardCharsets.UTF_8))) {
+	    writer.println("# Baseline of benchmarks under src/jmh, in time per operation");
+	    writer.println("# of the unit reported by BenchmarkRunner.  Update by");
+	    writer.println("#   mvn -Pbenchmark verify -Dbenchmark.update=true");
+	    for(Map.Entry<String, String> entry : sorted.entrySet())
+		writer.println(escape(entry.getKey()) + "=" + entry.getValue());
+	}
+    }
+
+    protected static String escape(String key)
+    {
+	StringBuffer buffer = new StringBuffer(key.length() + 8);
+	for(int i = 0; i < key.length(); i++) {
+	    char c = key.charAt(i);
+	    if(c == '=' || c == ':' || c == ' ' || c == '#' || c == '!' || c == '\\')
+		buffer.append('\\');
+	    buffer.append(c);
+	}
+	return buffer.toString();
+    }
+
+    public static void main(String[] args)
+    {
+	try {
+	    int regressions = new BenchmarkRunner(args).run();
+	    if(regressions > 0) {
+		System.err.println(regressions + " benchmark(s) regressed beyond the tolerance");
+		System.exit(1);
+	    }
+	}
+	catch (IOException | RunnerException e) {
+	    e.printStackTrace();
+	    System.exit(2);
+	}
+    }
+}
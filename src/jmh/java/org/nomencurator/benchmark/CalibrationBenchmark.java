@@ -0,0 +1,86 @@
+/*
+ * CalibrationBenchmark.java:  a fixed workload to calibrate the baseline
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code CalibrationBenchmark} measures a fixed workload of hashing,
+ * sorting and allocating strings, independent of code of this project.
+ * {@link BenchmarkRunner} scales the baseline by the ratio of this
+ * score to its recorded score, so that a baseline recorded on one
+ * machine is usable on another.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalibrationBenchmark
+{
+    protected static final int SIZE = 10000;
+
+    protected String[] names;
+
+    @Setup
+    public void setUp()
+    {
+	Random random = new Random(SIZE);
+	names = new String[SIZE];
+	for(int i = 0; i < SIZE; i++)
+	    names[i] = "Name" + random.nextInt(SIZE * 4);
+    }
+
+    @Benchmark
+    public int calibrate()
+    {
+	Map<String, Integer> counts = new HashMap<String, Integer>(SIZE * 2);
+	for(String name : names) {
+	    Integer count = counts.get(name);
+	    counts.put(name, count == null ? 1 : count + 1);
+	}
+	String[] sorted = counts.keySet().toArray(new String[counts.size()]);
+	Arrays.sort(sorted);
+	return sorted.length;
+    }
+}
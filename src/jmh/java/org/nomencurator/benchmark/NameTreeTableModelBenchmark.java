@@ -0,0 +1,98 @@
+/*
+ * NameTreeTableModelBenchmark.java:  benchmark of cell access of NameTreeTableModel
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.gui.swing.table.NameTreeTableModel;
+import org.nomencurator.gui.swing.tree.NameTreeModel;
+import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
+
+import org.nomencurator.model.DefaultNameUsage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code NameTreeTableModelBenchmark} measures reading all cells of
+ * {@link NameTreeTableModel}s, as done by repaints while scrolling,
+ * with and without the cell matrix.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameTreeTableModelBenchmark
+{
+    /** True to serve cells from the cell matrix */
+    @Param({"false", "true"})
+    public boolean matrix;
+
+    protected List<NameTreeTableModel> tableModels;
+
+    @Setup
+    public void setUp()
+    {
+	List<DefaultNameUsage> roots = BenchmarkFixtures.createHierarchies(4, 3, 0.1);
+	UnitedNameTreeModel united = new UnitedNameTreeModel(roots.size() + 1);
+	for(DefaultNameUsage root : roots)
+	    united.add(new NameTreeModel(root), false, null);
+	tableModels = NameTreeTableModel.createTableModels(united);
+	if(matrix) {
+	    for(NameTreeTableModel tableModel : tableModels)
+		tableModel.buildCellMatrix();
+	}
+    }
+
+    @Benchmark
+    public int getValueAt()
+    {
+	int count = 0;
+	for(NameTreeTableModel tableModel : tableModels) {
+	    int rows = tableModel.getRowCount();
+	    int columns = tableModel.getColumnCount();
+	    for(int row = 0; row < rows; row++) {
+		for(int column = 1; column < columns; column++) {
+		    if(tableModel.getValueAt(row, column) != null)
+			count++;
+		}
+	    }
+	}
+	return count;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * NamedObjectBenchmark.java:  benchmark of AbstractNamedObject equality
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.model.AbstractNamedObject;
+import org.nomencurator.model.DefaultNameUsage;
+import org.nomencurator.model.NameUsage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code NamedObjectBenchmark} measures {@code equals} and
+ * {@code hashCode} of {@link org.nomencurator.model.AbstractNamedObject}s,
+ * on {@code NameUsage}s of two hierarchies generated alike, under each
+ * {@code AbstractNamedObject.Equality} mode.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedObjectBenchmark
+{
+    protected DefaultNameUsage[] usages;
+
+    protected DefaultNameUsage[] copies;
+
+    @Param({"CONTENTS", "PERSISTENT_ID"})
+    public String equality;
+
+    @Setup
+    public void setUp()
+    {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.valueOf(equality));
+	usages = flatten(BenchmarkFixtures.createHierarchy(3, 0, 0));
+	copies = flatten(BenchmarkFixtures.createHierarchy(3, 0, 0));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.CONTENTS);
+    }
+
+    protected static DefaultNameUsage[] flatten(DefaultNameUsage root)
+    {
+	List<DefaultNameUsage> list = new ArrayList<DefaultNameUsage>();
+	flatten(root, list);
+	return list.toArray(new DefaultNameUsage[list.size()]);
+    }
+
+    protected static void flatten(DefaultNameUsage nameUsage, List<DefaultNameUsage> list)
+    {
+	list.add(nameUsage);
+	if(nameUsage.getLowerNameUsages() == null)
+	    return;
+	for(NameUsage<DefaultNameUsage> lower : nameUsage.getLowerNameUsages())
+	    flatten((DefaultNameUsage)lower, list);
+    }
+
+    @Benchmark
+    public int hashCodes()
+    {
+	int hash = 0;
+	for(DefaultNameUsage usage : usages)
+	    hash += usage.hashCode();
+	return hash;
+    }
+
+    /** Compares equivalent but distinct objects */
+    @Benchmark
+    public int equalsCopies()
+    {
+	int count = 0;
+	for(int i = 0; i < usages.length; i++) {
+	    if(usages[i].equals(copies[i]))
+		count++;
+	}
+	return count;
+    }
+
+    /** Compares objects with their neighbours */
+    @Benchmark
+    public int equalsOthers()
+    {
+	int count = 0;
+	for(int i = 1; i < usages.length; i++) {
+	    if(usages[i].equals(usages[i - 1]))
+		count++;
+	}
+	return count;
+    }
+
+    @Benchmark
+    public Set<DefaultNameUsage> hashSet()
+    {
+	Set<DefaultNameUsage> set = new HashSet<DefaultNameUsage>(usages.length * 2);
+	for(DefaultNameUsage usage : usages)
+	    set.add(usage);
+	for(DefaultNameUsage copy : copies)
+	    set.add(copy);
+	return set;
+    }
+
+    /** Puts objects as keys then looks them up by their copies */
+    @Benchmark
+    public int hashMap()
+    {
+	Map<DefaultNameUsage, Integer> map = new HashMap<DefaultNameUsage, Integer>(usages.length * 2);
+	for(int i = 0; i < usages.length; i++)
+	    map.put(usages[i], i);
+	int found = 0;
+	for(DefaultNameUsage copy : copies) {
+	    if(map.get(copy) != null)
+		found++;
+	}
+	return found;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * NewickReaderBenchmark.java:  benchmark of NewickReader
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.io.NewickReader;
+
+import org.nomencurator.model.NameUsage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code NewickReaderBenchmark} measures {@link NewickReader#parseTrees(File)}
+ * on the fixture {@code trees.nwk} and on a generated tree of some
+ * thousands of nodes.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewickReaderBenchmark
+{
+    protected File fixture;
+
+    protected File generated;
+
+    @Setup
+    public void setUp()
+	throws IOException
+    {
+	fixture = BenchmarkFixtures.createTempFile(BenchmarkFixtures.readResource("trees.nwk"), ".nwk");
+	String newick = BenchmarkFixtures.toNewick(BenchmarkFixtures.createHierarchy(4, 0, 0));
+	generated = BenchmarkFixtures.createTempFile(newick.getBytes(StandardCharsets.UTF_8), ".nwk");
+    }
+
+    @Benchmark
+    public NameUsage<?>[] parseFixture()
+	throws IOException
+    {
+	return new NewickReader().parseTrees(fixture);
+    }
+
+    @Benchmark
+    public NameUsage<?>[] parseGenerated()
+	throws IOException
+    {
+	return new NewickReader().parseTrees(generated);
+    }
+}
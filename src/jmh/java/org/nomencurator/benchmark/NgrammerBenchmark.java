@@ -0,0 +1,115 @@
+/*
+ * NgrammerBenchmark.java:  benchmark of Ngrammer
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.util.Ngrammer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code NgrammerBenchmark} measures indexing, looking up and searching
+ * names of a generated hierarchy by {@link Ngrammer}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NgrammerBenchmark
+{
+    /** Number of lower {@code NameUsage}s of each {@code NameUsage} */
+    @Param({"3", "5"})
+    public int fanOut;
+
+    protected List<String> names;
+
+    protected Ngrammer ngrammer;
+
+    protected String[] queries;
+
+    @Setup
+    public void setUp()
+    {
+	names = BenchmarkFixtures.getLiterals(BenchmarkFixtures.createHierarchy(fanOut, 0, 0));
+	ngrammer = new Ngrammer();
+	for(String name : names)
+	    ngrammer.put(name);
+
+	// misspelt names as well as exact ones
+	queries = new String[Math.min(names.size(), 100)];
+	int step = names.size() / queries.length;
+	for(int i = 0; i < queries.length; i++) {
+	    String name = names.get(i * step);
+	    queries[i] = (i & 1) == 0 ? name : name.substring(0, name.length() - 1) + "x";
+	}
+    }
+
+    @Benchmark
+    public Ngrammer put()
+    {
+	Ngrammer index = new Ngrammer();
+	for(String name : names)
+	    index.put(name);
+	return index;
+    }
+
+    @Benchmark
+    public int lookup()
+    {
+	int found = 0;
+	for(String query : queries) {
+	    Set<Object> items = ngrammer.lookup(query);
+	    found += items.size();
+	}
+	return found;
+    }
+
+    @Benchmark
+    public int search()
+    {
+	int found = 0;
+	for(String query : queries) {
+	    List<Ngrammer.Match> matches = ngrammer.search(query, 10);
+	    found += matches.size();
+	}
+	return found;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * RoughSetBenchmark.java:  benchmark of HashRoughSet operations
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.util.HashRoughSet;
+import org.nomencurator.util.RoughCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code RoughSetBenchmark} measures set operations of
+ * {@link HashRoughSet}s of which positive and negative regions
+ * overlap in part.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoughSetBenchmark
+{
+    /** Number of elements in each region */
+    @Param({"100", "10000"})
+    public int size;
+
+    protected HashRoughSet<String> a;
+
+    protected HashRoughSet<String> b;
+
+    protected String[] elements;
+
+    @Setup
+    public void setUp()
+    {
+	Random random = new Random(size);
+	a = createRoughSet(random, size);
+	b = createRoughSet(random, size);
+	elements = new String[size];
+	for(int i = 0; i < size; i++)
+	    elements[i] = "Name" + random.nextInt(size * 4);
+    }
+
+    protected static HashRoughSet<String> createRoughSet(Random random, int size)
+    {
+	HashRoughSet<String> set = new HashRoughSet<String>(size * 2);
+	for(int i = 0; i < size; i++) {
+	    set.addPositive("Name" + random.nextInt(size * 4));
+	    set.addNegative("Name" + random.nextInt(size * 4));
+	}
+	return set;
+    }
+
+    @Benchmark
+    public RoughCollection<String> intersection()
+    {
+	return a.intersection(b);
+    }
+
+    @Benchmark
+    public RoughCollection<String> union()
+    {
+	return a.union(b);
+    }
+
+    @Benchmark
+    public List<Collection<String>> crossSection()
+    {
+	return a.crossSection(b);
+    }
+
+    @Benchmark
+    public HashRoughSet<String> add()
+    {
+	HashRoughSet<String> set = new HashRoughSet<String>();
+	for(int i = 0; i < elements.length; i++) {
+	    if((i & 1) == 0)
+		set.addPositive(elements[i]);
+	    else
+		set.addNegative(elements[i]);
+	}
+	return set;
+    }
+
+    @Benchmark
+    public int contains()
+    {
+	int count = 0;
+	for(String element : elements) {
+	    if(a.contains(element))
+		count++;
+	}
+	return count;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * UnitedNameTreeModelBenchmark.java:  benchmark of hierarchy integration
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+import org.nomencurator.gui.swing.tree.NameTreeModel;
+import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
+
+import org.nomencurator.model.DefaultNameUsage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code UnitedNameTreeModelBenchmark} measures integration of
+ * generated hierarchies, which share names but disagree in part,
+ * by {@link UnitedNameTreeModel#add(javax.swing.tree.TreeModel, boolean, org.nomencurator.gui.swing.tree.NameTreeNode)}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnitedNameTreeModelBenchmark
+{
+    /** Number of lower {@code NameUsage}s of each {@code NameUsage} */
+    @Param({"2", "3"})
+    public int fanOut;
+
+    /** Number of hierarchies to be integrated */
+    @Param({"4"})
+    public int trees;
+
+    protected List<NameTreeModel> models;
+
+    /**
+     * Trees are created for each invocation because
+     * {@code UnitedNameTreeModel} keeps track of trees added.
+     */
+    @Setup(Level.Invocation)
+    public void setUp()
+    {
+	List<DefaultNameUsage> roots = BenchmarkFixtures.createHierarchies(trees, fanOut, 0.1);
+	models = new ArrayList<NameTreeModel>(roots.size());
+	for(DefaultNameUsage root : roots)
+	    models.add(new NameTreeModel(root));
+    }
+
+    @Benchmark
+    public UnitedNameTreeModel add()
+    {
+	UnitedNameTreeModel united = new UnitedNameTreeModel(models.size() + 1);
+	for(NameTreeModel model : models)
+	    united.add(model, false, null);
+	return united;
+    }
+
+    @Benchmark
+    public UnitedNameTreeModel addRanked()
+    {
+	UnitedNameTreeModel united = new UnitedNameTreeModel(models.size() + 1);
+	for(NameTreeModel model : models)
+	    united.add(model, true, null);
+	return united;
+    }
+}
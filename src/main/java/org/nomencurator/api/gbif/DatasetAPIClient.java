@@ -1,7 +1,7 @@
 /*
  * DatasetAPIClient.java:  a client implentation using DatasetAPIClient of GBIF
  *
- * Copyright (c) 2014, 2015, 2016, 2019, 2020, 2023 Nozomi `James' Ytow
+ * Copyright (c) 2014, 2015, 2016, 2019, 2020, 2023, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -193,7 +193,7 @@ public class DatasetAPIClient extends GBIFAPIClient implements DatasetService {
 
 	Dataset response = null;
 	try {
-	    response = mapper.readValue(new URL(resourceURL.toString()), 
+	    response = mapper.readValue(getInputStream(resourceURL.toString(), (String)null),
 					new TypeReference<Dataset>() {});
 	}
 	catch (MalformedURLException e) {
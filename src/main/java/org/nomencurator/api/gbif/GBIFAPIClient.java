@@ -1,7 +1,7 @@
 /*
  * GBIFAPIClient.java:  a client implementation of GBIF SpeciesAPI
  *
- * Copyright (c) 2014, 2015 Nozomi `James' Ytow
+ * Copyright (c) 2014, 2015, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -32,16 +32,22 @@ package org.nomencurator.api.gbif;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.io.InputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 
+import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLEncoder;
 
 import java.util.Collection;
 
+import org.nomencurator.util.cache.DiskResponseCache;
+
 /**
  * <CODE>SpeciesAPI</CODE> implements a client interface to use GBIF SpeciesAPI.
  *
- * @version 	14 Oct. 2015
+ * @version 	18 Oct. 2026
  * @author Nozomi "James" Ytow
  */
 public abstract class GBIFAPIClient /* implements GBIFAPI */ {
@@ -56,6 +62,47 @@ public abstract class GBIFAPIClient /* implements GBIFAPI */ {
 
     protected ObjectMapper mapper;
 
+    /** {@code DiskResponseCache} used by clients constructed without explicit cache */
+    protected static DiskResponseCache defaultResponseCache;
+
+    protected DiskResponseCache responseCache;
+
+    /*
+     * Returns {@code DiskResponseCache} to be used by clients constructed after this call
+     *
+     * @return default {@code DiskResponseCache}, or null if responses are not cached
+     */
+    public static DiskResponseCache getDefaultResponseCache() {
+	return defaultResponseCache;
+    }
+
+    /*
+     * Set {@code DiskResponseCache} to be used by clients constructed after this call
+     *
+     * @param responseCache {@code DiskResponseCache} to be used, or null not to cache responses
+     */
+    public static void setDefaultResponseCache(DiskResponseCache responseCache) {
+	defaultResponseCache = responseCache;
+    }
+
+    /*
+     * Returns {@code DiskResponseCache} used by this client
+     *
+     * @return {@code DiskResponseCache} used by this client, or null if responses are not cached
+     */
+    public DiskResponseCache getResponseCache() {
+	return responseCache;
+    }
+
+    /*
+     * Set {@code DiskResponseCache} to be used by this client
+     *
+     * @param responseCache {@code DiskResponseCache} to be used, or null not to cache responses
+     */
+    public void setResponseCache(DiskResponseCache responseCache) {
+	this.responseCache = responseCache;
+    }
+
     /*
      * Returns version of supported API
      *
@@ -128,11 +175,32 @@ public abstract class GBIFAPIClient /* implements GBIFAPI */ {
 	return parameter.toString();
     }
 
+    /*
+     * Returns <CODE>InputStream</CODE> to read the resource, via response cache if available.
+     *
+     * @param resourceURL String representing target URL
+     * @param acceptLanguage value of Accept-Language request property, or null
+     * @return <CODE>InputStream</CODE> to read the resource
+     */
+    protected InputStream getInputStream(String resourceURL, String acceptLanguage)
+	throws IOException
+    {
+	DiskResponseCache cache = responseCache;
+	if(cache != null)
+	    return cache.get(resourceURL, acceptLanguage);
+
+	URLConnection connection = new URL(resourceURL).openConnection();
+	if(acceptLanguage != null && acceptLanguage.length() > 0)
+	    connection.setRequestProperty("Accept-Language", acceptLanguage);
+	return connection.getInputStream();
+    }
+
     protected GBIFAPIClient ()
     {
 	setVersion(CURRENT_VERSION);
 	setBaseURL("http://api.gbif.org");
 	mapper = new ObjectMapper();
+	responseCache = defaultResponseCache;
     }
 
 }
@@ -0,0 +1,318 @@
+/*
+ * PagingIterator.java:  a lazy Iterator over GBIF PagingResponses
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.api.gbif;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.gbif.api.model.common.paging.Pageable;
+import org.gbif.api.model.common.paging.PagingRequest;
+import org.gbif.api.model.common.paging.PagingResponse;
+
+/**
+ * <CODE>PagingIterator</CODE> iterates over results of a paged GBIF API
+ * endpoint without buffering all pages.  While the caller consumes a page,
+ * up to <CODE>prefetch</CODE> following pages are requested in background.
+ * A page given as null ends the iteration, as list methods of the clients
+ * return null on failure.  A page failed to load by an exception ends the
+ * iteration with an <CODE>UncheckedIOException</CODE> thrown from
+ * <CODE>hasNext()</CODE>, and the cause is kept as <CODE>getFailure()</CODE>.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class PagingIterator<T>
+    implements Iterator<T>, AutoCloseable
+{
+    /** Default number of records in a page */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    /** Default number of pages requested ahead */
+    public static final int DEFAULT_PREFETCH = 2;
+
+    protected static final int PREFETCH_THREADS = 4;
+
+    private static Executor defaultExecutor;
+
+    /**
+     * <CODE>PageLoader</CODE> loads a page of an endpoint.
+     */
+    public interface PageLoader<T>
+    {
+	public PagingResponse<T> load(Pageable page) throws IOException;
+    }
+
+    protected final PageLoader<T> loader;
+
+    protected final int pageSize;
+
+    protected final int prefetch;
+
+    protected final Executor executor;
+
+    protected final Deque<Future<PagingResponse<T>>> pages;
+
+    protected Iterator<T> current;
+
+    protected long nextOffset;
+
+    protected Long count;
+
+    protected boolean endOfRecords;
+
+    protected boolean closed;
+
+    protected IOException failure;
+
+    public PagingIterator(PageLoader<T> loader)
+    {
+	this(loader, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH);
+    }
+
+    public PagingIterator(PageLoader<T> loader, int pageSize, int prefetch)
+    {
+	this(loader, pageSize, prefetch, getDefaultExecutor());
+    }
+
+    /**
+     * Constructs an iterator over pages loaded by <CODE>loader</CODE>.
+     *
+     * @param loader to load a page
+     * @param pageSize number of records in a page
+     * @param prefetch number of pages requested ahead, or zero to load pages on demand
+     * @param executor to load pages in background
+     */
+    public PagingIterator(PageLoader<T> loader, int pageSize, int prefetch, Executor executor)
+    {
+	if(pageSize < 1)
+	    throw new IllegalArgumentException("page size must be positive: " + pageSize);
+	this.loader = loader;
+	this.pageSize = pageSize;
+	this.prefetch = Math.max(prefetch, 0);
+	this.executor = executor;
+	pages = new ArrayDeque<Future<PagingResponse<T>>>(this.prefetch + 1);
+	nextOffset = 0;
+    }
+
+    protected static synchronized Executor getDefaultExecutor()
+    {
+	if(defaultExecutor == null) {
+	    ThreadPoolExecutor pool =
+		new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS,
+				       60L, TimeUnit.SECONDS,
+				       new LinkedBlockingQueue<Runnable>(),
+				       new ThreadFactory() {
+					   public Thread newThread(Runnable runnable) {
+					       Thread thread = new Thread(runnable, "gbif-prefetch");
+					       thread.setDaemon(true);
+					       return thread;
+					   }
+				       });
+	    pool.allowCoreThreadTimeOut(true);
+	    defaultExecutor = pool;
+	}
+	return defaultExecutor;
+    }
+
+    /**
+     * Requests the page at <CODE>nextOffset</CODE>.
+     */
+    protected void request()
+    {
+	final Pageable page = new PagingRequest(nextOffset, pageSize);
+	nextOffset += pageSize;
+	FutureTask<PagingResponse<T>> task = new FutureTask<PagingResponse<T>>(new Callable<PagingResponse<T>>() {
+		public PagingResponse<T> call() throws IOException {
+		    return loader.load(page);
+		}
+	    });
+	pages.addLast(task);
+	if(prefetch == 0)
+	    task.run();
+	else
+	    executor.execute(task);
+    }
+
+    /**
+     * Requests following pages up to the prefetch depth.
+     * Pages beyond the count, if known, are not requested.
+     */
+    protected void fill()
+    {
+	while(!closed && !endOfRecords
+	      && pages.size() < Math.max(prefetch, 1)
+	      && (count == null || nextOffset < count.longValue())) {
+	    request();
+	}
+    }
+
+    public boolean hasNext()
+    {
+	while(!closed && (current == null || !current.hasNext())) {
+	    if(pages.isEmpty())
+		fill();
+	    Future<PagingResponse<T>> page = pages.pollFirst();
+	    if(page == null) {
+		close();
+		break;
+	    }
+	    // keep following pages loading while waiting for and consuming this page
+	    if(prefetch > 0)
+		fill();
+
+	    PagingResponse<T> response = null;
+	    try {
+		response = page.get();
+	    }
+	    catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+	    }
+	    catch (ExecutionException e) {
+		close();
+		throw fail(e.getCause());
+	    }
+
+	    List<T> results = response == null ? null : response.getResults();
+	    if(results == null) {
+		close();
+		break;
+	    }
+
+	    current = results.iterator();
+	    if(response.getCount() != null)
+		count = response.getCount();
+	    if(Pager.isEndOfRecords(response) || results.isEmpty())
+		cancelPending();
+	}
+	return current != null && current.hasNext();
+    }
+
+    public T next()
+    {
+	if(!hasNext())
+	    throw new NoSuchElementException();
+	return current.next();
+    }
+
+    /**
+     * Records <CODE>cause</CODE> of failure to load a page and
+     * returns an unchecked exception to be thrown.
+     *
+     * @param cause of the failure
+     * @return <CODE>RuntimeException</CODE> to be thrown
+     */
+    protected RuntimeException fail(Throwable cause)
+    {
+	if(cause instanceof Error)
+	    throw (Error)cause;
+	if(cause instanceof RuntimeException) {
+	    failure = new IOException(cause);
+	    return (RuntimeException)cause;
+	}
+	failure = (cause instanceof IOException) ? (IOException)cause : new IOException(cause);
+	return new UncheckedIOException(failure);
+    }
+
+    /**
+     * Returns the exception which ended the iteration, or null
+     * if all pages have been loaded or the iteration is continuing.
+     *
+     * @return <CODE>IOException</CODE> failed to load a page, or null
+     */
+    public IOException getFailure()
+    {
+	return failure;
+    }
+
+    /**
+     * Returns total number of records if known, or null.
+     *
+     * @return total number of records or null
+     */
+    public Long getCount()
+    {
+	return count;
+    }
+
+    protected void cancelPending()
+    {
+	endOfRecords = true;
+	Future<PagingResponse<T>> page = pages.pollFirst();
+	while(page != null) {
+	    page.cancel(true);
+	    page = pages.pollFirst();
+	}
+    }
+
+    /**
+     * Stops iteration and cancels pages requested in background.
+     */
+    public void close()
+    {
+	if(closed)
+	    return;
+	closed = true;
+	cancelPending();
+	current = null;
+    }
+
+    public Spliterator<T> spliterator()
+    {
+	return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential <CODE>Stream</CODE> of records, which closes
+     * this iterator when closed.
+     *
+     * @return <CODE>Stream</CODE> of records
+     */
+    public Stream<T> stream()
+    {
+	return StreamSupport.stream(spliterator(), false).onClose(new Runnable() {
+		public void run() {
+		    close();
+		}
+	    });
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * SpeciesAPIClient.java:  a client implementation of GBIF SpeciesAPI
  *
- * Copyright (c) 2014, 2015, 2016, 2020, 2023 Nozomi `James' Ytow
+ * Copyright (c) 2014, 2015, 2016, 2020, 2023, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -118,7 +118,7 @@ import org.nomencurator.api.gbif.model.checklistbank.ParsedName;
 /**
  * <CODE>SpeciesAPI</CODE> implements a client interface to use GBIF SpeciesAPI.
  *
- * @version 	16 May. 2023
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class SpeciesAPIClient
@@ -130,6 +130,48 @@ public class SpeciesAPIClient
     private String parserURL;
     private String parserURLEpithet;
 
+    /** Number of records in a page requested by iterators */
+    private int pageSize = PagingIterator.DEFAULT_PAGE_SIZE;
+
+    /** Number of pages requested ahead by iterators */
+    private int prefetch = PagingIterator.DEFAULT_PREFETCH;
+
+    /*
+     * Returns number of records in a page requested by iterators
+     *
+     * @return number of records in a page
+     */
+    public int getPageSize() {
+	return pageSize;
+    }
+
+    /*
+     * Sets number of records in a page requested by iterators
+     *
+     * @param pageSize number of records in a page
+     */
+    public void setPageSize(int pageSize) {
+	this.pageSize = pageSize;
+    }
+
+    /*
+     * Returns number of pages requested ahead by iterators
+     *
+     * @return number of pages requested ahead
+     */
+    public int getPrefetch() {
+	return prefetch;
+    }
+
+    /*
+     * Sets number of pages requested ahead by iterators
+     *
+     * @param prefetch number of pages requested ahead, or zero to request pages on demand
+     */
+    public void setPrefetch(int prefetch) {
+	this.prefetch = prefetch;
+    }
+
     /**
      * Returns <code>HttpURLConnection</code> targeting given URL
      * with Accept-Language property setted to the language code of the locale.
@@ -162,19 +204,66 @@ public class SpeciesAPIClient
 	URL url = new URL(resourceURL);
 	connection = (HttpURLConnection)url.openConnection();
 	if (locales != null && locales.length > 0) {
-	    StringBuffer languages = new StringBuffer();
-	    for (Locale locale : locales) {
-		if (locale != null) {
-		    if (languages.length() > 0)
-			languages.append(',');
-		    languages.append(locale.getLanguage());
-		}
-	    }
-	    connection.setRequestProperty("Accept-Language", languages.toString());
+	    connection.setRequestProperty("Accept-Language", getAcceptLanguage(locales));
 	}
 	return connection;
     }
 
+    /**
+     * Returns value of Accept-Language property representing language codes of the locales.
+     *
+     * @param locales of which language code to be specified as Accept-Language, or unspeficied if null
+     * @return value of Accept-Language, or null if unspecified
+     */
+    protected String getAcceptLanguage(@Nullable Locale ... locales)
+    {
+	if (locales == null || locales.length == 0)
+	    return null;
+
+	StringBuffer languages = new StringBuffer();
+	for (Locale locale : locales) {
+	    if (locale != null) {
+		if (languages.length() > 0)
+		    languages.append(',');
+		languages.append(locale.getLanguage());
+	    }
+	}
+	return languages.toString();
+    }
+
+    /**
+     * Returns <code>InputStream</code> to read the resource at given URL,
+     * via the response cache if available,
+     * with Accept-Language property setted to the language code of the locale.
+     *
+     * @param resouceURL String representing target URL
+     * @param locales an array of locales of which language code to be specified as Accept-Language, or unspeficied if null
+     * @return <code>InputStream</code> to read the resource
+     */
+    protected InputStream getInputStream(String resourceURL, @Nullable List<Locale> locales)
+	throws IOException, MalformedURLException
+    {
+	Locale[] localeArray = null;
+	if (locales != null &&  !locales.isEmpty())
+	    localeArray = locales.toArray(new Locale[locales.size()]);
+	return getInputStream(resourceURL, localeArray);
+    }
+
+    /**
+     * Returns <code>InputStream</code> to read the resource at given URL,
+     * via the response cache if available,
+     * with Accept-Language property setted to the language code of the locale.
+     *
+     * @param resouceURL String representing target URL
+     * @param locales of which language code to be specified as Accept-Language, or unspeficied if null
+     * @return <code>InputStream</code> to read the resource
+     */
+    protected InputStream getInputStream(String resourceURL, @Nullable Locale ... locales)
+	throws IOException, MalformedURLException
+    {
+	return getInputStream(resourceURL, getAcceptLanguage(locales));
+    }
+
     protected static List<Locale> getList(Locale locale)
     {
 	List<Locale> locales = null;
@@ -459,27 +548,7 @@ public class SpeciesAPIClient
 	    resourceURL.append("?").append(languages);
 	}
 
-	HttpURLConnection connection = null;
-	MalformedURLException mx = null;
-	IOException iox = null;
-	try {
-	    connection = getConnection(resourceURL.toString(), locales);
-	    nameUsage = mapper.readValue(connection.getInputStream(), NameUsage.class);
-	}
-	catch (MalformedURLException e) {
-	    mx = e;
-	}
-	catch (IOException e) {
-	    iox = e;
-	}
-	finally {
-	    if (connection != null)
-		connection.disconnect();
-	    if (mx != null)
-		throw mx;
-	    if (iox != null)
-		throw iox;
-	}
+	nameUsage = mapper.readValue(getInputStream(resourceURL.toString(), locales), NameUsage.class);
 
 	return nameUsage;
     }
@@ -604,18 +673,8 @@ public class SpeciesAPIClient
 	    }
 
 	}
-	PagingResponse<NameUsage> response = null;
-	try {
-	    HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	    response = mapper.readValue(connection.getInputStream(),
-					new TypeReference<PagingResponse<NameUsage>>() {});
-	    connection.disconnect();
-	}
-	catch (MalformedURLException e) {
-	}
-	catch (IOException e) {
-	}
-	return response;
+	return mapper.readValue(getInputStream(resourceURL.toString(), locales),
+				new TypeReference<PagingResponse<NameUsage>>() {});
     }
 
     public List<NameUsage> listByCanonicalName(String canonicalName, @Nullable List<Locale> locales, @Nullable UUID ... datasetKey)
@@ -713,10 +772,8 @@ public class SpeciesAPIClient
       }
 
       PagingResponse<NameUsage> response = null;
-      HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-      response = mapper.readValue(connection.getInputStream(),
+      response = mapper.readValue(getInputStream(resourceURL.toString(), locales),
 				  new TypeReference<PagingResponse<NameUsage>>() {});
-      connection.disconnect();
 
       return response;
   }
@@ -752,6 +809,29 @@ public class SpeciesAPIClient
 
 
     public PagingResponse<NameUsage> listChildren(@Nullable Pageable page, int parentKey, @Nullable Locale ... locales)
+    {
+	PagingResponse<NameUsage> response = null;
+	try {
+	    response = loadChildren(page, parentKey, locales);
+	}
+	catch (IOException e) {
+	}
+	return response;
+    }
+
+    /**
+     * Returns a page of children of <tt>parentKey</tt>,
+     * or throws an <tt>IOException</tt> on failure unlike
+     * <tt>listChildren</tt> returning null.
+     *
+     * @param page to be loaded, or null
+     * @param parentKey key of the parent name usage
+     * @param locales of vernacular names, or null
+     * @return <tt>PagingResponse</tt> of the page
+     * @throws IOException if the page could not be loaded
+     */
+    public PagingResponse<NameUsage> loadChildren(@Nullable Pageable page, int parentKey, @Nullable Locale ... locales)
+	throws IOException
     {
       StringBuffer resourceURL = getResourceURL(parentKey, "children");
       if ((locales != null && locales.length > 0) ||  page != null)  {
@@ -769,19 +849,8 @@ public class SpeciesAPIClient
 	  }
       }
 
-      PagingResponse<NameUsage> response = null;
-      try {
-	  HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	  response = mapper.readValue(connection.getInputStream(),
-				      new TypeReference<PagingResponse<NameUsage>>() {});
-	  connection.disconnect();
-      }
-      catch (MalformedURLException e) {
-      }
-      catch (IOException e) {
-      }
-
-      return response;
+      return mapper.readValue(getInputStream(resourceURL.toString(), locales),
+			      new TypeReference<PagingResponse<NameUsage>>() {});
   }
 
     public List<NameUsage> listParents(int usageKey, Locale locale) {
@@ -800,10 +869,8 @@ public class SpeciesAPIClient
 
 	List<NameUsage> list = null;
 	try {
-	    HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	    list = mapper.readValue(connection.getInputStream(),
+	    list = mapper.readValue(getInputStream(resourceURL.toString(), locales),
 				    new TypeReference<List<NameUsage>>() {});
-	    connection.disconnect();
 	}
 	catch (MalformedURLException e) {
 	}
@@ -864,15 +931,44 @@ public class SpeciesAPIClient
     }
 
     protected PagingResponse<NameUsage> listRelated(int nubKey, @Nullable String languages, @Nullable List<Locale> locales, @Nullable Pageable page, @Nullable UUID... datasetKey)
+    {
+	PagingResponse<NameUsage> response = null;
+	try {
+	    response = loadRelated(nubKey, languages, locales, page, datasetKey);
+	}
+	catch (IOException e) {
+	}
+	return response;
+    }
+
+    /**
+     * Returns a page of name usages related to <tt>nubKey</tt>,
+     * or throws an <tt>IOException</tt> on failure unlike
+     * <tt>listRelated</tt> returning null.
+     *
+     * @param nubKey key of the backbone name usage
+     * @param languages query parameter of languages, or null
+     * @param locales of vernacular names, or null
+     * @param page to be loaded, or null
+     * @param datasetKey keys of datasets to limit, or null
+     * @return <tt>PagingResponse</tt> of the page
+     * @throws IOException if the page could not be loaded
+     */
+    public PagingResponse<NameUsage> loadRelated(int nubKey, @Nullable String languages, @Nullable List<Locale> locales, @Nullable Pageable page, @Nullable UUID... datasetKey)
+	throws IOException
     {
 	StringBuffer resourceURL = getResourceURL(nubKey, "related");
-	if ((languages != null && languages.length() > 0) ||  datasetKey != null)  {
+	if ((languages != null && languages.length() > 0) ||  datasetKey != null || page != null)  {
 	    String connector = "";
 	    resourceURL.append("?");
 	    if (languages != null && languages.length() >0) {
 		resourceURL.append(languages);
 		connector = REST_AMPERSAND;
 	    }
+	    if(page != null) {
+		resourceURL.append(connector).append(Pager.get(page));
+		connector = REST_AMPERSAND;
+	    }
 	    if(datasetKey != null) {
 		for (UUID key : datasetKey) {
 		    try {
@@ -890,19 +986,9 @@ public class SpeciesAPIClient
 	    }
 	}
 
-	PagingResponse<NameUsage> response = null;
-	try {
-	    HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	    response = mapper.readValue(connection.getInputStream(),
-					//new TypeReference<List<NameUsage>>() {});
-					new TypeReference<PagingResponse<NameUsage>>() {});
-	    connection.disconnect();
-	}
-	catch (MalformedURLException e) {
-	}
-	catch (IOException e) {
-	}
-	return response;
+	return mapper.readValue(getInputStream(resourceURL.toString(), locales),
+				//new TypeReference<List<NameUsage>>() {});
+				new TypeReference<PagingResponse<NameUsage>>() {});
     }
 
     @Override
@@ -933,6 +1019,29 @@ public class SpeciesAPIClient
     }
 
     public PagingResponse<NameUsage> listRoot(@Nullable Pageable page, UUID datasetKey, @Nullable Locale ... locales)
+    {
+	PagingResponse<NameUsage> response = null;
+	try {
+	    response = loadRoot(page, datasetKey, locales);
+	}
+	catch (IOException e) {
+	}
+	return response;
+    }
+
+    /**
+     * Returns a page of root name usages of the dataset,
+     * or throws an <tt>IOException</tt> on failure unlike
+     * <tt>listRoot</tt> returning null.
+     *
+     * @param page to be loaded, or null
+     * @param datasetKey key of the dataset
+     * @param locales of vernacular names, or null
+     * @return <tt>PagingResponse</tt> of the page
+     * @throws IOException if the page could not be loaded
+     */
+    public PagingResponse<NameUsage> loadRoot(@Nullable Pageable page, UUID datasetKey, @Nullable Locale ... locales)
+	throws IOException
     {
 	StringBuffer resourceURL = new StringBuffer(speciesURL);
 	resourceURL.append("/root/").append(datasetKey);
@@ -951,18 +1060,8 @@ public class SpeciesAPIClient
 	    }
 	}
 
-	PagingResponse<NameUsage> response = null;
-	try {
-	    HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	    response = mapper.readValue(connection.getInputStream(),
-					new TypeReference<PagingResponse<NameUsage>>() {});
-	    connection.disconnect();
-	}
-	catch (MalformedURLException e) {
-	}
-	catch (IOException e) {
-	}
-	return response;
+	return mapper.readValue(getInputStream(resourceURL.toString(), locales),
+				new TypeReference<PagingResponse<NameUsage>>() {});
     }
 
     public List<NameUsage> listSynonyms(int usageKey, @Nullable Locale ... locales) {
@@ -994,6 +1093,29 @@ public class SpeciesAPIClient
     }
 
     public PagingResponse<NameUsage> listSynonyms(@Nullable Pageable page, int usageKey, @Nullable Locale ... locales)
+    {
+	PagingResponse<NameUsage> response = null;
+	try {
+	    response = loadSynonyms(page, usageKey, locales);
+	}
+	catch (IOException e) {
+	}
+	return response;
+    }
+
+    /**
+     * Returns a page of synonyms of <tt>usageKey</tt>,
+     * or throws an <tt>IOException</tt> on failure unlike
+     * <tt>listSynonyms</tt> returning null.
+     *
+     * @param page to be loaded, or null
+     * @param usageKey key of the name usage
+     * @param locales of vernacular names, or null
+     * @return <tt>PagingResponse</tt> of the page
+     * @throws IOException if the page could not be loaded
+     */
+    public PagingResponse<NameUsage> loadSynonyms(@Nullable Pageable page, int usageKey, @Nullable Locale ... locales)
+	throws IOException
     {
 	StringBuffer resourceURL = getResourceURL(usageKey, "synonyms");
 	if ((locales != null && locales.length > 0) ||  page != null)  {
@@ -1011,18 +1133,104 @@ public class SpeciesAPIClient
 	    }
 	}
 
-	PagingResponse<NameUsage> response = null;
-	try {
-	    HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	    response = mapper.readValue(connection.getInputStream(),
-					new TypeReference<PagingResponse<NameUsage>>() {});
-	    connection.disconnect();
-	}
-	catch (MalformedURLException e) {
-	}
-	catch (IOException e) {
-	}
-	return response;
+	return mapper.readValue(getInputStream(resourceURL.toString(), locales),
+				new TypeReference<PagingResponse<NameUsage>>() {});
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over pages loaded by <tt>loader</tt>
+     * using page size and prefetch depth of this client.
+     *
+     * @param loader to load a page
+     * @return <tt>PagingIterator</tt> over records
+     */
+    protected PagingIterator<NameUsage> iterator(PagingIterator.PageLoader<NameUsage> loader) {
+	return new PagingIterator<NameUsage>(loader, getPageSize(), getPrefetch());
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over name usages of the dataset
+     * without buffering all of them.
+     *
+     * @see #list(UUID, String, Locale...)
+     */
+    public PagingIterator<NameUsage> iterate(@Nullable final UUID datasetKey, @Nullable final String sourceId, @Nullable final Locale ... locales) {
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return list(page, datasetKey, sourceId, locales);
+		}
+	    });
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over name usages of <tt>canonicalName</tt>
+     * without buffering all of them.
+     *
+     * @see #listByCanonicalName(String, List, UUID...)
+     */
+    public PagingIterator<NameUsage> iterateByCanonicalName(final String canonicalName, @Nullable final List<Locale> locales, @Nullable final UUID ... datasetKey) {
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return listByCanonicalName(page, canonicalName, locales, datasetKey);
+		}
+	    });
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over children of <tt>parentKey</tt>
+     * without buffering all of them.
+     *
+     * @see #listChildren(int, Locale...)
+     */
+    public PagingIterator<NameUsage> iterateChildren(final int parentKey, @Nullable final Locale ... locales) {
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return loadChildren(page, parentKey, locales);
+		}
+	    });
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over name usages related to <tt>nubKey</tt>
+     * without buffering all of them.
+     *
+     * @see #listRelated(int, List, UUID...)
+     */
+    public PagingIterator<NameUsage> iterateRelated(final int nubKey, @Nullable final List<Locale> locales, @Nullable final UUID ... datasetKey) {
+	final String languages = getLanguages(locales);
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return loadRelated(nubKey, languages, locales, page, datasetKey);
+		}
+	    });
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over root name usages of the dataset
+     * without buffering all of them.
+     *
+     * @see #listRoot(UUID, Locale...)
+     */
+    public PagingIterator<NameUsage> iterateRoot(final UUID datasetKey, @Nullable final Locale ... locales) {
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return loadRoot(page, datasetKey, locales);
+		}
+	    });
+    }
+
+    /*
+     * Returns <tt>PagingIterator</tt> over synonyms of <tt>usageKey</tt>
+     * without buffering all of them.
+     *
+     * @see #listSynonyms(int, Locale...)
+     */
+    public PagingIterator<NameUsage> iterateSynonyms(final int usageKey, @Nullable final Locale ... locales) {
+	return iterator(new PagingIterator.PageLoader<NameUsage>() {
+		public PagingResponse<NameUsage> load(Pageable page) throws IOException {
+		    return loadSynonyms(page, usageKey, locales);
+		}
+	    });
     }
 
     protected boolean appendClassification(StringBuffer buffer, String connector, String rankName, String name)
@@ -1814,10 +2022,8 @@ public class SpeciesAPIClient
 
       List<NameUsage> response = null;
       try {
-	  HttpURLConnection connection = getConnection(resourceURL.toString(), locales);
-	  response = mapper.readValue(connection.getInputStream(),
+	  response = mapper.readValue(getInputStream(resourceURL.toString(), locales),
 				      new TypeReference<List<NameUsage>>() {});
-	  connection.disconnect();
       }
       catch (MalformedURLException e) {
       }
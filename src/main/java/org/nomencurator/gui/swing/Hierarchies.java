@@ -32,6 +32,7 @@ import java.awt.BorderLayout;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -71,13 +72,14 @@ import org.nomencurator.gui.swing.table.NameTreeTableMode;
 import org.nomencurator.gui.swing.table.NameTreeTableModel;
 
 import org.nomencurator.gui.swing.tree.NameTreeModel;
+import org.nomencurator.gui.swing.tree.UnitedNameTreeAlignment;
 import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
 
 /**
  * {@code Hierarchies} provides a table to compare
  * hierarchies using Nomencuartor.
  *
- * @version 	03 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Hierarchies<T extends NameUsage<?>>
@@ -290,14 +292,15 @@ public class Hierarchies<T extends NameUsage<?>>
     public synchronized void queryReturned(QueryResultEvent<T> event)
     {
 	Collection<T> nodes = event.getResults();
-	if(nodes == null)
+	if(nodes == null || nodes.isEmpty())
 	    return;
 	Iterator<T> iterator = nodes.iterator();
 	T node = iterator.next();
 	NameTreeModel model = new NameTreeModel(node);
 	model.setViewName(node.getViewName());
 
-	unitedTreeModel.add(model);
+	// merge off the event dispatch thread while the united tree is shown
+	new UnitedNameTreeAlignment(unitedTreeModel, Collections.singleton(model)).schedule();
 	//threads.remove(event.getThread());
 	/*
 	for(NameTreeTable table : nameTreeTables) {
@@ -124,7 +124,7 @@ import lombok.Setter;
 /**
  * A set of tabs containging tables to compare hierarchies
  *
- * @version 	22 Aug.. 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class HierarchiesPane<T extends NameUsage<?>>
@@ -841,8 +841,14 @@ public class HierarchiesPane<T extends NameUsage<?>>
 
 	if(nameTreeTables == null)
 	    nameTreeTables = new ArrayList<NameTreeTable<T>>();
-	else
+	else {
+	    // replaced models would keep listening to the united tree
+	    for(NameTreeTable<T> table : nameTreeTables) {
+		if(table.getModel() instanceof NameTreeTableModel)
+		    ((NameTreeTableModel)table.getModel()).dispose();
+	    }
 	    nameTreeTables.clear();
+	}
 
 	removeAll();
 
@@ -1,7 +1,7 @@
 /*
  * Taxonaut.java: a java based GUI for Nomencurator
  *
- * Copyright (c) 2002, 2003, 2004, 2014, 2015, 2016, 2019 Nozomi `James' Ytow
+ * Copyright (c) 2002, 2003, 2004, 2014, 2015, 2016, 2019, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -97,6 +97,7 @@ import javax.swing.event.TreeSelectionListener;
 import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
 
 import org.apache.poi.ss.usermodel.Workbook;
@@ -119,6 +120,8 @@ import org.nomencurator.io.QueryResultEvent;
 import org.nomencurator.io.QueryResultListener;
 import org.nomencurator.io.MultiplexNameUsageQuery;
 
+import org.nomencurator.api.gbif.GBIFAPIClient;
+
 import org.nomencurator.io.gbif.NubExchanger;
 
 import org.nomencurator.io.poi.ss.POIAdaptor;
@@ -129,11 +132,13 @@ import org.nomencurator.model.Annotation;
 import org.nomencurator.model.Appearance;
 import org.nomencurator.model.Author;
 import org.nomencurator.model.DefaultNameUsageNode;
+import org.nomencurator.model.FuzzyNameResolver;
 
 import org.nomencurator.model.NamedObject;
 import org.nomencurator.model.NameUsage;
 /*
 import org.nomencurator.model.NameUsageNode;
+import org.nomencurator.model.Nomencurator;
 */
 import org.nomencurator.model.Publication;
 
@@ -141,6 +146,8 @@ import org.nomencurator.model.Person;
 
 import org.nomencurator.model.gbif.NubNameUsage;
 
+import org.nomencurator.util.cache.DiskResponseCache;
+
 /*
 import org.nomencurator.model.UBioNameUsageNode;
 */
@@ -155,6 +162,7 @@ import org.nomencurator.gui.swing.table.NameTreeTableStringModel;
 
 import org.nomencurator.gui.swing.tree.NameTreeModel;
 import org.nomencurator.gui.swing.tree.NameTreeNode;
+import org.nomencurator.gui.swing.tree.UnitedNameTreeAlignment;
 import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
 
 import org.nomencurator.model.Rank;
@@ -171,7 +179,7 @@ import lombok.Setter;
  *
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
  *
- * @version 	03 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Taxonaut<T extends NameUsage<?>>
@@ -866,6 +874,12 @@ public class Taxonaut<T extends NameUsage<?>>
 	String usageMessage = "Retrieving hierarchy of ";
 	int maximum = -1;
 	int current = 0;
+	/** {@code UnitedNameTreeModel} shown, to adopt the merged model if appending */
+	volatile UnitedNameTreeModel shownModel = null;
+	/** Modification count of the {@code shownModel} when merging started */
+	volatile int modifications;
+	/** {@code NameTreeModel}s merged by this */
+	final List<NameTreeModel> merged = new ArrayList<>();
 	public HierarchiesComparison(NameUsageExchanger<T> nameUsageExchanger,
 				     ComparisonQueryParameter<NameUsage<?>> comparisonQueryParameter) {
 	    super();
@@ -938,24 +952,47 @@ public class Taxonaut<T extends NameUsage<?>>
 
 		// FIXME to be more general
 		Collection<NameUsage<?>> integrated =nameUsageExchanger.integrateHierarchies(rootNodes);
-		if (unitedTreeModel == null || !comparisonQueryParameter.isAppend()) {
-		    unitedTreeModel = new UnitedNameTreeModel(integrated.size() + 1);
-		    nameListPane.setAppendable(true);
+		// the model shown is merged into a detached model to be adopted in done()
+		UnitedNameTreeModel unitedModel = null;
+		shownModel = comparisonQueryParameter.isAppend() ? unitedTreeModel : null;
+		if (shownModel == null) {
+		    unitedModel = new UnitedNameTreeModel(integrated.size() + 1);
+		}
+		else {
+		    modifications = shownModel.getModificationCount();
+		    List<TreeModel> existing = null;
+		    List<TreeModel> shownTrees = shownModel.getTreeList();
+		    synchronized (shownTrees) {
+			existing = new ArrayList<TreeModel>(shownTrees);
+		    }
+		    unitedModel = shownModel.createDetachedModel();
+		    for (TreeModel tree : existing) {
+			unitedModel.add(tree);
+		    }
 		}
 
 		current = 0;
 		maximum = integrated.size();
 		message = analyzingMessage;
 		for(NameUsage<?> rootNode : integrated) { 
+		    if (isCancelled())
+			break;
 		    NameTreeModel nameTreeModel =new NameTreeModel(rootNode);
 		    if(nameTreeModel != null) {
 			current++;
 			publish(rootNode);
-			unitedTreeModel.add(nameTreeModel);
+			unitedModel.add(nameTreeModel);
+			merged.add(nameTreeModel);
 		    }
 		}
 
-		return unitedTreeModel;
+		// names compared resolve misspelt queries locally
+		FuzzyNameResolver resolver = NubExchanger.getLocalResolver();
+		if (resolver != null) {
+		    resolver.putAll(unitedModel.getNameUsages());
+		}
+
+		return unitedModel;
 	}
 
 	@Override protected void process(List<Object> chunks) {
@@ -970,23 +1007,31 @@ public class Taxonaut<T extends NameUsage<?>>
 	{
 	    String message = null;
 	    try {
-		List<NameTreeTable<T>> tables = compare(get());
+		UnitedNameTreeModel unitedModel = get();
+		if (shownModel != null) {
+		    if (shownModel.getModificationCount() == modifications) {
+			shownModel.adopt(unitedModel);
+		    }
+		    else {
+			// the merge missed a modification of the model shown
+			new UnitedNameTreeAlignment(shownModel, merged).schedule();
+		    }
+		    unitedModel = shownModel;
+		}
+		else {
+		    nameListPane.setAppendable(true);
+		}
+		unitedTreeModel = unitedModel;
+		List<NameTreeTable<T>> tables = compare(unitedModel);
 		// AlignerTree is shared by NameTreeTables
 		alignerTree = tables.get(0).getAlignerTree();
 		if (tables != null && tables.size() > 0) {
 		    for (NameTreeTable<T> nameTreeTable : tables) {
 			NameTreeTableModel nameTreeTableModel = (NameTreeTableModel)nameTreeTable.getModel();
-			List<Integer> rows = new ArrayList<Integer>();
 			for (String literal : nameLiterals) {
-			    Collection<Integer> selections = nameTreeTableModel.getRows(literal);
-			    if(selections != null && selections.size() > 0) {
-				rows.addAll(selections);
-			    }
-			}
-			if (rows.size() > 0) {
-			    for (Integer row : rows) {
+			    int row = nameTreeTableModel.getRow(literal);
+			    if(row >= 0)
 				nameTreeTable.addRowSelectionInterval(row, row);
-			    }
 			}
 		    }
 		    localQueryPanel.setEnabled(true);
@@ -1652,6 +1697,22 @@ public class Taxonaut<T extends NameUsage<?>>
         JDialog.setDefaultLookAndFeelDecorated(true);
 
 	JFrame frame = new JFrame(new StringBuffer(softwareName).append(" ").append(version).toString());
+
+	// keep GBIF responses across sessions; run without the cache if the directory is unavailable
+	try {
+	    File cacheDirectory = new File(new File(System.getProperty("user.home"), ".taxonaut"), "cache");
+	    GBIFAPIClient.setDefaultResponseCache(new DiskResponseCache(cacheDirectory));
+	}
+	catch (IOException e) {
+	}
+	catch (SecurityException e) {
+	}
+
+	// resolve names unknown to GBIF by those known locally
+	FuzzyNameResolver resolver = new FuzzyNameResolver();
+	resolver.putAll(Nomencurator.getInstance().getNames());
+	NubExchanger.setLocalResolver(resolver);
+
 	//Taxonaut<NameUsage<?>> taxonaut = new Taxonaut<NameUsage<?>>();
 	Taxonaut<NubNameUsage> taxonaut = new Taxonaut<>();
 	taxonaut.setNameUsageExchanger(new NubExchanger());
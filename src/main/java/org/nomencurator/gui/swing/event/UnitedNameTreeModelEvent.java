@@ -36,9 +36,10 @@ import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
 /**
  * <CODE>UnitedNameTreeModelEvent</code> is an <CODE>EventObject</CODE>
  * telling addition or removal of a <CODE>TreeModel</CODE> to an 
- * <CODE>UnitedNameTreeModel</CODE>.
+ * <CODE>UnitedNameTreeModel</CODE>, with time spent and number of
+ * nodes touched to merge the <CODE>TreeModel</CODE>.
  *
- * @version 	26 June 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class UnitedNameTreeModelEvent
@@ -49,6 +50,8 @@ public class UnitedNameTreeModelEvent
     protected TreeModel treeModel;
     protected int fromIndex;
     protected int toIndex;
+    protected long elapsedNanos;
+    protected int touchedCount;
 
     /**
      * Constructs an <CODE>UnitedNameTreeModelEvent</CODE>
@@ -59,11 +62,30 @@ public class UnitedNameTreeModelEvent
 				     TreeModel treeModel,
 				     int from,
 				     int to)
+    {
+	this(model, treeModel, from, to, 0L, 0);
+    }
+
+    /**
+     * Constructs an <CODE>UnitedNameTreeModelEvent</CODE>
+     * representing a modification of the <CODE>model</CODE>
+     * which took <CODE>elapsedNanos</CODE> and touched
+     * <CODE>touchedCount</CODE> nodes.
+     *
+     */
+    public UnitedNameTreeModelEvent(UnitedNameTreeModel model,
+				     TreeModel treeModel,
+				     int from,
+				     int to,
+				     long elapsedNanos,
+				     int touchedCount)
     {
 	super(model);
 	this.treeModel = treeModel;
 	fromIndex = from;
 	toIndex = to;
+	this.elapsedNanos = elapsedNanos;
+	this.touchedCount = touchedCount;
     }
 
     public TreeModel getTreeModel()
@@ -80,4 +102,20 @@ public class UnitedNameTreeModelEvent
     {
 	return toIndex;
     }
+
+    /**
+     * Returns time spent to merge in nanoseconds.
+     */
+    public long getElapsedNanos()
+    {
+	return elapsedNanos;
+    }
+
+    /**
+     * Returns number of nodes touched by the merge.
+     */
+    public int getTouchedCount()
+    {
+	return touchedCount;
+    }
 }
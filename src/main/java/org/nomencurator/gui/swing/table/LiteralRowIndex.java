@@ -0,0 +1,169 @@
+/*
+ * LiteralRowIndex.java:  an index of rows of literals in NameTreeTableModels
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.gui.swing.table;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code LiteralRowIndex} maps a literal to its rows in the lists of
+ * literals of {@code NameTreeTableModel}s, one list for each
+ * {@code NameTreeTableMode}.  As a literal appears at most once in a
+ * list, rows of a literal are held in an {@code int} array indexed by
+ * the ordinal of the mode, shared by all modes, with -1 for absence.
+ * <P>
+ * {@link #update(List)} reassigns only rows after the first position
+ * where a list differs from the previous one.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class LiteralRowIndex
+{
+    /** Number of lists, i.e. of {@code NameTreeTableMode}s */
+    protected final int listCount;
+
+    /** Rows indexed by literal then list */
+    protected final Map<String, int[]> rows;
+
+    /** Lists indexed currently */
+    protected List<List<String>> literalLists;
+
+    public LiteralRowIndex(int listCount)
+    {
+	this.listCount = listCount;
+	rows = new HashMap<String, int[]>();
+	literalLists = Collections.emptyList();
+    }
+
+    /**
+     * Indexes {@code literalLists}, reusing the index of the previous
+     * lists up to the first difference in each list.
+     *
+     * @param literalLists lists of literals indexed by list
+     */
+    public synchronized void update(List<List<String>> literalLists)
+    {
+	for (int list = 0; list < listCount; list++) {
+	    List<String> previous = getList(this.literalLists, list);
+	    List<String> current = getList(literalLists, list);
+	    if(previous == current)
+		continue;
+
+	    int size = Math.min(previous.size(), current.size());
+	    int first = 0;
+	    while (first < size && previous.get(first).equals(current.get(first)))
+		first++;
+
+	    for (int row = first; row < previous.size(); row++) {
+		int[] literalRows = rows.get(previous.get(row));
+		if(literalRows != null && literalRows[list] == row)
+		    literalRows[list] = -1;
+	    }
+
+	    for (int row = first; row < current.size(); row++) {
+		String literal = current.get(row);
+		if(literal == null)
+		    continue;
+		int[] literalRows = rows.get(literal);
+		if(literalRows == null) {
+		    literalRows = new int[listCount];
+		    Arrays.fill(literalRows, -1);
+		    rows.put(literal, literalRows);
+		}
+		literalRows[list] = row;
+	    }
+	}
+	this.literalLists = literalLists;
+
+	Iterator<int[]> values = rows.values().iterator();
+	while (values.hasNext()) {
+	    if(isEmpty(values.next()))
+		values.remove();
+	}
+    }
+
+    protected static List<String> getList(List<List<String>> literalLists, int list)
+    {
+	if(literalLists == null || list >= literalLists.size())
+	    return Collections.emptyList();
+	List<String> literals = literalLists.get(list);
+	return literals == null ? Collections.<String>emptyList() : literals;
+    }
+
+    protected static boolean isEmpty(int[] literalRows)
+    {
+	for (int row : literalRows) {
+	    if(row >= 0)
+		return false;
+	}
+	return true;
+    }
+
+    /**
+     * Returns row of {@code literal} in the list at {@code list},
+     * or -1 if it is not in the list.
+     *
+     * @param literal literal to look up
+     * @param list index of the list, i.e. ordinal of {@code NameTreeTableMode}
+     * @return row of {@code literal} or -1
+     */
+    public synchronized int getRow(String literal, int list)
+    {
+	int[] literalRows = rows.get(literal);
+	return (literalRows == null) ? -1 : literalRows[list];
+    }
+
+    /**
+     * Returns rows of {@code literals} in the list at {@code list},
+     * in the order of {@code literals}, skipping literals not in the list.
+     *
+     * @param literals literals to look up
+     * @param list index of the list, i.e. ordinal of {@code NameTreeTableMode}
+     * @return array of rows
+     */
+    public synchronized int[] getRows(String[] literals, int list)
+    {
+	int[] found = new int[literals.length];
+	int count = 0;
+	for (String literal : literals) {
+	    int[] literalRows = rows.get(literal);
+	    if(literalRows != null && literalRows[list] >= 0)
+		found[count++] = literalRows[list];
+	}
+	return (count == found.length) ? found : Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Returns number of literals indexed.
+     *
+     * @return number of literals
+     */
+    public synchronized int size()
+    {
+	return rows.size();
+    }
+}
@@ -31,6 +31,7 @@ import java.text.RuleBasedCollator;
 
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,7 +47,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 
+import java.util.concurrent.ExecutionException;
+
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import javax.swing.event.EventListenerList;
 
@@ -87,18 +92,27 @@ import org.nomencurator.io.ProgressListener;
 
 /**
  * {@code NameTreeTableMode} provieds a {@code TableModel} to compare {@code NameTree}s.
+ * <P>
+ * Values of cells are served from a {@code CellMatrix} built in background
+ * for each {@code NameTreeTableMode}, and patched on {@code TreeModelEvent}s
+ * of the {@code UnitedNameTreeModel}.  Cells are computed one by one
+ * until the matrix becomes available.  A published matrix is never
+ * modified; patches are applied to its copy on the event dispatch thread
+ * which replaces it.
  *
- * @version 	23 Aug. 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NameTreeTableModel
     extends AbstractTableModel
     implements RowMapper,
+	       TreeModelListener,
 	       UnitedNameTreeModelListener
 {
     private static final long serialVersionUID = 928495398386167837L;
 
-    protected List<Map<String, List<Integer>>> rowMapList;
+    /** Rows of literals for all {@code NameTreeTableMode}s, shared with derived tables */
+    protected LiteralRowIndex rowIndex;
 
     protected Map<String, Collection<Map<TreeModel, NameTreeNode>>> synonyms;
 
@@ -159,6 +173,63 @@ public class NameTreeTableModel
 
     protected NameTreeTableModel masterTable;
 
+    /**
+     * {@code CellMatrix} holds values of cells except the literal column,
+     * column-major, for a list of literals and a number of trees.
+     */
+    protected static class CellMatrix
+    {
+	/** Literals of rows, identical to the list the matrix was built for */
+	protected final List<String> literals;
+
+	/** Values indexed by tree then row */
+	protected final Object[][] columns;
+
+	protected CellMatrix(List<String> literals, int treeCount)
+	{
+	    this.literals = literals;
+	    columns = new Object[treeCount][literals.size()];
+	}
+
+	/**
+	 * Constructs a copy of {@code matrix} to be patched.
+	 */
+	protected CellMatrix(CellMatrix matrix)
+	{
+	    literals = matrix.literals;
+	    columns = new Object[matrix.columns.length][];
+	    for (int column = 0; column < columns.length; column++)
+		columns[column] = matrix.columns[column].clone();
+	}
+
+	/**
+	 * Returns true if this matrix represents {@code literals}
+	 * of {@code treeCount} trees.
+	 */
+	protected boolean isFor(List<String> literals, int treeCount)
+	{
+	    return this.literals == literals && columns.length == treeCount;
+	}
+    }
+
+    /**
+     * Matrix of cells of this table, or null if not built yet.
+     * It is replaced, not modified, on the event dispatch thread.
+     */
+    protected volatile CellMatrix cellMatrix;
+
+    /** Worker building {@code cellMatrix}, accessed on the event dispatch thread */
+    protected SwingWorker<CellMatrix, Void> cellMatrixBuilder;
+
+    /** Literals for which building the matrix failed, not to retry on every repaint */
+    protected List<String> failedLiterals;
+
+    /**
+     * Number of patches to {@code cellMatrix}, to discard a matrix built concurrently,
+     * accessed on the event dispatch thread
+     */
+    protected int cellMatrixModifications;
+
     public static List<NameTreeTableModel> createTableModels(UnitedNameTreeModel unitedTree)
     {
 	final List<NameTreeTableModel> models = new ArrayList<NameTreeTableModel>(tableModes.length);
@@ -179,6 +250,7 @@ public class NameTreeTableModel
 	super();
 	this.masterTable = masterTable;
 	this.tableMode = tableMode;
+	masterTable.getUnitedTree().addTreeModelListener(this);
     }
 
     public NameTreeTableModel()
@@ -233,12 +305,32 @@ public class NameTreeTableModel
 	}
 
 	unitedTree.addUnitedNameTreeModelListener(this);
+	unitedTree.addTreeModelListener(this);
 
 	//if(NameTreeTableMode.SYNONYMS.equals(tableMode))
 	    synonyms = new HashMap<String, Collection<Map<TreeModel, NameTreeNode>>>();
 
 	unifiedNodeLiteralList =  updateUnifiedNodeLiteralList();
-	rowMapList = updateRowMapList();
+	updateRowIndex();
+    }
+
+    /**
+     * Detaches this table from its {@code UnitedNameTreeModel} and
+     * discards its {@code CellMatrix}.  Tables given by
+     * {@code getTableModel(NameTreeTableMode)} listen to the united
+     * tree of the master table, so that a view replacing tables must
+     * dispose each of them.
+     */
+    public void dispose()
+    {
+	UnitedNameTreeModel unitedTree = getUnitedTree();
+	if(unitedTree != null) {
+	    unitedTree.removeTreeModelListener(this);
+	    unitedTree.removeUnitedNameTreeModelListener(this);
+	}
+	if(cellMatrixBuilder != null)
+	    cellMatrixBuilder.cancel(false);
+	cellMatrix = null;
     }
 
     public void setColumnModel(TableColumnModel columnModel)
@@ -261,41 +353,24 @@ public class NameTreeTableModel
 	return table;
     }
 
-    protected Map<String, List<Integer>> getRowMap()
+    protected LiteralRowIndex getRowIndex()
     {
-	return getRowMapList().get(tableMode.ordinal());
-    }
+	if (masterTable != null)
+	    return masterTable.getRowIndex();
 
-    protected List<Map<String, List<Integer>>> getRowMapList()
-    {
-	if (rowMapList == null)
-	    rowMapList = updateRowMapList();
-	return rowMapList;
+	if (rowIndex == null)
+	    updateRowIndex();
+	return rowIndex;
     }
 
-    protected List<Map<String, List<Integer>>> updateRowMapList()
+    /**
+     * Updates the row index to the current lists of literals.
+     */
+    protected void updateRowIndex()
     {
-	final List<Map<String, List<Integer>>> rowMapList = new ArrayList<Map<String, List<Integer>>>(tableModes.length);
-	final List<List<String>> unifiedNodeLiteralList = getUnifiedNodeLiteralList();
-
-	for (NameTreeTableMode tableMode : tableModes) {
-	    final Map<String, List<Integer>> rowMap = new HashMap<String, List<Integer>>();
-	    rowMapList.add(rowMap);
-	    final List<String>unifiedNodeLiterals = unifiedNodeLiteralList.get(tableMode.ordinal());
-	    for(int row = 0; row < unifiedNodeLiterals.size(); row++) {
-		String key = unifiedNodeLiterals.get(row);
-		if(key == null)
-		    continue;
-		List<Integer> rows = rowMap.get(key);
-		if(rows == null) {
-		    rows = new ArrayList<Integer>();
-		    rowMap.put(key, rows);
-		}
-		rows.add(row);
-	    }
-	}
-
-	return rowMapList;
+	if (rowIndex == null)
+	    rowIndex = new LiteralRowIndex(tableModes.length);
+	rowIndex.update(getUnifiedNodeLiteralList());
     }
 
     protected UnitedNameTreeModel getUnitedTree()
@@ -346,16 +421,31 @@ public class NameTreeTableModel
 	    return columnIdentifiers.get(column);
 	}
 
-	String literal = getUnifiedNodeLiterals().get(row);
+	List<String> literals = getUnifiedNodeLiterals();
+	String literal = literals.get(row);
 
 	// expecting that covnersion of column number from view to model is already done before calling this method
 	if(column == 0)
 	    return literal;
 
 	UnitedNameTreeModel unitedTree = getUnitedTree();
-	NameTreeModel tree = 
-	    (NameTreeModel)unitedTree.getTreeList().get(--column);
+	CellMatrix matrix = getCellMatrix(literals, unitedTree.getTreeCount());
+	if(matrix != null)
+	    return matrix.columns[column - 1][row];
+
+	return getValueAt(literal, (NameTreeModel)unitedTree.getTreeList().get(column - 1));
+    }
 
+    /**
+     * Computes value of the cell of {@code literal} for {@code tree}.
+     *
+     * @param literal literal of the row
+     * @param tree {@code NameTreeModel} of the column
+     * @return value of the cell
+     */
+    protected Object getValueAt(String literal, NameTreeModel tree)
+    {
+	UnitedNameTreeModel unitedTree = getUnitedTree();
 	if (!NameTreeTableMode.SYNONYMS.equals(tableMode)) {
 	    Collection<UnitedNameTreeNode> unifieds = unitedTree.getNodesFor(literal);
 	    if (unifieds == null || unifieds.size() == 0)
@@ -379,8 +469,10 @@ public class NameTreeTableModel
 	    }
 	}
 
-	Iterator<Map<TreeModel, NameTreeNode>> synonymMaps =
-	    getSynonyms().get(literal).iterator();
+	Collection<Map<TreeModel, NameTreeNode>> synonymSets = getSynonyms().get(literal);
+	if (synonymSets == null)
+	    return null;
+	Iterator<Map<TreeModel, NameTreeNode>> synonymMaps = synonymSets.iterator();
 	while (synonymMaps.hasNext()) {
 	    NameTreeNode synonym = synonymMaps.next().get(tree);
 	    if(synonym != null)
@@ -390,6 +482,189 @@ public class NameTreeTableModel
 	return null;
     }
 
+    /**
+     * Returns the {@code CellMatrix} for {@code literals} of
+     * {@code treeCount} trees, or null after requesting to build it
+     * if it is not available.
+     *
+     * @param literals literals of rows
+     * @param treeCount number of trees
+     * @return {@code CellMatrix} or null if not available
+     */
+    protected CellMatrix getCellMatrix(List<String> literals, int treeCount)
+    {
+	CellMatrix matrix = cellMatrix;
+	if(matrix != null && matrix.isFor(literals, treeCount))
+	    return matrix;
+
+	if(SwingUtilities.isEventDispatchThread())
+	    requestCellMatrix(literals);
+	return null;
+    }
+
+    /**
+     * Starts building the {@code CellMatrix} for {@code literals} in background
+     * unless it is in progress.  It must be called on the event dispatch thread.
+     *
+     * @param literals literals of rows
+     */
+    protected void requestCellMatrix(final List<String> literals)
+    {
+	if((cellMatrixBuilder != null && !cellMatrixBuilder.isDone())
+	   || literals == failedLiterals)
+	    return;
+
+	final UnitedNameTreeModel unitedTree = getUnitedTree();
+	final int modifications = cellMatrixModifications;
+	final int treeModifications = unitedTree.getModificationCount();
+	cellMatrixBuilder = new SwingWorker<CellMatrix, Void>() {
+		protected CellMatrix doInBackground()
+		{
+		    return createCellMatrix(literals);
+		}
+
+		protected void done()
+		{
+		    if(isCancelled())
+			return;
+		    // a matrix missing patches made while building is discarded to be requested again
+		    boolean modified = modifications != cellMatrixModifications
+			|| treeModifications != unitedTree.getModificationCount();
+		    try {
+			CellMatrix matrix = get();
+			if(modified) {
+			    fireLiteralRowsUpdated(literals);
+			    return;
+			}
+			cellMatrix = matrix;
+			fireLiteralRowsUpdated(literals);
+		    }
+		    catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		    }
+		    catch (ExecutionException e) {
+			// the trees may be modified while being read without lock
+			if(modified)
+			    fireLiteralRowsUpdated(literals);
+			else
+			    failedLiterals = literals;
+		    }
+		}
+	    };
+	cellMatrixBuilder.execute();
+    }
+
+    /**
+     * Notifies update of rows of {@code literals} to let cells be requested again.
+     *
+     * @param literals literals of rows
+     */
+    protected void fireLiteralRowsUpdated(List<String> literals)
+    {
+	if(!literals.isEmpty())
+	    fireTableRowsUpdated(0, literals.size() - 1);
+    }
+
+    /**
+     * Creates a {@code CellMatrix} of {@code literals}.
+     * The {@code UnitedNameTreeModel} is not locked while creation,
+     * so that a matrix created in background must be discarded if
+     * the model is modified meanwhile.
+     *
+     * @param literals literals of rows
+     * @return {@code CellMatrix} of {@code literals}
+     */
+    protected CellMatrix createCellMatrix(List<String> literals)
+    {
+	List<TreeModel> trees = new ArrayList<TreeModel>(getUnitedTree().getTreeList());
+	CellMatrix matrix = new CellMatrix(literals, trees.size());
+	for (int column = 0; column < matrix.columns.length; column++) {
+	    NameTreeModel tree = (NameTreeModel)trees.get(column);
+	    Object[] cells = matrix.columns[column];
+	    for (int row = 0; row < cells.length; row++)
+		cells[row] = getValueAt(literals.get(row), tree);
+	}
+	return matrix;
+    }
+
+    /**
+     * Builds the {@code CellMatrix} of this table on the current thread.
+     */
+    public void buildCellMatrix()
+    {
+	cellMatrix = createCellMatrix(getUnifiedNodeLiterals());
+    }
+
+    /**
+     * Recomputes cells of rows of literals of {@code nodes}, and of
+     * their descendants if {@code subtree} is true, on the event dispatch
+     * thread.  The cells are written to a copy of the matrix which
+     * replaces it.  The matrix is discarded to be rebuilt if more than
+     * half of rows are affected.
+     *
+     * @param nodes {@code TreeNode}s of which rows are affected
+     * @param subtree true to include descendants of {@code nodes}
+     */
+    protected void patchCellMatrix(final Object[] nodes, final boolean subtree)
+    {
+	if(!SwingUtilities.isEventDispatchThread()) {
+	    SwingUtilities.invokeLater(new Runnable() {
+		    public void run() {
+			patchCellMatrix(nodes, subtree);
+		    }
+		});
+	    return;
+	}
+
+	CellMatrix matrix = cellMatrix;
+	if(matrix == null || nodes == null)
+	    return;
+	cellMatrixModifications++;
+
+	final LiteralRowIndex rowIndex = getRowIndex();
+	final int mode = tableMode.ordinal();
+	final int limit = matrix.literals.size() / 2;
+	BitSet rows = new BitSet(matrix.literals.size());
+	int rowCount = 0;
+	for (Object node : nodes) {
+	    Enumeration<?> e = (subtree && node instanceof DefaultMutableTreeNode) ?
+		((DefaultMutableTreeNode)node).breadthFirstEnumeration() :
+		Collections.enumeration(Collections.singleton(node));
+	    while (e.hasMoreElements()) {
+		Object element = e.nextElement();
+		if(!(element instanceof NamedNode))
+		    continue;
+		int row = rowIndex.getRow(((NamedNode<?>)element).getLiteral(), mode);
+		if(row < 0 || rows.get(row))
+		    continue;
+		rows.set(row);
+		if(++rowCount > limit) {
+		    cellMatrix = null;
+		    fireTableRowsUpdated(0, matrix.literals.size() - 1);
+		    return;
+		}
+	    }
+	}
+	if(rows.isEmpty())
+	    return;
+
+	List<TreeModel> trees = getUnitedTree().getTreeList();
+	CellMatrix patched = new CellMatrix(matrix);
+	int first = Integer.MAX_VALUE;
+	int last = -1;
+	for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+	    if(row >= patched.literals.size())
+		break;
+	    String literal = patched.literals.get(row);
+	    for (int column = 0; column < patched.columns.length && column < trees.size(); column++)
+		patched.columns[column][row] = getValueAt(literal, (NameTreeModel)trees.get(column));
+	    first = Math.min(first, row);
+	    last = Math.max(last, row);
+	}
+	cellMatrix = patched;
+	if(last >= 0)
+	    fireTableRowsUpdated(first, last);
+    }
 
     public boolean isCellEditable(int row, int column)
     {
@@ -399,13 +674,24 @@ public class NameTreeTableModel
 	return false;
     }
 
+    /**
+     * Returns row of {@code rankedName} in this table, or -1 if absent.
+     *
+     * @param rankedName literal of the row
+     * @return row of {@code rankedName} or -1
+     */
+    public int getRow(String rankedName)
+    {
+	return getRowIndex().getRow(rankedName, tableMode.ordinal());
+    }
+
     public Collection<Integer> getRows(String rankedName)
     {
-	List<Integer> rows = getRowMap().get(rankedName);
-	if(rows == null) {
+	int row = getRow(rankedName);
+	if(row < 0) {
 	    return null;
 	}
-	return new ArrayList<Integer>(rows);
+	return Collections.singletonList(row);
     }
 
     public String getColumnName(int column)
@@ -1369,38 +1655,38 @@ public class NameTreeTableModel
 	return rankedNames;
     }
     
-    public void treeNodesChanged(TreeModelEvent e) {;}
-    public void treeNodesInserted(TreeModelEvent e) {;}
-    public void treeNodesRemoved(TreeModelEvent e) {;}
-    public void treeStructureChanged(TreeModelEvent e) {;}
+    public void treeNodesChanged(TreeModelEvent e)
+    {
+	patchCellMatrix(e.getChildren(), false);
+    }
 
-    public int[] getRowsForPaths(TreePath[] path)
+    public void treeNodesInserted(TreeModelEvent e)
     {
-	if(path == null)
-	    return new int[0];
+	patchCellMatrix(e.getChildren(), true);
+    }
 
-	List<Integer> rows = new ArrayList<Integer>();
-	final Map<String, List<Integer>> rowMap = getRowMap();
-	for(int i = 0; i < path.length; i++) {
-	    List<Integer> v =
-		rowMap.get(((NamedNode<?>)path[i].getLastPathComponent()).getLiteral());
+    public void treeNodesRemoved(TreeModelEvent e)
+    {
+	patchCellMatrix(e.getChildren(), true);
+    }
 
-	    if(v == null) {
-		continue;
-	    }
+    public void treeStructureChanged(TreeModelEvent e)
+    {
+	TreePath path = e.getTreePath();
+	if(path != null)
+	    patchCellMatrix(new Object[] {path.getLastPathComponent()}, true);
+    }
 
-	    rows.addAll(v);
-	}
-	if(rows.isEmpty()) {
+    public int[] getRowsForPaths(TreePath[] path)
+    {
+	if(path == null)
 	    return new int[0];
-	}
 
-	int[] rowValues = new int[rows.size()];
-	for(int i = 0; i < rowValues.length; i++)
-	    rowValues[i] = rows.get(i);
-	rows.clear();
+	String[] literals = new String[path.length];
+	for(int i = 0; i < path.length; i++)
+	    literals[i] = ((NamedNode<?>)path[i].getLastPathComponent()).getLiteral();
 
-	return rowValues;
+	return getRowIndex().getRows(literals, tableMode.ordinal());
     }
 
     public List<NamedNode<?>> getNodesForLiteral(String ascribedName, Rank rank, String authors, String year)
@@ -1433,7 +1719,7 @@ public class NameTreeTableModel
 	    index = columnIdentifiers.size() - 1;
 
 	    unifiedNodeLiteralList = updateUnifiedNodeLiteralList();
-	    rowMapList = updateRowMapList();
+	    updateRowIndex();
 	}
 
 	fireTreeAdded(new NameTreeTableModelEvent(this,
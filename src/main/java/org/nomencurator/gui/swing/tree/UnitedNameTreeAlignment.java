@@ -0,0 +1,264 @@
+/*
+ * UnitedNameTreeAlignment.java:  a SwingWorker to merge TreeModels into a UnitedNameTreeModel
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.gui.swing.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.SwingWorker;
+
+import javax.swing.event.EventListenerList;
+
+import javax.swing.tree.TreeModel;
+
+import org.nomencurator.io.ProgressEvent;
+import org.nomencurator.io.ProgressListener;
+
+/**
+ * {@code UnitedNameTreeAlignment} merges {@code TreeModel}s into a
+ * {@code UnitedNameTreeModel} without blocking the event dispatch thread.
+ * The trees are merged in background into a copy of the
+ * {@code UnitedNameTreeModel} detached from it, which the
+ * {@code UnitedNameTreeModel} adopts on the event dispatch thread when
+ * done, so that the model shown is never modified off the thread.
+ * {@code ProgressEvent}s are sent to {@code ProgressListener}s on the
+ * event dispatch thread at most once in {@code interval} milliseconds.
+ * Cancellation leaves the {@code UnitedNameTreeModel} untouched.
+ *
+ * Alignments given by {@link #schedule()} run one by one, each starting
+ * after the previous one is adopted, so that they neither miss results
+ * of each other nor merge the same trees concurrently.  If the
+ * {@code UnitedNameTreeModel} is modified while merging nevertheless,
+ * e.g. by a tree added elsewhere, the trees are merged again in
+ * background by a new alignment instead of on the event dispatch thread.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class UnitedNameTreeAlignment
+    extends SwingWorker<UnitedNameTreeModel, ProgressEvent>
+{
+    /** Default minimum interval of updates in milliseconds */
+    public static final long DEFAULT_INTERVAL = 250L;
+
+    private static ExecutorService serialExecutor;
+
+    protected final UnitedNameTreeModel model;
+
+    protected final List<TreeModel> trees;
+
+    protected final long interval;
+
+    protected final EventListenerList listeners;
+
+    protected long published;
+
+    /** Modification count of the {@code model} when merging started */
+    protected volatile int modifications;
+
+    /** Released when {@code done()} returns, to start the next alignment */
+    protected final CountDownLatch finished;
+
+    public UnitedNameTreeAlignment(UnitedNameTreeModel model,
+				   Collection<? extends TreeModel> trees)
+    {
+	this(model, trees, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Constructs an alignment to merge {@code trees} into {@code model}.
+     *
+     * @param model {@code UnitedNameTreeModel} to merge trees into
+     * @param trees {@code TreeModel}s to be merged
+     * @param interval minimum interval of updates in milliseconds
+     */
+    public UnitedNameTreeAlignment(UnitedNameTreeModel model,
+				   Collection<? extends TreeModel> trees,
+				   long interval)
+    {
+	super();
+	this.model = model;
+	this.trees = new ArrayList<TreeModel>(trees);
+	this.interval = Math.max(interval, 0L);
+	listeners = new EventListenerList();
+	finished = new CountDownLatch(1);
+    }
+
+    protected static synchronized Executor getSerialExecutor()
+    {
+	if (serialExecutor == null) {
+	    serialExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		    public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "tree-alignment");
+			thread.setDaemon(true);
+			return thread;
+		    }
+		});
+	}
+	return serialExecutor;
+    }
+
+    /**
+     * Schedules this alignment to run after alignments scheduled before
+     * have been adopted, instead of {@code execute()} running it at once.
+     */
+    public void schedule()
+    {
+	getSerialExecutor().execute(new Runnable() {
+		public void run() {
+		    UnitedNameTreeAlignment.this.run();
+		    try {
+			finished.await();
+		    }
+		    catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		    }
+		}
+	    });
+    }
+
+    public UnitedNameTreeModel getModel()
+    {
+	return model;
+    }
+
+    public void addProgressListener(ProgressListener listener)
+    {
+	listeners.add(ProgressListener.class, listener);
+    }
+
+    public void removeProgressListener(ProgressListener listener)
+    {
+	listeners.remove(ProgressListener.class, listener);
+    }
+
+    protected void fireProgressMade(ProgressEvent event)
+    {
+	ProgressListener[] progressListeners = listeners.getListeners(ProgressListener.class);
+	for (ProgressListener listener : progressListeners) {
+	    listener.progressMade(event);
+	}
+    }
+
+    /**
+     * Merges trees of the {@code model} and trees to be merged
+     * into a detached model.
+     *
+     * @return detached {@code UnitedNameTreeModel} to be adopted, or null if cancelled
+     */
+    @Override protected UnitedNameTreeModel doInBackground()
+	throws Exception
+    {
+	int count = trees.size();
+	int current = 0;
+	// the count is taken first so that a modification while copying is detected
+	modifications = model.getModificationCount();
+
+	publish(new ProgressEvent(this, 0, count, current, null));
+	published = System.currentTimeMillis();
+
+	// trees of the model are copied as unified, not unified again
+	UnitedNameTreeModel detached = model.createDetachedCopy();
+
+	for (TreeModel tree : trees) {
+	    if (isCancelled())
+		return null;
+	    detached.add(tree);
+	    current++;
+	    setProgress(current * 100 / count);
+
+	    long now = System.currentTimeMillis();
+	    if (now - published >= interval || current == count) {
+		published = now;
+		String message = (tree instanceof NameTreeModel) ?
+		    ((NameTreeModel)tree).getViewName() : null;
+		publish(new ProgressEvent(this, 0, count, current, message));
+	    }
+	}
+	return detached;
+    }
+
+    @Override protected void process(List<ProgressEvent> chunks)
+    {
+	fireProgressMade(chunks.get(chunks.size() - 1));
+    }
+
+    @Override protected void done()
+    {
+	try {
+	    int count = trees.size();
+	    String message = null;
+	    if (isCancelled()) {
+		message = "Cancelled";
+	    }
+	    else {
+		try {
+		    UnitedNameTreeModel detached = get();
+		    if (model.getModificationCount() != modifications) {
+			// the merge missed a modification of the model
+			realign();
+			return;
+		    }
+		    model.adopt(detached);
+		}
+		catch (InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		    message = "Interrupted";
+		}
+		catch (ExecutionException e) {
+		    // the copy may fail if the model is modified meanwhile
+		    if (model.getModificationCount() != modifications) {
+			realign();
+			return;
+		    }
+		    message = e.getCause().getMessage();
+		}
+	    }
+	    fireProgressMade(new ProgressEvent(this, 0, count, count, message));
+	}
+	finally {
+	    finished.countDown();
+	}
+    }
+
+    /**
+     * Schedules a new alignment of the trees of this alignment,
+     * notifying {@code ProgressListener}s of this alignment.
+     */
+    protected void realign()
+    {
+	UnitedNameTreeAlignment alignment =
+	    new UnitedNameTreeAlignment(model, trees, interval);
+	for (ProgressListener listener : listeners.getListeners(ProgressListener.class)) {
+	    alignment.addProgressListener(listener);
+	}
+	alignment.schedule();
+    }
+}
@@ -41,7 +41,9 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -334,8 +336,24 @@ import org.nomencurator.util.StackTracer;
  * lower taxa</LI>
  * </OL>
  * <P>
+ * Nodes of the united tree are indexed by name and by name and parental
+ * name, and nodes of each tree are indexed by the tree.  Removal of a
+ * tree, and insertion or removal of nodes in a tree already added,
+ * re-unify only nodes mapped from the affected subtrees instead of
+ * rebuilding the united tree.  Time spent and nodes touched by the last
+ * merge are available from {@link #getLastMergeTime()} and
+ * {@link #getLastTouchedCount()}, and are carried by
+ * {@code UnitedNameTreeModelEvent}s.
+ * <P>
+ * A model shown is modified on the event dispatch thread only.  To
+ * merge trees without blocking the thread, they are merged into a model
+ * given by {@link #createDetachedModel()} in background together with
+ * trees of the model shown, which then adopts the result on the event
+ * dispatch thread by {@link #adopt(UnitedNameTreeModel)}.
+ * See {@link UnitedNameTreeAlignment}.
+ * <P>
  *
- * @version 	12 Sep. 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class UnitedNameTreeModel
@@ -394,6 +412,12 @@ public class UnitedNameTreeModel
     protected Map<UnitedNameTreeNode, Set<NameTreeNode>> unitedNodeToNodeSet;
     protected Map<UnitedNameTreeNode, Map<TreeModel, NameTreeNode>> unifiedByTree;
 
+    /**
+     * {@link Map} from each {@link TreeModel} to {@link NameTreeNode}s
+     * in it mapped to {@link UnitedNameTreeNode}s, to unmap them without
+     * traversing the tree.
+     */
+    protected Map<TreeModel, Set<NameTreeNode>> nodesByTree;
 
     protected List<TreeModel> trees;
 
@@ -409,6 +433,26 @@ public class UnitedNameTreeModel
 
     protected int unificationMode;
 
+    /** Time when the current merge started, in nanoseconds */
+    protected long mergeStarted;
+
+    /** Number of nodes touched by the current merge */
+    protected int touched;
+
+    /** Time spent by the last merge in nanoseconds */
+    protected long lastMergeTime;
+
+    /** Number of nodes touched by the last merge */
+    protected int lastTouchedCount;
+
+    /** Number of modifications of trees or of their nodes */
+    protected volatile int modifications;
+
+    /** False if this model does not listen to trees added, to be adopted by another model */
+    protected boolean attached = true;
+
+    /** Trees, parent nodes and their children to be reordered on adoption if detached */
+    protected List<Object[]> reorderings;
 
     public UnitedNameTreeModel()
     {
@@ -479,6 +523,7 @@ public class UnitedNameTreeModel
 	unitedNodeToNodeSet = new HashMap<UnitedNameTreeNode, Set<NameTreeNode>>();
 	unifiedByTree = 
 	    new HashMap<UnitedNameTreeNode, Map<TreeModel, NameTreeNode>>();
+	nodesByTree = new HashMap<TreeModel, Set<NameTreeNode>>();
 	unitedChildrens = new HashMap<UnitedNameTreeNode, Set<NameTreeNode>>();
 	multipleChildrens = new HashMap<String, Map<String, Set<UnitedNameTreeNode>>>();
 	focalNodes = new HashMap<TreeModel, NameTreeNode>();
@@ -493,6 +538,7 @@ public class UnitedNameTreeModel
 	nodeToUnitedNode.clear();
 	clearCollectionMap(unitedNodeToNodeSet);
 	clearMetaMap(unifiedByTree);
+	clearCollectionMap(nodesByTree);
 	clearCollectionMap(unitedChildrens);
 	clearCollectionMetaMap(multipleChildrens);
 	focalNodes.clear();
@@ -764,22 +810,57 @@ public class UnitedNameTreeModel
     {
 	if(name == null || parentNode == null)
 	    return null;
-	Map<String, Set<UnitedNameTreeNode>> nodeSets = getNodeParentalMapFor(name);
-	if(nodeSets == null)
-	    return null;
-	Set<UnitedNameTreeNode> nodes = nodeSets.get(parentNode.getLiteral());
-	if(nodes == null)
-	    nodes = nodeSets.get(parentNode.getUnrankedName());
-	if(nodes == null)
+	return parentNode.getChild(name);
+    }
+
+    /**
+     * Returns the shallowest {@code UnitedNameTreeNode} of which literal
+     * is {@code literal} in the subtree of {@code unitedParent},
+     * including {@code unitedParent} itself, or null if none.
+     * Candidates are looked up by the name index instead of enumerating
+     * the subtree.
+     *
+     * @param literal of the node to be found
+     * @param unitedParent root of the subtree to be examined
+     * @return {@code UnitedNameTreeNode} of the {@code literal}, or null
+     */
+    protected UnitedNameTreeNode getDescendantFor(String literal, UnitedNameTreeNode unitedParent)
+    {
+	if(literal == null || unitedParent == null)
 	    return null;
-	UnitedNameTreeNode node = null;
-	Iterator<UnitedNameTreeNode> children = nodes.iterator();
-	while(node == null && children.hasNext()){
-	    node = children.next();
-	    if(node.getParent() != parentNode)
-		node = null;
+	if(literal.equals(unitedParent.getLiteral()))
+	    return unitedParent;
+
+	UnitedNameTreeNode descendant = null;
+	int level = Integer.MAX_VALUE;
+	boolean tied = false;
+	for(UnitedNameTreeNode candidate : getNodesFor(literal)) {
+	    if(!unitedParent.isNodeDescendant(candidate))
+		continue;
+	    int candidateLevel = candidate.getLevel();
+	    if(candidateLevel < level) {
+		descendant = candidate;
+		level = candidateLevel;
+		tied = false;
+	    }
+	    else if(candidateLevel == level) {
+		tied = true;
+	    }
 	}
-	return node;
+
+	// keep the breadth-first order to choose one of nodes at the same level
+	if(tied) {
+	    descendant = null;
+	    Enumeration<?> descendants = unitedParent.breadthFirstEnumeration();
+	    while(descendant == null &&
+		  descendants.hasMoreElements()) {
+		Object node = descendants.nextElement();
+		if(node instanceof UnitedNameTreeNode &&
+		   literal.equals(((UnitedNameTreeNode)node).getLiteral()))
+		    descendant = (UnitedNameTreeNode)node;
+	    }
+	}
+	return descendant;
     }
 
     /**
@@ -821,14 +902,39 @@ public class UnitedNameTreeModel
     }
 
     /**
-     *
+     * Removes child nodes of {@code parent} from the name index.
      */
     protected void unindexByNames(NamedNode<?> parent)
     {
+	if(parent == null || parent.isLeaf())
+	    return;
+	Enumeration<?> children = parent.children();
+	while(children.hasMoreElements()) {
+	    Object child = children.nextElement();
+	    if(child instanceof UnitedNameTreeNode)
+		unindexByNames((UnitedNameTreeNode)child);
+	}
     }
 
+    /**
+     * Removes {@code node} from the name index.
+     */
     protected void unindexByNames(UnitedNameTreeNode node)
     {
+	if(node == null)
+	    return;
+	String name = node.getLiteral();
+	Map<String, Set<UnitedNameTreeNode>> parentIndex = names.get(name);
+	if(parentIndex == null)
+	    return;
+	Iterator<Set<UnitedNameTreeNode>> parentSets = parentIndex.values().iterator();
+	while(parentSets.hasNext()) {
+	    Set<UnitedNameTreeNode> parentSet = parentSets.next();
+	    if(parentSet.remove(node) && parentSet.isEmpty())
+		parentSets.remove();
+	}
+	if(parentIndex.isEmpty())
+	    names.remove(name);
     }
 
     /**
@@ -851,6 +957,7 @@ public class UnitedNameTreeModel
     {
 	Map<NameTreeNode, Map<NameTreeNode, List<NameTreeNode>>> reductions = null;
 	if(trees.isEmpty()) {
+	    beginMerge();
 	    //simple mapping for the first tree
 	    synchronized(tree) {
 		List<NameTreeNode> traverser = new ArrayList<NameTreeNode>();
@@ -899,6 +1006,7 @@ public class UnitedNameTreeModel
 			    int toInsert = Integer.MAX_VALUE;
 			    for (NameTreeNode subsidiary : subsidiaries) {
 				setNodeFor(subsidiary, primary);
+				getMappedNodes(tree).add(subsidiary);
 				toSkip.add(subsidiary);
 				int index = traverser.indexOf(subsidiary);
 				if (index < toInsert)
@@ -931,7 +1039,11 @@ public class UnitedNameTreeModel
 	    }
 
 	    trees.add(tree);
+	    if(attached)
+		tree.addTreeModelListener(this);
+	    modifications++;
 
+	    endMerge();
 	    fireTreeAdded(tree);
 	}
     }
@@ -1124,10 +1236,14 @@ public class UnitedNameTreeModel
 	    return;
 	} //end of simple mapping for the first tree
 
+	beginMerge();
+
 
 	NameTreeNode node = null;
 	Enumeration<?> e = null; 
 	List<NameTreeNode> traverser = null;
+	// companion of traverser to examine inclusion
+	Set<NameTreeNode> traversed = new HashSet<NameTreeNode>();
 
 	// Capture the root of shared trees
 	// in the case that the united tree is
@@ -1157,6 +1273,7 @@ public class UnitedNameTreeModel
 		//copy to traverser
 		node = (NameTreeNode)e.nextElement();
 		traverser.add(node);
+		traversed.add(node);
 		
 		// pro parte check
 		if(isProParte){
@@ -1233,7 +1350,7 @@ public class UnitedNameTreeModel
 			if (index < toInsert)
 			    toInsert = index;
 		    }
-		    if (!traverser.contains(primary)) {
+		    if (traversed.add(primary)) {
 			traverser.add(toInsert, primary);
 		    }
 		}
@@ -1287,7 +1404,7 @@ public class UnitedNameTreeModel
 
 	    // parentNode.removeAllChildren();
 	    // removeAllChildren(parentNode, (DefaultTreeModel)tree);
-	    List<DefaultMutableTreeNode>reAssign = new ArrayList<DefaultMutableTreeNode>();
+	    Set<DefaultMutableTreeNode>reAssign = new LinkedHashSet<DefaultMutableTreeNode>();
 
 	    if(!category.get(INDIRECT_LOWERS).isEmpty()) {
 		//need to classify child nodes to determine
@@ -1318,17 +1435,8 @@ public class UnitedNameTreeModel
 
 			node = (NameTreeNode)descendant;
 
-			unitedNode = null;
 			String rankedName = node.getLiteral();
-			Enumeration<?> descendants = unitedParent.breadthFirstEnumeration();
-			while(unitedNode == null &&
-			      descendants.hasMoreElements()) {
-			    unitedNode =
-				(UnitedNameTreeNode)descendants.nextElement();
-			    if(!rankedName.equals(unitedNode.getLiteral())) {
-				unitedNode = null;
-			    }
-			}
+			unitedNode = getDescendantFor(rankedName, unitedParent);
 			if(unitedNode == null) {
 			    category.get(NEW_LOWERS).put(rankedName, node);
 			}
@@ -1513,22 +1621,20 @@ public class UnitedNameTreeModel
 	    }
 
 	    if(!reAssign.isEmpty()) {
-		removeAllChildren(parentNode, (DefaultTreeModel)tree);
-
+		List<MutableTreeNode> reordered = new ArrayList<MutableTreeNode>(reAssign.size());
 		enm = unitedParent.children();
 		while(enm.hasMoreElements()) {
 		    unitedNode = 
 			(UnitedNameTreeNode)enm.nextElement();
 		    node = (NameTreeNode)getNodeFor(unitedNode, tree);
 		    if(reAssign.contains(node)) {
-			add((NameTreeModel)tree, parentNode, node);
+			reordered.add(node);
 			reAssign.remove(node);
 		    }
 		}
+		reordered.addAll(reAssign);
 
-		for(DefaultMutableTreeNode toAdd : reAssign) {
-		    add((NameTreeModel)tree, parentNode, toAdd);
-		}
+		reorder((NameTreeModel)tree, parentNode, reordered);
 	    }
 	    else {
 	    }
@@ -1547,6 +1653,7 @@ public class UnitedNameTreeModel
 			List<NameTreeNode> subsidiaries = reduction.get(reduced);
 			for (NameTreeNode subsidiary : subsidiaries) {
 				setNodeFor(subsidiary, primary);
+				getMappedNodes(tree).add(subsidiary);
 			}
 		    }
 		}
@@ -1554,7 +1661,9 @@ public class UnitedNameTreeModel
 	}
 
 	trees.add(tree);
-	tree.addTreeModelListener(this);
+	if(attached)
+	    tree.addTreeModelListener(this);
+	modifications++;
 	
 	node = 
 	    (NameTreeNode)tree.getRoot();
@@ -1564,8 +1673,8 @@ public class UnitedNameTreeModel
 	    node.clearExcludants();
 	    node.clearIncludants();
 	}
-	System.gc();
 
+	endMerge();
 	fireTreeAdded(tree);
 
     }
@@ -1658,6 +1767,34 @@ public class UnitedNameTreeModel
     }
 
 
+    /**
+     * Replaces children of {@code parentNode} in {@code tree} with
+     * {@code children} in the order.  A detached model keeps the
+     * replacement to be done by {@link #adopt(UnitedNameTreeModel)},
+     * so that trees which may be shown are not modified off the event
+     * dispatch thread.
+     *
+     * @param tree containing {@code parentNode}
+     * @param parentNode of which children to be replaced
+     * @param children to be children of {@code parentNode}
+     */
+    protected void reorder(DefaultTreeModel tree,
+			   MutableTreeNode parentNode,
+			   List<MutableTreeNode> children)
+    {
+	if(!attached) {
+	    if(reorderings == null)
+		reorderings = new ArrayList<Object[]>();
+	    reorderings.add(new Object[]{tree, parentNode, children});
+	    return;
+	}
+
+	removeAllChildren(parentNode, tree);
+	for(MutableTreeNode child : children) {
+	    add(tree, parentNode, child);
+	}
+    }
+
     protected void removeAllChildren(MutableTreeNode parentNode,
 				     DefaultTreeModel tree)
     {
@@ -1816,19 +1953,9 @@ public class UnitedNameTreeModel
 	    if(unitedParent != null) {
 		// the unitedParent may have a child UnitedNameTreeNode of the name...
 		// it is assumed that direct children of a UnitedNameTreeNode do not share a name.
-		Enumeration<?> children = unitedParent.children();
-		while(unitedNode == null &&
-		      children.hasMoreElements()) {
-		    Object child = children.nextElement();
-		    if(child instanceof UnitedNameTreeNode) {
-			unitedNode = (UnitedNameTreeNode)child;
-			if(!rankedName.equals(unitedNode.getLiteral()) &&
-			   !literal.equals(unitedNode.getLiteral())) {
-			    // diffarent name value
-			    unitedNode = null;
-			}
-		    }
-		}
+		unitedNode = unitedParent.getChild(rankedName);
+		if(unitedNode == null && !literal.equals(rankedName))
+		    unitedNode = unitedParent.getChild(literal);
 	    }
 	    if(unitedNode == null) {
 		if(parents != null) {
@@ -2746,6 +2873,8 @@ public class UnitedNameTreeModel
 	    unifiedByTree.put(unitedNode, inverse);
 	}
 	inverse.put(tree, node);
+	getMappedNodes(tree).add(node);
+	touched++;
     }
 
     protected void unmapNode(TreeModel tree,
@@ -2754,25 +2883,79 @@ public class UnitedNameTreeModel
     {
 	Map<TreeModel, NameTreeNode> treeMap =
 	    unifiedByTree.get(unitedNode);
-	if(treeMap != null) {
-	    if(treeMap.size() == 1) {
+	// a subsidiary node shares the mapping of its primary node
+	if(treeMap != null && treeMap.get(tree) == node) {
+	    treeMap.remove(tree);
+	    if(treeMap.isEmpty()) {
 		unifiedByTree.remove(unitedNode);
 	    }
-	    treeMap.remove(tree);
 	}
 
 	Set<NameTreeNode> nodeSet = unitedNodeToNodeSet.get(unitedNode);
 	if(nodeSet != null) {
-	    if(nodeSet.size() == 1) {
+	    nodeSet.remove(node);
+	    if(nodeSet.isEmpty()) {
 		unitedNodeToNodeSet.remove(unitedNode);
 	    }
-	    nodeSet.remove(node);
 	}
 	nodeToUnitedNode.remove(node);
+	Set<NameTreeNode> mapped = nodesByTree.get(tree);
+	if(mapped != null)
+	    mapped.remove(node);
+	touched++;
     }
 
+    /**
+     * Returns a {@code Set} of {@code NameTreeNode}s in {@code tree}
+     * mapped to {@code UnitedNameTreeNode}s, creating it if necessary.
+     *
+     * @param tree {@code TreeModel} containing the nodes
+     * @return {@code Set} of {@code NameTreeNode}s mapped
+     */
+    protected Set<NameTreeNode> getMappedNodes(TreeModel tree)
+    {
+	Set<NameTreeNode> mapped = nodesByTree.get(tree);
+	if(mapped == null) {
+	    mapped = new HashSet<NameTreeNode>();
+	    nodesByTree.put(tree, mapped);
+	}
+	return mapped;
+    }
 
-    public void remove(TreeModel tree)
+    /**
+     * Removes {@code UnitedNameTreeNode}s in {@code unitedNodes} which
+     * are leaves no longer mapped from any tree, then their parents
+     * becoming such leaves in turn.
+     *
+     * @param unitedNodes {@code UnitedNameTreeNode}s unmapped
+     */
+    protected void prune(Collection<UnitedNameTreeNode> unitedNodes)
+    {
+	TreeNode root = (TreeNode)getRoot();
+	for(UnitedNameTreeNode unitedNode : unitedNodes) {
+	    while(unitedNode != null &&
+		  unitedNode != root &&
+		  unitedNode.getParent() != null &&
+		  unitedNode.isLeaf() &&
+		  !unifiedByTree.containsKey(unitedNode)) {
+		TreeNode parent = unitedNode.getParent();
+		unindexByNames(unitedNode);
+		removeNodeFromParent(unitedNode);
+		touched++;
+		unitedNode = (parent instanceof UnitedNameTreeNode)?
+		    (UnitedNameTreeNode)parent : null;
+	    }
+	}
+    }
+
+    /**
+     * Removes {@code tree} from this {@code UnitedNameTreeModel}.
+     * Only nodes mapped from {@code tree} are unmapped, and
+     * {@code UnitedNameTreeNode}s left unmapped are pruned.
+     *
+     * @param tree {@code TreeModel} to be removed
+     */
+    public synchronized void remove(TreeModel tree)
     {
 	if(trees == null)
 	    return;
@@ -2781,33 +2964,163 @@ public class UnitedNameTreeModel
 	if(removed == -1)
 	    return;
 
+	beginMerge();
 	trees.remove(tree);
+	tree.removeTreeModelListener(this);
+	modifications++;
+	focalNodes.remove(tree);
+
+	if(trees.isEmpty()) {
+	    touched += nodeToUnitedNode.size();
+	    removeAllChildren((UnitedNameTreeNode)getRoot(), this);
+	    clearHashtables();
+	}
+	else {
+	    Set<NameTreeNode> mapped = nodesByTree.remove(tree);
+	    if(mapped != null) {
+		Set<UnitedNameTreeNode> unmapped = new HashSet<UnitedNameTreeNode>();
+		for(NameTreeNode node : mapped) {
+		    TreeNode unitedNode = nodeToUnitedNode.get(node);
+		    if(unitedNode instanceof UnitedNameTreeNode) {
+			unmapNode(tree, node, (UnitedNameTreeNode)unitedNode);
+			unmapped.add((UnitedNameTreeNode)unitedNode);
+		    }
+		}
+		mapped.clear();
+		prune(unmapped);
+	    }
+	}
+	endMerge();
 
 	fireTreeRemoved(tree, removed);
     }
 
+    /**
+     * Returns a {@code TreeModel} added to this model which is the source
+     * of {@code event}, or null if none.
+     */
+    protected TreeModel getTreeFor(TreeModelEvent event)
+    {
+	Object source = event.getSource();
+	if(source instanceof TreeModel && trees.contains(source))
+	    return (TreeModel)source;
+
+	TreePath path = event.getTreePath();
+	if(path == null)
+	    return null;
+	Object root = path.getPathComponent(0);
+	synchronized(trees) {
+	    for(TreeModel tree : trees) {
+		if(tree.getRoot() == root)
+		    return tree;
+	    }
+	}
+	return null;
+    }
+
+    /**
+     * Unifies the subtree of {@code node} in {@code tree}, inserted under
+     * a node mapped to {@code unitedParent}, breadth first.
+     * Each node is mapped to a child sharing its literal of the
+     * {@code UnitedNameTreeNode} mapped from its parent, or to a new child.
+     *
+     * @param tree {@code TreeModel} containing the {@code node}
+     * @param node root of the subtree to be unified
+     * @param unitedParent {@code UnitedNameTreeNode} mapped from the parent of {@code node}
+     */
+    protected void unify(TreeModel tree,
+			 NameTreeNode node,
+			 UnitedNameTreeNode unitedParent)
+    {
+	List<NameTreeNode> traverser = new ArrayList<NameTreeNode>();
+	traverser.add(node);
+	for (int i = 0; i < traverser.size(); i++) {
+	    NameTreeNode current = traverser.get(i);
+	    if (getNodeFor(current) != null)
+		continue;
+
+	    TreeNode parent = (current == node)?
+		unitedParent : getNodeFor(current.getParent());
+	    if (!(parent instanceof UnitedNameTreeNode))
+		continue;
+
+	    UnitedNameTreeNode parentNode = (UnitedNameTreeNode)parent;
+	    UnitedNameTreeNode unitedNode = parentNode.getChild(current.getLiteral());
+	    // mapped before notification so that listeners find the node of the tree
+	    if (unitedNode == null) {
+		unitedNode = new UnitedNameTreeNode(current);
+		mapNode(tree, current, unitedNode);
+		add(parentNode, unitedNode);
+	    }
+	    else {
+		mapNode(tree, current, unitedNode);
+		nodeChanged(unitedNode);
+	    }
+
+	    Enumeration<?> children = current.children();
+	    while (children.hasMoreElements()) {
+		Object child = children.nextElement();
+		if (child instanceof NameTreeNode)
+		    traverser.add((NameTreeNode)child);
+	    }
+	}
+	traverser.clear();
+    }
+
     public void treeNodesChanged(TreeModelEvent event) {;}
-    public void treeNodesInserted(TreeModelEvent event) {;}
 
+    /**
+     * Unifies nodes inserted to a tree added to this model.  Like other
+     * modifications of a model shown, it is expected on the event dispatch
+     * thread, hence it does not lock this model.
+     */
+    public void treeNodesInserted(TreeModelEvent event) {
+	TreeModel tree = getTreeFor(event);
+	if(tree == null)
+	    return;
+
+	TreeNode unitedParent =
+	    getNodeFor((TreeNode)event.getTreePath().getLastPathComponent());
+	if(!(unitedParent instanceof UnitedNameTreeNode))
+	    return;
+
+	beginMerge();
+	modifications++;
+	for(Object child : event.getChildren()) {
+	    if(child instanceof NameTreeNode)
+		unify(tree, (NameTreeNode)child, (UnitedNameTreeNode)unitedParent);
+	}
+	endMerge();
+    }
+
+    /**
+     * Unmaps nodes removed from a tree added to this model, and prunes
+     * nodes of this model left unmapped.  Like other modifications of a
+     * model shown, it is expected on the event dispatch thread.
+     */
     public void treeNodesRemoved(TreeModelEvent event) {
-	Object[] children = event.getChildren();
-	for(Object child : children) {
-	    NameTreeNode parent = 
-		(NameTreeNode)event.getTreePath().getLastPathComponent();
-	    NameTreeNode node = (NameTreeNode)parent.getRoot();
-	    TreeModel tree = null;
-	    Iterator<TreeModel> iterator = trees.iterator();
-	    while(iterator.hasNext() && tree == null) {
-		tree = iterator.next();
-		if(tree.getRoot() != node)
-		    tree = null;
-	    }
-	    node = (NameTreeNode)child;
-	    UnitedNameTreeNode unitedNode = 
-		(UnitedNameTreeNode)nodeToUnitedNode.get(node);
+	TreeModel tree = getTreeFor(event);
+	if(tree == null)
+	    return;
 
-	    unmapNode(tree, node, unitedNode);
+	beginMerge();
+	modifications++;
+	Set<UnitedNameTreeNode> unmapped = new HashSet<UnitedNameTreeNode>();
+	for(Object child : event.getChildren()) {
+	    if(!(child instanceof NameTreeNode))
+		continue;
+	    Enumeration<?> nodes = ((NameTreeNode)child).breadthFirstEnumeration();
+	    while(nodes.hasMoreElements()) {
+		NameTreeNode node = (NameTreeNode)nodes.nextElement();
+		TreeNode unitedNode = getNodeFor(node);
+		if(unitedNode instanceof UnitedNameTreeNode) {
+		    unmapNode(tree, node, (UnitedNameTreeNode)unitedNode);
+		    unmapped.add((UnitedNameTreeNode)unitedNode);
+		}
+	    }
 	}
+	prune(unmapped);
+	endMerge();
     }
     public void treeStructureChanged(TreeModelEvent event) {;}
 
@@ -3200,6 +3513,26 @@ public class UnitedNameTreeModel
 	return names.keySet();
     }
 
+    /**
+     * Returns {@code NameUsage}s of nodes of {@code TreeModel}s
+     * added to this model, e.g. to be indexed by a
+     * {@code FuzzyNameResolver}.
+     *
+     * @return {@code Collection} of {@code NameUsage}s
+     */
+    public Collection<NameUsage<?>> getNameUsages()
+    {
+	Collection<NameUsage<?>> nameUsages = new ArrayList<NameUsage<?>>();
+	for(Set<NameTreeNode> nodes : nodesByTree.values()) {
+	    for(NameTreeNode node : nodes) {
+		NameUsage<?> nameUsage = node.getNameUsage();
+		if(nameUsage != null)
+		    nameUsages.add(nameUsage);
+	    }
+	}
+	return nameUsages;
+    }
+
     public Map<String, Set<UnitedNameTreeNode>> getRankedUnitedNodes()
     {
 	return null;
@@ -3315,13 +3648,285 @@ public class UnitedNameTreeModel
 	}
     }
 
+    /**
+     * Starts measuring a merge.
+     */
+    protected void beginMerge()
+    {
+	mergeStarted = System.nanoTime();
+	touched = 0;
+    }
+
+    /**
+     * Records time spent and nodes touched by the merge.
+     */
+    protected void endMerge()
+    {
+	lastMergeTime = System.nanoTime() - mergeStarted;
+	lastTouchedCount = touched;
+    }
+
+    /**
+     * Returns time spent by the last merge, i.e. addition or removal of
+     * a tree or of nodes in a tree, in nanoseconds.
+     *
+     * @return time spent by the last merge in nanoseconds
+     */
+    public long getLastMergeTime()
+    {
+	return lastMergeTime;
+    }
+
+    /**
+     * Returns number of nodes mapped, unmapped or pruned by the last merge.
+     *
+     * @return number of nodes touched by the last merge
+     */
+    public int getLastTouchedCount()
+    {
+	return lastTouchedCount;
+    }
+
+    /**
+     * Returns number of modifications of this model by addition or
+     * removal of trees or of their nodes, to detect modifications
+     * made while merging trees into a detached model.
+     *
+     * @return number of modifications
+     */
+    public int getModificationCount()
+    {
+	return modifications;
+    }
+
+    /**
+     * Returns true if this model follows changes of trees added to it.
+     *
+     * @return false if this model is detached
+     */
+    public boolean isAttached()
+    {
+	return attached;
+    }
+
+    /**
+     * Returns an empty {@code UnitedNameTreeModel} of the unification
+     * mode of this model, which does not listen to trees added to it.
+     * Trees are merged into it off the event dispatch thread without
+     * touching this model, then it is adopted by {@link #adopt(UnitedNameTreeModel)}.
+     *
+     * @return detached {@code UnitedNameTreeModel}
+     */
+    public UnitedNameTreeModel createDetachedModel()
+    {
+	UnitedNameTreeModel detached = new UnitedNameTreeModel(getTreeCount() + 1);
+	detached.setUnificationMode(getUnificationMode());
+	detached.attached = false;
+	return detached;
+    }
+
+    /**
+     * Returns a detached model holding a copy of this model, so that
+     * trees can be merged to it in background without unifying trees
+     * of this model again.  {@code UnitedNameTreeNode}s are copied while
+     * nodes of trees are shared.  The copy is not locked against
+     * modifications of this model, hence a copy made while this model
+     * is modified must be discarded, as {@link UnitedNameTreeAlignment}
+     * does by the modification count.
+     *
+     * @return detached {@code UnitedNameTreeModel} with trees of this model
+     */
+    public UnitedNameTreeModel createDetachedCopy()
+    {
+	UnitedNameTreeModel detached = createDetachedModel();
+	Map<UnitedNameTreeNode, UnitedNameTreeNode> copies = copyNodes((UnitedNameTreeNode)getRoot());
+	detached.setRoot(copies.get(getRoot()));
+
+	synchronized(trees) {
+	    detached.trees.addAll(trees);
+	}
+	detached.names = copyNameMap(names, copies);
+	detached.multipleChildrens = copyNameMap(multipleChildrens, copies);
+	detached.forwardMatches = copySetMap(forwardMatches, copies);
+	detached.backwardMatches = copySetMap(backwardMatches, copies);
+	detached.unitedNodeToNodeSet = copySetMap(unitedNodeToNodeSet, copies);
+	detached.unitedChildrens = copySetMap(unitedChildrens, copies);
+	detached.nodesByTree = copySetMap(nodesByTree, copies);
+	detached.focalNodes = new HashMap<TreeModel, NameTreeNode>(focalNodes);
+
+	detached.nodeToUnitedNode = new HashMap<TreeNode, TreeNode>(nodeToUnitedNode.size());
+	for(Map.Entry<TreeNode, TreeNode> entry : nodeToUnitedNode.entrySet()) {
+	    detached.nodeToUnitedNode.put(copyOf(entry.getKey(), copies), copyOf(entry.getValue(), copies));
+	}
+
+	detached.unifiedByTree = new HashMap<UnitedNameTreeNode, Map<TreeModel, NameTreeNode>>(unifiedByTree.size());
+	for(Map.Entry<UnitedNameTreeNode, Map<TreeModel, NameTreeNode>> entry : unifiedByTree.entrySet()) {
+	    detached.unifiedByTree.put(copyOf(entry.getKey(), copies),
+				       new HashMap<TreeModel, NameTreeNode>(entry.getValue()));
+	}
+	detached.lastMergeTime = lastMergeTime;
+	detached.lastTouchedCount = lastTouchedCount;
+
+	return detached;
+    }
+
+    /**
+     * Copies the subtree of {@code root} breadth first.
+     *
+     * @param root of the subtree to be copied
+     * @return {@code Map} from nodes of the subtree to their copies
+     */
+    protected Map<UnitedNameTreeNode, UnitedNameTreeNode> copyNodes(UnitedNameTreeNode root)
+    {
+	Map<UnitedNameTreeNode, UnitedNameTreeNode> copies =
+	    new IdentityHashMap<UnitedNameTreeNode, UnitedNameTreeNode>();
+	List<UnitedNameTreeNode> traverser = new ArrayList<UnitedNameTreeNode>();
+	traverser.add(root);
+	copies.put(root, root.clone());
+	for (int i = 0; i < traverser.size(); i++) {
+	    UnitedNameTreeNode node = traverser.get(i);
+	    UnitedNameTreeNode copy = copies.get(node);
+	    Enumeration<?> children = node.children();
+	    while (children.hasMoreElements()) {
+		Object child = children.nextElement();
+		if (!(child instanceof UnitedNameTreeNode))
+		    continue;
+		UnitedNameTreeNode childNode = (UnitedNameTreeNode)child;
+		UnitedNameTreeNode childCopy = childNode.clone();
+		copy.add(childCopy);
+		copies.put(childNode, childCopy);
+		traverser.add(childNode);
+	    }
+	}
+	traverser.clear();
+
+	for (Map.Entry<UnitedNameTreeNode, UnitedNameTreeNode> entry : copies.entrySet()) {
+	    List<UnitedNameTreeNode> parents = entry.getKey().parents;
+	    if (parents == null)
+		continue;
+	    for (UnitedNameTreeNode parent : parents) {
+		entry.getValue().addParent(copyOf(parent, copies));
+	    }
+	}
+	return copies;
+    }
+
+    /**
+     * Returns the copy of {@code node} in {@code copies},
+     * or {@code node} itself if it is not copied.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T copyOf(T node, Map<UnitedNameTreeNode, UnitedNameTreeNode> copies)
+    {
+	Object copy = copies.get(node);
+	return (copy == null) ? node : (T)copy;
+    }
+
+    protected static <K, V> Map<K, Set<V>> copySetMap(Map<K, Set<V>> map,
+						      Map<UnitedNameTreeNode, UnitedNameTreeNode> copies)
+    {
+	Map<K, Set<V>> copy = new HashMap<K, Set<V>>(map.size());
+	for (Map.Entry<K, Set<V>> entry : map.entrySet()) {
+	    Set<V> values = new HashSet<V>(entry.getValue().size());
+	    for (V value : entry.getValue()) {
+		values.add(copyOf(value, copies));
+	    }
+	    copy.put(copyOf(entry.getKey(), copies), values);
+	}
+	return copy;
+    }
+
+    protected static Map<String, Map<String, Set<UnitedNameTreeNode>>>
+	copyNameMap(Map<String, Map<String, Set<UnitedNameTreeNode>>> map,
+		    Map<UnitedNameTreeNode, UnitedNameTreeNode> copies)
+    {
+	Map<String, Map<String, Set<UnitedNameTreeNode>>> copy =
+	    new HashMap<String, Map<String, Set<UnitedNameTreeNode>>>(map.size());
+	for (Map.Entry<String, Map<String, Set<UnitedNameTreeNode>>> entry : map.entrySet()) {
+	    copy.put(entry.getKey(), copySetMap(entry.getValue(), copies));
+	}
+	return copy;
+    }
+
+    /**
+     * Replaces nodes, indices and trees of this model with those of
+     * {@code detached}, reorders nodes of trees as merged by it, and
+     * fires a structure change of the root and
+     * {@code UnitedNameTreeModelEvent}s for trees added or removed.
+     * It is expected on the event dispatch thread, and {@code detached}
+     * must not be used afterwards.
+     *
+     * @param detached {@code UnitedNameTreeModel} created by {@link #createDetachedModel()}
+     */
+    public void adopt(UnitedNameTreeModel detached)
+    {
+	if(detached == null || detached == this)
+	    return;
+
+	List<TreeModel> previous = null;
+	synchronized(trees) {
+	    previous = new ArrayList<TreeModel>(trees);
+	}
+
+	// reorder nodes of trees as merged, without following the reordering
+	for(TreeModel tree : previous) {
+	    tree.removeTreeModelListener(this);
+	}
+	if(detached.reorderings != null) {
+	    for(Object[] reordering : detached.reorderings) {
+		@SuppressWarnings("unchecked")
+		List<MutableTreeNode> children = (List<MutableTreeNode>)reordering[2];
+		reorder((DefaultTreeModel)reordering[0], (MutableTreeNode)reordering[1], children);
+	    }
+	    detached.reorderings = null;
+	}
+
+	synchronized(trees) {
+	    trees.clear();
+	    trees.addAll(detached.trees);
+	}
+
+	names = detached.names;
+	forwardMatches = detached.forwardMatches;
+	backwardMatches = detached.backwardMatches;
+	nodeToUnitedNode = detached.nodeToUnitedNode;
+	unitedNodeToNodeSet = detached.unitedNodeToNodeSet;
+	unifiedByTree = detached.unifiedByTree;
+	nodesByTree = detached.nodesByTree;
+	focalNodes = detached.focalNodes;
+	unitedChildrens = detached.unitedChildrens;
+	multipleChildrens = detached.multipleChildrens;
+	lastMergeTime = detached.lastMergeTime;
+	lastTouchedCount = detached.lastTouchedCount;
+	modifications++;
+
+	// follow the trees in place of the detached model
+	List<TreeModel> added = new ArrayList<TreeModel>();
+	for(TreeModel tree : trees) {
+	    tree.addTreeModelListener(this);
+	    if(!previous.contains(tree))
+		added.add(tree);
+	}
+
+	setRoot((TreeNode)detached.getRoot());
+
+	for(int i = 0; i < previous.size(); i++) {
+	    if(!trees.contains(previous.get(i)))
+		fireTreeRemoved(previous.get(i), i);
+	}
+	for(TreeModel tree : added) {
+	    fireTreeAdded(tree);
+	}
+    }
+
     protected void fireTreeAdded(TreeModel tree)
     {
 	if(listeners == null)
 	    return;
 
 	UnitedNameTreeModelEvent event
-	    = new UnitedNameTreeModelEvent(this, tree, -1, trees.size());
+	    = new UnitedNameTreeModelEvent(this, tree, -1, trees.size(),
+					   lastMergeTime, lastTouchedCount);
 
 	synchronized(listeners) {
 	    UnitedNameTreeModelListener[] targets = 
@@ -3339,7 +3944,8 @@ public class UnitedNameTreeModel
 	    return;
 
 	UnitedNameTreeModelEvent event
-	    = new UnitedNameTreeModelEvent(this, tree, removed, -1);
+	    = new UnitedNameTreeModelEvent(this, tree, removed, -1,
+					   lastMergeTime, lastTouchedCount);
 
 	synchronized(listeners) {
 	    UnitedNameTreeModelListener[] targets = 
@@ -3381,6 +3987,8 @@ public class UnitedNameTreeModel
 
     public void fireProgressMade(ProgressEvent event)
     {
+	if (listeners == null)
+	    return;
 	ProgressListener[] progressListeners = listeners.getListeners(ProgressListener.class);
 	for (ProgressListener listener : progressListeners) {
             listener.progressMade(event);
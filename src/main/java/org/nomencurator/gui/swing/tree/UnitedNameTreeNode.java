@@ -26,10 +26,14 @@
 package org.nomencurator.gui.swing.tree;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -41,7 +45,7 @@ import org.nomencurator.model.NameUsage;
 /**
  * {@code UnitedNameTreeNode} wrapping a {@code NameUsage}
  *
- * @version 	02 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class UnitedNameTreeNode
@@ -55,6 +59,12 @@ public class UnitedNameTreeNode
 
     protected ArrayList<NameTreeNode> mappedNodes;
 
+    /**
+     * Index of child nodes by their literal, created on the first
+     * look up and maintained on insertion, removal and renaming
+     */
+    protected Map<String, List<UnitedNameTreeNode>> childrenByLiteral;
+
     public UnitedNameTreeNode(NameUsage<?> name)
     {
 	super();
@@ -81,6 +91,23 @@ public class UnitedNameTreeNode
 	setName(rank, name);
     }
 
+    /**
+     * Returns a copy of this node without parent nor children.
+     * Parents of an inconsistent node are left to the copier, who
+     * knows copies of them.
+     *
+     * @return copy of this node
+     */
+    public UnitedNameTreeNode clone()
+    {
+	UnitedNameTreeNode node = (UnitedNameTreeNode)super.clone();
+	node.parents = null;
+	node.mappedNodes = null;
+	node.childrenByLiteral = null;
+	node.childNames = null;
+	return node;
+    }
+
     public void trim()
     {
 	super.trim();
@@ -105,6 +132,87 @@ public class UnitedNameTreeNode
 
 	if (newChild instanceof NameTreeNode)
 	    mappedNodes.add((NameTreeNode)newChild);
+	else if (newChild instanceof UnitedNameTreeNode)
+	    indexChild((UnitedNameTreeNode)newChild);
+    }
+
+    public void remove(int childIndex)
+    {
+	TreeNode child = getChildAt(childIndex);
+	super.remove(childIndex);
+	if (child instanceof UnitedNameTreeNode)
+	    unindexChild((UnitedNameTreeNode)child, ((UnitedNameTreeNode)child).getLiteral());
+    }
+
+    /**
+     * Returns the child node of which literal is {@code name},
+     * or null if none.  For a {@code UnitedNameTreeNode} the ranked name
+     * is the literal, hence it finds the same node as
+     * {@code AbstractNameTreeNode.getChild(String)} but without
+     * scanning children.
+     *
+     * @param name literal of the child node
+     * @return the child node or null
+     */
+    public UnitedNameTreeNode getChild(String name)
+    {
+	if(isLeaf() || name == null)
+	    return null;
+	List<UnitedNameTreeNode> children = getChildrenByLiteral().get(name);
+	return (children == null || children.isEmpty()) ? null : children.get(0);
+    }
+
+    public Collection<UnitedNameTreeNode> getChildren(String name)
+    {
+	if(isLeaf() || name == null)
+	    return null;
+	List<UnitedNameTreeNode> children = getChildrenByLiteral().get(name);
+	return (children == null) ?
+	    new HashSet<UnitedNameTreeNode>() : new HashSet<UnitedNameTreeNode>(children);
+    }
+
+    protected synchronized Map<String, List<UnitedNameTreeNode>> getChildrenByLiteral()
+    {
+	if(childrenByLiteral == null) {
+	    childrenByLiteral = new HashMap<String, List<UnitedNameTreeNode>>();
+	    if(children != null) {
+		for(Object child : children) {
+		    if(child instanceof UnitedNameTreeNode)
+			putChild((UnitedNameTreeNode)child);
+		}
+	    }
+	}
+	return childrenByLiteral;
+    }
+
+    protected synchronized void indexChild(UnitedNameTreeNode child)
+    {
+	if(childrenByLiteral != null)
+	    putChild(child);
+    }
+
+    protected void putChild(UnitedNameTreeNode child)
+    {
+	String literal = child.getLiteral();
+	List<UnitedNameTreeNode> list = childrenByLiteral.get(literal);
+	if(list == null) {
+	    list = new ArrayList<UnitedNameTreeNode>(1);
+	    childrenByLiteral.put(literal, list);
+	}
+	if(!list.contains(child))
+	    list.add(child);
+    }
+
+    protected synchronized void unindexChild(UnitedNameTreeNode child, String literal)
+    {
+	if(childrenByLiteral == null)
+	    return;
+	List<UnitedNameTreeNode> list = childrenByLiteral.get(literal);
+	if(list != null) {
+	    list.remove(child);
+	    if(list.isEmpty())
+		childrenByLiteral.remove(literal);
+	}
     }
 
 
@@ -238,7 +346,14 @@ public class UnitedNameTreeNode
     {
 	if(literal == null)
 	    literal = "";
+	String previous = this.literal;
 	this.literal = literal;
+	if(previous != null && !previous.equals(literal)
+	   && parent instanceof UnitedNameTreeNode) {
+	    UnitedNameTreeNode unitedParent = (UnitedNameTreeNode)parent;
+	    unitedParent.unindexChild(this, previous);
+	    unitedParent.indexChild(this);
+	}
     }
 
     public String getRank()
@@ -29,18 +29,30 @@ import java.util.List;
 import java.util.Map;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.nomencurator.model.NamedObject;
 
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * {@code AbstractMultiplexQuery} implements {@code ObjectExchanger}.
  *
- * @version 	08 July 2016
+ * Queries to sources are executed on the shared {@code QueryExecutor}.
+ * A {@code QueryResultEvent} is fired as each source returns, times out
+ * or fails, delivering results of the source by {@code getResults()}
+ * while {@code getQuery().getResults()} gives results accumulated so far.
+ * Each source is counted out exactly once, so that exactly one event
+ * reports no residue.  A source timed out is cancelled together with
+ * its execution.
+ *
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public abstract class AbstractMultiplexQuery<T extends NamedObject<?>>
@@ -51,14 +63,27 @@ public abstract class AbstractMultiplexQuery<T extends NamedObject<?>>
 
     protected Map<ObjectQuery<T>, Future<Collection<? extends T>>> futures;
 
-    protected volatile boolean inSubmission;
+    /** Time outs of sources not returned yet */
+    protected Map<ObjectQuery<T>, ScheduledFuture<?>> timeouts;
+
+    /** Number of sources not returned yet */
+    protected final AtomicInteger residue = new AtomicInteger();
+
+    /** Default time out of each source in milliseconds, or zero if unlimited */
+    @Getter
+    @Setter
+    protected static long defaultTimeout = 0L;
+
+    /** Time out of each source in milliseconds, or zero if unlimited */
+    @Getter
+    protected long timeout;
 
     protected abstract ObjectQuery<T> createQuery(QueryParameter<T> parameter, ObjectExchanger<T> source);
     
     public AbstractMultiplexQuery(QueryParameter<T> parameter, Collection<? extends ObjectExchanger<T>> sources)
     {
 	super(parameter);
-	inSubmission = false;
+	timeout = defaultTimeout;
 	if(parameter != null && sources != null && sources.size() > 0) {
 	    queries = Collections.synchronizedList(new ArrayList<ObjectQuery<T>>(sources.size()));
 	    synchronized(queries) {
@@ -72,7 +97,11 @@ public abstract class AbstractMultiplexQuery<T extends NamedObject<?>>
     public AbstractMultiplexQuery(Collection<? extends ObjectQuery<T>> queries)
     {
 	super(null);
-	this.queries = Collections.synchronizedList(new ArrayList<ObjectQuery<T>>(queries));
+	timeout = defaultTimeout;
+	this.queries = Collections.synchronizedList(new ArrayList<ObjectQuery<T>>());
+	for(ObjectQuery<T> query : queries) {
+	    addQuery(query);
+	}
     }
 
     public boolean addQuery(ObjectQuery<T> query)
@@ -108,26 +137,159 @@ public abstract class AbstractMultiplexQuery<T extends NamedObject<?>>
     public Collection<T> call()
     {
 	results = Collections.synchronizedList(new ArrayList<T>());
-	if(queries != null && !queries.isEmpty()) {
+	if(queries == null || queries.isEmpty())
+	    return results;
 
-	    synchronized(queries) {
-		inSubmission = true;
-		int size = queries.size();
-		ExecutorService executor = Executors.newFixedThreadPool(size);
-		futures = Collections.synchronizedMap(new HashMap<ObjectQuery<T>, Future<Collection<? extends T>>>(size));
-		for(ObjectQuery<T> query : queries) {
-		    futures.put(query, executor.submit(query));
+	List<FutureTask<Collection<? extends T>>> tasks = null;
+	int size = 0;
+	synchronized(queries) {
+	    size = queries.size();
+	    futures = Collections.synchronizedMap(new HashMap<ObjectQuery<T>, Future<Collection<? extends T>>>(size));
+	    timeouts = Collections.synchronizedMap(new HashMap<ObjectQuery<T>, ScheduledFuture<?>>(size));
+	    residue.set(size);
+	    tasks = new ArrayList<FutureTask<Collection<? extends T>>>(size);
+	    // register all futures before any source can return
+	    for(final ObjectQuery<T> query : queries) {
+		FutureTask<Collection<? extends T>> task =
+		    new FutureTask<Collection<? extends T>>(new Callable<Collection<? extends T>>() {
+			    public Collection<? extends T> call() throws Exception {
+				try {
+				    query.call();
+				}
+				catch (Exception e) {
+				    sourceReturned(query, null);
+				    throw e;
+				}
+				// for queries not firing event
+				sourceReturned(query, query.getResults());
+				return query.getResults();
+			    }
+			});
+		futures.put(query, task);
+		tasks.add(task);
+		if(timeout > 0) {
+		    timeouts.put(query, QueryExecutor.getScheduler().schedule(new Runnable() {
+			    public void run() {
+				timedOut(query);
+			    }
+			}, timeout, TimeUnit.MILLISECONDS));
 		}
-		inSubmission = false;
 	    }
-
-	    fireQueryResultEvent(new QueryResultEvent<T>(this, futures.size(), queries.size()));
 	}
 
+	fireQueryResultEvent(new QueryResultEvent<T>(this, size, size));
+
+	for(FutureTask<Collection<? extends T>> task : tasks) {
+	    QueryExecutor.getExecutor().execute(task);
+	}
 
 	return results;
     }
 
+    public void setTimeout(long timeout)
+    {
+	this.timeout = timeout;
+    }
+
+    public void setTimeout(long timeout, TimeUnit unit)
+    {
+	setTimeout(unit.toMillis(timeout));
+    }
+
+    /**
+     * Cancels queries to all sources not returned yet.
+     *
+     * @return true if the query was cancelled by this call
+     */
+    public boolean cancel()
+    {
+	if(!super.cancel())
+	    return false;
+	if(queries != null) {
+	    List<ObjectQuery<T>> pending = null;
+	    synchronized(queries) {
+		pending = new ArrayList<ObjectQuery<T>>(queries);
+	    }
+	    for(ObjectQuery<T> query : pending) {
+		cancel(query);
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Cancels the query to a source in response to time out.
+     *
+     * @param query to be timed out
+     */
+    protected void timedOut(ObjectQuery<T> query)
+    {
+	cancel(query);
+    }
+
+    /**
+     * Cancels {@code query} and its execution if it is not returned yet.
+     *
+     * @param query to be cancelled
+     */
+    protected void cancel(ObjectQuery<T> query)
+    {
+	Map<ObjectQuery<T>, Future<Collection<? extends T>>> pending = futures;
+	if(pending == null)
+	    return;
+	Future<Collection<? extends T>> future = pending.get(query);
+	if(future == null)
+	    return;
+	query.cancel();
+	future.cancel(true);
+	sourceReturned(query, null);
+    }
+
+    /**
+     * Returns number of sources not returned yet.
+     *
+     * @return number of sources not returned yet
+     */
+    public int getResidue()
+    {
+	return residue.get();
+    }
+
+    /**
+     * Merges {@code result} of {@code query} if it has not returned yet,
+     * and fires a {@code QueryResultEvent} delivering the {@code result}.
+     *
+     * @param query returned, timed out or failed
+     * @param result of the {@code query}, or null if none
+     */
+    protected void sourceReturned(ObjectQuery<T> query, Collection<T> result)
+    {
+	if(isCancelled())
+	    result = null;
+
+	int remaining = 0;
+	int total = 0;
+	synchronized(queries) {
+	    if(results == null)
+		results = Collections.synchronizedList(new ArrayList<T>());
+	    synchronized(futures) {
+		if(futures.remove(query) == null)
+		    return;
+		if(result != null) {
+		    results.addAll(result);
+		}
+		remaining = residue.decrementAndGet();
+	    }
+	    total = queries.size();
+	}
+
+	ScheduledFuture<?> timer = timeouts == null ? null : timeouts.remove(query);
+	if(timer != null)
+	    timer.cancel(false);
+
+	fireQueryResultEvent(new QueryResultEvent<T>(this, result, remaining, total, null));
+    }
+
     public void addQueryResultListener(QueryResultListener<T> listener)
     {
 	if(listeners == null)
@@ -149,22 +311,9 @@ public abstract class AbstractMultiplexQuery<T extends NamedObject<?>>
 
     public void queryReturned(QueryResultEvent<T> event)
     {
-	while(inSubmission) { ; }
-
-	if(results == null)
-	    results = new ArrayList<T>();
-
-	synchronized(queries) {
-	    synchronized(futures) {
-		Collection<T> result = event.getResults();
-		if(result != null) {
-		    results.addAll(result);
-		}
-		futures.remove(event.getQuery());
-	    }
-	}
+	if(event.getResidue() > 0 || futures == null)
+	    return;
 
-	fireQueryResultEvent(new QueryResultEvent<T>(this, futures.size(), queries.size()));
+	sourceReturned(event.getQuery(), event.getResults());
     }
 }
-
@@ -31,10 +31,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.nomencurator.io.QueryMode.*;
 import org.nomencurator.io.MatchingMode.*;
 
@@ -44,6 +48,9 @@ import org.nomencurator.model.Rank;
 
 import org.nomencurator.util.CollectionUtility;
 
+import lombok.Getter;
+import lombok.Setter;
+
 /**
  * {@code AbstractNameUsageExchanger} provides an abstract implementation of
  * {@code NameUsageExchanger}.
@@ -55,6 +62,16 @@ public abstract class AbstractNameUsageExchanger<T extends NameUsage<?>>
     extends AbstractObjectExchanger<T>
     implements NameUsageExchanger<T>
 {
+    /** Default number of {@code NameUsage}s expanded or queried at once */
+    public static final int DEFAULT_EXPANSION_CONCURRENCY = 8;
+
+    /** Maximum number of {@code NameUsage}s expanded or queried at once */
+    @Getter
+    @Setter
+    protected int expansionConcurrency = DEFAULT_EXPANSION_CONCURRENCY;
+
+    protected QueryResultListenerAdaptor<T> adaptor;
+
     public Collection<T> getObjects(QueryParameter<T> queryParameter)
 	throws IOException
     {
@@ -343,28 +360,48 @@ public abstract class AbstractNameUsageExchanger<T extends NameUsage<?>>
 	if(nameUsage == null)
 	    return null;
 
-	Rank currentRank = nameUsage.getRank();
-        if(depth == 0 || (rank != null && ((!rank.equals(Rank.UNRANKED) && rank.equals(currentRank)) || rank.isHigher(currentRank))))
-	    //return new ArrayList<N>();
+	if(!HierarchyExpansion.isExpandable(nameUsage, rank, depth))
 	    return new ArrayList<NameUsage<T>>();
-	    
-	resolveLowerNameUsages(nameUsage);
 
-	// It is unclear that whey casting is necessary.
+	expandLowerNameUsages(nameUsage, rank, depth);
+
 	List<NameUsage<T>> lowersUsages = nameUsage.getLowerNameUsages();
-	List<NameUsage<T>> lowers = null;
-	if(lowersUsages != null && !lowersUsages.isEmpty()) {
-	    lowers = new ArrayList<NameUsage<T>>(lowersUsages.size());
-	    for (NameUsage<T> lowerUsage : lowersUsages) {
-		NameUsage<T> lower = lowerUsage;
-		lowers.add(lower);
-		Rank lowerRank = lower.getRank();
-		if(isHigherOrUnspecified(lowerRank, rank) || lowerRank.equals(rank))
-		    getLowerNameUsages(lower, rank, depth<=0? depth:depth-1);
-	    }
+	if(lowersUsages == null || lowersUsages.isEmpty())
+	    return null;
+
+	return new ArrayList<NameUsage<T>>(lowersUsages);
+    }
+
+    /**
+     * Resolves lower {@code NameUsage}s of {@code nameUsage} level by level
+     * down to {@code rank} within {@code depth}, and returns all of
+     * {@code NameUsage}s found.
+     * {@code QueryResultListener}s of this exchanger receive
+     * {@code NameUsage}s found in each level as the level completes.
+     *
+     * @param nameUsage {@code NameUsage} to be expanded
+     * @param rank the lowest {@code Rank} to be expanded, or null
+     * @param depth maximum number of levels, or negative if unlimited
+     * @return {@code Collection} of {@code NameUsage}s found
+     */
+    protected Collection<T> expandLowerNameUsages(NameUsage<T> nameUsage, Rank rank, int depth)
+	throws IOException
+    {
+	HierarchyExpansion<T> expansion = createHierarchyExpansion(nameUsage, rank, depth);
+	final QueryResultListenerAdaptor<T> listeners = adaptor;
+	if(listeners != null) {
+	    expansion.addQueryResultListener(new QueryResultListener<T>() {
+		    public void queryReturned(QueryResultEvent<T> event) {
+			listeners.fireQueryResultEvent(event);
+		    }
+		});
 	}
+	return expansion.call();
+    }
 
-	return lowers;
+    protected HierarchyExpansion<T> createHierarchyExpansion(NameUsage<T> nameUsage, Rank rank, int depth)
+    {
+	return new HierarchyExpansion<T>(this, nameUsage, rank, depth, getExpansionConcurrency());
     }
 
     /**
@@ -516,28 +553,38 @@ public abstract class AbstractNameUsageExchanger<T extends NameUsage<?>>
 
 	List<NameUsage<T>> nameUsages = new ArrayList<NameUsage<T>>();
 
-	Collection<NameUsage<T>> descendents = getLowerNameUsages(nameUsage, null, FULL_DEPTH);
+	Collection<T> descendents = expandLowerNameUsages(nameUsage, null, FULL_DEPTH);
 
-	if(descendents == null)
+	if(descendents == null || descendents.isEmpty())
 	    return nameUsages;
 
-	Set<String> names = new HashSet<String>();
-	for (NameUsage<T> descendent : descendents) {
-	    names.add(descendent.getLiteral());
+	Set<String> names = new LinkedHashSet<String>();
+	for (T descendent : descendents) {
+	    String literal = descendent.getLiteral();
+	    if(literal != null && literal.length() > 0)
+		names.add(literal);
 	}
 	descendents.clear();
 	descendents = null;
 
+	final Map<String, Collection<NameUsage<T>>> results = new ConcurrentHashMap<String, Collection<NameUsage<T>>>(names.size());
+	QueryExecutor.forEach(names, getExpansionConcurrency(), new QueryExecutor.Task<String>() {
+		public void run(String name) throws IOException {
+		    Collection<NameUsage<T>> result = getExactNameUsages(name, null, false, false, false, null);
+		    if(result != null)
+			results.put(name, result);
+		}
+	    });
+
 	for(String name : names) {
-	    Collection<NameUsage<T>> result = getExactNameUsages(name, null, false, false, false, null);
+	    Collection<NameUsage<T>> result = results.get(name);
 	    if(result != null) {
 		nameUsages.addAll(result);
-		result.clear();
-		result = null;
 	    }
 	}
 	names.clear();
 	names = null;
+	results.clear();
 	return nameUsages;
     }
 
@@ -607,28 +654,19 @@ public abstract class AbstractNameUsageExchanger<T extends NameUsage<?>>
 	return nameUsages;
     }
     
-    /*
-    public void addQueryResultListener(QueryResultListener listener)
+    public void addQueryResultListener(QueryResultListener<T> listener)
     {
 	if(adaptor == null)
-	    adaptor = new QueryResultListenerAdaptor();
+	    adaptor = new QueryResultListenerAdaptor<T>();
 	adaptor.addQueryResultListener(listener);
     }
 
-    public void removeQueryResultListener(QueryResultListener listener)
+    public void removeQueryResultListener(QueryResultListener<T> listener)
     {
 	if(adaptor != null)
 	    adaptor.removeQueryResultListener(listener);
     }
 
-    //protected void fireQueryResultEvent(QueryResultEvent event)
-    public void fireQueryResultEvent(QueryResultEvent event)
-    {
-	if(adaptor != null)
-	    adaptor.fireQueryResultEvent(event);
-    }
-    */
-
     public void setDefaultDepth(int depth) { }
 
     public void setDefaultHeight(int height) { }
@@ -0,0 +1,291 @@
+/*
+ * CompactTree.java:  an array-based tree parsed from NEWICK
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * {@code CompactTree} holds a tree parsed from NEWICK format in arrays
+ * indexed by nodes in post-order, instead of a {@code NameUsage} per
+ * node.  Children precede their parent, so the root is the last node.
+ * Branch lengths not given or not numeric are {@code NaN}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class CompactTree
+{
+    /** Index representing no node */
+    public static final int NONE = -1;
+
+    /** Name of the tree, or null if unnamed */
+    @Getter
+    protected String name;
+
+    protected int size;
+
+    protected String[] labels;
+
+    protected double[] branchLengths;
+
+    protected int[] parents;
+
+    protected int[] firstChildren;
+
+    protected int[] nextSiblings;
+
+    protected CompactTree(String name, int capacity)
+    {
+	this.name = name;
+	labels = new String[capacity];
+	branchLengths = new double[capacity];
+	parents = new int[capacity];
+	firstChildren = new int[capacity];
+	nextSiblings = new int[capacity];
+    }
+
+    /**
+     * Appends a node of which children are {@code children}, and
+     * returns its index.
+     */
+    protected int add(String label, double branchLength, int[] children, int from, int to)
+    {
+	if(size == labels.length) {
+	    int capacity = Math.max(size * 2, 16);
+	    labels = Arrays.copyOf(labels, capacity);
+	    branchLengths = Arrays.copyOf(branchLengths, capacity);
+	    parents = Arrays.copyOf(parents, capacity);
+	    firstChildren = Arrays.copyOf(firstChildren, capacity);
+	    nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+	}
+
+	int node = size++;
+	labels[node] = label;
+	branchLengths[node] = branchLength;
+	parents[node] = NONE;
+	nextSiblings[node] = NONE;
+	firstChildren[node] = (from < to) ? children[from] : NONE;
+	for(int i = from; i < to; i++) {
+	    parents[children[i]] = node;
+	    if(i + 1 < to)
+		nextSiblings[children[i]] = children[i + 1];
+	}
+	return node;
+    }
+
+    /**
+     * Releases unused capacity of arrays.
+     */
+    protected void trim()
+    {
+	if(size == labels.length)
+	    return;
+	labels = Arrays.copyOf(labels, size);
+	branchLengths = Arrays.copyOf(branchLengths, size);
+	parents = Arrays.copyOf(parents, size);
+	firstChildren = Arrays.copyOf(firstChildren, size);
+	nextSiblings = Arrays.copyOf(nextSiblings, size);
+    }
+
+    /**
+     * Returns number of nodes.
+     *
+     * @return number of nodes
+     */
+    public int size()
+    {
+	return size;
+    }
+
+    /**
+     * Returns index of the root node, or {@code NONE} if empty.
+     *
+     * @return index of the root node
+     */
+    public int getRoot()
+    {
+	return size - 1;
+    }
+
+    public String getLabel(int node)
+    {
+	return labels[node];
+    }
+
+    public double getBranchLength(int node)
+    {
+	return branchLengths[node];
+    }
+
+    public int getParent(int node)
+    {
+	return parents[node];
+    }
+
+    public int getFirstChild(int node)
+    {
+	return firstChildren[node];
+    }
+
+    public int getNextSibling(int node)
+    {
+	return nextSiblings[node];
+    }
+
+    public boolean isLeaf(int node)
+    {
+	return firstChildren[node] == NONE;
+    }
+
+    public int getChildCount(int node)
+    {
+	int count = 0;
+	for(int child = firstChildren[node]; child != NONE; child = nextSiblings[child])
+	    count++;
+	return count;
+    }
+
+    /**
+     * Returns indices of children of {@code node} in order.
+     *
+     * @param node index of a node
+     * @return indices of children, empty if {@code node} is a leaf
+     */
+    public int[] getChildren(int node)
+    {
+	int[] children = new int[getChildCount(node)];
+	int i = 0;
+	for(int child = firstChildren[node]; child != NONE; child = nextSiblings[child])
+	    children[i++] = child;
+	return children;
+    }
+
+    /**
+     * Returns number of leaves.
+     *
+     * @return number of leaves
+     */
+    public int getLeafCount()
+    {
+	int count = 0;
+	for(int node = 0; node < size; node++) {
+	    if(firstChildren[node] == NONE)
+		count++;
+	}
+	return count;
+    }
+
+    /**
+     * Returns index of the first node labelled {@code label} in post-order,
+     * or {@code NONE} if none.
+     *
+     * @param label to be searched
+     * @return index of a node or {@code NONE}
+     */
+    public int indexOf(String label)
+    {
+	for(int node = 0; node < size; node++) {
+	    if(label.equals(labels[node]))
+		return node;
+	}
+	return NONE;
+    }
+
+    /**
+     * Returns {@code branch} as a branch length, or {@code NaN}
+     * if it is not a number.
+     *
+     * @param branch text after colon
+     * @return branch length or {@code NaN}
+     */
+    public static double parseBranchLength(String branch)
+    {
+	if(branch == null)
+	    return Double.NaN;
+	try {
+	    return Double.parseDouble(branch);
+	}
+	catch (NumberFormatException e) {
+	    return Double.NaN;
+	}
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[name=").append(name)
+	    .append(", nodes=").append(size)
+	    .append("]").toString();
+    }
+
+    /**
+     * {@code Builder} is a {@code NewickHandler} building a
+     * {@code CompactTree} of each tree parsed.
+     */
+    public static class Builder
+	implements NewickHandler
+    {
+	@Getter
+	protected List<CompactTree> trees;
+
+	protected CompactTree tree;
+
+	/** Indices of nodes closed but not claimed by a parent yet */
+	protected int[] stack;
+
+	protected int top;
+
+	public Builder()
+	{
+	    trees = new ArrayList<CompactTree>();
+	    stack = new int[64];
+	}
+
+	public void startTree(String name)
+	{
+	    tree = new CompactTree(name, 64);
+	    top = 0;
+	}
+
+	public boolean node(String label, String branch, int children)
+	{
+	    top -= children;
+	    int node = tree.add(label, parseBranchLength(branch), stack, top, top + children);
+	    if(top == stack.length)
+		stack = Arrays.copyOf(stack, top * 2);
+	    stack[top++] = node;
+	    return true;
+	}
+
+	public boolean endTree()
+	{
+	    tree.trim();
+	    trees.add(tree);
+	    tree = null;
+	    return true;
+	}
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * HierarchyExpansion.java:  level-batched expansion of lower NameUsages
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.nomencurator.model.NameUsage;
+import org.nomencurator.model.Rank;
+
+import lombok.Getter;
+
+/**
+ * {@code HierarchyExpansion} resolves lower {@code NameUsage}s of a
+ * {@code NameUsage} breadth first.  Lower {@code NameUsage}s of all
+ * {@code NameUsage}s of a level are resolved in parallel on the
+ * {@code QueryExecutor}, then a {@code QueryResultEvent} is fired of
+ * which {@code getResults()} returns {@code NameUsage}s found in the
+ * level.  {@code call()} returns all {@code NameUsage}s found, or found
+ * before cancellation.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class HierarchyExpansion<T extends NameUsage<?>>
+    extends NamedObjectQuery<T>
+{
+    @Getter
+    protected NameUsage<T> root;
+
+    @Getter
+    protected Rank rank;
+
+    @Getter
+    protected int depth;
+
+    @Getter
+    protected int concurrency;
+
+    /** Number of levels expanded */
+    @Getter
+    protected volatile int level;
+
+    /** Number of {@code NameUsage}s of which lower {@code NameUsage}s were resolved */
+    @Getter
+    protected volatile int expandedCount;
+
+    /**
+     * Constructs an expansion of {@code root} down to {@code rank}
+     * but at most {@code depth} levels, or without limit if
+     * {@code depth} is negative.
+     *
+     * @param exchanger to resolve lower {@code NameUsage}s
+     * @param root {@code NameUsage} to be expanded
+     * @param rank the lowest {@code Rank} to be expanded, or null
+     * @param depth maximum number of levels to be expanded
+     * @param concurrency maximum number of {@code NameUsage}s resolved at once
+     */
+    public HierarchyExpansion(AbstractNameUsageExchanger<T> exchanger, NameUsage<T> root, Rank rank, int depth, int concurrency)
+    {
+	super(new NameUsageQueryParameter<T>(root, 0, depth, Boolean.FALSE, MatchingMode.EXACT, QueryMode.LOWER_NAMEUSAGES, false, false, false, null, false), exchanger);
+	this.root = root;
+	this.rank = rank;
+	this.depth = depth;
+	this.concurrency = concurrency;
+    }
+
+    public Collection<T> call()
+	throws IOException
+    {
+	final AbstractNameUsageExchanger<T> source = (AbstractNameUsageExchanger<T>)exchanger;
+	List<T> descendants = new ArrayList<T>();
+	Set<NameUsage<T>> visited = Collections.newSetFromMap(new IdentityHashMap<NameUsage<T>, Boolean>());
+	List<NameUsage<T>> frontier = new ArrayList<NameUsage<T>>(1);
+	if(isExpandable(root, rank, depth)) {
+	    frontier.add(root);
+	    visited.add(root);
+	}
+
+	int remaining = depth;
+	level = 0;
+	expandedCount = 0;
+	while(!frontier.isEmpty() && !isCancelled()) {
+	    QueryExecutor.forEach(frontier, concurrency, new QueryExecutor.Task<NameUsage<T>>() {
+		    public void run(NameUsage<T> nameUsage) throws IOException {
+			source.resolveLowerNameUsages(nameUsage);
+		    }
+		});
+	    if(remaining > 0)
+		remaining--;
+
+	    List<T> found = new ArrayList<T>();
+	    List<NameUsage<T>> next = new ArrayList<NameUsage<T>>();
+	    for(NameUsage<T> nameUsage : frontier) {
+		List<NameUsage<T>> lowers = nameUsage.getLowerNameUsages();
+		if(lowers == null)
+		    continue;
+		for(NameUsage<T> lower : lowers) {
+		    @SuppressWarnings("unchecked")
+			T usage = (T)lower;
+		    found.add(usage);
+		    if(isToBeExpanded(lower, rank, remaining) && visited.add(lower))
+			next.add(lower);
+		}
+	    }
+
+	    level++;
+	    expandedCount += frontier.size();
+	    frontier = next;
+	    descendants.addAll(found);
+
+	    if(isCancelled())
+		break;
+	    fireQueryResultEvent(new QueryResultEvent<T>(this, found, frontier.size(), expandedCount + frontier.size(), "level " + level));
+	}
+
+	results = descendants;
+	return results;
+    }
+
+    /**
+     * Returns true if lower {@code NameUsage}s of {@code nameUsage} are to
+     * be resolved to reach {@code rank} within {@code depth}.
+     *
+     * @param nameUsage to be examined
+     * @param rank the lowest {@code Rank} to be expanded, or null
+     * @param depth remaining levels, negative if unlimited
+     * @return true if {@code nameUsage} is to be expanded
+     */
+    public static boolean isExpandable(NameUsage<?> nameUsage, Rank rank, int depth)
+    {
+	if(nameUsage == null || depth == 0)
+	    return false;
+	if(rank == null)
+	    return true;
+	Rank currentRank = nameUsage.getRank();
+	return !((!rank.equals(Rank.UNRANKED) && rank.equals(currentRank)) || rank.isHigher(currentRank));
+    }
+
+    /**
+     * Returns true if {@code lower}, found under an expanded
+     * {@code NameUsage}, is to be expanded in turn.
+     *
+     * @param lower {@code NameUsage} to be examined
+     * @param rank the lowest {@code Rank} to be expanded, or null
+     * @param depth remaining levels, negative if unlimited
+     * @return true if {@code lower} is to be expanded
+     */
+    protected boolean isToBeExpanded(NameUsage<?> lower, Rank rank, int depth)
+    {
+	Rank lowerRank = lower.getRank();
+	return (AbstractNameUsageExchanger.isHigherOrUnspecified(lowerRank, rank) || lowerRank.equals(rank))
+	    && isExpandable(lower, rank, depth);
+    }
+}
@@ -21,6 +21,7 @@
 
 package org.nomencurator.io;
 
+import java.io.InterruptedIOException;
 import java.io.IOException;
 
 // import java.util.ArrayList;
@@ -54,6 +55,11 @@ public class NamedObjectQuery<T extends NamedObject<?>>
     @Getter
 	protected volatile Collection<T> results;
 
+    protected volatile boolean cancelled;
+
+    /** {@code Thread} executing {@code call()}, to be interrupted on cancellation */
+    protected volatile Thread runner;
+
     protected NamedObjectQuery(QueryParameter<T> parameter)
     {
 	this.parameter = parameter;
@@ -74,7 +80,18 @@ public class NamedObjectQuery<T extends NamedObject<?>>
     public Collection<T> call()
 	throws IOException
     {
-	results = exchanger.getObjects(parameter);
+	checkCancelled();
+	runner = Thread.currentThread();
+	try {
+	    results = exchanger.getObjects(parameter);
+	}
+	finally {
+	    runner = null;
+	    // clear interruption by cancel() not to disturb the pooled thread
+	    if(cancelled)
+		Thread.interrupted();
+	}
+	checkCancelled();
 
 	if(listeners != null)
 	    listeners.fireQueryResultEvent(new QueryResultEvent<T>(this, 0, 1));
@@ -82,6 +99,32 @@ public class NamedObjectQuery<T extends NamedObject<?>>
 	return results;
     }
 
+    public boolean cancel()
+    {
+	if(cancelled)
+	    return false;
+	cancelled = true;
+	Thread thread = runner;
+	if(thread != null)
+	    thread.interrupt();
+	return true;
+    }
+
+    public boolean isCancelled()
+    {
+	return cancelled;
+    }
+
+    /**
+     * Throws {@code InterruptedIOException} if the query was cancelled.
+     */
+    protected void checkCancelled()
+	throws InterruptedIOException
+    {
+	if(cancelled)
+	    throw new InterruptedIOException("query cancelled");
+    }
+
     public void addQueryResultListener(QueryResultListener<T> listener)
     {
 	if(listeners == null)
@@ -0,0 +1,61 @@
+/*
+ * NewickHandler.java:  receives nodes of NEWICK trees while parsed
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+/**
+ * {@code NewickHandler} receives nodes of trees in NEWICK format
+ * one by one while {@link NewickTokenizer} parses them, so that
+ * a large tree need not be held as {@code NameUsage}s.
+ *
+ * Nodes are given in post-order, i.e. a node is given when it is
+ * closed, after all of its children.  Children of a node are the
+ * last {@code children} nodes given but not yet claimed by a parent.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public interface NewickHandler
+{
+    /**
+     * Receives start of a tree.
+     *
+     * @param name of the tree, or null if unnamed
+     */
+    public void startTree(String name);
+
+    /**
+     * Receives a closed node.
+     *
+     * @param label of the node, or null if unlabelled
+     * @param branch text after colon, e.g. branch length, or null if none
+     * @param children number of children of the node
+     * @return false to stop parsing
+     */
+    public boolean node(String label, String branch, int children);
+
+    /**
+     * Receives end of a tree.
+     *
+     * @return false to stop parsing
+     */
+    public boolean endTree();
+}
@@ -25,41 +25,34 @@
 
 package org.nomencurator.io;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 
 import org.nomencurator.model.NameUsage;
-import org.nomencurator.model.NameUsageNode;
-import org.nomencurator.model.DefaultNameUsageNode;
 import org.nomencurator.model.DefaultNameUsage;
 
 /**
  * {@code NewickReader} reads and extract trees from
  * a NEWICK format file
  *
+ * Trees are parsed by a {@link NewickTokenizer}, which gives nodes
+ * to a {@link NewickHandler} as they are closed.  Trees can be
+ * extracted as {@code NameUsage}s, as {@link CompactTree}s holding
+ * nodes in arrays, or given to a {@code NewickHandler} node by node.
+ *
  * @see <A HREF="http://evolution.genetics.washington.edu/phylip/newicktree.html">http://evolution.genetics.washington.edu/phylip/newicktree.html</A>
  * @see org.nomencurator.model.NameUsage
  *
- * @version 	09 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NewickReader
 {
-    /** {@code BufferedReader} to read a file */
-    protected BufferedReader reader;
-
-    /** A line of the file under parsing */
-    protected String line;
-
-    /** Index to a character in the {@code line} under parsing */
-    protected int index;
-
     /** Constructs a {@code NewickReader} */
     public NewickReader()
     {
@@ -77,47 +70,80 @@ public class NewickReader
     public NameUsage<?>[] parseTrees(File file)
 	throws FileNotFoundException, IOException
     {
-	reader = new BufferedReader(new FileReader(file));
-	skipLines();
-	if(line == null)
+	NameUsageBuilder builder = new NameUsageBuilder();
+	parse(file, builder);
+
+	List<NameUsage<?>> roots = builder.getRoots();
+	if(roots.isEmpty())
 	    return null;
 
-	Collection<NameUsage<?>> roots = parseTrees();
+	return roots.toArray(new NameUsage<?>[roots.size()]);
+    }
 
-	if(roots.isEmpty())
+    /**
+     * Opens and parses {@code file} to extract tree(s)
+     * as {@code CompactTree}s
+     *
+     * @param file {@code File} to be opened and parsed
+     * @return an array of tree(s) extracted, or null if
+     * no tree is contained in the {@code file}
+     * @exception FileNotFoundException
+     * @exception IOException
+     */
+    public CompactTree[] parseCompactTrees(File file)
+	throws FileNotFoundException, IOException
+    {
+	CompactTree.Builder builder = new CompactTree.Builder();
+	parse(file, builder);
+
+	List<CompactTree> trees = builder.getTrees();
+	if(trees.isEmpty())
 	    return null;
 
-	NameUsage<?>[] nodes = roots.toArray(new NameUsage<?>[roots.size()]);
-	roots.clear();
-	return nodes;
+	return trees.toArray(new CompactTree[trees.size()]);
     }
 
-    protected Collection<NameUsage<?>> parseTrees()
-	throws IOException
+    /**
+     * Parses {@code file}, mapped into memory, giving nodes of
+     * tree(s) to {@code handler}
+     *
+     * @param file {@code File} to be opened and parsed
+     * @param handler to receive nodes
+     * @exception FileNotFoundException
+     * @exception IOException
+     */
+    public void parse(File file, NewickHandler handler)
+	throws FileNotFoundException, IOException
     {
-	Collection<NameUsage<?>> roots = new ArrayList<NameUsage<?>>();
-	do {
-	    NameUsage<?> root = parseTreeLine();
-	    if(root != null)
-	    roots.add(root);
-	} while(hasMoreTrees());
-
-	return roots;
+	if(!file.isFile())
+	    throw new FileNotFoundException(file.getPath());
+
+	try (NewickTokenizer tokenizer = new NewickTokenizer(file)) {
+	    parse(tokenizer, handler);
+	}
     }
 
-    protected void skipLines()
+    /**
+     * Parses characters of {@code reader}, giving nodes of
+     * tree(s) to {@code handler}.  The {@code reader} is
+     * left open.
+     *
+     * @param reader {@code Reader} to be parsed
+     * @param handler to receive nodes
+     * @exception IOException
+     */
+    public void parse(Reader reader, NewickHandler handler)
 	throws IOException
     {
-	readLine();
+	parse(new NewickTokenizer(reader), handler);
     }
 
-    protected void readLine()
+    protected void parse(NewickTokenizer tokenizer, NewickHandler handler)
 	throws IOException
     {
-	index = 0;
-	line = reader.readLine();
-	if(line != null)
-	    line = line.trim();
+	NewickHandler translator = new Translator(handler);
+	while(tokenizer.parseTree(null, translator)) {
+	}
     }
 
     protected String getNodeName(String key)
@@ -125,135 +151,113 @@ public class NewickReader
 	return key;
     }
 
-    protected boolean hasMoreTrees()
-	throws IOException
+    /**
+     * Called when a tree is extracted as {@code NameUsage}s.
+     *
+     * @param root of the tree
+     * @param name of the tree, or null if unnamed
+     */
+    protected void treeParsed(NameUsage<?> root, String name)
     {
-	index = 0;
-	line = reader.readLine();
-	if(line != null)
-	    line = line.trim();
-	return (line != null);
     }
 
-    protected NameUsage<?> parseTreeLine()
-	throws IOException
+    protected NameUsage<?> createNameUsage()
     {
-	return parseSubTreeLine(null);
+	return new DefaultNameUsage();
     }
 
-    @SuppressWarnings("unchecked")
-    protected NameUsage<?> parseSubTreeLine(NameUsage<?> parent)
-	throws IOException
+    /**
+     * {@code Translator} gives nodes to another {@code NewickHandler}
+     * with labels given by {@code getNodeName(String)}.
+     */
+    protected class Translator
+	implements NewickHandler
     {
-	NameUsage<?> current = null;
-	while(line != null &&
-	      index < line.length() &&
-	      line.charAt(index) != ';') {
-	    if(line.charAt(index) == '(') {
-		index++;
-		current = parent.create();
-		current.setHigherNameUsage(current.getClass().cast(parent));
-
-		if(index == line.length()) {
-		    line = reader.readLine().trim();
-		    index = 0;
-		}
-
-		if(index < line.length()) {
-		    parseSubTreeLine(current);
-
-		    if(index < line.length()) {
-			if(line.charAt(index) == ')' ||
-			   line.charAt(index) == ',' ||
-			   line.charAt(index) == ';'){
-			    // current.setLiteral("(unnamed)");
-			}
-			else {
-			    parseNodeToken(current);
-			}
-		    }
-		}
-	    }
-	    else if(line.charAt(index) == ')') {
-		index++;
-		return current;
-	    }
-	    else if(line.charAt(index) == ','){
-		//current = null;
-		index++;
-	    }
-	    else {
-		int i = index;
-		NameUsage<?> toParse = parent.create();
-		parseNodeToken(toParse).setHigherNameUsage(toParse.getClass().cast(parent));
-	    }
-	}
-	return current;
-    }
+	protected NewickHandler handler;
 
-    protected NameUsage<?> parseNodeToken(NameUsage<?> node)
-    {
-	int comma = line.indexOf(",", index);
-	int last = line.indexOf(")", index);
-	if(last == -1)
-	    last = line.indexOf(";", index);
-	if(last == -1 && comma == -1)
-	    return node;
-
-	if(comma > -1 &&
-	   (last == -1 ||
-	    comma < last))
-	    last = comma;
-	String token = line.substring(index, last);
-
-	int colon = token.indexOf(":");
-	String name = null;
-	String value = null;
-	int length = token.length();
-	if(colon == -1)
-	    colon = length;
-	if(colon > 0) {
-	    name = token.substring(0, colon);
-	    if(colon < length)
-		value = token.substring(colon + 1);
-	}
-	else {
-	    value = token.substring(1);
+	public Translator(NewickHandler handler)
+	{
+	    this.handler = handler;
 	}
 
-	if(name == null || name.length() == 0)
-	    //name = "unnamed ";
-	    name = "";
-	name = getNodeName(name);
-	node.setLiteral(name);
-	if(value != null)
-	    node.setNotes(value);
+	public void startTree(String name)
+	{
+	    handler.startTree(name);
+	}
 
-	NameUsage<?> p = (NameUsage<?>)node.getHigherNameUsage();
-	index = last;
+	public boolean node(String label, String branch, int children)
+	{
+	    if(label != null)
+		label = getNodeName(label);
+	    return handler.node(label, branch, children);
+	}
 
-	return node;
+	public boolean endTree()
+	{
+	    return handler.endTree();
+	}
     }
 
-    //test routine
-    /*
-    public static void main(String[] args)
+    /**
+     * {@code NameUsageBuilder} builds a tree of {@code NameUsage}s of
+     * each tree parsed.  Labels are set as literals, where unlabelled
+     * leaves have an empty literal, and texts after colon as notes.
+     */
+    protected class NameUsageBuilder
+	implements NewickHandler
     {
-	NewickReader reader = new NewickReader();
-	NameUsage<?>[] roots = null;
-	try{
-	    roots = reader.parseTrees(new File(args[0]));
+	protected List<NameUsage<?>> roots;
+
+	/** {@code NameUsage}s closed but not claimed by a parent yet */
+	protected List<NameUsage<?>> stack;
+
+	protected String treeName;
+
+	public NameUsageBuilder()
+	{
+	    roots = new ArrayList<NameUsage<?>>();
+	    stack = new ArrayList<NameUsage<?>>();
 	}
-	catch(Exception e) {
-	    e.printStackTrace();
+
+	public List<NameUsage<?>> getRoots()
+	{
+	    return roots;
 	}
 
-	org.nomencurator.swing.NameTree tree = new org.nomencurator.swing.NameTree(roots[0]);
+	public void startTree(String name)
+	{
+	    treeName = name;
+	    stack.clear();
+	}
 
-	javax.swing.JFrame frame = new javax.swing.JFrame("TreeTest");
-	frame.getContentPane().add(tree);
-	frame.show();
+	@SuppressWarnings("unchecked")
+	public boolean node(String label, String branch, int children)
+	{
+	    NameUsage<?> node = createNameUsage();
+	    if(label == null && children == 0)
+		label = getNodeName("");
+	    if(label != null)
+		node.setLiteral(label);
+	    if(branch != null)
+		node.setNotes(branch);
+
+	    int first = stack.size() - children;
+	    List<NameUsage<?>> lowers = stack.subList(first, stack.size());
+	    for(NameUsage<?> lower : lowers)
+		lower.setHigherNameUsage(lower.getClass().cast(node));
+	    lowers.clear();
+	    stack.add(node);
+	    return true;
+	}
 
+	public boolean endTree()
+	{
+	    for(NameUsage<?> root : stack) {
+		roots.add(root);
+		treeParsed(root, treeName);
+	    }
+	    stack.clear();
+	    return true;
+	}
     }
-    */
 }
@@ -0,0 +1,459 @@
+/*
+ * NewickTokenizer.java:  a streaming tokenizer of NEWICK trees
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.StandardOpenOption;
+
+import java.util.Arrays;
+
+/**
+ * {@code NewickTokenizer} parses trees in NEWICK format character by
+ * character, from a {@code Reader} or from a file mapped into memory,
+ * and gives their nodes to a {@link NewickHandler} as they are closed.
+ * It holds only a buffer of characters and a stack of open nodes, so
+ * trees of any size and depth are parsed without recursion, and line
+ * breaks may appear anywhere between tokens.
+ *
+ * Labels may be quoted by single quotes, and comments in square
+ * brackets are skipped.  {@link #nextWord()} gives words of NEXUS
+ * commands around trees.
+ *
+ * @see <A HREF="http://evolution.genetics.washington.edu/phylip/newicktree.html">http://evolution.genetics.washington.edu/phylip/newicktree.html</A>
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NewickTokenizer
+    implements Closeable
+{
+    /** Number of characters buffered */
+    public static final int BUFFER_SIZE = 8192;
+
+    /** Default number of bytes of a file mapped at once */
+    public static final long MAP_SIZE = 1L << 26;
+
+    protected Reader reader;
+
+    protected FileChannel channel;
+
+    /** Length of the file */
+    protected long length;
+
+    /** Number of bytes of the file mapped at once */
+    protected long mapSize;
+
+    /** Window of the file mapped */
+    protected MappedByteBuffer mapped;
+
+    /** Position in the file next to the end of {@code mapped} */
+    protected long mappedEnd;
+
+    protected CharsetDecoder decoder;
+
+    /** Characters read but not consumed yet */
+    protected final CharBuffer buffer;
+
+    protected boolean endOfInput;
+
+    protected final StringBuilder token;
+
+    /** Numbers of children closed of nodes open */
+    protected int[] counts;
+
+    /**
+     * Constructs a {@code NewickTokenizer} reading {@code reader}.
+     *
+     * @param reader to be read
+     */
+    public NewickTokenizer(Reader reader)
+    {
+	this.reader = reader;
+	buffer = CharBuffer.allocate(BUFFER_SIZE);
+	buffer.flip();
+	token = new StringBuilder();
+	counts = new int[64];
+    }
+
+    /**
+     * Constructs a {@code NewickTokenizer} reading {@code file}
+     * in UTF-8 through memory mapping.
+     *
+     * @param file to be read
+     * @exception IOException if the {@code file} can not be opened
+     */
+    public NewickTokenizer(File file)
+	throws IOException
+    {
+	this(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Constructs a {@code NewickTokenizer} reading {@code file}
+     * in {@code charset} through memory mapping.
+     *
+     * @param file to be read
+     * @param charset of the {@code file}
+     * @exception IOException if the {@code file} can not be opened
+     */
+    public NewickTokenizer(File file, Charset charset)
+	throws IOException
+    {
+	this((Reader)null);
+	channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	length = channel.size();
+	mapSize = MAP_SIZE;
+	decoder = charset.newDecoder()
+	    .onMalformedInput(CodingErrorAction.REPLACE)
+	    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Fills {@code buffer} with following characters.
+     *
+     * @return true if any character is read
+     */
+    protected boolean fill()
+	throws IOException
+    {
+	if(endOfInput)
+	    return false;
+
+	buffer.clear();
+	if(reader != null) {
+	    int read = 0;
+	    while(read == 0)
+		read = reader.read(buffer);
+	    if(read < 0)
+		endOfInput = true;
+	}
+	else {
+	    decode();
+	}
+	buffer.flip();
+	return buffer.hasRemaining();
+    }
+
+    /**
+     * Decodes bytes of the mapped file into {@code buffer}, mapping
+     * the next window when the current one is exhausted.
+     */
+    protected void decode()
+	throws IOException
+    {
+	while(buffer.position() == 0) {
+	    if(mapped == null)
+		map();
+	    boolean last = mappedEnd >= length;
+	    CoderResult result = decoder.decode(mapped, buffer, last);
+	    if(result.isError())
+		result.throwException();
+	    if(buffer.position() > 0)
+		break;
+	    if(last) {
+		decoder.flush(buffer);
+		endOfInput = true;
+		break;
+	    }
+	    map();
+	}
+    }
+
+    /**
+     * Maps the window of the file following bytes decoded, including
+     * bytes of a character split at the end of the current window.
+     */
+    protected void map()
+	throws IOException
+    {
+	long remaining = (mapped == null) ? 0L : mapped.remaining();
+	long start = mappedEnd - remaining;
+	long size = Math.min(remaining + mapSize, length - start);
+	mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+	mappedEnd = start + size;
+    }
+
+    protected int read()
+	throws IOException
+    {
+	if(!buffer.hasRemaining() && !fill())
+	    return -1;
+	return buffer.get();
+    }
+
+    protected int peek()
+	throws IOException
+    {
+	if(!buffer.hasRemaining() && !fill())
+	    return -1;
+	return buffer.get(buffer.position());
+    }
+
+    /**
+     * Skips white spaces and comments, and returns the next
+     * character without consuming it.
+     *
+     * @return the next character, or -1 at the end of input
+     * @exception IOException if reading failed or a comment is not closed
+     */
+    public int skipWhitespace()
+	throws IOException
+    {
+	int c = peek();
+	while(c != -1) {
+	    if(c == '[')
+		skipComment();
+	    else if(Character.isWhitespace(c))
+		read();
+	    else
+		break;
+	    c = peek();
+	}
+	return c;
+    }
+
+    protected void skipComment()
+	throws IOException
+    {
+	int depth = 0;
+	int c = read();
+	while(c != -1) {
+	    if(c == '[')
+		depth++;
+	    else if(c == ']' && --depth == 0)
+		return;
+	    c = read();
+	}
+	throw new EOFException("unclosed comment");
+    }
+
+    /**
+     * Returns true if {@code c} terminates an unquoted label.
+     *
+     * @param c character to be examined
+     * @return true if {@code c} is a delimiter
+     */
+    protected static boolean isDelimiter(int c)
+    {
+	switch(c) {
+	case '(':
+	case ')':
+	case '[':
+	case ']':
+	case '\'':
+	case ':':
+	case ';':
+	case ',':
+	    return true;
+	default:
+	    return Character.isWhitespace(c);
+	}
+    }
+
+    /**
+     * Reads a quoted label, where a doubled quote represents a quote.
+     */
+    protected String readQuoted()
+	throws IOException
+    {
+	read();
+	token.setLength(0);
+	int c = read();
+	while(c != -1) {
+	    if(c == '\'') {
+		if(peek() != '\'')
+		    return token.toString();
+		read();
+	    }
+	    token.append((char)c);
+	    c = read();
+	}
+	throw new EOFException("unclosed quote");
+    }
+
+    /**
+     * Reads an unquoted token up to a delimiter.
+     *
+     * @param word true to terminate the token at '=' as well
+     */
+    protected String readUnquoted(boolean word)
+	throws IOException
+    {
+	token.setLength(0);
+	int c = peek();
+	while(c != -1 && !isDelimiter(c) && !(word && c == '=')) {
+	    token.append((char)read());
+	    c = peek();
+	}
+	return token.toString();
+    }
+
+    protected String readLabel()
+	throws IOException
+    {
+	int c = skipWhitespace();
+	if(c == '\'')
+	    return readQuoted();
+	String label = readUnquoted(false);
+	return label.isEmpty() ? null : label;
+    }
+
+    protected String readBranch()
+	throws IOException
+    {
+	if(skipWhitespace() != ':')
+	    return null;
+	read();
+	skipWhitespace();
+	String branch = readUnquoted(false);
+	return branch.isEmpty() ? null : branch;
+    }
+
+    /**
+     * Returns the next word of NEXUS commands, i.e. a quoted or
+     * unquoted token, or a punctuation such as ';', '=' or ','
+     * as a {@code String} of a character.
+     *
+     * @return the next word, or null at the end of input
+     * @exception IOException if reading failed
+     */
+    public String nextWord()
+	throws IOException
+    {
+	int c = skipWhitespace();
+	if(c == -1)
+	    return null;
+	if(c == '\'')
+	    return readQuoted();
+	if(isDelimiter(c) || c == '=')
+	    return String.valueOf((char)read());
+	return readUnquoted(true);
+    }
+
+    /**
+     * Parses a tree up to its terminating semicolon, or up to the end
+     * of input, giving its nodes to {@code handler}.
+     *
+     * @param name of the tree, or null if unnamed
+     * @param handler to receive nodes of the tree
+     * @return false if no tree remains or the {@code handler} stopped parsing
+     * @exception IOException if reading failed or the tree is malformed
+     */
+    public boolean parseTree(String name, NewickHandler handler)
+	throws IOException
+    {
+	int c = skipWhitespace();
+	while(c == ';') {
+	    read();
+	    c = skipWhitespace();
+	}
+	if(c == -1)
+	    return false;
+
+	handler.startTree(name);
+	int depth = 0;
+	// whether a node is expected at the current level
+	boolean open = true;
+	while(true) {
+	    c = skipWhitespace();
+	    switch(c) {
+	    case '(':
+		read();
+		if(!open)
+		    throw new IOException("unexpected '(' in tree " + name);
+		if(depth == counts.length)
+		    counts = Arrays.copyOf(counts, depth * 2);
+		counts[depth++] = 0;
+		open = true;
+		break;
+	    case ',':
+		read();
+		if(depth == 0)
+		    throw new IOException("comma outside parentheses in tree " + name);
+		if(open && !node(handler, depth, null, null, 0))
+		    return false;
+		open = true;
+		break;
+	    case ')':
+		read();
+		if(depth == 0)
+		    throw new IOException("unbalanced parenthesis in tree " + name);
+		if(open && !node(handler, depth, null, null, 0))
+		    return false;
+		depth--;
+		if(!node(handler, depth, readLabel(), readBranch(), counts[depth]))
+		    return false;
+		open = false;
+		break;
+	    case ';':
+	    case -1:
+		if(depth > 0)
+		    throw new EOFException("unclosed parenthesis in tree " + name);
+		read();
+		return handler.endTree();
+	    default:
+		if(!open)
+		    throw new IOException("unexpected '" + (char)c + "' in tree " + name);
+		if(!node(handler, depth, readLabel(), readBranch(), 0))
+		    return false;
+		open = false;
+	    }
+	}
+    }
+
+    /**
+     * Gives a closed node to {@code handler}, counting it as
+     * a child of the node open at {@code depth}, if any.
+     */
+    protected boolean node(NewickHandler handler, int depth, String label, String branch, int children)
+    {
+	if(depth > 0)
+	    counts[depth - 1]++;
+	return handler.node(label, branch, children);
+    }
+
+    public void close()
+	throws IOException
+    {
+	mapped = null;
+	if(reader != null)
+	    reader.close();
+	if(channel != null)
+	    channel.close();
+    }
+}
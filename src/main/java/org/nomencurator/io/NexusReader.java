@@ -25,13 +25,10 @@
 
 package org.nomencurator.io;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 
 import java.util.Map;
 import java.util.HashMap;
-import java.util.StringTokenizer;
 
 import org.nomencurator.model.NameUsage;
 
@@ -39,10 +36,15 @@ import org.nomencurator.model.NameUsage;
  * {@code NexusReader} reads and extract trees from
  * a NEXUS format file
  *
+ * Commands of the file are read word by word, so that a tree
+ * spanning lines or a line of many commands is parsed as well.
+ * Labels of taxa are translated by TRANSLATE command of TREES
+ * block, or by their numbers in TAXLABELS command of TAXA block.
+ *
  * @see Syst. Biol. 46(4):590-621, 1997
  * @see org.nomencurator.model.NameUsage
  *
- * @version 	03 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NexusReader
@@ -57,25 +59,19 @@ public class NexusReader
     public static String NEXUS_TREE = "tree";
     public static String NEXUS_TOKEN_DELIMITER = "\t\n\r\f;,";
 
+    protected static final String BEGIN = "begin";
+    protected static final String END = "end";
+    protected static final String ENDBLOCK = "endblock";
+    protected static final String TAXA = "taxa";
+    protected static final String TREES = "trees";
+    protected static final String TAXLABELS = "taxlabels";
+    protected static final String UTREE = "utree";
+    protected static final String SEMICOLON = ";";
+
     protected Map<String, String> translator;
 
     protected Map<NameUsage<?>, String> treeNames;
 
-    protected boolean inTreeBlock;
-
-    protected String lowerCaseLine;
-
-    public NameUsage<?>[] parseTrees(File file)
-	throws FileNotFoundException, IOException
-    {
-	if(translator != null)
-	    translator.clear();
-
-	inTreeBlock = false;
-
-	return super.parseTrees(file);
-    }
-
     protected void provideTranslator() 
     {
 	if(translator == null)
@@ -88,174 +84,154 @@ public class NexusReader
 	    treeNames = new HashMap<NameUsage<?>, String>();
     }
 
-
-    protected void skipLines()
+    protected void parse(NewickTokenizer tokenizer, NewickHandler handler)
 	throws IOException
     {
-	readLine();
-	if(line == null)
+	if(translator != null)
+	    translator.clear();
+
+	String word = tokenizer.nextWord();
+	if(word == null)
 	    return;
-	if(!line.startsWith(NEXUS_PREFIX)) {
-	    line = null;
+	if(!NEXUS_PREFIX.equalsIgnoreCase(word))
 	    throw new IOException("Not NEXUS format");
-	}
 
-	while(line != null && !lowerCaseLine.startsWith(NEXUS_TREES_BLOCK)) {
-	    if(lowerCaseLine.startsWith(NEXUS_TAXA_BLOCK)) {
-		readLine();
-		while(!lowerCaseLine.startsWith(NEXUS_TAXA_LABEL) 
-		      && !lowerCaseLine.startsWith(NEXUS_BLOCK_END)) {
-		    readLine();
-		}
-		if(lowerCaseLine.startsWith(NEXUS_TAXA_LABEL)) {
-		    provideTranslator();
-		    int index = 0;
-		    while(!lowerCaseLine.startsWith(NEXUS_BLOCK_END)) {
-			StringTokenizer tokens =
-			    new StringTokenizer(line, NEXUS_TOKEN_DELIMITER);
-			if(index == 0) {
-			    tokens.nextToken();
-			    index++;
-			}
-			while(tokens.hasMoreTokens()) {
-			    String token = tokens.nextToken();
-			    if(token.length() > 0) {
-				translator.put(String.valueOf(index), token);
-			    }
-			}
-			readLine();
-		    }
-		}
-	    } // end of NEXUS_TAXA_BLOCK
-	    readLine();
-	}
-	if(line == null)
-	    return;
-	inTreeBlock = true;
-	while(line != null && !lowerCaseLine.startsWith(NEXUS_BLOCK_END) &&
-	      !lowerCaseLine.startsWith(NEXUS_TREE)) {
-	    if(lowerCaseLine.startsWith(NEXUS_TRANSLATE)) {
-		provideTranslator();
-		boolean isTranslate = true;
-		while(isTranslate) {
-		    StringTokenizer tokens =
-			new StringTokenizer(line);
-			//			new StringTokenizer(line, NEXUS_TOKEN_DELIMITER);
-		    while(tokens.hasMoreTokens()) {
-			String key = tokens.nextToken();
-			if(key.length() > 0 && tokens.hasMoreTokens()) {
-			    String value = tokens.nextToken();
-			    int end = value.indexOf(";");
-			    if(end > -1)
-				value = value.substring(0, end);
-			    end = value.indexOf(",");
-			    if(end > -1)
-				value = value.substring(0, end);
-			    translator.put(key, value);
-			}
-		    }
-		    if(line.indexOf(";") != -1)
-			isTranslate = false;
-		    if(isTranslate)
-			readLine();
+	NewickHandler translated = new Translator(handler);
+	word = tokenizer.nextWord();
+	while(word != null) {
+	    if(BEGIN.equalsIgnoreCase(word)) {
+		String block = tokenizer.nextWord();
+		skipCommand(tokenizer);
+		if(TAXA.equalsIgnoreCase(block))
+		    parseTaxaBlock(tokenizer);
+		else if(TREES.equalsIgnoreCase(block)) {
+		    if(!parseTreesBlock(tokenizer, translated))
+			return;
 		}
+		else
+		    skipBlock(tokenizer);
 	    }
-	    readLine();
+	    word = tokenizer.nextWord();
 	}
     }
 
-    protected void readLine()
-	throws IOException
+    protected boolean isBlockEnd(String word)
     {
-	super.readLine();
-	if(line != null)
-	    lowerCaseLine = line.toLowerCase();
-	else
-	    lowerCaseLine = null;
+	return END.equalsIgnoreCase(word) || ENDBLOCK.equalsIgnoreCase(word);
     }
 
-    protected String getNodeName(String key)
+    /**
+     * Skips words up to the end of the current command.
+     */
+    protected void skipCommand(NewickTokenizer tokenizer)
+	throws IOException
     {
-	String name = null;
-	if(translator != null)
-	    name = translator.get(key);
-	if(name == null)
-	    name = key;
-	return name;
+	String word = tokenizer.nextWord();
+	while(word != null && !SEMICOLON.equals(word))
+	    word = tokenizer.nextWord();
     }
 
-    protected boolean hasMoreTrees()
+    protected void skipBlock(NewickTokenizer tokenizer)
 	throws IOException
     {
-	if(!inTreeBlock)
-	    return false;
-
-	index = 0;
-	line = reader.readLine();
-	if(line == null)
-	    return false;
-
-	line = line.trim();
-	if(lowerCaseLine.startsWith(NEXUS_BLOCK_END))
-	    inTreeBlock = false;
-
-	return inTreeBlock;
+	String word = tokenizer.nextWord();
+	while(word != null && !isBlockEnd(word))
+	    word = tokenizer.nextWord();
+	if(word != null)
+	    skipCommand(tokenizer);
     }
 
-
-    protected NameUsage<?> parseTreeLine()
+    /**
+     * Parses TAXA block to number labels of taxa from one.
+     */
+    protected void parseTaxaBlock(NewickTokenizer tokenizer)
 	throws IOException
     {
-	NameUsage<?> root = null;
-	/*
-	while(line != null && !lowerCaseLine.startsWith(NEXUS_BLOCK_END)
-	      && !lowerCaseLine.startsWith(NEXUS_TREE)) {
-	    if(lowerCaseLine.startsWith(NEXUS_BLOCK_END))
-		inTreeBlock = false;
-	*/
-	    if(lowerCaseLine.startsWith(NEXUS_TREE)) {
-		index = NEXUS_TREE.length() + 1;
-		int lineEnd = line.length();
-		skipWhitespace();
-		if(index == lineEnd)
-		    return null;
-		
-		int end = index;
-		while(end < lineEnd && line.charAt(end) != '=')
-		    end++;
-		
-		if(end >= lineEnd)
-		    return null;
-		String treeName = line.substring(index, end);
-		index = end + 1;
-		skipWhitespace();
-		if(line.charAt(index) == '[') {
-		    while(index < lineEnd && line.charAt(index) != ']')
-			index++;
-		    if(index == lineEnd)
-			return null;
-		    else
-			index++;
-		    skipWhitespace();
+	String word = tokenizer.nextWord();
+	while(word != null && !isBlockEnd(word)) {
+	    if(TAXLABELS.equalsIgnoreCase(word)) {
+		provideTranslator();
+		int index = 0;
+		word = tokenizer.nextWord();
+		while(word != null && !SEMICOLON.equals(word)) {
+		    translator.put(String.valueOf(++index), word);
+		    word = tokenizer.nextWord();
 		}
+	    }
+	    else if(!SEMICOLON.equals(word))
+		skipCommand(tokenizer);
+	    word = tokenizer.nextWord();
+	}
+	if(word != null)
+	    skipCommand(tokenizer);
+    }
 
-		root = super.parseTreeLine();
-		setTreeName(root, treeName);
+    /**
+     * Parses TREES block, giving nodes of trees to {@code handler}.
+     *
+     * @return false if the {@code handler} stopped parsing
+     */
+    protected boolean parseTreesBlock(NewickTokenizer tokenizer, NewickHandler handler)
+	throws IOException
+    {
+	String word = tokenizer.nextWord();
+	while(word != null && !isBlockEnd(word)) {
+	    if(NEXUS_TRANSLATE.equalsIgnoreCase(word)) {
+		parseTranslate(tokenizer);
+	    }
+	    else if(NEXUS_TREE.equalsIgnoreCase(word) || UTREE.equalsIgnoreCase(word)) {
+		String treeName = tokenizer.nextWord();
+		if("*".equals(treeName))
+		    treeName = tokenizer.nextWord();
+		if(!"=".equals(tokenizer.nextWord()))
+		    throw new IOException("'=' expected after tree " + treeName);
+		if(!tokenizer.parseTree(treeName, handler))
+		    return false;
 	    }
-	    /*
-	    readLine();
+	    else if(!SEMICOLON.equals(word))
+		skipCommand(tokenizer);
+	    word = tokenizer.nextWord();
+	}
+	if(word != null)
+	    skipCommand(tokenizer);
+	return true;
+    }
+
+    /**
+     * Parses pairs of a key and a label of TRANSLATE command
+     * separated by commas.
+     */
+    protected void parseTranslate(NewickTokenizer tokenizer)
+	throws IOException
+    {
+	provideTranslator();
+	String key = tokenizer.nextWord();
+	while(key != null && !SEMICOLON.equals(key)) {
+	    String value = tokenizer.nextWord();
+	    if(value == null || SEMICOLON.equals(value))
+		break;
+	    translator.put(key, value);
+	    String separator = tokenizer.nextWord();
+	    if(separator == null || SEMICOLON.equals(separator))
+		break;
+	    key = ",".equals(separator) ? tokenizer.nextWord() : separator;
 	}
-	    */
-	return root;
     }
 
-    protected void skipWhitespace()
+    protected String getNodeName(String key)
+    {
+	String name = null;
+	if(translator != null)
+	    name = translator.get(key);
+	if(name == null)
+	    name = key;
+	return name;
+    }
+
+    protected void treeParsed(NameUsage<?> root, String name)
     {
-	int lineEnd = line.length();
-	while(index < lineEnd && Character.isWhitespace(line.charAt(index)))
-	    index++;
+	setTreeName(root, name);
     }
-	
 
     public void setTreeName(NameUsage<?> root, String name)
     {
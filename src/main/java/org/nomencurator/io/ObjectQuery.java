@@ -51,5 +51,20 @@ public interface ObjectQuery<T extends NamedObject<?>>
     public void addQueryResultListener(QueryResultListener<T> listener);
     
     public void removeQueryResultListener(QueryResultListener<T> listener);
+
+    /**
+     * Cancels the query.  A cancelled query fires no further
+     * {@code QueryResultEvent}s of results.
+     *
+     * @return true if the query was cancelled by this call
+     */
+    public boolean cancel();
+
+    /**
+     * Returns true if the query was cancelled.
+     *
+     * @return true if the query was cancelled
+     */
+    public boolean isCancelled();
 }
 
@@ -0,0 +1,358 @@
+/*
+ * QueryExecutor.java:  a shared bounded executor of queries
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import java.io.InterruptedIOException;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code QueryExecutor} provides an executor shared by queries to
+ * remote data sources, bounded so that fanning out queries does not
+ * create threads without limit.
+ *
+ * {@link #forEach(Collection, int, Task)} applies a {@code Task} to
+ * items with a given concurrency.  The calling thread works on the
+ * items as well, so that a {@code Task} may fan out again without
+ * exhausting the pool.
+ *
+ * On a JDK providing virtual threads, {@link #setVirtualThreads(boolean)}
+ * replaces the pool by a virtual thread per task, which is bounded by
+ * the concurrency given to {@code forEach} only.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class QueryExecutor
+{
+    /** Default number of threads of the shared pool */
+    public static final int DEFAULT_POOL_SIZE = 16;
+
+    /** Seconds to keep idle threads alive */
+    protected static final long KEEP_ALIVE = 60L;
+
+    protected static int poolSize = DEFAULT_POOL_SIZE;
+
+    protected static ExecutorService executor;
+
+    protected static boolean virtualThreads;
+
+    protected static ScheduledExecutorService scheduler;
+
+    /**
+     * {@code Task} to be applied to an item.
+     */
+    public interface Task<E>
+    {
+	public void run(E item) throws IOException;
+    }
+
+    protected QueryExecutor() { }
+
+    /**
+     * Returns the shared {@code ExecutorService}, creating it if necessary.
+     *
+     * @return the shared {@code ExecutorService}
+     */
+    public static synchronized ExecutorService getExecutor()
+    {
+	if(executor == null && virtualThreads)
+	    executor = createVirtualThreadExecutor();
+	if(executor == null) {
+	    ThreadPoolExecutor pool =
+		new ThreadPoolExecutor(poolSize, poolSize,
+				       KEEP_ALIVE, TimeUnit.SECONDS,
+				       new LinkedBlockingQueue<Runnable>(),
+				       new DaemonThreadFactory("query-"));
+	    pool.allowCoreThreadTimeOut(true);
+	    executor = pool;
+	}
+	return executor;
+    }
+
+    /**
+     * Returns an {@code ExecutorService} starting a virtual thread per task,
+     * or null if the JDK does not provide virtual threads.
+     *
+     * @return {@code ExecutorService} of virtual threads or null
+     */
+    protected static ExecutorService createVirtualThreadExecutor()
+    {
+	try {
+	    return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+	}
+	catch (ReflectiveOperationException | SecurityException e) {
+	    return null;
+	}
+    }
+
+    /**
+     * Returns true if virtual threads are available in this JDK.
+     *
+     * @return true if virtual threads are available
+     */
+    public static boolean isVirtualThreadsAvailable()
+    {
+	try {
+	    Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+	    return true;
+	}
+	catch (NoSuchMethodException | SecurityException e) {
+	    return false;
+	}
+    }
+
+    /**
+     * Returns true if tasks run on virtual threads.
+     *
+     * @return true if tasks run on virtual threads
+     */
+    public static synchronized boolean isVirtualThreads()
+    {
+	return virtualThreads && isVirtualThreadsAvailable();
+    }
+
+    /**
+     * Sets whether tasks run on virtual threads if the JDK provides them.
+     * Tasks already submitted continue on the current executor.
+     *
+     * @param virtual true to use virtual threads
+     */
+    public static synchronized void setVirtualThreads(boolean virtual)
+    {
+	if(virtualThreads == virtual)
+	    return;
+	virtualThreads = virtual;
+	if(executor != null) {
+	    executor.shutdown();
+	    executor = null;
+	}
+    }
+
+    /**
+     * Returns a shared {@code ScheduledExecutorService} to time out queries.
+     * Scheduled actions should be short.
+     *
+     * @return the shared {@code ScheduledExecutorService}
+     */
+    public static synchronized ScheduledExecutorService getScheduler()
+    {
+	if(scheduler == null) {
+	    ScheduledThreadPoolExecutor timer =
+		new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("query-timer-"));
+	    timer.setRemoveOnCancelPolicy(true);
+	    scheduler = timer;
+	}
+	return scheduler;
+    }
+
+    /**
+     * Returns number of threads of the shared pool.
+     *
+     * @return number of threads of the shared pool
+     */
+    public static synchronized int getPoolSize()
+    {
+	return poolSize;
+    }
+
+    /**
+     * Sets number of threads of the shared pool to {@code size}.
+     *
+     * @param size number of threads, must be positive
+     */
+    public static synchronized void setPoolSize(int size)
+    {
+	if(size < 1)
+	    throw new IllegalArgumentException("pool size must be positive: " + size);
+	poolSize = size;
+	if(!(executor instanceof ThreadPoolExecutor))
+	    return;
+	ThreadPoolExecutor pool = (ThreadPoolExecutor)executor;
+	if(size > pool.getMaximumPoolSize()) {
+	    pool.setMaximumPoolSize(size);
+	    pool.setCorePoolSize(size);
+	}
+	else {
+	    pool.setCorePoolSize(size);
+	    pool.setMaximumPoolSize(size);
+	}
+    }
+
+    /**
+     * Applies {@code task} to each of {@code items} using at most
+     * {@code concurrency} threads including the calling thread,
+     * and returns when all of them are done.
+     * The first exception thrown by the {@code task} stops starting
+     * further items and is rethrown to the caller.
+     *
+     * @param items to be processed
+     * @param concurrency maximum number of items processed at once
+     * @param task to be applied to each item
+     * @exception IOException thrown by the {@code task}
+     */
+    public static <E> void forEach(Collection<? extends E> items, int concurrency, final Task<? super E> task)
+	throws IOException
+    {
+	if(items == null || items.isEmpty())
+	    return;
+
+	final List<E> list = new ArrayList<E>(items);
+	final AtomicInteger next = new AtomicInteger();
+	final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+	final Runnable worker = new Runnable() {
+		public void run() {
+		    int index = next.getAndIncrement();
+		    while(index < list.size() && failure.get() == null) {
+			try {
+			    task.run(list.get(index));
+			}
+			catch (IOException | RuntimeException | Error e) {
+			    failure.compareAndSet(null, e);
+			}
+			index = next.getAndIncrement();
+		    }
+		}
+	    };
+
+	int workers = Math.min(Math.max(concurrency, 1), list.size());
+	List<Helper> helpers = new ArrayList<Helper>(workers - 1);
+	ExecutorService service = getExecutor();
+	for(int i = 1; i < workers; i++) {
+	    Helper helper = new Helper(worker);
+	    helper.future = service.submit(helper);
+	    helpers.add(helper);
+	}
+
+	worker.run();
+
+	// helpers which have not started yet have nothing left to do,
+	// while those started may be still working on their last item
+	try {
+	    for(Helper helper : helpers) {
+		if(helper.claim())
+		    helper.future.cancel(false);
+		else
+		    helper.done.await();
+	    }
+	}
+	catch (InterruptedException e) {
+	    next.set(list.size());
+	    Thread.currentThread().interrupt();
+	    InterruptedIOException interrupted = new InterruptedIOException();
+	    interrupted.initCause(e);
+	    throw interrupted;
+	}
+
+	Throwable cause = failure.get();
+	if(cause == null)
+	    return;
+	if(cause instanceof IOException)
+	    throw (IOException)cause;
+	if(cause instanceof RuntimeException)
+	    throw (RuntimeException)cause;
+	if(cause instanceof Error)
+	    throw (Error)cause;
+	throw new IOException(cause);
+    }
+
+    /**
+     * {@code Helper} runs a worker of {@code forEach} on the pool
+     * unless claimed by the caller before it starts.
+     */
+    static class Helper
+	implements Runnable
+    {
+	protected final Runnable worker;
+
+	protected final AtomicBoolean claimed = new AtomicBoolean();
+
+	protected final CountDownLatch done = new CountDownLatch(1);
+
+	protected Future<?> future;
+
+	Helper(Runnable worker)
+	{
+	    this.worker = worker;
+	}
+
+	/**
+	 * Returns true if this {@code Helper} has not started and
+	 * will not run the worker.
+	 */
+	boolean claim()
+	{
+	    return claimed.compareAndSet(false, true);
+	}
+
+	public void run()
+	{
+	    if(!claim())
+		return;
+	    try {
+		worker.run();
+	    }
+	    finally {
+		done.countDown();
+	    }
+	}
+    }
+
+    static class DaemonThreadFactory
+	implements ThreadFactory
+    {
+	protected final AtomicInteger count = new AtomicInteger();
+
+	protected final String prefix;
+
+	DaemonThreadFactory(String prefix)
+	{
+	    this.prefix = prefix;
+	}
+
+	public Thread newThread(Runnable runnable)
+	{
+	    Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+	    thread.setDaemon(true);
+	    return thread;
+	}
+    }
+}
@@ -52,6 +52,9 @@ public class QueryResultEvent<T extends NamedObject<?>>
     @Getter
     protected int total;
 
+    /** Results delivered by this event, or null to deliver results of the query */
+    protected Collection<T> results;
+
     public QueryResultEvent(ObjectQuery<T> query) {
 	this(query, 0, 0);
     }
@@ -61,7 +64,12 @@ public class QueryResultEvent<T extends NamedObject<?>>
     }
 
     public QueryResultEvent(ObjectQuery<T> query, int residue, int total, String message) {
+	this(query, null, residue, total, message);
+    }
+
+    public QueryResultEvent(ObjectQuery<T> query, Collection<T> results, int residue, int total, String message) {
 	super(query);
+	this.results = results;
 	this.residue = residue;
 	this.total = total;
 	this.message = message;
@@ -79,6 +87,9 @@ public class QueryResultEvent<T extends NamedObject<?>>
     }
 
     public Collection<T> getResults() {
+	if(results != null)
+	    return results;
+
 	ObjectQuery<T> query = getQuery();
 	if(query != null)
 	    return query.getResults();
@@ -1,7 +1,7 @@
 /*
  * NubExchanger.java:  a GBIF CheklistBank NameUsage exchagner with cache
  *
- * Copyright (c) 2014, 2015, 2016 Nozomi `James' Ytow
+ * Copyright (c) 2014, 2015, 2016, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -33,18 +33,22 @@ import org.gbif.api.model.registry.Dataset;
 import org.gbif.api.vocabulary.Country;
 import org.gbif.api.vocabulary.Language;
 
+import com.google.common.util.concurrent.RateLimiter;
+
 import java.io.Serializable;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
@@ -52,17 +56,25 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.nomencurator.io.AbstractNameUsageExchanger;
 import org.nomencurator.io.MatchingMode;
 import org.nomencurator.io.MatchingMode.*;
 import org.nomencurator.io.QueryMode;
 import org.nomencurator.io.QueryMode.*;
+import org.nomencurator.io.QueryExecutor;
 import org.nomencurator.io.QueryParameter;
 
 import org.nomencurator.model.AbstractNameUsage;
 import org.nomencurator.model.Annotation;
 import org.nomencurator.model.Appearance;
 import org.nomencurator.model.Author;
+import org.nomencurator.model.FuzzyNameResolver;
 import org.nomencurator.model.Name;
 import org.nomencurator.model.NamedObject;
 import org.nomencurator.model.NameUsage;
@@ -83,6 +95,10 @@ import org.nomencurator.api.gbif.model.checklistbank.ParsedName;
 
 import org.nomencurator.util.Locales;
 
+import org.nomencurator.util.cache.Cache;
+import org.nomencurator.util.cache.SingleFlight;
+import org.nomencurator.util.cache.StripedCache;
+
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -92,7 +108,7 @@ import lombok.Getter;
 /**
  * {@code NubExchanger} provides a GBIF CheklistBank NameUsage exchagner with cache.
  *
- * @version	15 Oct. 2016
+ * @version	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NubExchanger
@@ -106,21 +122,170 @@ public class NubExchanger
     
     protected static Map<Integer, org.gbif.api.model.checklistbank.NameUsage> scientificNameUsages;
 
-    protected static  Map<Integer, NubNameUsage> nubNameUsages;
+    /** Default maximum number of cached {@code NubNameUsage}s */
+    public static final int DEFAULT_NAME_USAGE_CACHE_SIZE = 100000;
+
+    /** Default maximum number of cached {@code Dataset}s */
+    public static final int DEFAULT_DATASET_CACHE_SIZE = 2000;
+
+    /** Default maximum number of cached match queries and their scores */
+    public static final int DEFAULT_SCORE_CACHE_SIZE = 20000;
+
+    /** Default time to live of cached objects in hours */
+    public static final long DEFAULT_TIME_TO_LIVE = 24L;
+
+    protected static Cache<Integer, NubNameUsage> nubNameUsages;
     protected Map<Integer, VernacularName> vernacularNames;
-    protected static Map<Integer, VernacularNameUsage> vernacularNameUsages;
-    protected static Map<NubNameUsageMatchQuery, Map<Integer, NubNameUsageMatchScore>> queryScores;
-    protected static Map<Integer, Map<NubNameUsageMatchQuery, NubNameUsageMatchScore>> scores;
+    protected static Cache<Integer, VernacularNameUsage> vernacularNameUsages;
+    protected static Cache<NubNameUsageMatchQuery, Map<Integer, NubNameUsageMatchScore>> queryScores;
+    protected static Cache<Integer, Map<NubNameUsageMatchQuery, NubNameUsageMatchScore>> scores;
 
     protected Map<Integer, NubNameUsage> vernacularNameNubs;
     protected Map<String, Set<NubNameUsage>> nubNameNubs;
 
-    protected static Map<UUID, Dataset> datasets;
+    protected static Cache<UUID, Dataset> datasets;
+
+    /** Loads of {@code NubNameUsage}s in flight, shared by concurrent requests of the same key */
+    protected static final SingleFlight<Integer, NubNameUsage> nameUsageFlights = new SingleFlight<>();
+
+    protected static final SingleFlight<UUID, Dataset> datasetFlights = new SingleFlight<>();
+
+    protected static final SingleFlight<NubNameUsageMatchQuery, NameUsageMatch> matchFlights = new SingleFlight<>();
+
+    /** Default maximum number of match requests in flight */
+    public static final int DEFAULT_MATCH_CONCURRENCY = 8;
+
+    /** Default maximum number of match requests per second */
+    public static final double DEFAULT_MATCH_RATE = 20.0;
+
+    protected static int matchConcurrency = DEFAULT_MATCH_CONCURRENCY;
+
+    /** Limits match requests to GBIF, or null if unlimited */
+    protected static RateLimiter matchRateLimiter = RateLimiter.create(DEFAULT_MATCH_RATE);
+
+    /** Resolves fuzzy queries locally before matching remotely, or null if disabled */
+    protected static volatile FuzzyNameResolver localResolver;
 
     static {
-	nubNameUsages = Collections.synchronizedMap(new HashMap<Integer, NubNameUsage>());
-	vernacularNameUsages = Collections.synchronizedMap(new HashMap<Integer, VernacularNameUsage>());
-	datasets = Collections.synchronizedMap(new HashMap<UUID, Dataset>());
+	nubNameUsages = new StripedCache<Integer, NubNameUsage>(DEFAULT_NAME_USAGE_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	vernacularNameUsages = new StripedCache<Integer, VernacularNameUsage>(DEFAULT_NAME_USAGE_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	queryScores = new StripedCache<NubNameUsageMatchQuery, Map<Integer, NubNameUsageMatchScore>>(DEFAULT_SCORE_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	scores = new StripedCache<Integer, Map<NubNameUsageMatchQuery, NubNameUsageMatchScore>>(DEFAULT_SCORE_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	datasets = new StripedCache<UUID, Dataset>(DEFAULT_DATASET_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+    }
+
+    /**
+     * Replaces the cache of {@code NubNameUsage}s shared by all {@code NubExchanger}s.
+     *
+     * @param cache to be used, which must not be null
+     */
+    public static void setNameUsageCache(Cache<Integer, NubNameUsage> cache)
+    {
+	if(cache == null)
+	    throw new NullPointerException();
+	nubNameUsages = cache;
+    }
+
+    public static Cache<Integer, NubNameUsage> getNameUsageCache()
+    {
+	return nubNameUsages;
+    }
+
+    /**
+     * Replaces the cache of {@code Dataset}s shared by all {@code NubExchanger}s.
+     *
+     * @param cache to be used, which must not be null
+     */
+    public static void setDatasetCache(Cache<UUID, Dataset> cache)
+    {
+	if(cache == null)
+	    throw new NullPointerException();
+	datasets = cache;
+    }
+
+    public static Cache<UUID, Dataset> getDatasetCache()
+    {
+	return datasets;
+    }
+
+    /**
+     * Replaces caches of match scores shared by all {@code NubExchanger}s.
+     *
+     * @param byQuery cache of scores indexed by match queries
+     * @param byKey cache of scores indexed by usage keys
+     */
+    public static void setScoreCaches(Cache<NubNameUsageMatchQuery, Map<Integer, NubNameUsageMatchScore>> byQuery,
+				      Cache<Integer, Map<NubNameUsageMatchQuery, NubNameUsageMatchScore>> byKey)
+    {
+	if(byQuery == null || byKey == null)
+	    throw new NullPointerException();
+	queryScores = byQuery;
+	scores = byKey;
+    }
+
+    public static FuzzyNameResolver getLocalResolver()
+    {
+	return localResolver;
+    }
+
+    /**
+     * Sets {@code resolver} to resolve fuzzy queries locally, and
+     * indexes {@code NubNameUsage}s cached into it.  A query is matched
+     * against GBIF unless a {@code NubNameUsage} of the same literal is
+     * indexed, and {@code NubNameUsage}s matched are indexed in turn.
+     * Names similar to a query not matched by GBIF are looked up in the
+     * {@code resolver} as a fallback, of which hits and misses are counted
+     * by statistics of the {@code resolver}.
+     *
+     * @param resolver to resolve fuzzy queries locally, or null to disable
+     */
+    public static void setLocalResolver(FuzzyNameResolver resolver)
+    {
+	if(resolver != null)
+	    resolver.putAll(nubNameUsages.values());
+	localResolver = resolver;
+    }
+
+    public static int getMatchConcurrency()
+    {
+	return matchConcurrency;
+    }
+
+    /**
+     * Sets maximum number of match requests in flight of a bulk match.
+     *
+     * @param concurrency maximum number of match requests in flight
+     */
+    public static void setMatchConcurrency(int concurrency)
+    {
+	matchConcurrency = Math.max(concurrency, 1);
+    }
+
+    /**
+     * Returns maximum number of match requests per second, or zero if unlimited.
+     *
+     * @return maximum number of match requests per second
+     */
+    public static double getMatchRate()
+    {
+	RateLimiter limiter = matchRateLimiter;
+	return limiter == null ? 0 : limiter.getRate();
+    }
+
+    /**
+     * Sets maximum number of match requests per second to GBIF
+     * shared by all {@code NubExchanger}s.
+     *
+     * @param permitsPerSecond maximum number of requests per second, or zero if unlimited
+     */
+    public static synchronized void setMatchRate(double permitsPerSecond)
+    {
+	if(permitsPerSecond <= 0)
+	    matchRateLimiter = null;
+	else if(matchRateLimiter == null)
+	    matchRateLimiter = RateLimiter.create(permitsPerSecond);
+	else
+	    matchRateLimiter.setRate(permitsPerSecond);
     }
 
     public NubExchanger() {
@@ -167,42 +332,9 @@ public class NubExchanger
 	if(usageKey == null)
 	    return null;
 
-	if(nubNameUsages == null)
-	    nubNameUsages = Collections.synchronizedMap(new HashMap<Integer, NubNameUsage>());
-
-	NubNameUsage nameUsage = null;
-	org.gbif.api.model.checklistbank.NameUsage scientificNameUsage = null;
-	int key = usageKey.intValue();
-	synchronized(nubNameUsages) {
-	    nameUsage = nubNameUsages.get(usageKey);
-	}
+	NubNameUsage nameUsage = nubNameUsages.get(usageKey);
 	if(nameUsage == null) {
-	    nameUsage = getObject(dataSource.get(key));
-	    /* */
-	    scientificNameUsage = dataSource.get(key);
-	    if(scientificNameUsage != null) {
-		nameUsage = new NubNameUsage(scientificNameUsage);
-		if(nameUsage != null) {
-		    UUID datasetKey = scientificNameUsage.getDatasetKey();
-		    if(datasetKey != null) {
-			nameUsage.setDataset(getDataset(datasetKey));
-		    }
-		    datasetKey = scientificNameUsage.getConstituentKey();
-		    if(datasetKey != null) {
-			nameUsage.setConstituentDataset(getDataset(datasetKey));
-		    }
-		    synchronized(nubNameUsages) {
-			NubNameUsage reconfirm = nubNameUsages.get(usageKey);
-			if(reconfirm == null) {
-			    nubNameUsages.put(usageKey, nameUsage);
-			}
-			else {
-			    nameUsage = reconfirm;
-			}
-		    }
-		}
-	    }
-	    /* */
+	    nameUsage = nameUsageFlights.execute(usageKey, () -> loadObject(usageKey));
 	}
 
 	/*
@@ -223,6 +355,49 @@ public class NubExchanger
 	return nameUsage;
     }
 
+    /**
+     * Retrieves {@code NubNameUsage} of {@code usageKey} from the data source and caches it.
+     * It is called by at most one thread at a time per key, via {@code nameUsageFlights}.
+     *
+     * @param usageKey of the {@code NubNameUsage}
+     * @return {@code NubNameUsage} of {@code usageKey}, or null if not found
+     */
+    protected NubNameUsage loadObject(Integer usageKey)
+	throws IOException
+    {
+	// it may have been cached since the caller missed
+	NubNameUsage nameUsage = nubNameUsages.get(usageKey);
+	if(nameUsage != null)
+	    return nameUsage;
+
+	org.gbif.api.model.checklistbank.NameUsage scientificNameUsage = dataSource.get(usageKey.intValue());
+	if(scientificNameUsage == null)
+	    return null;
+
+	nameUsage = getObject(scientificNameUsage);
+	if(nameUsage != null && nameUsage.getConstituentDataset() == null) {
+	    UUID datasetKey = scientificNameUsage.getConstituentKey();
+	    if(datasetKey != null) {
+		nameUsage.setConstituentDataset(getDataset(datasetKey));
+	    }
+	}
+
+	return nameUsage;
+    }
+
+    /**
+     * Returns number of requests to GBIF which shared a request of the same
+     * usage key, dataset or match query in flight instead of issuing their own.
+     *
+     * @return number of coalesced requests
+     */
+    public static long getCoalescedRequestCount()
+    {
+	return nameUsageFlights.getCoalescedCount()
+	    + datasetFlights.getCoalescedCount()
+	    + matchFlights.getCoalescedCount();
+    }
+
     public Collection<NameUsage<NubNameUsage>> getNameUsages(String query, Rank rank, Collection<String> filter, MatchingMode matchingMode, boolean includeBasionyms, boolean includeSynonyms, boolean includeVernaculars, Locale locale)
 	throws IOException
     {
@@ -235,20 +410,25 @@ public class NubExchanger
 	if(datasetKey == null)
 	    return null;
 
-	Dataset dataset = null;
-	synchronized(datasets) {
-	    dataset = datasets.get(datasetKey);
+	Dataset dataset = datasets.get(datasetKey);
+
+	if(dataset == null) {
+	    dataset = datasetFlights.execute(datasetKey, () -> loadDataset(datasetKey));
 	}
 
+	return dataset;
+    }
+
+    protected Dataset loadDataset(UUID datasetKey)
+    {
+	Dataset dataset = datasets.get(datasetKey);
+
 	if(dataset == null) {
 	    dataset = datasetSource.get(datasetKey);
 	    if(dataset != null) {
-		synchronized(datasets) {
-		    Dataset reconfirm = datasets.get(datasetKey);
-		    if(reconfirm != null) {
-			dataset = reconfirm;
-		    }
-		    datasets.put(datasetKey, dataset);
+		Dataset reconfirm = datasets.putIfAbsent(datasetKey, dataset);
+		if(reconfirm != null) {
+		    dataset = reconfirm;
 		}
 	    }
 	}
@@ -451,6 +631,22 @@ public class NubExchanger
 	return getFuzzyNameUsages(query, rank, false, true, null, null);
     }
 
+    /**
+     * Returns {@code NubNameUsage}s matching names in {@code query} fuzzily,
+     * giving only the best one unless {@code verbose}.  A name is looked
+     * up in {@code NubNameUsage}s indexed by the local resolver, if any,
+     * and matched against GBIF backbone otherwise.  Only if GBIF returns
+     * no match, and neither {@code strict} nor limited by a scope, names
+     * similar to it in the local resolver are matched in turn.
+     *
+     * @param query names to be matched
+     * @param rank of names, or null
+     * @param strict true to match strictly
+     * @param verbose true to get alternatives
+     * @param rankScope {@code Rank} of higher taxon to limit the match, or null
+     * @param nameScope name of higher taxon to limit the match, or null
+     * @return {@code Collection} of {@code NubNameUsage}s, or null if {@code query} is empty
+     */
     protected Collection<NubNameUsage> getFuzzyNameUsages(String query, Rank rank, boolean strict, boolean verbose, Rank rankScope, String nameScope)
 	throws IOException
     {
@@ -458,6 +654,112 @@ public class NubExchanger
 	if (literals == null)
 	    return null;
 
+	FuzzyNameResolver resolver = localResolver;
+	Map<String, List<NubNameUsage>> resolved = new LinkedHashMap<String, List<NubNameUsage>>();
+	List<String> remote = new ArrayList<String>(literals.length);
+	for(String literal : literals) {
+	    if(resolved.containsKey(literal))
+		continue;
+	    List<NubNameUsage> local = null;
+	    if(resolver != null && rankScope == null && nameScope == null)
+		local = limit(resolver.get(literal, rank, NubNameUsage.class), verbose);
+	    if(local == null || local.isEmpty())
+		remote.add(literal);
+	    resolved.put(literal, local);
+	}
+
+	if(!remote.isEmpty()) {
+	    for(NubMatchResult result : match(remote, rank, strict, verbose, rankScope, nameScope)) {
+		if(result.isFailed())
+		    throw result.getFailure();
+		if(result.isDuplicate())
+		    continue;
+		List<NubNameUsage> matched = result.getNameUsages();
+		if(resolver != null)
+		    resolver.putAll(matched);
+		if(matched.isEmpty() && resolver != null && !strict
+		   && rankScope == null && nameScope == null)
+		    matched = getSimilarNameUsages(resolver, result.getName(), rank, verbose);
+		resolved.put(result.getName(), matched);
+	    }
+	}
+
+	List<NubNameUsage> nameUsages = new ArrayList<NubNameUsage>();
+	for(List<NubNameUsage> found : resolved.values()) {
+	    if(found != null)
+		nameUsages.addAll(found);
+	}
+
+	return nameUsages;
+    }
+
+    /**
+     * Returns {@code NubNameUsage}s of names similar to {@code literal}
+     * in {@code resolver}, in descending order of similarity.  A similar
+     * {@code NubNameUsage} is returned as is, and other {@code Name}s,
+     * e.g. those in trees compared, are matched against GBIF backbone
+     * strictly by their literals.
+     *
+     * @param resolver to resolve {@code literal} locally
+     * @param literal name not matched by GBIF
+     * @param rank of the name, or null
+     * @param verbose true to get alternatives
+     * @return {@code List} of {@code NubNameUsage}s, empty if none
+     */
+    protected List<NubNameUsage> getSimilarNameUsages(FuzzyNameResolver resolver, String literal, Rank rank, boolean verbose)
+	throws IOException
+    {
+	List<NubNameUsage> nameUsages = new ArrayList<NubNameUsage>();
+	Set<String> similars = new LinkedHashSet<String>();
+	for(Name name : resolver.resolve(literal, rank, Name.class)) {
+	    if(name instanceof NubNameUsage)
+		nameUsages.add((NubNameUsage)name);
+	    else if(name.getLiteral() != null && !name.getLiteral().equals(literal))
+		similars.add(name.getLiteral());
+	}
+	if(!nameUsages.isEmpty() || similars.isEmpty())
+	    return limit(nameUsages, verbose);
+
+	for(NubMatchResult result : match(similars, rank, true, verbose, null, null)) {
+	    if(result.isFailed())
+		throw result.getFailure();
+	    resolver.putAll(result.getNameUsages());
+	    nameUsages.addAll(result.getNameUsages());
+	    if(!verbose && !nameUsages.isEmpty())
+		break;
+	}
+	return limit(nameUsages, verbose);
+    }
+
+    /**
+     * Returns {@code nameUsages}, or the first of them unless {@code verbose}.
+     *
+     * @param nameUsages {@code NubNameUsage}s, best first
+     * @param verbose true to get alternatives
+     * @return {@code nameUsages} or a {@code List} of the first of them
+     */
+    protected static List<NubNameUsage> limit(List<NubNameUsage> nameUsages, boolean verbose)
+    {
+	if(verbose || nameUsages.size() < 2)
+	    return nameUsages;
+	return new ArrayList<NubNameUsage>(nameUsages.subList(0, 1));
+    }
+
+    /**
+     * Matches {@code names} against GBIF backbone in parallel, and returns
+     * {@code NubMatchResult}s in order of {@code names}.
+     *
+     * @param names to be matched
+     * @param rank of names, or null
+     * @param strict true to match strictly
+     * @param verbose true to get alternatives
+     * @param rankScope {@code Rank} of higher taxon to limit the match, or null
+     * @param nameScope name of higher taxon to limit the match, or null
+     * @return {@code List} of {@code NubMatchResult}s in order of {@code names}
+     */
+    public List<NubMatchResult> match(Collection<String> names, Rank rank, boolean strict, boolean verbose, Rank rankScope, String nameScope)
+	throws IOException
+    {
 	org.gbif.api.model.checklistbank.NameUsage scope = null;
 	if(rankScope != null && nameScope != null) {
 	    scope = new org.gbif.api.model.checklistbank.NameUsage();
@@ -465,28 +767,90 @@ public class NubExchanger
 	    scope.setScientificName(nameScope);
 	    scope.setRank(RankMap.get(rankScope));
 	}
-	List<NubNameUsage> nameUsages = new ArrayList<NubNameUsage>();
-	for(String literal : literals) {
-	    NubNameUsageMatchQuery nubQuery = new NubNameUsageMatchQuery(literal, rank == null? null: RankMap.get(rank), scope, strict, verbose);
-	    NameUsageMatch matchResult = dataSource.match(literal, RankMap.get(rank), scope, strict, verbose);
 
+	org.gbif.api.vocabulary.Rank gbifRank = rank == null? null: RankMap.get(rank);
+	List<NubNameUsageMatchQuery> queries = new ArrayList<NubNameUsageMatchQuery>(names.size());
+	for(String name : names) {
+	    queries.add(new NubNameUsageMatchQuery(name, gbifRank, scope, strict, verbose));
+	}
+	return match(queries);
+    }
+
+    public List<NubMatchResult> match(Stream<String> names, Rank rank, boolean strict, boolean verbose, Rank rankScope, String nameScope)
+	throws IOException
+    {
+	return match(names.collect(Collectors.toList()), rank, strict, verbose, rankScope, nameScope);
+    }
+
+    /**
+     * Executes {@code queries} in parallel, each distinct query once,
+     * within the match concurrency and rate, and returns
+     * {@code NubMatchResult}s in order of {@code queries}.
+     * A failed match is reported by its {@code NubMatchResult}
+     * without stopping others.
+     *
+     * @param queries to be executed
+     * @return {@code List} of {@code NubMatchResult}s in order of {@code queries}
+     */
+    public List<NubMatchResult> match(List<NubNameUsageMatchQuery> queries)
+	throws IOException
+    {
+	final Map<NubNameUsageMatchQuery, NubMatchResult> results =
+	    new ConcurrentHashMap<NubNameUsageMatchQuery, NubMatchResult>(queries.size());
+	QueryExecutor.forEach(new LinkedHashSet<NubNameUsageMatchQuery>(queries), getMatchConcurrency(),
+			      new QueryExecutor.Task<NubNameUsageMatchQuery>() {
+				  public void run(NubNameUsageMatchQuery query) {
+				      results.put(query, matchQuery(query));
+				  }
+			      });
+
+	List<NubMatchResult> matches = new ArrayList<NubMatchResult>(queries.size());
+	Set<NubNameUsageMatchQuery> returned = new HashSet<NubNameUsageMatchQuery>(results.size());
+	for(NubNameUsageMatchQuery query : queries) {
+	    NubMatchResult result = results.get(query);
+	    matches.add(returned.add(query) ? result : result.duplicate());
+	}
+	return matches;
+    }
+
+    /**
+     * Executes a match {@code query} and returns its result.
+     *
+     * @param query to be executed
+     * @return {@code NubMatchResult} of the {@code query}
+     */
+    protected NubMatchResult matchQuery(final NubNameUsageMatchQuery query)
+    {
+	long start = System.nanoTime();
+	try {
+	    NameUsageMatch matchResult =
+		matchFlights.execute(query, () -> {
+			RateLimiter limiter = matchRateLimiter;
+			if(limiter != null)
+			    limiter.acquire();
+			return dataSource.match(query.getScientificName(), query.getRank(), query.getClassification(), query.isStrict(), query.isVerbose());
+		    });
+
+	    NubNameUsage best = null;
+	    List<NubNameUsage> nameUsages = new ArrayList<NubNameUsage>();
 	    if(matchResult != null) {
-		NubNameUsage nameUsage = cache(nubQuery, matchResult);
-		if(nameUsage != null)
-		    nameUsages.add(nameUsage);
+		best = cache(query, matchResult);
+		if(best != null)
+		    nameUsages.add(best);
 		List<NameUsageMatch> alternatives = matchResult.getAlternatives();
 		if(alternatives != null) {
 		    for(NameUsageMatch alternative : alternatives) {
-			nameUsage = cache(nubQuery, alternative);
+			NubNameUsage nameUsage = cache(query, alternative);
 			if(nameUsage != null)
 			    nameUsages.add(nameUsage);
 		    }
-		    alternatives.clear();
 		}
 	    }
+	    return new NubMatchResult(query, matchResult, best, nameUsages, System.nanoTime() - start);
+	}
+	catch (IOException e) {
+	    return new NubMatchResult(query, e, System.nanoTime() - start);
 	}
-
-	return nameUsages;
     }
 
     protected NubNameUsage cache(NubNameUsageMatchQuery query, NameUsageMatch matchResult)
@@ -504,32 +868,23 @@ public class NubExchanger
 		NubNameUsageMatchScore theScore = new NubNameUsageMatchScore(nameUsage, query, matchResult);
 		key = Integer.valueOf(nameUsage.getLocalKey());
 		
-		if(queryScores == null) {
-		    queryScores = Collections.synchronizedMap(new HashMap<NubNameUsageMatchQuery, Map<Integer, NubNameUsageMatchScore>>());
+		Map<Integer, NubNameUsageMatchScore> queryScore = queryScores.get(query);
+		if(queryScore == null) {
+		    queryScore = new ConcurrentHashMap<Integer, NubNameUsageMatchScore>();
+		    Map<Integer, NubNameUsageMatchScore> reconfirm = queryScores.putIfAbsent(query, queryScore);
+		    if(reconfirm != null)
+			queryScore = reconfirm;
 		}
-		
-		synchronized(queryScores) {
-		    Map<Integer, NubNameUsageMatchScore> queryScore = queryScores.get(query);
-		    if(queryScore == null) {
-			queryScore = Collections.synchronizedMap(new HashMap<Integer, NubNameUsageMatchScore>());
-			queryScores.put(query, queryScore);
-		    }
-		    queryScore.put(key, theScore);
-		}
-		
-		
-		if(scores == null) {
-		    scores = Collections.synchronizedMap(new HashMap<Integer, Map<NubNameUsageMatchQuery, NubNameUsageMatchScore>>());
-		}
-		
-		synchronized(scores) {
-		    Map<NubNameUsageMatchQuery, NubNameUsageMatchScore> score = scores.get(key);
-		    if(score == null) {
-			score = Collections.synchronizedMap(new HashMap<NubNameUsageMatchQuery, NubNameUsageMatchScore>());
-			scores.put(key, score);
-		    }
-		    score.put(query, theScore);
+		queryScore.put(key, theScore);
+
+		Map<NubNameUsageMatchQuery, NubNameUsageMatchScore> score = scores.get(key);
+		if(score == null) {
+		    score = new ConcurrentHashMap<NubNameUsageMatchQuery, NubNameUsageMatchScore>();
+		    Map<NubNameUsageMatchQuery, NubNameUsageMatchScore> reconfirm = scores.putIfAbsent(key, score);
+		    if(reconfirm != null)
+			score = reconfirm;
 		}
+		score.put(query, theScore);
 	    }
 	}
 
@@ -710,22 +1065,15 @@ public class NubExchanger
 	NubNameUsage nameUsage = null;
 	if(scientificNameUsage != null) {
 	    Integer key = scientificNameUsage.getKey();
-	    synchronized(nubNameUsages) {
-		nameUsage = nubNameUsages.get(key);
-	    }
+	    nameUsage = nubNameUsages.get(key);
 	    if(nameUsage == null) {
 		nameUsage = new NubNameUsage(scientificNameUsage);
 		if(nameUsage != null) {
 		    UUID datasetUUID = scientificNameUsage.getDatasetKey();
 		    nameUsage.setDataset(getDataset(datasetUUID));
-		    synchronized(nubNameUsages) {
-			NubNameUsage reconfirm = nubNameUsages.get(key);
-			if(reconfirm == null) {
-			    nubNameUsages.put(key, nameUsage);
-			}
-			else {
-			    nameUsage = reconfirm;
-			}
+		    NubNameUsage reconfirm = nubNameUsages.putIfAbsent(key, nameUsage);
+		    if(reconfirm != null) {
+			nameUsage = reconfirm;
 		    }
 		}
 	    }
@@ -753,14 +1101,13 @@ public class NubExchanger
 	    for(VernacularName vn: vernacularNames) {
 		Integer sourceTaxonKey = vn.getSourceTaxonKey();
 		if(sourceTaxonKey != null && sourceTaxonKey.equals(key)) {
-		    VernacularNameUsage vnu = null;
-		    synchronized(vernacularNameUsages) {
-			Integer hashCode = Integer.valueOf(vn.hashCode());
-			vnu = vernacularNameUsages.get(hashCode);
-			if(vnu == null) {
-			    vnu = new VernacularNameUsage(vn);
-			    vernacularNameUsages.put(hashCode, vnu);
-			}
+		    Integer hashCode = Integer.valueOf(vn.hashCode());
+		    VernacularNameUsage vnu = vernacularNameUsages.get(hashCode);
+		    if(vnu == null) {
+			vnu = new VernacularNameUsage(vn);
+			VernacularNameUsage reconfirm = vernacularNameUsages.putIfAbsent(hashCode, vnu);
+			if(reconfirm != null)
+			    vnu = reconfirm;
 		    }
 		    result.add(vnu);
 		}
@@ -1013,6 +1360,14 @@ public class NubExchanger
 	}
     }
 
+    protected void clear(Cache<?, ?> target)
+    {
+	if (target != null) {
+	    clear(target.values().iterator());
+	    target.clear();
+	}
+    }
+
     @Override
     public void clear()
     {
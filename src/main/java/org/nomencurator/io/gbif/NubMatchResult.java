@@ -0,0 +1,132 @@
+/*
+ * NubMatchResult.java:  a result of bulk name matching against GBIF backbone
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io.gbif;
+
+import java.io.IOException;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.gbif.api.model.checklistbank.NameUsageMatch;
+
+import org.nomencurator.model.gbif.NubNameUsage;
+import org.nomencurator.model.gbif.NubNameUsageMatchQuery;
+
+import lombok.Getter;
+
+/**
+ * {@code NubMatchResult} holds a result of matching a name given to
+ * {@link NubExchanger#match(List)}, with time spent for the match.
+ * Names given more than once share a match, and results other than
+ * the first of them are marked as duplicates.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NubMatchResult
+{
+    /** Match query of the name */
+    @Getter
+    protected NubNameUsageMatchQuery query;
+
+    /** Match returned by GBIF, or null if not matched or failed */
+    @Getter
+    protected NameUsageMatch match;
+
+    /** {@code NubNameUsage} of the match, or null if none */
+    @Getter
+    protected NubNameUsage best;
+
+    /** {@code NubNameUsage}s of the match followed by its alternatives */
+    @Getter
+    protected List<NubNameUsage> nameUsages;
+
+    /** Time spent for the match in nanoseconds */
+    @Getter
+    protected long elapsedNanos;
+
+    /** Exception thrown by the match, or null if succeeded */
+    @Getter
+    protected IOException failure;
+
+    /** True if the name was given before in the same request */
+    @Getter
+    protected boolean duplicate;
+
+    public NubMatchResult(NubNameUsageMatchQuery query, NameUsageMatch match, NubNameUsage best, List<NubNameUsage> nameUsages, long elapsedNanos)
+    {
+	this(query, match, best, nameUsages, elapsedNanos, null, false);
+    }
+
+    public NubMatchResult(NubNameUsageMatchQuery query, IOException failure, long elapsedNanos)
+    {
+	this(query, null, null, null, elapsedNanos, failure, false);
+    }
+
+    protected NubMatchResult(NubNameUsageMatchQuery query, NameUsageMatch match, NubNameUsage best, List<NubNameUsage> nameUsages, long elapsedNanos, IOException failure, boolean duplicate)
+    {
+	this.query = query;
+	this.match = match;
+	this.best = best;
+	this.nameUsages = nameUsages == null ?
+	    Collections.<NubNameUsage>emptyList() : Collections.unmodifiableList(nameUsages);
+	this.elapsedNanos = elapsedNanos;
+	this.failure = failure;
+	this.duplicate = duplicate;
+    }
+
+    /**
+     * Returns a copy of this result marked as a duplicate.
+     *
+     * @return duplicate of this result
+     */
+    public NubMatchResult duplicate()
+    {
+	return new NubMatchResult(query, match, best, nameUsages, elapsedNanos, failure, true);
+    }
+
+    /**
+     * Returns the matched name.
+     *
+     * @return the matched name
+     */
+    public String getName()
+    {
+	return query == null ? null : query.getScientificName();
+    }
+
+    public boolean isFailed()
+    {
+	return failure != null;
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[name=").append(getName())
+	    .append(", usages=").append(nameUsages.size())
+	    .append(", elapsed=").append(elapsedNanos / 1000000L).append("ms")
+	    .append(failure == null ? "" : ", failed")
+	    .append(duplicate ? ", duplicate" : "")
+	    .append("]").toString();
+    }
+}
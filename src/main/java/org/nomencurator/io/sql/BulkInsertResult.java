@@ -0,0 +1,80 @@
+/*
+ * BulkInsertResult.java:  a result of bulk insertion of NamedObjects
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io.sql;
+
+import lombok.Getter;
+
+/**
+ * {@code BulkInsertResult} holds numbers of {@code NamedObject}s
+ * inserted by {@link NamedObjectConnection#insert(java.util.Collection, int)}
+ * and time spent for the insertion.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class BulkInsertResult
+{
+    /** Number of {@code NamedObject}s inserted */
+    @Getter
+    protected int insertedCount;
+
+    /** Number of {@code NamedObject}s skipped as already in the database */
+    @Getter
+    protected int skippedCount;
+
+    /** Number of chunks committed */
+    @Getter
+    protected int chunkCount;
+
+    /** Time spent for the insertion in nanoseconds */
+    @Getter
+    protected long elapsedNanos;
+
+    public BulkInsertResult(int insertedCount, int skippedCount, int chunkCount, long elapsedNanos)
+    {
+	this.insertedCount = insertedCount;
+	this.skippedCount = skippedCount;
+	this.chunkCount = chunkCount;
+	this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns number of {@code NamedObject}s inserted per second.
+     *
+     * @return number of {@code NamedObject}s inserted per second
+     */
+    public double getRowsPerSecond()
+    {
+	return elapsedNanos > 0L ? insertedCount * 1.0e9 / elapsedNanos : 0.0;
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[inserted=").append(insertedCount)
+	    .append(", skipped=").append(skippedCount)
+	    .append(", chunks=").append(chunkCount)
+	    .append(", elapsed=").append(elapsedNanos / 1000000L).append("ms")
+	    .append(", rows/s=").append(Math.round(getRowsPerSecond()))
+	    .append("]").toString();
+    }
+}
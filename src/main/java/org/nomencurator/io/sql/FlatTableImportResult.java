@@ -0,0 +1,95 @@
+/*
+ * FlatTableImportResult.java:  a result of importing a flat checklist table
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io.sql;
+
+import lombok.Getter;
+
+/**
+ * {@code FlatTableImportResult} holds counts of rows processed by
+ * {@link FlatTableParser} with time spent for them.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class FlatTableImportResult
+{
+    /** Number of rows read, excluding the header */
+    @Getter
+    protected int rowCount;
+
+    /** Number of {@code NameUsage}s given to the sink */
+    @Getter
+    protected int nameUsageCount;
+
+    /** Number of rows of which parent was not found */
+    @Getter
+    protected int orphanCount;
+
+    /** Number of rows skipped as without name */
+    @Getter
+    protected int skippedCount;
+
+    /** Number of batches given to the sink */
+    @Getter
+    protected int batchCount;
+
+    /** Number of {@code NameUsage}s inserted into a database */
+    @Getter
+    protected int insertedCount;
+
+    /** Time spent for the import in nanoseconds */
+    @Getter
+    protected long elapsedNanos;
+
+    public FlatTableImportResult(int rowCount, int nameUsageCount, int orphanCount, int skippedCount, int batchCount, long elapsedNanos)
+    {
+	this.rowCount = rowCount;
+	this.nameUsageCount = nameUsageCount;
+	this.orphanCount = orphanCount;
+	this.skippedCount = skippedCount;
+	this.batchCount = batchCount;
+	this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns number of rows read per second.
+     *
+     * @return number of rows read per second
+     */
+    public double getRowsPerSecond()
+    {
+	return elapsedNanos > 0L ? rowCount * 1.0e9 / elapsedNanos : 0.0;
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[rows=").append(rowCount)
+	    .append(", nameUsages=").append(nameUsageCount)
+	    .append(", orphans=").append(orphanCount)
+	    .append(", skipped=").append(skippedCount)
+	    .append(", inserted=").append(insertedCount)
+	    .append(", elapsed=").append(elapsedNanos / 1000000L).append("ms")
+	    .append(", rows/s=").append(Math.round(getRowsPerSecond()))
+	    .append("]").toString();
+    }
+}
@@ -1,7 +1,7 @@
 /*
- * FlatTableParser.java
+ * FlatTableParser.java:  a streaming importer of flat checklist tables
  *
- * Copyright (c) 2005, 2015 Nozomi `James' Ytow
+ * Copyright (c) 2005, 2015, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -25,58 +25,721 @@
 
 package org.nomencurator.io.sql;
 
-import java.sql.Connection;
-import java.sql.CallableStatement;
-import java.sql.DatabaseMetaData;
-import java.sql.Date;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Savepoint;
-import java.sql.SQLException;
-import java.sql.SQLWarning;
-import java.sql.Statement;
-import java.sql.Types;
+import java.io.IOException;
+import java.io.Reader;
 
-import java.text.MessageFormat;
+import java.sql.SQLException;
 
-import java.util.Hashtable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
-import java.util.Properties;
-import java.util.ResourceBundle;
-import java.util.StringTokenizer;
-import java.util.Vector;
-
-import org.nomencurator.model.NamedObject;
-import org.nomencurator.model.Agent;
-import org.nomencurator.model.Annotation;
-import org.nomencurator.model.Appearance;
+import java.util.Set;
+
+import javax.swing.event.EventListenerList;
+
+import org.nomencurator.io.ProgressEvent;
+import org.nomencurator.io.ProgressListener;
+
 import org.nomencurator.model.DefaultNameUsage;
-import org.nomencurator.model.DefaultNameUsageNode;
-import org.nomencurator.model.NameUsage;
-import org.nomencurator.model.NameUsageNode;
-import org.nomencurator.model.Publication;
-import org.nomencurator.model.Person;
-import org.nomencurator.model.Rank;
 
-import org.nomencurator.resources.ResourceKey;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
- * <CODE>FlatTableParser</CODE> parse a flat table to generate
- * a set of object as tapules in tables of a DBMS.
+ * <CODE>FlatTableParser</CODE> parses a flat checklist table, a row
+ * per <CODE>NameUsage</CODE> with identifier of its parent row such as
+ * Darwin Core taxon table, to build a hierarchy of
+ * <CODE>NameUsage</CODE>s.  The table is read through a fixed-size
+ * buffer and <CODE>NameUsage</CODE>s are given to a {@link Sink} in
+ * batches, parents before their children.  Rows preceding their parent
+ * are kept until the parent is read, and become roots if the parent is
+ * not found at the end of the table.
+ * <P>
+ * {@link #parseHierarchy(Reader)} returns the root of the hierarchy,
+ * to be given to a <CODE>NameTreeModel</CODE>, while
+ * {@link #parse(Reader, NamedObjectConnection)} inserts the
+ * <CODE>NameUsage</CODE>s into a database holding only a stub of each
+ * row stored, so that a table larger than memory can be imported.
+ * <P>
+ * Columns are located by the header row.  Without a header, the columns
+ * are taken as identifier, parent identifier, rank, name and authorship
+ * in this order.  A parser is not thread-safe.
  *
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
- * @see org.nomencurator.model.NamedObject
- * @see java.sql.Connection
+ * @see org.nomencurator.model.NameUsage
  *
- * @version 	15 July 2015
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class FlatTableParser
 {
+    /** Index of the column of row identifier */
+    public static final int ID = 0;
+
+    /** Index of the column of identifier of the parent row */
+    public static final int PARENT_ID = 1;
+
+    /** Index of the column of rank */
+    public static final int RANK = 2;
+
+    /** Index of the column of name */
+    public static final int NAME = 3;
+
+    /** Index of the column of authorship */
+    public static final int AUTHORSHIP = 4;
+
+    /** Header names of the columns, in lower case */
+    protected static final String[][] COLUMN_NAMES = {
+	{"taxonid", "id", "nameusageid", "taxon_id"},
+	{"parentnameusageid", "parentid", "parent", "parent_id", "parenttaxonid"},
+	{"taxonrank", "rank"},
+	{"scientificname", "name", "canonicalname"},
+	{"scientificnameauthorship", "authorship", "author", "authority"}
+    };
+
+    /** Default number of characters read at once */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Default number of <CODE>NameUsage</CODE>s given to a <CODE>Sink</CODE> at once */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Default number of rows between <CODE>ProgressEvent</CODE>s */
+    public static final int DEFAULT_PROGRESS_INTERVAL = 10000;
+
+    /**
+     * <CODE>Sink</CODE> receives <CODE>NameUsage</CODE>s parsed.
+     */
+    public interface Sink
+    {
+	/**
+	 * Accepts a batch of <CODE>NameUsage</CODE>s of which higher
+	 * <CODE>NameUsage</CODE>s have been accepted before or are in
+	 * the batch ahead.  It may return substitutes of the
+	 * <CODE>NameUsage</CODE>s in the same order and of the same class,
+	 * to be linked to <CODE>NameUsage</CODE>s parsed later instead of
+	 * them, or null to keep them.
+	 *
+	 * @param batch <CODE>NameUsage</CODE>s to be accepted
+	 * @return substitutes of the <CODE>NameUsage</CODE>s or null
+	 * @exception IOException if failed to accept
+	 */
+	public List<DefaultNameUsage> accept(List<DefaultNameUsage> batch) throws IOException;
+
+	/**
+	 * Invoked after the last batch.
+	 *
+	 * @exception IOException if failed to finish
+	 */
+	public void finish() throws IOException;
+    }
+
+    /** Delimiter of columns */
+    @Getter
+    @Setter
+    protected char delimiter = '\t';
+
+    /** Quotation character of columns, or zero if columns are not quoted */
+    @Getter
+    @Setter
+    protected char quote;
+
+    /** True if the first row is the header */
+    @Getter
+    @Setter
+    protected boolean header = true;
+
+    @Getter
+    protected int bufferSize;
+
+    @Getter
+    protected int batchSize;
+
+    /** Number of rows between <CODE>ProgressEvent</CODE>s, or zero for none */
+    @Getter
+    @Setter
+    protected int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    protected EventListenerList listeners = new EventListenerList();
+
+    /** Indices of columns in a row, or -1 if absent */
+    protected int[] columns;
+
+    protected char[] buffer;
+
+    protected int position;
+
+    protected int limit;
+
+    protected StringBuilder field;
+
+    protected List<String> fields;
+
+    /** <CODE>NameUsage</CODE>s given to the sink, or their substitutes, by identifier */
+    protected Map<String, DefaultNameUsage> nameUsages;
+
+    /** Rows waiting for their parent by identifier of the parent */
+    protected Map<String, List<Row>> orphans;
+
+    protected List<DefaultNameUsage> batch;
+
+    protected List<String> batchIDs;
+
+    protected Sink sink;
+
+    protected int rowCount;
+
+    protected int nameUsageCount;
+
+    protected int orphanCount;
+
+    protected int skippedCount;
+
+    protected int batchCount;
+
+    protected long startTime;
+
+    /**
+     * A row with identifier of its parent.
+     */
+    protected static class Row
+    {
+	protected final String id;
+
+	protected final DefaultNameUsage nameUsage;
+
+	protected final String parentID;
+
+	protected Row(String id, DefaultNameUsage nameUsage, String parentID)
+	{
+	    this.id = id;
+	    this.nameUsage = nameUsage;
+	    this.parentID = parentID;
+	}
+    }
+
+    /**
+     * <CODE>DefaultNameUsage</CODE> parsed from a row, keyed by
+     * identifier of the row to be distinguished from other rows of
+     * the same name.
+     */
+    protected static class FlatNameUsage
+	extends DefaultNameUsage
+    {
+	private static final long serialVersionUID = -2715963308046137530L;
+
+	public FlatNameUsage(String key)
+	{
+	    super();
+	    localKey = key;
+	}
+    }
+
     public FlatTableParser()
     {
+	this(DEFAULT_BUFFER_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a parser reading <CODE>bufferSize</CODE> characters
+     * at once and giving <CODE>batchSize</CODE> <CODE>NameUsage</CODE>s
+     * to a <CODE>Sink</CODE> at once.
+     *
+     * @param bufferSize number of characters read at once
+     * @param batchSize number of <CODE>NameUsage</CODE>s given at once
+     */
+    public FlatTableParser(int bufferSize, int batchSize)
+    {
+	setBufferSize(bufferSize);
+	setBatchSize(batchSize);
+    }
+
+    public void setBufferSize(int bufferSize)
+    {
+	if(bufferSize < 1)
+	    throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+	this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+	if(batchSize < 1)
+	    throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+	this.batchSize = batchSize;
+    }
+
+    public void addProgressListener(ProgressListener listener)
+    {
+	listeners.add(ProgressListener.class, listener);
+    }
+
+    public void removeProgressListener(ProgressListener listener)
+    {
+	listeners.remove(ProgressListener.class, listener);
+    }
+
+    protected void fireProgressMade(ProgressEvent event)
+    {
+	ProgressListener[] progressListeners = listeners.getListeners(ProgressListener.class);
+	for (ProgressListener listener : progressListeners) {
+	    listener.progressMade(event);
+	}
+    }
+
+    /**
+     * Parses a table read from <CODE>reader</CODE> and returns the root
+     * of the hierarchy, which may be given to a <CODE>NameTreeModel</CODE>.
+     * If the table has more than one root, they are placed under an
+     * unranked <CODE>NameUsage</CODE> without name.
+     *
+     * @param reader to read the table
+     * @return the root <CODE>NameUsage</CODE>, or null if no row is found
+     * @exception IOException if failed to read
+     */
+    public DefaultNameUsage parseHierarchy(Reader reader)
+	throws IOException
+    {
+	HierarchySink hierarchy = new HierarchySink();
+	parse(reader, hierarchy);
+	return hierarchy.getRoot();
+    }
+
+    /**
+     * Parses a table read from <CODE>reader</CODE> and inserts
+     * <CODE>NameUsage</CODE>s into the database of <CODE>connection</CODE>
+     * in batches.
+     *
+     * @param reader to read the table
+     * @param connection to the database
+     * @return result of the import
+     * @exception IOException if failed to read or to insert
+     */
+    public FlatTableImportResult parse(Reader reader, NamedObjectConnection<?> connection)
+	throws IOException
+    {
+	ConnectionSink inserter = new ConnectionSink(connection);
+	FlatTableImportResult result = parse(reader, inserter);
+	result.insertedCount = inserter.getInsertedCount();
+	return result;
+    }
+
+    /**
+     * Parses a table read from <CODE>reader</CODE> and gives
+     * <CODE>NameUsage</CODE>s to <CODE>sink</CODE>.
+     *
+     * @param reader to read the table
+     * @param sink to receive <CODE>NameUsage</CODE>s
+     * @return result of the parse
+     * @exception IOException if failed to read or thrown by the <CODE>sink</CODE>
+     */
+    public FlatTableImportResult parse(Reader reader, Sink sink)
+	throws IOException
+    {
+	this.sink = sink;
+	buffer = new char[bufferSize];
+	position = 0;
+	limit = 0;
+	field = new StringBuilder();
+	fields = new ArrayList<String>();
+	nameUsages = new HashMap<String, DefaultNameUsage>();
+	orphans = new LinkedHashMap<String, List<Row>>();
+	batch = new ArrayList<DefaultNameUsage>(batchSize);
+	batchIDs = new ArrayList<String>(batchSize);
+	rowCount = 0;
+	nameUsageCount = 0;
+	orphanCount = 0;
+	skippedCount = 0;
+	batchCount = 0;
+	startTime = System.nanoTime();
+
+	try {
+	    columns = null;
+	    if(header && readRecord(reader))
+		columns = getColumns(fields);
+	    if(columns == null)
+		columns = new int[] {ID, PARENT_ID, RANK, NAME, AUTHORSHIP};
+
+	    while(readRecord(reader)) {
+		parseRow(fields);
+	    }
+
+	    // rows of which parent was not found become roots
+	    while(!orphans.isEmpty()) {
+		Iterator<List<Row>> lost = orphans.values().iterator();
+		List<Row> rows = lost.next();
+		lost.remove();
+		for(Row row : rows) {
+		    orphanCount++;
+		    release(new Row(row.id, row.nameUsage, null));
+		}
+	    }
+
+	    flush();
+	    sink.finish();
+
+	    FlatTableImportResult result =
+		new FlatTableImportResult(rowCount, nameUsageCount, orphanCount, skippedCount, batchCount, System.nanoTime() - startTime);
+	    if(progressInterval > 0)
+		fireProgressMade(new ProgressEvent(this, 0, rowCount, rowCount, result.toString()));
+	    return result;
+	}
+	finally {
+	    this.sink = null;
+	    buffer = null;
+	    field = null;
+	    fields = null;
+	    nameUsages = null;
+	    orphans = null;
+	    batch = null;
+	    batchIDs = null;
+	}
+    }
+
+    /**
+     * Returns indices of columns located by <CODE>names</CODE> of the
+     * header, or null if neither identifier nor name is found.
+     *
+     * @param names of columns in the header
+     * @return indices of columns or null
+     */
+    protected int[] getColumns(List<String> names)
+    {
+	int[] indices = new int[COLUMN_NAMES.length];
+	Arrays.fill(indices, -1);
+	for(int column = 0; column < indices.length; column++) {
+	    for(int i = 0; i < COLUMN_NAMES[column].length && indices[column] < 0; i++) {
+		for(int j = 0; j < names.size(); j++) {
+		    if(COLUMN_NAMES[column][i].equals(getColumnName(names.get(j)))) {
+			indices[column] = j;
+			break;
+		    }
+		}
+	    }
+	}
+	return (indices[ID] < 0 && indices[NAME] < 0) ? null : indices;
+    }
+
+    /**
+     * Returns <CODE>name</CODE> of a column in lower case without
+     * namespace such as <CODE>dwc:</CODE> or a term URI.
+     *
+     * @param name of a column in the header
+     * @return name of the column without namespace
+     */
+    protected String getColumnName(String name)
+    {
+	if(name == null)
+	    return null;
+	int index = Math.max(name.lastIndexOf(':'), Math.max(name.lastIndexOf('/'), name.lastIndexOf('#')));
+	if(index >= 0)
+	    name = name.substring(index + 1);
+	return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    protected String getField(List<String> values, int column)
+    {
+	int index = columns[column];
+	if(index < 0 || index >= values.size())
+	    return null;
+	String value = values.get(index).trim();
+	return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Creates a <CODE>NameUsage</CODE> of a row.
+     *
+     * @param id identifier of the row, or null
+     * @param rank rank literal, or null
+     * @param name name literal
+     * @param authorship authorship, or null
+     * @return <CODE>NameUsage</CODE> of the row
+     */
+    protected DefaultNameUsage createNameUsage(String id, String rank, String name, String authorship)
+    {
+	DefaultNameUsage nameUsage = new FlatNameUsage(id);
+	nameUsage.setRankLiteral(rank);
+	nameUsage.setLiteral(name);
+	if(authorship != null)
+	    nameUsage.setAuthority(authorship);
+	return nameUsage;
+    }
+
+    protected void parseRow(List<String> values)
+	throws IOException
+    {
+	rowCount++;
+	if(progressInterval > 0 && rowCount % progressInterval == 0) {
+	    long elapsed = System.nanoTime() - startTime;
+	    fireProgressMade(new ProgressEvent(this, 0, 0, rowCount,
+					       new StringBuffer().append(rowCount).append(" rows, ")
+					       .append(elapsed > 0L ? Math.round(rowCount * 1.0e9 / elapsed) : 0L)
+					       .append(" rows/s").toString()));
+	}
+
+	String name = getField(values, NAME);
+	if(name == null) {
+	    skippedCount++;
+	    return;
+	}
+
+	String id = getField(values, ID);
+	String parentID = getField(values, PARENT_ID);
+	DefaultNameUsage nameUsage =
+	    createNameUsage(id, getField(values, RANK), name, getField(values, AUTHORSHIP));
+
+	if(parentID != null && parentID.equals(id))
+	    parentID = null;
+	if(parentID == null || nameUsages.containsKey(parentID)) {
+	    release(new Row(id, nameUsage, parentID));
+	    return;
+	}
+
+	List<Row> rows = orphans.get(parentID);
+	if(rows == null) {
+	    rows = new ArrayList<Row>(2);
+	    orphans.put(parentID, rows);
+	}
+	rows.add(new Row(id, nameUsage, parentID));
+    }
+
+    /**
+     * Gives <CODE>NameUsage</CODE> of <CODE>row</CODE> to the sink,
+     * followed by rows waiting for it.
+     *
+     * @param row of which parent has been given to the sink, or to be a root
+     */
+    protected void release(Row row)
+	throws IOException
+    {
+	Deque<Row> rows = new ArrayDeque<Row>();
+	rows.push(row);
+	while(!rows.isEmpty()) {
+	    row = rows.pop();
+
+	    // link to the parent given to the sink, or to its substitute
+	    DefaultNameUsage parent = row.parentID == null ? null : nameUsages.get(row.parentID);
+	    if(parent != null && parent != row.nameUsage)
+		row.nameUsage.setHigherNameUsage(parent);
+
+	    if(row.id != null)
+		nameUsages.put(row.id, row.nameUsage);
+	    emit(row.id, row.nameUsage);
+
+	    List<Row> children = row.id == null ? null : orphans.remove(row.id);
+	    if(children != null) {
+		for(int i = children.size() - 1; i >= 0; i--) {
+		    rows.push(children.get(i));
+		}
+	    }
+	}
+    }
+
+    protected void emit(String id, DefaultNameUsage nameUsage)
+	throws IOException
+    {
+	batch.add(nameUsage);
+	batchIDs.add(id);
+	nameUsageCount++;
+	if(batch.size() >= batchSize)
+	    flush();
+    }
+
+    /**
+     * Gives the batch to the sink and replaces <CODE>NameUsage</CODE>s
+     * by substitutes returned from the sink.  <CODE>NameUsage</CODE>s
+     * under a substitute are detached from it, so that they can be
+     * reclaimed.
+     */
+    protected void flush()
+	throws IOException
+    {
+	if(batch.isEmpty())
+	    return;
+
+	List<DefaultNameUsage> substitutes = sink.accept(Collections.unmodifiableList(batch));
+	batchCount++;
+	if(substitutes != null) {
+	    if(substitutes.size() != batch.size())
+		throw new IOException("sink returned " + substitutes.size() + " substitutes of " + batch.size() + " NameUsages");
+	    Set<DefaultNameUsage> stored =
+		Collections.newSetFromMap(new IdentityHashMap<DefaultNameUsage, Boolean>());
+	    stored.addAll(batch);
+	    for(int i = 0; i < batch.size(); i++) {
+		DefaultNameUsage nameUsage = batch.get(i);
+		Object parent = nameUsage.getHigherNameUsage();
+		if(parent != null && !stored.contains(parent))
+		    nameUsage.setHigherNameUsage(null);
+		String id = batchIDs.get(i);
+		if(id != null && nameUsages.get(id) == nameUsage)
+		    nameUsages.put(id, substitutes.get(i));
+	    }
+	}
+	batch.clear();
+	batchIDs.clear();
+    }
+
+    /**
+     * Reads a record into <CODE>fields</CODE>, skipping empty lines.
+     *
+     * @param reader to read the table
+     * @return false if the end of the table is reached
+     */
+    protected boolean readRecord(Reader reader)
+	throws IOException
+    {
+	boolean read = false;
+	do {
+	    read = readLine(reader);
+	} while(read && fields.size() == 1 && fields.get(0).isEmpty());
+	return read;
+    }
+
+    protected boolean readLine(Reader reader)
+	throws IOException
+    {
+	fields.clear();
+	field.setLength(0);
+
+	int c = read(reader);
+	if(c < 0)
+	    return false;
+
+	boolean quoted = false;
+	while(c >= 0) {
+	    if(quoted) {
+		if(c == quote) {
+		    c = read(reader);
+		    if(c != quote) {
+			quoted = false;
+			continue;
+		    }
+		}
+		field.append((char)c);
+	    }
+	    else if(c == quote && quote != 0 && field.length() == 0) {
+		quoted = true;
+	    }
+	    else if(c == delimiter) {
+		fields.add(field.toString());
+		field.setLength(0);
+	    }
+	    else if(c == '\n') {
+		break;
+	    }
+	    else if(c != '\r') {
+		field.append((char)c);
+	    }
+	    c = read(reader);
+	}
+	fields.add(field.toString());
+	return true;
+    }
+
+    protected int read(Reader reader)
+	throws IOException
+    {
+	if(position >= limit) {
+	    if(limit < 0)
+		return -1;
+	    limit = reader.read(buffer, 0, buffer.length);
+	    position = 0;
+	    if(limit <= 0) {
+		limit = -1;
+		return -1;
+	    }
+	}
+	return buffer[position++];
+    }
+
+    /**
+     * <CODE>HierarchySink</CODE> keeps all <CODE>NameUsage</CODE>s
+     * in memory to provide the root of the hierarchy.
+     */
+    public static class HierarchySink
+	implements Sink
+    {
+	protected List<DefaultNameUsage> roots = new ArrayList<DefaultNameUsage>();
+
+	@Getter
+	protected DefaultNameUsage root;
+
+	public List<DefaultNameUsage> accept(List<DefaultNameUsage> batch)
+	{
+	    for(DefaultNameUsage nameUsage : batch) {
+		if(nameUsage.getHigherNameUsage() == null)
+		    roots.add(nameUsage);
+	    }
+	    return null;
+	}
+
+	public void finish()
+	{
+	    if(roots.size() == 1) {
+		root = roots.get(0);
+	    }
+	    else if(!roots.isEmpty()) {
+		root = new FlatNameUsage(null);
+		root.setRankLiteral("");
+		root.setLiteral("");
+		for(DefaultNameUsage nameUsage : roots) {
+		    nameUsage.setHigherNameUsage(root);
+		}
+	    }
+	    roots = null;
+	}
+    }
+
+    /**
+     * <CODE>ConnectionSink</CODE> inserts <CODE>NameUsage</CODE>s into
+     * the database of a <CODE>NamedObjectConnection</CODE>, returning a
+     * stub of each <CODE>NameUsage</CODE> which has the object ID only.
+     */
+    public static class ConnectionSink
+	implements Sink
+    {
+	protected NamedObjectConnection<?> connection;
+
+	@Getter
+	protected int insertedCount;
+
+	public ConnectionSink(NamedObjectConnection<?> connection)
+	{
+	    this.connection = connection;
+	}
+
+	public List<DefaultNameUsage> accept(List<DefaultNameUsage> batch)
+	    throws IOException
+	{
+	    try {
+		insertedCount += connection.insert(batch, batch.size()).getInsertedCount();
+	    }
+	    catch (SQLException e) {
+		throw new IOException(e);
+	    }
+
+	    List<DefaultNameUsage> stubs = new ArrayList<DefaultNameUsage>(batch.size());
+	    for(DefaultNameUsage nameUsage : batch) {
+		DefaultNameUsage stub = new FlatNameUsage(nameUsage.getLocalKey());
+		stub.setRankLiteral(nameUsage.getRankLiteral());
+		stub.setLiteral(nameUsage.getLiteral());
+		int objectID = connection.getCachedObjectID(nameUsage);
+		if(objectID != 0)
+		    connection.setObjectID(objectID, stub);
+		stubs.add(stub);
+	    }
+	    return stubs;
+	}
+
+	public void finish()
+	{
+	}
     }
 }
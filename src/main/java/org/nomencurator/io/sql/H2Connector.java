@@ -27,15 +27,19 @@ package org.nomencurator.io.sql;
 
 import java.sql.Connection;
 
+import java.util.Properties;
+
 /**
  * <CODE>H2Connector</CODE> provides a connection to
- * the H2 database engine.
+ * the H2 database engine, or a pool of connections
+ * for concurrent queries.
  *
  * @see <A HREF="http://www.h2database.com/">H2 database engine</A>
  * @see org.nomencurator.model.NamedObject
  * @see java.sql.Connection
+ * @see NamedObjectConnectionPool
  *
- * @version 	15 July 2015
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class H2Connector
@@ -47,6 +51,26 @@ public class H2Connector
     {
     }
 
+    /**
+     * Creates a pool of at most <CODE>maxSize</CODE> connections
+     * to the H2 database at <CODE>url</CODE>.
+     *
+     * @param url JDBC URL of the database, e.g. "jdbc:h2:~/taxonaut"
+     * @param user user name, or null
+     * @param password password of the <CODE>user</CODE>, or null
+     * @param maxSize maximum number of connections lent at once
+     * @return <CODE>NamedObjectConnectionPool</CODE> of the database
+     */
+    public static NamedObjectConnectionPool createPool(String url, String user, String password, int maxSize)
+    {
+	Properties info = new Properties();
+	if(user != null)
+	    info.setProperty("user", user);
+	if(password != null)
+	    info.setProperty("password", password);
+	return new NamedObjectConnectionPool(url, info, null, DRIVER_CLASS_NAME, maxSize);
+    }
+
     /*
     public Connection connectTo(
  throws Exception {
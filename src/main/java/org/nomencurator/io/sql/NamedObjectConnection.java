@@ -49,11 +49,16 @@ import java.sql.Types;
 
 import java.text.MessageFormat;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.Hashtable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
@@ -63,6 +68,7 @@ import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.nomencurator.model.Agent;
@@ -79,6 +85,9 @@ import org.nomencurator.model.Rank;
 
 import org.nomencurator.resources.ResourceKey;
 
+import org.nomencurator.util.cache.CacheStatistics;
+import org.nomencurator.util.cache.IdentityMap;
+
 /**
  * {@code NamedObjectConnection} provides pooled {@code Connection}
  * with support of SQL interfaces for {@code NamedObject}
@@ -87,7 +96,7 @@ import org.nomencurator.resources.ResourceKey;
  * @see org.nomencurator.model.NamedObject
  * @see java.sql.Connection
  *
- * @version 	06 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NamedObjectConnection<T extends NamedObject<?>>
@@ -102,18 +111,45 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     /** Constant to specify recurseve access to the database */
     public static final int RECURSIVE = 4;
 
+    /** Default number of {@code NamedObject}s committed at once by {@link #insert(Collection, int)} */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** Default number of object IDs queried at once by {@link #getNamedObjects(Collection, int)} */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
     /** Pool of {@code Connections} */
     protected static Map<String, Set<Connection>> connections;
 
-    /** Mappings from object ID to {@code NamedObject} */
-    protected static Map<String, Map<String, NamedObject<?>>> oidToObjectMaps;
+    /**
+     * Mappings between object ID and {@code NamedObject} for each
+     * {@code dataSource}, holding {@code NamedObject}s not used
+     * elsewhere only by weak or soft references
+     */
+    protected static final Map<String, IdentityMap<NamedObject<?>>> identityMaps =
+	new ConcurrentHashMap<String, IdentityMap<NamedObject<?>>>();
+
+    /**
+     * Strength of references from new identity maps to {@code NamedObject}s.
+     * It is {@code SOFT}, unlike the {@code WEAK} default of
+     * {@code IdentityMap}, because an object reclaimed here must be
+     * read again from the database.  A general {@code IdentityMap}
+     * should not keep values its owner no longer uses.
+     */
+    protected static volatile IdentityMap.Strength identityMapStrength = IdentityMap.Strength.SOFT;
+
+    /** Number of recently used {@code NamedObject}s held strongly by a new identity map */
+    protected static volatile int identityMapCapacity = IdentityMap.DEFAULT_CAPACITY;
+
+    /**
+     * Largest object ID allocated for each {@code dataSource} by
+     * {@code NamedObjectConnection}s, including those not yet committed
+     */
+    protected static Map<String, Integer> allocatedObjectIDs =
+	new HashMap<String, Integer>();
 
     /** Mappings from persistent ID to {@code NamedObject} */
     protected static Map<String, Map<String, NamedObject<?>>> pidToObjectMaps;
 
-    /** Mappings from {@code NamedObject} to object ID */
-    protected static Map<String, Map<NamedObject<?>, Integer>> objectToOIDMaps;
-
     /** Mapping from locale name to {@code Locale} for each {@code dataSource} */
     protected static Map<String, Map<String, Locale>> localeMaps;
 
@@ -135,11 +171,17 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     /** {@code String} representing the database */
     protected String dataSource;
 
+    /**
+     * {@code NamedObjectConnectionPool} lending this connection,
+     * or null if it is not pooled
+     */
+    protected NamedObjectConnectionPool connectionPool;
+
     /**
      * {@code String} representing base name of property file
      * storing SQL statements
      */
-    protected String resourceBaseName;
+    protected String resourceBaseName = ResourceKey.QUERY;
 
     /**
      * Subtype of SQL such as PostgreSQL used to choose appropriate
@@ -153,6 +195,13 @@ public class NamedObjectConnection<T extends NamedObject<?>>
      */
     protected Map<String, PreparedStatement> selectByOID;
 
+    /**
+     * {@code PreparedStatement}s to select {@code NamedObject}s
+     * of specified type by a list of object IDs, keyed by the type
+     * and length of the list
+     */
+    protected Map<String, PreparedStatement> selectByOIDs;
+
     /**
      * {@code PreparedStatement}s to select a {@code NamedObject}
      * of specified type and persistent ID
@@ -209,6 +258,9 @@ public class NamedObjectConnection<T extends NamedObject<?>>
      */
     protected PreparedStatement[] getNextObjectIDPrep;
 
+    /** {@code PreparedStatement} to get the largest object ID in use */
+    protected PreparedStatement getMaxObjectIDStatement;
+
     /** {@code PreparedStatement} to start a transaction */
     protected PreparedStatement startTransaction;
 
@@ -233,6 +285,49 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     /** {@code PreparedStatement} to delete a pooled OID */
     protected PreparedStatement deleteOIDinPool;
 
+    /**
+     * Object IDs assigned to {@code NamedObject}s of which insertion
+     * is not yet committed by {@link #insert(Collection, int)}
+     */
+    protected Map<NamedObject<?>, Integer> pendingObjectIDs;
+
+    /**
+     * True while {@link #insert(Collection, int)} inserts a chunk,
+     * where a {@code NamedObject} referred to must not be inserted
+     * by its own transaction
+     */
+    protected boolean insertingChunk;
+
+    /**
+     * References to {@code NamedObject}s not yet loaded, to be resolved
+     * by {@link #getNamedObjects(Collection, int, int)} after loading
+     * them, or null to resolve references on creation
+     */
+    protected List<Reference> deferredReferences;
+
+    /**
+     * {@code Reference} from a {@code NamedObject} to another
+     * {@code NamedObject} specified by its object ID
+     */
+    protected static class Reference
+    {
+	/** {@code NamedObject} referring to */
+	protected final NamedObject<?> referrer;
+
+	/** Column containing the reference */
+	protected final String column;
+
+	/** Object ID of the {@code NamedObject} referred to */
+	protected final int objectID;
+
+	protected Reference(NamedObject<?> referrer, String column, int objectID)
+	{
+	    this.referrer = referrer;
+	    this.column = column;
+	    this.objectID = objectID;
+	}
+    }
+
     protected void setConnection(Connection connection)
     {
 	/*
@@ -453,6 +548,22 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	setConnection(DriverManager.getConnection(url, info));
     }
 
+    /**
+     * Creates a {@code NamedObjectConnection} using {@code connection}
+     * provided by, e.g., a {@code javax.sql.DataSource}
+     *
+     * @param connection JDBC {@code Connection} to the database
+     * @param queryType {@code Locale} specifying SQL subtype
+     */
+    public NamedObjectConnection(Connection connection,
+				 Locale queryType)
+    {
+	if(queryType == null)
+	    queryType = ResourceKey.SQL;
+	setQueryType(queryType);
+	setConnection(connection);
+    }
+
    /**
      * Returns {@code NamedObject} of {@code objectType}
      * in the database having {@code objectID},
@@ -473,16 +584,11 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 				      int mode)
 	throws SQLException
     {
-	if(oidToObjectMaps != null) {
-	    Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
-	    if(map != null) {
-		NamedObject<?> o = map.get(Integer.toString(objectID));
-		if(o != null)
-		    return o;
-	    }
-	}
+	NamedObject<?> cached = getCachedObject(objectID);
+	if(cached != null)
+	    return cached;
 
-	if(selectByOID != null)
+	if(selectByOID == null)
 	    selectByOID = Collections.synchronizedMap(new HashMap<String, PreparedStatement>());
 	PreparedStatement query = 
 	    getPreparedStatementForNamedObject(selectByOID,
@@ -501,6 +607,344 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	return object;
     }
 
+    /**
+     * Returns {@code NamedObject}s in the database having
+     * {@code objectIDs}, loaded in batches of {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @param objectIDs object IDs of the target {@code NamedObject}s
+     * @param mode access mode
+     *
+     * @return Map of object IDs to {@code NamedObject}s found,
+     * in order of {@code objectIDs}
+     *
+     * @exception SQLException
+     *
+     * @see #getNamedObjects(Collection, int, int)
+     */
+    public Map<Integer, NamedObject<?>> getNamedObjects(Collection<Integer> objectIDs,
+							int mode)
+	throws SQLException
+    {
+	return getNamedObjects(objectIDs, mode, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Returns {@code NamedObject}s in the database having
+     * {@code objectIDs}.  Object types of the {@code objectIDs}
+     * are queried at once, then {@code NamedObject}s of each type
+     * are selected by lists of up to {@code fetchSize} object IDs,
+     * instead of a query per {@code NamedObject}.
+     * {@code NamedObject}s already in the cache are not queried.
+     *
+     * References to {@code NamedObject}s not in the cache are collected
+     * while loading a level.  Unless {@code mode} is {@code NOMINAL},
+     * they are loaded breadth first in the same way, level by level,
+     * then resolved.  In {@code NOMINAL} mode they are resolved to
+     * nominal {@code NamedObject}s having persistent IDs queried at once.
+     *
+     * @param objectIDs object IDs of the target {@code NamedObject}s
+     * @param mode access mode
+     * @param fetchSize maximum number of object IDs in a query
+     *
+     * @return Map of object IDs to {@code NamedObject}s found,
+     * in order of {@code objectIDs}
+     *
+     * @exception SQLException
+     */
+    public Map<Integer, NamedObject<?>> getNamedObjects(Collection<Integer> objectIDs,
+							int mode,
+							int fetchSize)
+	throws SQLException
+    {
+	if(fetchSize < 1)
+	    throw new IllegalArgumentException("fetch size must be positive: " + fetchSize);
+
+	Map<Integer, NamedObject<?>> objects = new LinkedHashMap<Integer, NamedObject<?>>();
+	if(objectIDs == null || objectIDs.isEmpty())
+	    return objects;
+
+	Map<Integer, NamedObject<?>> loaded = new HashMap<Integer, NamedObject<?>>();
+	Set<Integer> level = new LinkedHashSet<Integer>();
+	for(Integer objectID : objectIDs) {
+	    if(objectID != null && getCachedObject(objectID) == null)
+		level.add(objectID);
+	}
+
+	List<Reference> references = new ArrayList<Reference>();
+	List<Reference> outer = deferredReferences;
+	deferredReferences = references;
+	try {
+	    while(!level.isEmpty()) {
+		int resolved = references.size();
+		Map<String, List<Integer>> types = new LinkedHashMap<String, List<Integer>>();
+		getObjectTypes(level, types, null, fetchSize);
+		for(Map.Entry<String, List<Integer>> entry : types.entrySet()) {
+		    loadNamedObjects(entry.getKey(), entry.getValue(),
+				     mode, fetchSize, loaded);
+		}
+
+		level = new LinkedHashSet<Integer>();
+		for(int i = resolved; i < references.size(); i++) {
+		    int objectID = references.get(i).objectID;
+		    if(!loaded.containsKey(objectID)
+		       && getCachedObject(objectID) == null)
+			level.add(objectID);
+		}
+
+		if((mode & NOMINAL) != 0)
+		    break;
+	    }
+	}
+	finally {
+	    deferredReferences = outer;
+	}
+
+	Map<Integer, String> persistentIDs = new HashMap<Integer, String>();
+	if(!level.isEmpty())
+	    getObjectTypes(level, null, persistentIDs, fetchSize);
+
+	for(Reference reference : references) {
+	    NamedObject<?> object = loaded.get(reference.objectID);
+	    if(object == null)
+		object = getCachedObject(reference.objectID);
+	    if(object == null)
+		object = createNominalObject(reference.column,
+					     persistentIDs.get(reference.objectID));
+	    resolve(reference, object);
+	}
+
+	for(Integer objectID : objectIDs) {
+	    if(objectID == null || objects.containsKey(objectID))
+		continue;
+	    NamedObject<?> object = loaded.get(objectID);
+	    if(object == null)
+		object = getCachedObject(objectID);
+	    if(object != null)
+		objects.put(objectID, object);
+	}
+
+	return objects;
+    }
+
+    /**
+     * Puts object IDs in {@code objectIDs} to {@code types} by their
+     * object types, and their persistent IDs to {@code persistentIDs},
+     * querying up to {@code fetchSize} object IDs at once.
+     * Either of {@code types} or {@code persistentIDs} may be null.
+     *
+     * @param objectIDs object IDs to be queried
+     * @param types {@code Map} to put object IDs by type, or null
+     * @param persistentIDs {@code Map} to put persistent IDs, or null
+     * @param fetchSize maximum number of object IDs in a query
+     *
+     * @exception SQLException
+     */
+    protected void getObjectTypes(Collection<Integer> objectIDs,
+				  Map<String, List<Integer>> types,
+				  Map<Integer, String> persistentIDs,
+				  int fetchSize)
+	throws SQLException
+    {
+	List<Integer> list = new ArrayList<Integer>(objectIDs);
+	int size = Math.min(fetchSize, list.size());
+	PreparedStatement query =
+	    getStatementForObjectIDs(ResourceKey.SELECT_TYPES_BY_OIDS,
+				     ResourceKey.TABLE_NAMED_OBJECT,
+				     size);
+	for(int from = 0; from < list.size(); from += size) {
+	    setObjectIDs(query, list, from, size);
+	    ResultSet result = query.executeQuery();
+	    while(result.next()) {
+		int objectID = result.getInt("object_id");
+		if(types != null) {
+		    String objectType = result.getString("object_type");
+		    List<Integer> ofType = types.get(objectType);
+		    if(ofType == null) {
+			ofType = new ArrayList<Integer>();
+			types.put(objectType, ofType);
+		    }
+		    ofType.add(objectID);
+		}
+		if(persistentIDs != null)
+		    persistentIDs.put(objectID, result.getString("persistent_id"));
+	    }
+	    result.close();
+	}
+    }
+
+    /**
+     * Loads {@code NamedObject}s of {@code objectType} having
+     * {@code objectIDs} to {@code loaded}, up to {@code fetchSize}
+     * {@code NamedObject}s by a query.
+     *
+     * @param objectType {@code String} representing subtype of
+     * the target {@code NamedObject}s
+     * @param objectIDs object IDs of the target {@code NamedObject}s
+     * @param mode access mode
+     * @param fetchSize maximum number of object IDs in a query
+     * @param loaded {@code Map} to put loaded {@code NamedObject}s
+     *
+     * @exception SQLException
+     */
+    protected void loadNamedObjects(String objectType,
+				    List<Integer> objectIDs,
+				    int mode,
+				    int fetchSize,
+				    Map<Integer, NamedObject<?>> loaded)
+	throws SQLException
+    {
+	int size = Math.min(fetchSize, objectIDs.size());
+	PreparedStatement query =
+	    getStatementForObjectIDs(ResourceKey.SELECT_NAMED_OBJECTS_BY_OIDS,
+				     objectType,
+				     size);
+	for(int from = 0; from < objectIDs.size(); from += size) {
+	    setObjectIDs(query, objectIDs, from, size);
+	    ResultSet result = query.executeQuery();
+	    while(result.next()) {
+		NamedObject<?> object = createNamedObject(result, mode);
+		if(object != null)
+		    loaded.put(result.getInt("object_id"), object);
+	    }
+	    result.close();
+	}
+    }
+
+    /**
+     * Returns a {@code PreparedStatement} of {@code statementKey}
+     * taking a list of {@code size} object IDs.  The statement is
+     * shared by lists of the same size so that the database can
+     * reuse its plan.
+     *
+     * @param statementKey property key to a SQL statement
+     * @param objectTypeKey property key to objct type
+     * @param size number of object IDs in the list
+     *
+     * @exception SQLException
+     */
+    protected PreparedStatement getStatementForObjectIDs(String statementKey,
+							 String objectTypeKey,
+							 int size)
+	throws SQLException
+    {
+	if(selectByOIDs == null)
+	    selectByOIDs = Collections.synchronizedMap(new HashMap<String, PreparedStatement>());
+
+	String key = statementKey + "/" + objectTypeKey + "/" + size;
+	PreparedStatement query = selectByOIDs.get(key);
+	if(query == null) {
+	    ResourceBundle resource =
+		ResourceBundle.getBundle(resourceBaseName, queryType);
+	    StringBuffer list = new StringBuffer("?");
+	    for(int i = 1; i < size; i++)
+		list.append(", ?");
+	    query = 
+		connection.prepareStatement(MessageFormat.format(resource.getString(statementKey),
+								 new Object[]{resource.getString(ResourceKey.TABLE_NAMED_OBJECT),
+									      resource.getString(objectTypeKey),
+									      list.toString()}));
+	    selectByOIDs.put(key, query);
+	}
+	return query;
+    }
+
+    /**
+     * Sets {@code size} object IDs in {@code objectIDs} from {@code from}
+     * to parameters of {@code query}, repeating the last one
+     * to fill parameters beyond the end of {@code objectIDs}.
+     *
+     * @param query {@code PreparedStatement} taking {@code size} object IDs
+     * @param objectIDs object IDs to be set
+     * @param from index of the first object ID to be set
+     * @param size number of parameters of {@code query}
+     *
+     * @exception SQLException
+     */
+    protected void setObjectIDs(PreparedStatement query,
+				List<Integer> objectIDs,
+				int from,
+				int size)
+	throws SQLException
+    {
+	int last = Math.min(from + size, objectIDs.size()) - 1;
+	for(int i = 0; i < size; i++) {
+	    query.setInt(i + 1, objectIDs.get(Math.min(from + i, last)));
+	}
+    }
+
+    /**
+     * Defers resolution of a reference from {@code referrer} in
+     * {@code column} to {@code objectID} if references are deferred
+     * and {@code objectID} is not in the cache.
+     *
+     * @param referrer {@code NamedObject} referring to
+     * @param column name of column containing the reference
+     * @param objectID object ID of the {@code NamedObject} referred to
+     *
+     * @return true if the reference is deferred
+     *
+     * @exception SQLException
+     */
+    protected boolean defer(NamedObject<?> referrer, String column, int objectID)
+	throws SQLException
+    {
+	if(deferredReferences == null
+	   || getCachedObject(objectID) != null)
+	    return false;
+	deferredReferences.add(new Reference(referrer, column, objectID));
+	return true;
+    }
+
+    /**
+     * Returns a nominal {@code NamedObject} referred in {@code column}
+     * having {@code persistentID}, or null if {@code persistentID} is empty.
+     *
+     * @param column name of column containing the reference
+     * @param persistentID persistent ID of the {@code NamedObject}
+     *
+     * @return nominal {@code NamedObject} or null
+     */
+    protected NamedObject<?> createNominalObject(String column, String persistentID)
+    {
+	if(persistentID == null || persistentID.length() == 0)
+	    return null;
+
+	NamedObject<?> object = null;
+	if("part_of".equals(column) || "publication".equals(column))
+	    object = new Publication();
+	else if("appearance".equals(column))
+	    object = new Appearance();
+	else
+	    object = new DefaultNameUsage();
+	object.setLiteral(persistentID);
+	return object;
+    }
+
+    /**
+     * Resolves {@code reference} to {@code object}
+     *
+     * @param reference {@code Reference} to be resolved
+     * @param object {@code NamedObject} referred to, or null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void resolve(Reference reference, NamedObject<?> object)
+    {
+	if(object == null)
+	    return;
+
+	String column = reference.column;
+	if("part_of".equals(column))
+	    ((Publication)reference.referrer).setContainer((Publication)object);
+	else if("publication".equals(column))
+	    ((Appearance)reference.referrer).setPublication((Publication)object);
+	else if("appearance".equals(column))
+	    ((NameUsage<?>)reference.referrer).setAppearance((Appearance)object);
+	else if("sensu".equals(column))
+	    ((NameUsage<?>)reference.referrer).setSensu((NameUsage<?>)object);
+	else if("higher_taxon".equals(column))
+	    ((NameUsage)reference.referrer).setHigherNameUsage((NameUsage)object);
+    }
+
     /**
      * Returns next object ID
      *
@@ -676,6 +1120,9 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	    if(++id == 0) { // i := i + 1; IF i = 0 THEN
 		id = 1; // i := 1;
 	    } //END IF;
+	    // avoid object IDs allocated to chunks not yet committed
+	    if(id > 0)
+		id = reserveObjectIDs(id, 1);
 	} // END IF;	
 
 	return id;
@@ -750,16 +1197,14 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     public int getObjectID(NamedObject<?> object, boolean withInsertion)
 	throws SQLException
     {
-	
-	if(objectToOIDMaps != null) {
-	    Map<NamedObject<?>, Integer> h = objectToOIDMaps.get(dataSource);
-	    
-	    if(h != null) {
-		Integer objectID = h.get(object);
+	int cachedID = getCachedObjectID(object);
+	if(cachedID != 0)
+	    return cachedID;
 
-		if(objectID != null)
-		    return objectID.intValue();
-	    }
+	if(pendingObjectIDs != null) {
+	    Integer objectID = pendingObjectIDs.get(object);
+	    if(objectID != null)
+		return objectID.intValue();
 	}
 
 	if(getOIDbyPIDStatement == null) {
@@ -773,19 +1218,24 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	getOIDbyPIDStatement.setString(1, object.getLiteral());
 	ResultSet results = 
 	    getOIDbyPIDStatement.executeQuery();
-	results.next();
 
 	int i = 0;
-	if(!results.wasNull()) {
+	if(results.next()) {
 	    i = results.getInt(1);
-	    results.close();
-	    return i;
+	    if(!results.wasNull()) {
+		results.close();
+		return i;
+	    }
 	}
 
 	results.close();
 
-	if(withInsertion)
+	if(withInsertion) {
+	    // insert(NamedObject) would commit the chunk half inserted
+	    if(insertingChunk)
+		throw new SQLException(object.getLiteral() + " referred to is not resolved before its chunk");
 	    return insert(object);
+	}
 
 	return 0;
     }
@@ -801,30 +1251,74 @@ public class NamedObjectConnection<T extends NamedObject<?>>
      */
     public void setObjectID(int objectID, NamedObject<?> object)
     {
-	if(objectToOIDMaps == null) {
-	    objectToOIDMaps = Collections.synchronizedMap(new HashMap<String, Map<NamedObject<?>, Integer>>());
-	    oidToObjectMaps =  Collections.synchronizedMap(new HashMap<String, Map<String, NamedObject<?>>>());
-	}
-
-	Map<NamedObject<?>, Integer> o2oidMap = objectToOIDMaps.get(dataSource);
+	getIdentityMap(true).put(objectID, object);
+    }
 
-	if(o2oidMap == null) {
-	    o2oidMap = Collections.synchronizedMap(new HashMap<NamedObject<?>, Integer>());
-	    objectToOIDMaps.put(dataSource, o2oidMap);
+    /**
+     * Returns the identity map of {@code dataSource}, creating it if
+     * {@code create} is true, or null if it does not exist.
+     *
+     * @param create true to create the identity map if it does not exist
+     * @return the identity map of {@code dataSource}, or null
+     */
+    protected IdentityMap<NamedObject<?>> getIdentityMap(boolean create)
+    {
+	IdentityMap<NamedObject<?>> map = identityMaps.get(dataSource);
+	if(map == null && create) {
+	    map = new IdentityMap<NamedObject<?>>(identityMapStrength, identityMapCapacity);
+	    IdentityMap<NamedObject<?>> existing = identityMaps.putIfAbsent(dataSource, map);
+	    if(existing != null)
+		map = existing;
 	}
+	return map;
+    }
 
-	Integer id = Integer.valueOf(objectID);
+    /**
+     * Returns statistics of the identity map of {@code dataSource},
+     * or null if nothing is cached yet.
+     *
+     * @return {@code CacheStatistics} of the identity map or null
+     */
+    public CacheStatistics getIdentityMapStatistics()
+    {
+	IdentityMap<NamedObject<?>> map = getIdentityMap(false);
+	return (map == null) ? null : map.getStatistics();
+    }
 
-	o2oidMap.put(object, id);
+    /**
+     * Sets strength of references from identity maps created later
+     * to {@code NamedObject}s.  {@code SOFT} keeps them until memory
+     * runs short, while {@code WEAK} releases them as soon as
+     * they are not used elsewhere.
+     *
+     * @param strength of references to {@code NamedObject}s
+     */
+    public static void setIdentityMapStrength(IdentityMap.Strength strength)
+    {
+	if(strength == null)
+	    throw new NullPointerException();
+	identityMapStrength = strength;
+    }
 
-	Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
+    public static IdentityMap.Strength getIdentityMapStrength()
+    {
+	return identityMapStrength;
+    }
 
-	if(map == null) {
-	    map = Collections.synchronizedMap(new HashMap<String, NamedObject<?>>());
-	    oidToObjectMaps.put(dataSource, map);
-	}
+    /**
+     * Sets number of recently used {@code NamedObject}s held strongly
+     * by identity maps created later.
+     *
+     * @param capacity number of {@code NamedObject}s, or non-positive for none
+     */
+    public static void setIdentityMapCapacity(int capacity)
+    {
+	identityMapCapacity = capacity;
+    }
 
-	map.put(id.toString(), object);
+    public static int getIdentityMapCapacity()
+    {
+	return identityMapCapacity;
     }
 
     /**
@@ -1179,18 +1673,15 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 
 	Publication container = null;
 
-	if(oidToObjectMaps != null) {
-	    Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
-	    if(map != null) {
-		container = 
-		    (Publication)map.get(Integer.toString(containerID));
-		if(container != null) {
-		    publication.setContainer(container);
-		    return publication;
-		}
-	    }
+	container = (Publication)getCachedObject(containerID);
+	if(container != null) {
+	    publication.setContainer(container);
+	    return publication;
 	}
 
+	if(defer(publication, "part_of", containerID))
+	    return publication;
+
 	if((mode & NOMINAL) != 0) {
 	    String pid = getPersistentID(containerID);
 	    if(pid != null && pid.length() > 0) {
@@ -1231,14 +1722,10 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 
 	Publication publication = null;
 
-	if(oidToObjectMaps != null) {
-	    Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
-	    if(map != null) {
-		publication = (Publication)map.get(Integer.toString(publicationID));
-	    }
-	}
+	publication = (Publication)getCachedObject(publicationID);
 
-	if (publication == null) {
+	if (publication == null
+	    && !defer(appearance, "publication", publicationID)) {
 	    if((mode & NOMINAL) != 0) {
 		String pid = getPersistentID(publicationID);
 		if(pid != null && pid.length() > 0) {
@@ -1261,13 +1748,7 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     {
 	Appearance appearance = null;
 
-	if(oidToObjectMaps != null) {
-	    Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
-	    if(map != null) {
-		appearance = 
-		    (Appearance)map.get(Integer.toString(objectID));
-	    }
-	}
+	appearance = (Appearance)getCachedObject(objectID);
 
 	if (appearance == null) {
 	    if((mode & NOMINAL) != 0) {
@@ -1318,22 +1799,13 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     }
 
     /**
-     * Returns {@code Objec} of {@code objectID}
+     * Returns {@code NamedObject} of {@code objectID}
      * in cache, or null if it is not found in the cache. 
      */
-    protected Object getCachedObject(int objectID)
-	throws SQLException
+    protected NamedObject<?> getCachedObject(int objectID)
     {
-	Object object = null;
-
-	if(oidToObjectMaps != null) {
-	    Map<String, NamedObject<?>> map = oidToObjectMaps.get(dataSource);
-	    if(map != null) {
-		object = map.get(Integer.toString(objectID));
-	    }
-	}
-
-	return object;
+	IdentityMap<NamedObject<?>> map = getIdentityMap(false);
+	return (map == null) ? null : map.get(objectID);
     }
 
     /**
@@ -1526,18 +1998,21 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	nameUsage.setLiteral(result.getString("literal"));
 
 	i = result.getInt("appearance");
-	if(!result.wasNull() && i != 0) {
+	if(!result.wasNull() && i != 0
+	   && !defer(nameUsage, "appearance", i)) {
 	    nameUsage.setAppearance(getAppearance(i, mode));
 	}
 	
 	i = result.getInt("sensu");
-	if(!result.wasNull() && i != 0) {
+	if(!result.wasNull() && i != 0
+	   && !defer(nameUsage, "sensu", i)) {
 	    nameUsage.setSensu(getNameUsage(i, mode));
 	}
 
 	i = result.getInt("higher_taxon");
 	if(!result.wasNull() && i != 0) {
-	    nameUsage.setSensu(getNameUsage(i, mode));
+	    if(!defer(nameUsage, "higher_taxon", i))
+		resolve(new Reference(nameUsage, "higher_taxon", i), getNameUsage(i, mode));
 	    i = result.getInt("sequence");
 	    if(!result.wasNull())
 		nameUsage.setIndex(i);
@@ -1659,7 +2134,12 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     }
 
 
-    public int insert(NamedObject<?> object)
+    /**
+     * Prepares statements to insert {@code NamedObject}s if necessary.
+     *
+     * @exception SQLException
+     */
+    protected void prepareInsertStatements()
 	throws SQLException
     {
 	if(startTransaction == null) {
@@ -1691,34 +2171,64 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 
 	    setStatements = new HashMap<String, PreparedStatement>();
 	}
+    }
 
-	String subtype = object.getClassName();
+    /**
+     * Returns a {@code PreparedStatement} to set values of {@code subtype}.
+     *
+     * @param subtype class name of {@code NamedObject}
+     * @exception SQLException
+     */
+    protected PreparedStatement getSetStatement(String subtype)
+	throws SQLException
+    {
 	PreparedStatement setNamedObject = setStatements.get(subtype);
 	if(setNamedObject == null) {
 	    setNamedObject =
 		getPreparedStatement("SET_"+subtype, subtype);
 	    setStatements.put(subtype, setNamedObject);
 	}
+	return setNamedObject;
+    }
+
+    /**
+     * Returns a {@code PreparedStatement} to insert a {@code NamedObject}
+     * of {@code subtype}, or null if insertion is made by a stored procedure.
+     *
+     * @param subtype class name of {@code NamedObject}
+     * @exception SQLException
+     */
+    protected PreparedStatement getInsertStatement(String subtype)
+	throws SQLException
+    {
+	if(insertStatements == null)
+	    return null;
+
+	PreparedStatement statement = insertStatements.get(subtype);
+	if(statement == null) {
+	    ResourceBundle resource = ResourceBundle.getBundle(resourceBaseName, queryType);
+	    statement = 
+		connection.prepareStatement(MessageFormat.format(resource.getString(ResourceKey.INSERT_NAMED_OBJECT),
+								 new Object[]{resource.getString(ResourceKey.TABLE_NAMED_OBJECT),
+									      resource.getString(subtype)}));
+	    insertStatements.put(subtype, statement);
+	} 
+	return statement;
+    }
+
+    public int insert(NamedObject<?> object)
+	throws SQLException
+    {
+	prepareInsertStatements();
 
+	String subtype = object.getClassName();
+	PreparedStatement setNamedObject = getSetStatement(subtype);
 	if(insertStatements != null) {
-	    insertNamedObjectStatement = insertStatements.get(subtype);
-	    if(insertNamedObjectStatement == null) {
-		ResourceBundle resource = ResourceBundle.getBundle(resourceBaseName, queryType);
-		insertNamedObjectStatement = 
-		    connection.prepareStatement(MessageFormat.format(resource.getString(ResourceKey.INSERT_NAMED_OBJECT),
-								     new Object[]{resource.getString(ResourceKey.TABLE_NAMED_OBJECT),
-										  resource.getString(subtype)}));
-		insertStatements.put(subtype, insertNamedObjectStatement);
-	    } 
+	    insertNamedObjectStatement = getInsertStatement(subtype);
 	}
 
-
 	int oid = 0;
 	int index = -1;
-	String tableName = 
-	    ResourceKey.getResourceString(resourceBaseName, 
-					  queryType,
-					  subtype);
 
 	if(insertNamedObjectProcedure != null) {
 	    setValues(insertNamedObjectProcedure, object, 2);
@@ -1755,6 +2265,325 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	}
     }
 
+    /**
+     * Inserts {@code objects} in chunks of {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param objects {@code NamedObject}s to be inserted
+     * @return {@code BulkInsertResult} of the insertion
+     * @exception SQLException
+     * @see #insert(Collection, int)
+     */
+    public BulkInsertResult insert(Collection<? extends NamedObject<?>> objects)
+	throws SQLException
+    {
+	return insert(objects, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Inserts {@code objects} committing every {@code chunkSize}
+     * {@code NamedObject}s.  Object IDs of a chunk are allocated at once
+     * as a range above the largest object ID in use, and rows of each
+     * subtype are inserted by a JDBC batch.  {@code NamedObject}s already
+     * having object IDs are skipped.  {@code NamedObject}s referred from
+     * those to be inserted are resolved before the first chunk, looking
+     * them up in the database, or else inserted in advance of those
+     * referring to them, so that no chunk inserts a {@code NamedObject}
+     * in its own transaction.
+     *
+     * If a chunk fails, it is rolled back and the {@code SQLException}
+     * is thrown, leaving chunks committed before in the database and
+     * object ID maps.  Object IDs reused from the pool by
+     * {@link #insert(NamedObject)} are not used.
+     *
+     * @param objects {@code NamedObject}s to be inserted
+     * @param chunkSize number of {@code NamedObject}s committed at once
+     * @return {@code BulkInsertResult} of the insertion
+     * @exception SQLException
+     */
+    public BulkInsertResult insert(Collection<? extends NamedObject<?>> objects, int chunkSize)
+	throws SQLException
+    {
+	if(chunkSize < 1)
+	    throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+
+	long started = System.nanoTime();
+	List<NamedObject<?>> toInsert = new ArrayList<NamedObject<?>>(objects.size());
+	Set<NamedObject<?>> seen = new HashSet<NamedObject<?>>();
+	int skipped = 0;
+	for(NamedObject<?> object : objects) {
+	    if(object == null || !seen.add(object))
+		continue;
+	    if(getCachedObjectID(object) != 0)
+		skipped++;
+	    else
+		toInsert.add(object);
+	}
+	seen.clear();
+
+	if(toInsert.isEmpty())
+	    return new BulkInsertResult(0, skipped, 0, System.nanoTime() - started);
+
+	toInsert = orderByReferences(toInsert);
+
+	prepareInsertStatements();
+	if(pendingObjectIDs == null)
+	    pendingObjectIDs = new HashMap<NamedObject<?>, Integer>();
+
+	boolean autoCommit = connection.getAutoCommit();
+	connection.setAutoCommit(false);
+	int inserted = 0;
+	int chunks = 0;
+	try {
+	    for(int from = 0; from < toInsert.size(); from += chunkSize) {
+		List<NamedObject<?>> chunk =
+		    toInsert.subList(from, Math.min(from + chunkSize, toInsert.size()));
+		boolean committed = false;
+		try {
+		    insertingChunk = true;
+		    insertChunk(chunk);
+		    connection.commit();
+		    committed = true;
+		}
+		catch (SQLException e) {
+		    connection.rollback();
+		    throw e;
+		}
+		finally {
+		    insertingChunk = false;
+		    releaseObjectIDs(chunk, committed);
+		}
+		inserted += chunk.size();
+		chunks++;
+	    }
+	}
+	finally {
+	    pendingObjectIDs.clear();
+	    connection.setAutoCommit(autoCommit);
+	}
+
+	return new BulkInsertResult(inserted, skipped, chunks, System.nanoTime() - started);
+    }
+
+    /**
+     * Returns {@code objects} with {@code NamedObject}s referred from them
+     * but not in the database, where every {@code NamedObject} follows
+     * those referred from it.  Object IDs of {@code NamedObject}s referred
+     * to and found in the database are cached.
+     *
+     * @param objects {@code NamedObject}s to be inserted
+     * @return {@code List} of {@code NamedObject}s to be inserted in order
+     * @exception SQLException
+     */
+    protected List<NamedObject<?>> orderByReferences(List<NamedObject<?>> objects)
+	throws SQLException
+    {
+	List<NamedObject<?>> ordered = new ArrayList<NamedObject<?>>(objects.size());
+	Set<NamedObject<?>> toInsert = new HashSet<NamedObject<?>>(objects);
+	Set<NamedObject<?>> visited = new HashSet<NamedObject<?>>();
+	for(NamedObject<?> object : objects)
+	    orderByReferences(object, toInsert, visited, ordered);
+	return ordered;
+    }
+
+    protected void orderByReferences(NamedObject<?> object,
+				     Set<NamedObject<?>> toInsert,
+				     Set<NamedObject<?>> visited,
+				     List<NamedObject<?>> ordered)
+	throws SQLException
+    {
+	if(!visited.add(object))
+	    return;
+	for(NamedObject<?> reference : getReferences(object)) {
+	    if(!toInsert.contains(reference)) {
+		if(visited.contains(reference) || getCachedObjectID(reference) != 0)
+		    continue;
+		int objectID = getObjectID(reference, false);
+		if(objectID != 0) {
+		    setObjectID(objectID, reference);
+		    visited.add(reference);
+		    continue;
+		}
+		toInsert.add(reference);
+	    }
+	    orderByReferences(reference, toInsert, visited, ordered);
+	}
+	ordered.add(object);
+    }
+
+    /**
+     * Returns {@code NamedObject}s of which object IDs are
+     * set by {@code setValues} of {@code object}.
+     *
+     * @param object {@code NamedObject} referring to others
+     * @return {@code List} of {@code NamedObject}s referred from {@code object}
+     */
+    protected List<NamedObject<?>> getReferences(NamedObject<?> object)
+    {
+	List<NamedObject<?>> references = new ArrayList<NamedObject<?>>(3);
+	if(object instanceof Publication) {
+	    addReference(references, ((Publication)object).getContainer());
+	}
+	else if(object instanceof Appearance) {
+	    addReference(references, ((Appearance)object).getPublication());
+	}
+	else if(object instanceof NameUsage) {
+	    NameUsage<?> nameUsage = (NameUsage<?>)object;
+	    addReference(references, nameUsage.getAppearance());
+	    addReference(references, nameUsage.getSensu());
+	    addReference(references, nameUsage.getHigherNameUsage());
+	}
+	else if(object instanceof Annotation) {
+	    addReference(references, ((Annotation)object).getAppearance());
+	}
+	return references;
+    }
+
+    private void addReference(List<NamedObject<?>> references, NamedObject<?> reference)
+    {
+	if(reference != null)
+	    references.add(reference);
+    }
+
+    /**
+     * Inserts {@code chunk} of {@code NamedObject}s without committing.
+     *
+     * @param chunk {@code NamedObject}s to be inserted
+     * @exception SQLException
+     */
+    protected void insertChunk(List<NamedObject<?>> chunk)
+	throws SQLException
+    {
+	Map<String, List<NamedObject<?>>> subtypes = new LinkedHashMap<String, List<NamedObject<?>>>();
+	for(NamedObject<?> object : chunk) {
+	    String subtype = object.getClassName();
+	    List<NamedObject<?>> list = subtypes.get(subtype);
+	    if(list == null) {
+		list = new ArrayList<NamedObject<?>>();
+		subtypes.put(subtype, list);
+	    }
+	    list.add(object);
+	}
+
+	if(insertNamedObjectProcedure != null) {
+	    // object IDs are given by the procedure one by one
+	    for(NamedObject<?> object : chunk) {
+		setValues(insertNamedObjectProcedure, object, 2);
+		insertNamedObjectProcedure.execute();
+		pendingObjectIDs.put(object, Integer.valueOf(insertNamedObjectProcedure.getInt(1)));
+	    }
+	}
+	else {
+	    int oid = allocateObjectIDs(chunk.size());
+	    for(NamedObject<?> object : chunk) {
+		pendingObjectIDs.put(object, Integer.valueOf(oid++));
+	    }
+	    for(Map.Entry<String, List<NamedObject<?>>> entry : subtypes.entrySet()) {
+		PreparedStatement statement = getInsertStatement(entry.getKey());
+		for(NamedObject<?> object : entry.getValue()) {
+		    int objectID = pendingObjectIDs.get(object).intValue();
+		    statement.setInt(1, objectID);
+		    int index = setValues(statement, object, 2);
+		    statement.setInt(index, objectID);
+		    statement.addBatch();
+		}
+		statement.executeBatch();
+	    }
+	}
+
+	for(Map.Entry<String, List<NamedObject<?>>> entry : subtypes.entrySet()) {
+	    PreparedStatement statement = getSetStatement(entry.getKey());
+	    if(statement == null)
+		continue;
+	    for(NamedObject<?> object : entry.getValue()) {
+		int index = object.setValues(statement, this, 1);
+		statement.setInt(index, pendingObjectIDs.get(object).intValue());
+		statement.addBatch();
+	    }
+	    statement.executeBatch();
+	}
+    }
+
+    /**
+     * Moves object IDs of {@code chunk} from pending ones to the
+     * object ID maps if the insertion was {@code committed},
+     * or discards them otherwise.
+     */
+    protected void releaseObjectIDs(List<NamedObject<?>> chunk, boolean committed)
+    {
+	for(NamedObject<?> object : chunk) {
+	    Integer objectID = pendingObjectIDs.remove(object);
+	    if(objectID != null && committed)
+		setObjectID(objectID.intValue(), object);
+	}
+    }
+
+    /**
+     * Returns object ID cached for {@code object}, or zero if none.
+     */
+    protected int getCachedObjectID(NamedObject<?> object)
+    {
+	IdentityMap<NamedObject<?>> map = getIdentityMap(false);
+	return (map == null) ? 0 : map.getKey(object, 0);
+    }
+
+    /**
+     * Allocates {@code count} consecutive object IDs above the largest
+     * object ID in use, and returns the first of them.  Object IDs
+     * allocated by other {@code NamedObjectConnection}s to the same
+     * {@code dataSource} but not yet committed are avoided, while those
+     * allocated by other processes are not.
+     *
+     * @param count number of object IDs to be allocated
+     * @return the first object ID allocated
+     * @exception SQLException if object IDs are exhausted
+     */
+    protected int allocateObjectIDs(int count)
+	throws SQLException
+    {
+	if(getMaxObjectIDStatement == null) {
+	    ResourceBundle resource =
+		ResourceBundle.getBundle(resourceBaseName, queryType);
+	    getMaxObjectIDStatement =
+		connection.prepareStatement(MessageFormat.format(resource.getString(ResourceKey.GET_NEXT_OBJECT_ID_STATEMENT_KEYS[5]),
+								 new Object[]{resource.getString(ResourceKey.TABLE_NAMED_OBJECT)}));
+	}
+
+	int max = 0;
+	ResultSet r = getMaxObjectIDStatement.executeQuery();
+	if(r.next())
+	    max = r.getInt(1);
+	r.close();
+
+	if(max < 0)
+	    max = 0;
+	return reserveObjectIDs(max + 1, count);
+    }
+
+    /**
+     * Reserves {@code count} consecutive object IDs from {@code first},
+     * or from above object IDs reserved before if they overlap, and
+     * returns the first of them.
+     *
+     * @param first the first object ID to be reserved
+     * @param count number of object IDs to be reserved
+     * @return the first object ID reserved
+     * @exception SQLException if object IDs are exhausted
+     */
+    protected int reserveObjectIDs(int first, int count)
+	throws SQLException
+    {
+	synchronized(allocatedObjectIDs) {
+	    long from = first;
+	    Integer allocated = allocatedObjectIDs.get(dataSource);
+	    if(allocated != null && allocated.intValue() >= first)
+		from = allocated.longValue() + 1;
+	    if(from + count - 1 > Integer.MAX_VALUE)
+		throw new SQLException("no range of " + count + " object IDs from " + from);
+	    allocatedObjectIDs.put(dataSource, Integer.valueOf((int)(from + count - 1)));
+	    return (int)from;
+	}
+    }
+
     protected void setString(PreparedStatement statement,
 			    int index, String value)
 	throws SQLException
@@ -1969,10 +2798,17 @@ public class NamedObjectConnection<T extends NamedObject<?>>
 	connection.clearWarnings();
     }
 
+    /**
+     * Returns this connection to the {@code NamedObjectConnectionPool}
+     * lending it, or pools it otherwise.
+     */
     public void close()
 	throws SQLException
     {
-	close(true);
+	if(connectionPool != null)
+	    connectionPool.release(this);
+	else
+	    close(true);
     }
 
     public void close(boolean pool)
@@ -1980,6 +2816,8 @@ public class NamedObjectConnection<T extends NamedObject<?>>
     {
 	if(pool) {
 	    isOpen = false;
+	    if(connections == null)
+		connections = Collections.synchronizedMap(new HashMap<String, Set<Connection>>());
 	    Set<Connection> connectionSet = connections.get(dataSource);
 	    if(connectionSet == null) {
 		connectionSet = Collections.synchronizedSet(new HashSet<Connection>());
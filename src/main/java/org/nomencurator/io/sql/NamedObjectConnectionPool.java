@@ -0,0 +1,400 @@
+/*
+ * NamedObjectConnectionPool.java:  a pool of NamedObjectConnections
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.io.sql;
+
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.nomencurator.model.NamedObject;
+
+import org.nomencurator.resources.ResourceKey;
+
+import lombok.Getter;
+
+/**
+ * {@code NamedObjectConnectionPool} lends {@code NamedObjectConnection}s
+ * to a database, at most {@code maxSize} at once.  Each
+ * {@code NamedObjectConnection} has its own JDBC {@code Connection} and
+ * caches of {@code PreparedStatement}s, so that threads holding
+ * different {@code NamedObjectConnection}s, e.g. queries of a
+ * {@code MultiplexNameUsageQuery}, do not share them.  Mappings between
+ * object IDs and {@code NamedObject}s are shared by connections of a pool.
+ *
+ * A {@code NamedObjectConnection} is obtained by {@link #getConnection()}
+ * and returned to the pool by its {@code close()}.  It must not be
+ * used by more than one thread at once.  An idle connection is
+ * validated before lending if validation timeout is positive.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NamedObjectConnectionPool
+    implements AutoCloseable
+{
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    /** Default seconds to wait for validation of a connection */
+    public static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+
+    /**
+     * {@code Work} to be done with a {@code NamedObjectConnection}.
+     */
+    public interface Work<R>
+    {
+	public R run(NamedObjectConnection<?> connection) throws SQLException;
+    }
+
+    /** {@code DataSource} providing connections, or null to use {@code url} */
+    protected final DataSource dataSource;
+
+    protected final String url;
+
+    protected final Properties info;
+
+    protected final String driverName;
+
+    /** Name of the database shared by connections of this pool */
+    @Getter
+    protected final String name;
+
+    @Getter
+    protected final Locale queryType;
+
+    @Getter
+    protected final int maxSize;
+
+    protected final Semaphore permits;
+
+    protected final Deque<NamedObjectConnection<?>> idle;
+
+    /** Seconds to wait for validation, or non-positive not to validate */
+    @Getter
+    protected volatile int validationTimeout = DEFAULT_VALIDATION_TIMEOUT;
+
+    protected volatile boolean closed;
+
+    /**
+     * Constructs a pool of connections provided by {@code dataSource}.
+     *
+     * @param dataSource providing JDBC {@code Connection}s
+     * @param name of the database
+     * @param queryType {@code Locale} specifying SQL subtype, or null
+     * @param maxSize maximum number of connections lent at once
+     */
+    public NamedObjectConnectionPool(DataSource dataSource, String name, Locale queryType, int maxSize)
+    {
+	this(dataSource, null, null, null, name, queryType, maxSize);
+	if(dataSource == null)
+	    throw new NullPointerException();
+    }
+
+    /**
+     * Constructs a pool of connections to {@code url}.
+     *
+     * @param url {@code String} representing data source in URL
+     * @param info connection parameters such as "user" and "password", or null
+     * @param queryType {@code Locale} specifying SQL subtype, or null
+     * @param driverName JDBC driver's name, or null to determine it using property value
+     * @param maxSize maximum number of connections lent at once
+     */
+    public NamedObjectConnectionPool(String url, Properties info, Locale queryType, String driverName, int maxSize)
+    {
+	this(null, url, info, driverName, url, queryType, maxSize);
+	if(url == null)
+	    throw new NullPointerException();
+    }
+
+    protected NamedObjectConnectionPool(DataSource dataSource, String url, Properties info, String driverName,
+					String name, Locale queryType, int maxSize)
+    {
+	if(maxSize < 1)
+	    throw new IllegalArgumentException("pool size must be positive: " + maxSize);
+	this.dataSource = dataSource;
+	this.url = url;
+	this.info = (info == null) ? new Properties() : info;
+	this.driverName = driverName;
+	this.name = name;
+	this.queryType = (queryType == null) ? ResourceKey.SQL : queryType;
+	this.maxSize = maxSize;
+	permits = new Semaphore(maxSize, true);
+	idle = new ConcurrentLinkedDeque<NamedObjectConnection<?>>();
+    }
+
+    /**
+     * Sets seconds to wait for validation of an idle connection
+     * before lending it.
+     *
+     * @param seconds to wait, or non-positive not to validate
+     */
+    public void setValidationTimeout(int seconds)
+    {
+	validationTimeout = seconds;
+    }
+
+    /**
+     * Returns a {@code NamedObjectConnection}, waiting until one
+     * is returned if {@code maxSize} connections are lent.
+     *
+     * @return {@code NamedObjectConnection} to be closed after use
+     * @exception SQLException if failed to connect or interrupted
+     */
+    public NamedObjectConnection<?> getConnection()
+	throws SQLException
+    {
+	try {
+	    permits.acquire();
+	}
+	catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new SQLException("interrupted while waiting for a connection", e);
+	}
+	return lend();
+    }
+
+    /**
+     * Returns a {@code NamedObjectConnection}, waiting at most
+     * {@code timeout} until one is returned if {@code maxSize}
+     * connections are lent.
+     *
+     * @param timeout maximum time to wait
+     * @param unit of {@code timeout}
+     * @return {@code NamedObjectConnection} to be closed after use
+     * @exception SQLException if failed to connect, timed out or interrupted
+     */
+    public NamedObjectConnection<?> getConnection(long timeout, TimeUnit unit)
+	throws SQLException
+    {
+	try {
+	    if(!permits.tryAcquire(timeout, unit))
+		throw new SQLException("no connection available in " + timeout + " " + unit);
+	}
+	catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new SQLException("interrupted while waiting for a connection", e);
+	}
+	return lend();
+    }
+
+    /**
+     * Lends an idle connection or a new connection.
+     * It must be called holding a permit.
+     */
+    protected NamedObjectConnection<?> lend()
+	throws SQLException
+    {
+	try {
+	    if(closed)
+		throw new SQLException("pool is closed");
+	    NamedObjectConnection<?> connection = idle.pollFirst();
+	    while(connection != null && !isValid(connection)) {
+		discard(connection);
+		connection = idle.pollFirst();
+	    }
+	    if(connection == null)
+		connection = createConnection();
+	    connection.isOpen = true;
+	    return connection;
+	}
+	catch (SQLException | RuntimeException e) {
+	    permits.release();
+	    throw e;
+	}
+    }
+
+    /**
+     * Creates a new {@code NamedObjectConnection} of this pool.
+     *
+     * @return new {@code NamedObjectConnection}
+     * @exception SQLException if failed to connect
+     */
+    protected NamedObjectConnection<?> createConnection()
+	throws SQLException
+    {
+	NamedObjectConnection<NamedObject<?>> connection = null;
+	if(dataSource != null) {
+	    connection = new NamedObjectConnection<NamedObject<?>>(dataSource.getConnection(), queryType);
+	}
+	else {
+	    try {
+		connection = new NamedObjectConnection<NamedObject<?>>(url, info, queryType, driverName);
+	    }
+	    catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+		throw new SQLException("failed to load JDBC driver for " + url, e);
+	    }
+	}
+	connection.dataSource = name;
+	connection.connectionPool = this;
+	return connection;
+    }
+
+    protected boolean isValid(NamedObjectConnection<?> connection)
+    {
+	if(validationTimeout <= 0)
+	    return true;
+	try {
+	    return connection.isValid(validationTimeout);
+	}
+	catch (SQLException e) {
+	    return false;
+	}
+    }
+
+    /**
+     * Returns {@code connection} lent by this pool.  A connection left
+     * in a transaction is rolled back, and a connection failed to be
+     * reset or returned to a closed pool is discarded.
+     *
+     * @param connection to be returned
+     */
+    protected void release(NamedObjectConnection<?> connection)
+    {
+	if(!connection.isOpen)
+	    return;
+	connection.isOpen = false;
+	try {
+	    if(closed) {
+		discard(connection);
+		return;
+	    }
+	    try {
+		if(!connection.getAutoCommit()) {
+		    connection.rollback();
+		    connection.setAutoCommit(true);
+		}
+	    }
+	    catch (SQLException e) {
+		discard(connection);
+		return;
+	    }
+	    // the pool may be closed while resetting the connection
+	    boolean pooled = false;
+	    synchronized(idle) {
+		if(!closed) {
+		    idle.offerFirst(connection);
+		    pooled = true;
+		}
+	    }
+	    if(!pooled)
+		discard(connection);
+	}
+	finally {
+	    permits.release();
+	}
+    }
+
+    protected void discard(NamedObjectConnection<?> connection)
+    {
+	try {
+	    connection.close(false);
+	}
+	catch (SQLException e) {
+	}
+    }
+
+    /**
+     * Runs {@code work} with a connection of this pool and returns
+     * the connection to the pool.
+     *
+     * @param work to be done
+     * @return result of the {@code work}
+     * @exception SQLException thrown by the {@code work} or on connection
+     */
+    public <R> R execute(Work<R> work)
+	throws SQLException
+    {
+	NamedObjectConnection<?> connection = getConnection();
+	try {
+	    return work.run(connection);
+	}
+	finally {
+	    release(connection);
+	}
+    }
+
+    /**
+     * Returns number of idle connections.
+     *
+     * @return number of idle connections
+     */
+    public int getIdleCount()
+    {
+	return idle.size();
+    }
+
+    /**
+     * Returns number of connections lent.
+     *
+     * @return number of connections lent
+     */
+    public int getActiveCount()
+    {
+	return maxSize - permits.availablePermits();
+    }
+
+    public boolean isClosed()
+    {
+	return closed;
+    }
+
+    /**
+     * Closes idle connections.  Connections lent are closed
+     * when they are returned.
+     */
+    public void close()
+    {
+	List<NamedObjectConnection<?>> connections = new ArrayList<NamedObjectConnection<?>>();
+	// no connection is pooled after the drain
+	synchronized(idle) {
+	    closed = true;
+	    NamedObjectConnection<?> connection = idle.pollFirst();
+	    while(connection != null) {
+		connections.add(connection);
+		connection = idle.pollFirst();
+	    }
+	}
+	for(NamedObjectConnection<?> connection : connections) {
+	    discard(connection);
+	}
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[name=").append(name)
+	    .append(", active=").append(getActiveCount())
+	    .append(", idle=").append(getIdleCount())
+	    .append(", max=").append(maxSize)
+	    .append("]").toString();
+    }
+}
@@ -34,8 +34,11 @@ import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Vector;
 
+import java.util.concurrent.TimeUnit;
+
 // import org.apache.axis.AxisFault;
 import org.apache.axis2.AxisFault;
 
@@ -45,6 +48,7 @@ import org.nomencurator.io.MatchingMode;
 import org.nomencurator.io.MatchingMode.*;
 import org.nomencurator.io.QueryMode;
 import org.nomencurator.io.QueryMode.*;
+import org.nomencurator.io.QueryExecutor;
 import org.nomencurator.io.QueryParameter;
 
 import org.nomencurator.model.Annotation;
@@ -58,7 +62,13 @@ import org.nomencurator.model.ubio.UBioNameUsageNode;
 
 import org.nomencurator.util.XMLEntityReference;
 
+import org.nomencurator.util.cache.Cache;
+import org.nomencurator.util.cache.SingleFlight;
+import org.nomencurator.util.cache.StripedCache;
+
+import org.ubio.io.ClassificationBankSearchHandler;
 import org.ubio.io.ClassificationBankSearchResult;
+import org.ubio.io.NamebankSearchHandler;
 import org.ubio.io.NamebankSearchResult;
 
 import org.ubio.io.xml.XMLWebService;
@@ -72,6 +82,7 @@ import org.ubio.model.NamebankObject;
 import org.ubio.model.RecordedName;
 import org.ubio.model.ScientificName;
 import org.ubio.model.SeniorName;
+import org.ubio.model.ServiceData;
 import org.ubio.model.Synonym;
 import org.ubio.model.VernacularName;
 
@@ -83,7 +94,7 @@ import lombok.Setter;
 /**
  * {@code UBio} provides a mapping between Nomencurator data and a uBio SOAP server
  *
- * @version 	03 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class UBio
@@ -95,9 +106,46 @@ public class UBio
 
     public final String PUBLICATION_PREFIX = "urn:lsid:ubio.org:publicationbank:";
 
+    /** Default maximum number of cached objects of each kind */
+    public static final int DEFAULT_CACHE_SIZE = 20000;
+
+    /** Default time to live of cached objects in hours */
+    public static final long DEFAULT_TIME_TO_LIVE = 24L;
+
+    /** Default maximum number of lookups in flight while resolving a hierarchy */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /** Flags of a {@code ClassificationBankObject} lookup including everything */
+    protected static final int ALL_FLAGS = 0xf;
+
+    /** {@code NamebankObject}s indexed by namebank ID */
+    @Getter
+    protected final Cache<Integer, NamebankObject> namebankObjects;
+
+    /**
+     * {@code ClassificationBankObject}s indexed by classification bank ID
+     * combined with lookup flags, see {@link #getKey(int, boolean, boolean, boolean, boolean)}
+     */
+    @Getter
+    protected final Cache<Long, ClassificationBankObject> classificationBankObjects;
+
+    protected final SingleFlight<Integer, NamebankObject> namebankObjectFlights;
+
+    protected final SingleFlight<Long, ClassificationBankObject> classificationBankObjectFlights;
+
+    /** Maximum number of lookups in flight while resolving a hierarchy */
+    @Getter
+    @Setter
+    protected int concurrency;
+
     public UBio(String keyCode)
     {
 	super();
+	namebankObjects = new StripedCache<Integer, NamebankObject>(DEFAULT_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	classificationBankObjects = new StripedCache<Long, ClassificationBankObject>(DEFAULT_CACHE_SIZE, DEFAULT_TIME_TO_LIVE, TimeUnit.HOURS);
+	namebankObjectFlights = new SingleFlight<Integer, NamebankObject>();
+	classificationBankObjectFlights = new SingleFlight<Long, ClassificationBankObject>();
+	concurrency = DEFAULT_CONCURRENCY;
 	try {
 	    setXmlWebService(new XMLWebService(keyCode));
 	}
@@ -105,14 +153,122 @@ public class UBio
 	}
     }
 
-    public NamebankObject namebankObject(int namebankID)
+    /**
+     * Returns {@code NamebankObject} of {@code namebankID}, looked up
+     * at most once while cached.
+     *
+     * @param namebankID namebank ID
+     * @return {@code NamebankObject} or null if unavailable
+     */
+    public NamebankObject namebankObject(final int namebankID)
+    {
+	NamebankObject object = namebankObjects.get(namebankID);
+	if(object != null)
+	    return object;
+
+	try {
+	    return namebankObjectFlights.execute(namebankID, () -> {
+		    NamebankObject loaded = xmlWebService.namebankObject(namebankID);
+		    if(loaded != null)
+			namebankObjects.put(namebankID, loaded);
+		    return loaded;
+		});
+	}
+	catch (IOException e) {
+	    return null;
+	}
+    }
+
+    /**
+     * Returns key of {@code ClassificationBankObject} of
+     * {@code classificationBankID} looked up with the flags.
+     */
+    protected static Long getKey(int classificationBankID,
+				 boolean includeLowerTaxa,
+				 boolean includeHigherTaxa,
+				 boolean includeBibliographies,
+				 boolean includeSynonyms)
     {
-	return xmlWebService.namebankObject(namebankID);
+	int flags = (includeLowerTaxa ? 1 : 0)
+	    | (includeHigherTaxa ? 2 : 0)
+	    | (includeBibliographies ? 4 : 0)
+	    | (includeSynonyms ? 8 : 0);
+	return Long.valueOf(((long)classificationBankID << 4) | flags);
+    }
+
+    /**
+     * Returns {@code ClassificationBankObject} of {@code classificationBankID},
+     * looked up at most once while cached.  An object looked up with all
+     * flags serves lookups with any flags.
+     *
+     * @param classificationBankID classification bank ID
+     * @param includeLowerTaxa true to include lower taxa
+     * @param includeHigherTaxa true to include higher taxa
+     * @param includeBibliographies true to include bibliographies
+     * @param includeSynonyms true to include synonyms
+     * @return {@code ClassificationBankObject} or null if unavailable
+     */
+    public ClassificationBankObject classificationBankObject(final int classificationBankID,
+							     final boolean includeLowerTaxa,
+							     final boolean includeHigherTaxa,
+							     final boolean includeBibliographies,
+							     final boolean includeSynonyms)
+    {
+	final Long key = getKey(classificationBankID, includeLowerTaxa, includeHigherTaxa, includeBibliographies, includeSynonyms);
+	ClassificationBankObject object = classificationBankObjects.get(key);
+	if(object == null && (key.intValue() & ALL_FLAGS) != ALL_FLAGS)
+	    object = classificationBankObjects.get(getKey(classificationBankID, true, true, true, true));
+	if(object != null)
+	    return object;
+
+	try {
+	    return classificationBankObjectFlights.execute(key, () -> {
+		    ClassificationBankObject loaded =
+			xmlWebService.classificationBankObject(classificationBankID,
+							       includeLowerTaxa,
+							       includeHigherTaxa,
+							       includeBibliographies,
+							       includeSynonyms);
+		    if(loaded != null)
+			classificationBankObjects.put(key, loaded);
+		    return loaded;
+		});
+	}
+	catch (IOException e) {
+	    return null;
+	}
+    }
+
+    /**
+     * Looks up {@code ClassificationBankObject}s of
+     * {@code classificationBankIDs} in parallel, up to
+     * {@code concurrency} at once, to be served from the cache.
+     *
+     * @param classificationBankIDs IDs of {@code ClassificationBankObject}s to be looked up
+     * @param includeLowerTaxa true to include lower taxa
+     * @param includeHigherTaxa true to include higher taxa
+     */
+    protected void prefetch(Collection<Integer> classificationBankIDs,
+			    final boolean includeLowerTaxa,
+			    final boolean includeHigherTaxa)
+    {
+	if(classificationBankIDs == null || classificationBankIDs.size() < 2)
+	    return;
+	try {
+	    QueryExecutor.forEach(classificationBankIDs, concurrency, new QueryExecutor.Task<Integer>() {
+		    public void run(Integer classificationBankID) {
+			classificationBankObject(classificationBankID, includeLowerTaxa, includeHigherTaxa, false, false);
+		    }
+		});
+	}
+	catch (IOException e) {
+	    // objects not prefetched are looked up when used
+	}
     }
 
     public UBioNameUsageNode uBioNameUsageNode(int namebankID)
     {
-	return (UBioNameUsageNode)createNameUsageNode(xmlWebService.namebankObject(namebankID));
+	return (UBioNameUsageNode)createNameUsageNode(namebankObject(namebankID));
     }
 
     //public Collection<NamedObject<UBioNameUsageNode, UBioNameUsageNode>> getObjects(String localKey, MatchingMode matchingMode)
@@ -124,7 +280,7 @@ public class UBio
 	if(namebankID == 0)
 	    return null;
 	UBioNameUsageNode node =
-	    (UBioNameUsageNode)createNameUsageNode(xmlWebService.namebankObject(namebankID));
+	    (UBioNameUsageNode)createNameUsageNode(namebankObject(namebankID));
 	node.setObjectExchanger(this);
 	if(node != null) {
 	    //results = new ArrayList<NamedObject<UBioNameUsageNode, UBioNameUsageNode>>(1);
@@ -145,136 +301,199 @@ public class UBio
 	return getNameUsages(new UBioQueryParameter(literal, rank, matchingMode));
     }
 
-    public Collection<NameUsage<UBioNameUsageNode>>getNameUsages(UBioQueryParameter parameter)
+    public Collection<NameUsage<UBioNameUsageNode>>getNameUsages(final UBioQueryParameter parameter)
     {
 	if(parameter == null)
 	    return null;
 
-	//AllNames names = uBio.namebankSearch(parameter.getLiteral());
-	NamebankSearchResult names = xmlWebService.namebankSearch(parameter.getLiteral());
-	if(names == null)
-	    return null;
+	// names are streamed from the response; only scientific names of
+	// the rank are kept to search their hierarchies
+	final List<ScientificName> scientificNames = new ArrayList<ScientificName>();
+	final List<UBioNameUsageNode> vernaculars = new ArrayList<UBioNameUsageNode>();
+	final String rank = parameter.getRank() == null ? null : parameter.getRank().getName();
+	try {
+	    xmlWebService.namebankSearch(parameter.getLiteral(), new NamebankSearchHandler() {
+		    public void serviceData(ServiceData serviceData) {
+		    }
+
+		    public boolean scientificName(ScientificName sName) {
+			if(!parameter.isExcludeScientificNames()
+			   && (rank == null || rank.length() == 0 || rank.equals(normalize(sName.getRankName()))))
+			    scientificNames.add(sName);
+			return true;
+		    }
 
-	List<ScientificName> scientificNames = names.getScientificNames();
-	List<VernacularName> vernacularNames = names.getVernacularNames();
-	if(scientificNames == null && vernacularNames == null)
+		    public boolean vernacularName(VernacularName vName) {
+			if(!parameter.isExcludeVernacularNames()) {
+			    UBioNameUsageNode u =
+				new UBioNameUsageNode(vName.getNamebankID());
+			    u.setObjectExchanger(UBio.this);
+			    u.setLiteral(XMLEntityReference.decode(XMLWebService.decode(vName.getNameString())));
+			    vernaculars.add(u);
+			}
+			return true;
+		    }
+		});
+	}
+	catch (IOException e) {
 	    return null;
+	}
 
 	Collection<UBioNameUsageNode> uv = new ArrayList<UBioNameUsageNode>();
-	HashMap<String, UBioNameUsageNode> seniorHash = new HashMap<String, UBioNameUsageNode>();
-	Collection<UBioNameUsageNode> juniorVector = new ArrayList<UBioNameUsageNode>();
-	/*
-	int nameCount = 0;
-	if((matchingMode & QUERY_TYPE_MASK) == CONTAINS) {
-	    if(rank == null) {
-		if(scientificNames != null)
-		    nameCount += scientificNames.length;
-		if(vernacularNames != null)
-		    nameCount += vernacularNames.length;
+	HierarchyHandler hierarchies = new HierarchyHandler(uv);
+
+	//both ScientificName and VernacularName represent
+	//NamebankObject (as subset)
+	for(ScientificName sName : scientificNames) {
+
+	    int namebankID = sName.getNamebankID();
+	    //String r = sName.getRankName().toLowerCase().replace("-", "");
+	    String r = normalize(sName.getRankName());
+
+	    //String literal = XMLEntityReference.decode(Base64Codex.decode(sName.getNameString()));
+	    String literal = XMLEntityReference.decode(XMLWebService.decode(sName.getNameString()));
+	    //String literal = sName.getNameString();
+	    if((parameter.getMatchingMode() == MatchingMode.EXACT) && !parameter.getLiteral().equals(literal))
+		continue;
+
+	    UBioNameUsageNode u = 
+		new UBioNameUsageNode();
+	    u.setObjectExchanger(this);
+	    u.setNamebankID(namebankID);
+
+	    //u.setNameObject(u);
+	    u.setLiteral(literal);
+	    u.setRank(Rank.get(r));
+	    String authority = 
+		//		    XMLEntityReference.decode(Base64Codex.decode(sName.getFullNameString()));
+		XMLEntityReference.decode(XMLWebService.decode(sName.getFullNameString()));
+	    if(authority != null) {
+		if(authority.startsWith(literal))
+		    authority = authority.substring(literal.length()).trim();
+		if(authority.length() > 0) {
+		    u.setAuthority(authority);
+		}
 	    }
-	    else {
+
+	    hierarchies.setNameUsage(u);
+	    try {
+		xmlWebService.classificationBankSearch(namebankID, hierarchies);
+	    }
+	    catch (IOException e) {
+		// the name is given without hierarchies
 	    }
 	}
-	*/
+	scientificNames.clear();
+	hierarchies.linkSynonyms();
 
-	int i = 0;
+	uv.addAll(vernaculars);
+	vernaculars.clear();
 
-	//both ScientificName and VernacularName represent
-	//NamebankObject (as subset)
-	if(scientificNames != null &&  !parameter.isExcludeScientificNames()) {
-	    for(ScientificName sName : scientificNames) {
+	if(uv.isEmpty())
+	    return null;
 
-		int namebankID = sName.getNamebankID();
-		//String r = sName.getRankName().toLowerCase().replace("-", "");
-		String r = normalize(sName.getRankName());
+	Collection<NameUsage<UBioNameUsageNode>> toReturn = new ArrayList<>(uv.size());
+	for (UBioNameUsageNode result : uv)
+	    toReturn.add((NameUsage<UBioNameUsageNode>)result);
+	uv.clear();
 
-		String rank = parameter.getRank().getName();
-		if(rank != null && rank.length() > 0 && !rank.equals(r))
-		    continue;
+	return toReturn;
+    }
 
-		//String literal = XMLEntityReference.decode(Base64Codex.decode(sName.getNameString()));
-		String literal = XMLEntityReference.decode(XMLWebService.decode(sName.getNameString()));
-		//String literal = sName.getNameString();
-		if((parameter.getMatchingMode() == MatchingMode.EXACT) && !parameter.getLiteral().equals(literal))
-		    continue;
+    /**
+     * {@code HierarchyHandler} creates {@code UBioNameUsageNode}s
+     * of a name in hierarchies as names of classificationbank_search
+     * response are parsed, then links junior names to their seniors.
+     */
+    protected class HierarchyHandler
+	implements ClassificationBankSearchHandler
+    {
+	protected final Collection<UBioNameUsageNode> nameUsages;
 
-		UBioNameUsageNode u = 
-		    new UBioNameUsageNode();
-		u.setObjectExchanger(this);
-		u.setNamebankID(namebankID);
-
-		//uv.add(u);
-
-		//u.setNameObject(u);
-		u.setLiteral(literal);
-		u.setRank(Rank.get(r));
-		String authority = 
-		    //		    XMLEntityReference.decode(Base64Codex.decode(sName.getFullNameString()));
-		    XMLEntityReference.decode(XMLWebService.decode(sName.getFullNameString()));
-		if(authority != null) {
-		    if(authority.startsWith(literal))
-		       authority = authority.substring(literal.length()).trim();
-		    if(authority.length() > 0) {
-			u.setAuthority(authority);
-		    }
-		}
-		ClassificationBankSearchResult hierarchies = 
-		    xmlWebService.classificationBankSearch(namebankID);
-		List<SeniorName> seniors = hierarchies.getSeniorNames();
-		if(seniors != null) {
-		    for(SeniorName senior: seniors) {
-			UBioNameUsageNode un =
-			    new UBioNameUsageNode();
-			un.setObjectExchanger(this);
-			uv.add(un);
-			un.setNameObject(u);
-			un.setNominal(false);
-			int cbID = senior.getClassificationBankID();
-			un.setClassificationBankID(cbID);
-			seniorHash.put(String.valueOf(cbID), un);
-
-			String classificationTitle =
-			    XMLEntityReference.decode(senior.getClassificationTitle());
-			    //Base64Codex.decode(senior.getClassificationTitle());
-			un.setViewName(classificationTitle);
-			un.setClassificationTitleID(senior.getClassificationTitleID());
-			un.setRank(Rank.get(r));
-			un.setLiteral(literal);
-			if(authority != null) {
-			    un.setAuthority(authority);
-			}
-			Publication p = new Publication();
-			p.setCitationTitle(classificationTitle);
-			un.setPublication(p);
-		    }
-		}
-		List<JuniorName> juniors = hierarchies.getJuniorNames();
-		if(juniors != null) {
-
-		    for(JuniorName junior: juniors) {
-			UBioNameUsageNode jn = 
-			    new UBioNameUsageNode();
-			jn.setObjectExchanger(this);
-			uv.add(jn);
-			juniorVector.add(jn);
-			jn.setNominal(false);
-			jn.setNameObject(u);
-			jn.setNamebankID(u.getNamebankID());
-			jn.setLiteral(literal);
-			jn.setRank(Rank.get(r));
-			jn.setViewName(junior.getClassificationTitle());
-			jn.setClassificationTitleID(junior.getClassificationTitleID());
-			jn.setSeniorClassificationBankID(junior.getSeniorClassificationBankID());
-			Publication p = new Publication();
-			p.setCitationTitle(junior.getClassificationTitle());
-			jn.setPublication(p);
+	protected final Map<Integer, UBioNameUsageNode> seniors;
 
-		    }
-		}
+	protected final List<UBioNameUsageNode> juniors;
+
+	protected UBioNameUsageNode nameUsage;
+
+	protected HierarchyHandler(Collection<UBioNameUsageNode> nameUsages)
+	{
+	    this.nameUsages = nameUsages;
+	    seniors = new HashMap<Integer, UBioNameUsageNode>();
+	    juniors = new ArrayList<UBioNameUsageNode>();
+	}
+
+	/**
+	 * Sets {@code UBioNameUsageNode} of the name to be searched next.
+	 *
+	 * @param nameUsage of the name
+	 */
+	protected void setNameUsage(UBioNameUsageNode nameUsage)
+	{
+	    this.nameUsage = nameUsage;
+	}
+
+	public void serviceData(ServiceData serviceData)
+	{
+	}
+
+	public boolean seniorName(SeniorName senior)
+	{
+	    UBioNameUsageNode un =
+		new UBioNameUsageNode();
+	    un.setObjectExchanger(UBio.this);
+	    nameUsages.add(un);
+	    un.setNameObject(nameUsage);
+	    un.setNominal(false);
+	    int cbID = senior.getClassificationBankID();
+	    un.setClassificationBankID(cbID);
+	    seniors.put(cbID, un);
+
+	    String classificationTitle =
+		XMLEntityReference.decode(senior.getClassificationTitle());
+		//Base64Codex.decode(senior.getClassificationTitle());
+	    un.setViewName(classificationTitle);
+	    un.setClassificationTitleID(senior.getClassificationTitleID());
+	    un.setRank(nameUsage.getRank());
+	    un.setLiteral(nameUsage.getLiteral());
+	    if(nameUsage.getAuthority() != null) {
+		un.setAuthority(nameUsage.getAuthority());
 	    }
-	    for(UBioNameUsageNode junior : juniorVector) {
+	    Publication p = new Publication();
+	    p.setCitationTitle(classificationTitle);
+	    un.setPublication(p);
+	    return true;
+	}
+
+	public boolean juniorName(JuniorName junior)
+	{
+	    UBioNameUsageNode jn = 
+		new UBioNameUsageNode();
+	    jn.setObjectExchanger(UBio.this);
+	    nameUsages.add(jn);
+	    juniors.add(jn);
+	    jn.setNominal(false);
+	    jn.setNameObject(nameUsage);
+	    jn.setNamebankID(nameUsage.getNamebankID());
+	    jn.setLiteral(nameUsage.getLiteral());
+	    jn.setRank(nameUsage.getRank());
+	    jn.setViewName(junior.getClassificationTitle());
+	    jn.setClassificationTitleID(junior.getClassificationTitleID());
+	    jn.setSeniorClassificationBankID(junior.getSeniorClassificationBankID());
+	    Publication p = new Publication();
+	    p.setCitationTitle(junior.getClassificationTitle());
+	    jn.setPublication(p);
+	    return true;
+	}
+
+	/**
+	 * Links junior names given so far to their seniors.
+	 */
+	protected void linkSynonyms()
+	{
+	    for(UBioNameUsageNode junior : juniors) {
 		UBioNameUsageNode senior = 
-		    seniorHash.get(String.valueOf(junior.getSeniorClassificationBankID()));
+		    seniors.get(junior.getSeniorClassificationBankID());
 		if(senior != null) {
 		    junior.setHomotypicSeniorSynonym(senior);
 		    Annotation annotation = new Annotation();
@@ -284,39 +503,10 @@ public class UBio
 		    annotation.addAnnotatant(junior);
 		    junior.addRelevantAnnotation(annotation);
 		}
-		else {
-		    /*
-		    ClassificationBankObject cls =
-			classificationBankObject(junior.getSeniorClassificationBankID, 0, 0, 0, 0);
-		    */
-		}
-
-	    }
-	    juniorVector.clear();
-	}
-	seniorHash.clear();
-
-	if(vernacularNames != null && !parameter.isExcludeVernacularNames()) {
-	    for(VernacularName vName : vernacularNames) {
-		UBioNameUsageNode u =
-		    new UBioNameUsageNode(vName.getNamebankID());
-		u.setObjectExchanger(this);
-		uv.add(u);
-		//u.setLiteral(XMLEntityReference.decode(Base64Codex.decode(vName.getNameString())));
-		u.setLiteral(XMLEntityReference.decode(XMLWebService.decode(vName.getNameString())));
-		//u.setLiteral(vName.getNameString());
 	    }
+	    juniors.clear();
+	    seniors.clear();
 	}
-	
-	if(uv.isEmpty())
-	    return null;
-
-	Collection<NameUsage<UBioNameUsageNode>> toReturn = new ArrayList<>(uv.size());
-	for (UBioNameUsageNode result : uv)
-	    toReturn.add((NameUsage<UBioNameUsageNode>)result);
-	uv.clear();
-
-	return toReturn;
     }
 
     public UBioNameUsageNode getHierarchy(UBioNameUsageNode nameUsage)
@@ -341,7 +531,7 @@ public class UBio
 	    un = nameUsage;
 
 	ClassificationBankObject hierarchy = 
-	    xmlWebService.classificationBankObject(un.getClassificationBankID(), 1, 1, 1, 1);
+	    classificationBankObject(un.getClassificationBankID(), true, true, true, true);
 
 	
 	if(hierarchy == null)
@@ -397,7 +587,7 @@ public class UBio
 		    homotypic.setObjectExchanger(this);
 		    homotypic.setClassificationBankID(seniorID) ;
 		    hierarchy = 
-			xmlWebService.classificationBankObject(seniorID, 1, 1, 1, 1);
+			classificationBankObject(seniorID, true, true, true, true);
 		    if(hierarchy != null) {
 			homotypic.setClassificationBankObject(hierarchy);
 			classificationData =
@@ -644,7 +834,7 @@ public class UBio
 	if(uNode == null)
 	    uNode = node;
 
-	return xmlWebService.classificationBankObject(uNode.getClassificationBankID());
+	return classificationBankObject(uNode.getClassificationBankID(), true, true, true, true);
     }
 
     protected NameUsage<?> getRootPath(UBioNameUsageNode nameUsage, 
@@ -685,13 +875,20 @@ public class UBio
 	RecordedName recordedName = hierarchy.getRecordedName();
 	String nameString = XMLEntityReference.decode(recordedName.getNameString());
 	if(!nameString.equals(node.getLiteral())) {
-	    setValue(xmlWebService.namebankObject(recordedName.getNamebankID()), node);
+	    setValue(namebankObject(recordedName.getNamebankID()), node);
 	}
 	String viewName = nameUsage.getViewName();
         List<ClassificationNode> higherTaxa = hierarchy.getAncestry();
 	if(higherTaxa != null) {
 	    if(height == -1)
 		height = higherTaxa.size();
+	    height = Math.min(height, higherTaxa.size());
+	    if(expand) {
+		List<Integer> ancestors = new ArrayList<Integer>(height);
+		for(int i = 0; i < height; i++)
+		    ancestors.add(higherTaxa.get(i).getClassificationBankID());
+		prefetch(ancestors, true, false);
+	    }
 	    for(int i = 0; i < height; i++) {
 		ClassificationNode higherTaxon = higherTaxa.get(i);
 		int id = higherTaxon.getClassificationBankID();
@@ -718,7 +915,7 @@ public class UBio
 		    p = new Publication();
 		if(expand) {
 		    ClassificationBankObject bankObject =
-			xmlWebService.classificationBankObject(id, 1, 0, 0, 0);
+			classificationBankObject(id, true, false, false, false);
 		    if(bankObject != null) {
 			taxon.setClassificationBankObject(bankObject);
 			ClassificationData classificationData =
@@ -744,6 +941,17 @@ public class UBio
 	return node;
     }
 
+    /**
+     * Returns {@code UBioNameUsageNode}s of {@code children} with their
+     * lower {@code NameUsage}s down to {@code depth}, resolved level by
+     * level with lookups of a level in parallel.
+     *
+     * @param children {@code ClassificationNode}s of lower taxa
+     * @param depth levels to be resolved, or negative for all levels
+     * @param toExclude {@code UBioNameUsageNode} to be used as is if it is one of {@code children}
+     * @param p {@code Publication} of the hierarchy
+     * @return {@code UBioNameUsageNode}s of {@code children}
+     */
     protected List<UBioNameUsageNode> getLowerNameUsages(List<ClassificationNode> children,
 						       int depth,
 						       UBioNameUsageNode toExclude,
@@ -753,9 +961,49 @@ public class UBio
 	if(children == null)
 	    return null;
 
-	List<UBioNameUsageNode> lowerTaxa = new ArrayList<>();
+	List<UBioNameUsageNode> lowerTaxa = createLowerNameUsages(children, toExclude, p);
+	List<UBioNameUsageNode> level = lowerTaxa;
+	while(!level.isEmpty()) {
+	    if(depth > 0)
+		depth--;
+	    if(depth == 0)
+		break;
+
+	    List<Integer> ids = new ArrayList<Integer>(level.size());
+	    for(UBioNameUsageNode taxon : level)
+		ids.add(taxon.getClassificationBankID());
+	    prefetch(ids, true, false);
+	    List<UBioNameUsageNode> next = new ArrayList<UBioNameUsageNode>();
+	    for(UBioNameUsageNode taxon : level) {
+		ClassificationBankObject bankObject =
+		    classificationBankObject(taxon.getClassificationBankID(), true, false, false, false);
+		if(bankObject == null)
+		    continue;
+		taxon.setClassificationBankObject(bankObject);
+		List<ClassificationNode> grandChildren = 
+		    bankObject.getChildren();
+		if(grandChildren == null) {
+		    List<UBioNameUsageNode> emptyList = Collections.emptyList();
+		    taxon.setLowerNameUsages(emptyList);
+		}
+		else {
+		    List<UBioNameUsageNode> lowers = createLowerNameUsages(grandChildren, null, p);
+		    taxon.setLowerNameUsages(lowers);
+		    next.addAll(lowers);
+		}
+	    }
+	    level = next;
+	}
+	
+	return lowerTaxa;
+    }
+
+    protected List<UBioNameUsageNode> createLowerNameUsages(List<ClassificationNode> children,
+							  UBioNameUsageNode toExclude,
+							  Publication p)
+    {
+	List<UBioNameUsageNode> lowerTaxa = new ArrayList<>(children.size());
 
-	int i = 0;
 	int exclude = -1;
 	if(toExclude != null)
 	    exclude = toExclude.getClassificationBankID();
@@ -771,7 +1019,6 @@ public class UBio
 	    }
 
 	    lowerTaxa.add(taxon);
-	    i++;
 
 	    //taxon.setViewName(viewName);
 	    taxon.setPublication(p);
@@ -790,36 +1037,8 @@ public class UBio
 		taxon.setAuthority(XMLEntityReference.decode(XMLWebService.decode(str)));
 	    }
 	    taxon.setClassificationBankID(id);
-
-	    if(depth > 0)
-		depth--;
-	    if(depth != 0) {
-		ClassificationBankObject bankObject =
-		    //uBio.classificationBankObject(id, 1, 0, 0, 0);
-		    xmlWebService.classificationBankObject(id, 1, 0, 0, 0);
-		if(bankObject != null) {
-		    taxon.setClassificationBankObject(bankObject);
-		    ClassificationData classificationData =
-			    bankObject.getClassificationData();
-		    List<ClassificationNode> grandChildren = 
-			bankObject.getChildren();
-		    if(grandChildren == null) {
-			List<UBioNameUsageNode> emptyList = Collections.emptyList();
-			//taxon.setLowerNameUsages(Collections.synchronizedList(new ArrayList<UBioNameUsageNode>(0)));
-			taxon.setLowerNameUsages(emptyList);
-		    }
-		    else
-			//taxon.setLowerNameUsages(getLowerTaxa(grandChildren, depth, null, viewName));
-			taxon.setLowerNameUsages(getLowerNameUsages(grandChildren, depth, null, p));
-		    //taxon.setLowerNameUsagesResolved(true);
-		}
-		else {
-
-		}
-	    }
-	    
 	}
-	
+
 	return lowerTaxa;
     }
 
@@ -964,11 +1183,13 @@ public class UBio
     }
 
     /**
-     * Clears object cache if the <code>Exchanger</code> has.
+     * Clears caches of {@code NamebankObject}s and {@code ClassificationBankObject}s.
      */
     @Override
     public void clear()
     {
+	namebankObjects.clear();
+	classificationBankObjects.clear();
     }
 
     /*
@@ -73,7 +73,7 @@ import org.w3c.dom.NodeList;
  *
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org</A>
  *
- * @version 	15 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public abstract class AbstractNameUsage<T extends NameUsage<?>>
@@ -166,6 +166,8 @@ public abstract class AbstractNameUsage<T extends NameUsage<?>>
 
     @Override
     public boolean equals(Object object) {
+	if(equality == Equality.PERSISTENT_ID) return equalsIdentity(object);
+
 	if(object == this) return true;
 	if(object == null) return false;
 	if(getClass() != object.getClass()) return false;
@@ -199,6 +201,9 @@ public abstract class AbstractNameUsage<T extends NameUsage<?>>
 
     @Override
     public int hashCode() {
+	if(equality == Equality.PERSISTENT_ID)
+	    return getIdentity().hashCode();
+
 	return Objects.hash(super.hashCode(),
 			    contentsResolved, 
 			    hierarchyResolved, 
@@ -649,7 +654,7 @@ public abstract class AbstractNameUsage<T extends NameUsage<?>>
 	    buffer.append(new Appearance().getEmptyPersistentID(separator, false));
 	}
 	else{
-	    buffer.append(appearance.getPersistentID(separator, false));
+	    buffer.append(getPersistentIDContentsOf(appearance, separator));
 	}
 	return buffer.toString();
     }
@@ -798,6 +803,7 @@ public abstract class AbstractNameUsage<T extends NameUsage<?>>
 	    return;
 
 	this.rankLiteral = rankLiteral;
+	invalidatePersistentID();
 
 	setRank(Rank.get(this.rankLiteral));
     }
@@ -856,6 +862,7 @@ public abstract class AbstractNameUsage<T extends NameUsage<?>>
 	    return;
 
 	nameLiteral = name;
+	invalidatePersistentID();
     }
     
     /**
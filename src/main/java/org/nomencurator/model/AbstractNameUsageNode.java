@@ -57,7 +57,7 @@ import org.w3c.dom.Element;
  *
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org</A>
  *
- * @version 	06 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public abstract class AbstractNameUsageNode<T extends NameUsageNode<?>>
@@ -815,8 +815,11 @@ public abstract class AbstractNameUsageNode<T extends NameUsageNode<?>>
 	if(object == null)
 	    return null;
 
-	if(object instanceof NameUsageNode)
-	    return getNameUsageNode(object);
+	if(object instanceof NameUsageNode) {
+	    @SuppressWarnings("unchecked")
+		NameUsageNode<T> node = (NameUsageNode<T>)object;
+	    return node;
+	}
 
 	// one shouldn't expect well-named NameUsage argument because
 	// it may be under construction
@@ -31,6 +31,9 @@
 
 package org.nomencurator.model;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
 import java.io.Serializable;
 
 import java.sql.Connection;
@@ -53,6 +56,7 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -90,7 +94,16 @@ import org.w3c.dom.Text;
  * @see org.nomencurator.model.Name
  * @see java.lang.String
  *
- * @version 	05 Dec. 2019
+ * The {@code Equality} mode selects either to compare all fields, or
+ * only classes and persistent IDs.  The latter is appropriate when
+ * {@code NamedObject}s are used as keys of {@code Map}s.
+ * <P>
+ * The persistent ID is cached in interned form, with its compact
+ * {@link PersistentIDKey}, until a setter modifies a field of the
+ * persistent ID, or the persistent ID of a {@code NamedObject}
+ * contained in it is changed.
+ *
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public abstract class AbstractNamedObject <T extends NamedObject<?>>
@@ -176,9 +189,225 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 
     protected Collection<NamedObject<?>> sources;
 
+    /**
+     * {@code Equality} specifies how {@code equals} and {@code hashCode}
+     * of {@code AbstractNamedObject}s work.
+     */
+    public enum Equality {
+	/** Compares all fields */
+	CONTENTS,
+	/** Compares classes and persistent IDs */
+	PERSISTENT_ID
+    }
+
+    /** Current {@code Equality} mode, shared by all {@code AbstractNamedObject}s */
+    protected static volatile Equality equality = Equality.CONTENTS;
+
+    /**
+     * Name of the property notified to dependents when the persistent ID
+     * of this object is discarded.
+     */
+    protected static final String PERSISTENT_ID = "persistentID";
+
+    /** Persistent ID cached, or null */
+    private transient volatile PersistentIDCache persistentIDCache;
+
+    /**
+     * {@code NamedObject}s of which persistent IDs are contained in the
+     * cached persistent ID of this object, or null
+     */
+    private transient Set<NamedObject<?>> persistentIDSources;
+
+    /** Discards the cached persistent ID when that of a source is changed */
+    private transient PropertyChangeListener persistentIDListener;
+
+    /**
+     * {@code PersistentIDCache} holds a persistent ID, and its contents
+     * and key made on demand.
+     */
+    private static final class PersistentIDCache
+    {
+	final String persistentID;
+
+	volatile String contents;
+
+	volatile PersistentIDKey key;
+
+	PersistentIDCache(String persistentID)
+	{
+	    this.persistentID = persistentID;
+	}
+    }
+
+    /**
+     * Returns current {@code Equality} mode.
+     *
+     * @return {@code Equality} mode
+     */
+    public static Equality getEquality()
+    {
+	return equality;
+    }
+
+    /**
+     * Sets {@code equality} as the mode of {@code equals} and
+     * {@code hashCode}.  It should be set before {@code NamedObject}s
+     * are put into hashed collections, because their hash codes
+     * change with the mode.
+     *
+     * @param equality {@code Equality} mode to be used
+     */
+    public static void setEquality(Equality equality)
+    {
+	AbstractNamedObject.equality = (equality == null) ? Equality.CONTENTS : equality;
+    }
+
+    /**
+     * Returns the persistent ID used as identity of this object
+     * in {@code Equality.PERSISTENT_ID} mode.
+     *
+     * @return persistent ID identifying this object
+     */
+    protected String getIdentity()
+    {
+	String id = getPersistentID();
+	return (id == null) ? "" : id;
+    }
+
+    /**
+     * Discards the cached persistent ID of this object, and of objects
+     * containing it in their persistent IDs.  Setters modifying a field
+     * of the persistent ID must call this method.
+     */
+    protected void invalidatePersistentID()
+    {
+	persistentIDCache = null;
+
+	// detach from sources before notification to terminate circular dependency
+	NamedObject<?>[] sources = null;
+	synchronized(this) {
+	    if(persistentIDSources != null) {
+		sources = persistentIDSources.toArray(new NamedObject<?>[persistentIDSources.size()]);
+		persistentIDSources = null;
+	    }
+	}
+	if(sources != null) {
+	    for(NamedObject<?> source : sources)
+		((AbstractNamedObject<?>)source).removePropertyChangeListener(PERSISTENT_ID, persistentIDListener);
+	}
+
+	firePropertyChange(new PropertyChangeEvent(this, PERSISTENT_ID, null, null));
+    }
+
+    /**
+     * Returns the persistent ID of this object cached, making it if necessary.
+     *
+     * @return {@code PersistentIDCache} of this object
+     */
+    private PersistentIDCache getPersistentIDCache()
+    {
+	PersistentIDCache cache = persistentIDCache;
+	if(cache == null) {
+	    String pid = isNominal() ? literal : getPersistentID(fieldSeparator, true);
+	    cache = new PersistentIDCache((pid == null) ? null : pid.intern());
+	    persistentIDCache = cache;
+	}
+	return cache;
+    }
+
+    /**
+     * Returns persistent ID of {@code object} without class name
+     * header, with {@code separator} as the field separator, to be
+     * contained in the persistent ID of this object.  The cached
+     * persistent ID of this object is discarded when that of
+     * {@code object} is changed.
+     *
+     * @param object {@code NamedObject} of which persistent ID to be contained
+     * @param separator {@code String} to be used as the field separator
+     * @return persistent ID of {@code object} without class name header
+     */
+    protected String getPersistentIDContentsOf(NamedObject<?> object, String separator)
+    {
+	addPersistentIDSource(object);
+	if(object instanceof AbstractNamedObject) {
+	    Object entity = ((AbstractNamedObject<?>)object).getEntity();
+	    if(entity != object && entity instanceof NamedObject)
+		addPersistentIDSource((NamedObject<?>)entity);
+	}
+	return getPersistentIDContents(object, separator);
+    }
+
+    /**
+     * Registers this object as a dependent of {@code source}
+     * unless it is already registered.
+     *
+     * @param source {@code NamedObject} of which persistent ID is contained
+     */
+    protected void addPersistentIDSource(NamedObject<?> source)
+    {
+	if(source == this || !(source instanceof AbstractNamedObject))
+	    return;
+
+	synchronized(this) {
+	    if(persistentIDSources == null)
+		persistentIDSources = Collections.newSetFromMap(new IdentityHashMap<NamedObject<?>, Boolean>());
+	    if(!persistentIDSources.add(source))
+		return;
+	    if(persistentIDListener == null)
+		persistentIDListener = event -> invalidatePersistentID();
+	}
+	((AbstractNamedObject<?>)source).addPropertyChangeListener(PERSISTENT_ID, persistentIDListener);
+    }
+
+    /**
+     * Returns compact binary key of the persistent ID, suitable
+     * for hashing and indexing.
+     *
+     * @return {@code PersistentIDKey} of the persistent ID
+     */
+    public PersistentIDKey getPersistentIDKey()
+    {
+	if(entity != null && entity instanceof AbstractNamedObject)
+	    return ((AbstractNamedObject<?>)getEntity()).getPersistentIDKey();
+
+	PersistentIDCache cache = getPersistentIDCache();
+	PersistentIDKey key = cache.key;
+	if(key == null) {
+	    key = PersistentIDKey.valueOf(cache.persistentID);
+	    cache.key = key;
+	}
+	return key;
+    }
+
+    /**
+     * Returns true if {@code object} is an instance of the same class
+     * with the same persistent ID.
+     *
+     * @param object {@code Object} to be compared
+     * @return true if {@code object} has the same identity
+     */
+    protected boolean equalsIdentity(Object object)
+    {
+	if(object == this) return true;
+	if(object == null || getClass() != object.getClass()) return false;
+	return getIdentity().equals(((AbstractNamedObject<?>)object).getIdentity());
+    }
+
+    @Override
+    public void firePropertyChange(PropertyChangeEvent event)
+    {
+	// literal and entity of AbstractName are notified through here
+	String propertyName = event.getPropertyName();
+	if("literal".equals(propertyName) || "entity".equals(propertyName))
+	    invalidatePersistentID();
+	super.firePropertyChange(event);
+    }
+
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public boolean equals(Object object) {
+	if(equality == Equality.PERSISTENT_ID) return equalsIdentity(object);
+
 	if(object == this) return true;
 	if(object == null) return false;
 	
@@ -203,6 +432,9 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 
     @Override
     public int hashCode() {
+	if(equality == Equality.PERSISTENT_ID)
+	    return getIdentity().hashCode();
+
 	return Objects.hash(super.hashCode(),
 	    localKey,
 	    source,
@@ -351,7 +583,7 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 	if(isNominal())
 	    return literal;
 
-	return getPersistentID(fieldSeparator);
+	return getPersistentIDCache().persistentID;
     }
 
     /**
@@ -368,8 +600,17 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 	if(entity != null)
 	    return ((NamedObject)getEntity()).getPersistentID(withClassName);
 
-	if(!isNominal())
-	    return getPersistentID(fieldSeparator, withClassName);
+	if(!isNominal()) {
+	    PersistentIDCache cache = getPersistentIDCache();
+	    if(withClassName)
+		return cache.persistentID;
+	    String contents = cache.contents;
+	    if(contents == null) {
+		contents = getPersistentID(fieldSeparator, false);
+		cache.contents = contents;
+	    }
+	    return contents;
+	}
 
 	if(withClassName)
 	    return literal;
@@ -518,6 +759,7 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 	    literal = pid;
 	else
 	    literal = null;
+	invalidatePersistentID();
     }
 
     /**
@@ -786,6 +1028,24 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 	return pid.substring(offset += classNameSeparator.length());
     }
 
+    /**
+     * Returns persistent ID of {@code object} without class name
+     * header, with {@code separator} as the field separator.
+     * The cached one is returned if {@code separator} is the default.
+     *
+     * @param object {@code NamedObject} of which persistent ID to be returned
+     * @param separator {@code String} to be used as the field separator
+     *
+     * @return contents of persistent ID of {@code object}
+     */
+    protected static String getPersistentIDContents(NamedObject<?> object, String separator)
+    {
+	if(fieldSeparator.equals(separator))
+	    return object.getPersistentID(false);
+
+	return object.getPersistentID(separator, false);
+    }
+
     /**
      * Gets name in {@code String}
      *
@@ -1047,6 +1307,7 @@ public abstract class AbstractNamedObject <T extends NamedObject<?>>
 	}
 
 	this.source = source;
+	invalidatePersistentID();
     }
 
     /**
@@ -63,7 +63,7 @@ import org.w3c.dom.NodeList;
  * @see org.nomencurator.model.NameUsage
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
  *
- * @version 	05 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Annotation
@@ -358,8 +358,10 @@ public class Annotation
 		Iterator<NameUsage<?>> nameUsages = getAnnotators();
 		annotatorNameKeys = new CollationKey[size];
 		for(int i = 0; i < size; i++) {
+		    NameUsage<?> annotator = nameUsages.next();
+		    addPersistentIDSource(annotator);
 		    annotatorNameKeys[i] =
-			collator.getCollationKey(nameUsages.next().getLiteral());
+			collator.getCollationKey(annotator.getLiteral());
 		}
 	    }
 	    Arrays.sort(annotatorNameKeys);
@@ -374,7 +376,7 @@ public class Annotation
 	    buffer.append(new Appearance().getPersistentID(separator, false));
 	}
 	else{
-	    buffer.append(appearance.getPersistentID(separator, false));
+	    buffer.append(getPersistentIDContentsOf(appearance, separator));
 	}
 
 	return buffer.toString();
@@ -463,6 +465,7 @@ public class Annotation
 	    return;
 
 	linkType = type;
+	invalidatePersistentID();
     }
 
     /**
@@ -493,6 +496,7 @@ public class Annotation
 	    return;
 
 	this.appearance =  appearance;
+	invalidatePersistentID();
     }
 
     /**
@@ -532,6 +536,7 @@ public class Annotation
 	for(NameUsage<?> n : nameUsages) {
 	    n.addAnnotation(this);
 	}
+	invalidatePersistentID();
     }
 
     /**
@@ -563,6 +568,7 @@ public class Annotation
 	    annotators.add(nameUsage);
 	}
 	nameUsage.addAnnotation(this);
+	invalidatePersistentID();
 
 	return true;
     }
@@ -588,6 +594,7 @@ public class Annotation
 	    annotators.remove(nameUsage);
 
 	}
+	invalidatePersistentID();
     }
     
     /**
@@ -609,6 +616,7 @@ public class Annotation
 	}
 	annotators.clear();
 	annotators = null;
+	invalidatePersistentID();
     }
 
     /**
@@ -59,7 +59,7 @@ import org.w3c.dom.NodeList;
  * @see 	org.nomencurator.model.Publication
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
  *
- * @version 	05 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Appearance
@@ -415,7 +415,7 @@ public class Appearance
 	if(publication == null)
 	    pid.append(new Publication().getPersistentID(separator, false));
 	else{
-	    pid.append(publication.getPersistentID(separator, false));
+	    pid.append(getPersistentIDContentsOf(publication, separator));
 	}
 	return pid.toString();
     }
@@ -553,6 +553,7 @@ public class Appearance
 	    return;
 
     	this.page = page;
+	invalidatePersistentID();
     }
     
 
@@ -599,6 +600,7 @@ public class Appearance
 	    return;
 
     	this.lines = lines;
+	invalidatePersistentID();
     }
 
     /**
@@ -641,7 +643,7 @@ public class Appearance
 	*/
 	Publication p = getPublication();
 	if(p == publication ||
-	   (this != null && publication != null &&
+	   (p != null && publication != null &&
 	    p.getEntity() == publication.getEntity()))
 	    return;
 
@@ -55,7 +55,7 @@ import org.w3c.dom.NodeList;
  * @see 	org.nomencurator.model.Publication
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
  *
- * @version 	02 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Author
@@ -635,6 +635,7 @@ public class Author
 	    return;
 
 	this.title = title;
+	invalidatePersistentID();
     }
 
     /**
@@ -665,6 +666,7 @@ public class Author
 	    return;
 
 	this.firstName = firstName;
+	invalidatePersistentID();
     }
 
     /**
@@ -708,6 +710,7 @@ public class Author
 	    return;
 
 	this.middleName = middleName;
+	invalidatePersistentID();
     }
 
     /**
@@ -752,6 +755,7 @@ public class Author
 	    return;
 
 	this.surname = surname;
+	invalidatePersistentID();
     }
 
     /**
@@ -825,6 +829,7 @@ public class Author
 	    return;
 
 	this.epithet = epithet;
+	invalidatePersistentID();
     }
 
     /**
@@ -855,6 +860,7 @@ public class Author
 	    return;
 
 	surnamePrefix = prefix;
+	invalidatePersistentID();
     }
 
     /**
@@ -976,6 +982,7 @@ public class Author
 	    return;
 
 	birth = birthDate;
+	invalidatePersistentID();
     }
 
     /**
@@ -1005,6 +1012,7 @@ public class Author
 	    return;
 
 	death = deathDate;
+	invalidatePersistentID();
     }
 
     /**
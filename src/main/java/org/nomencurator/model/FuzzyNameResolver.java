@@ -0,0 +1,400 @@
+/*
+ * FuzzyNameResolver.java:  a local fuzzy resolver of name literals
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.nomencurator.util.NameAnalyzer;
+import org.nomencurator.util.Ngrammer;
+
+import org.nomencurator.util.cache.CacheStatistics;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code FuzzyNameResolver} resolves a possibly misspelt name literal
+ * to {@code Name}s held locally, e.g. those in {@link Nomencurator},
+ * in trees or in caches of exchangers, without asking a remote service.
+ *
+ * Each {@code Name} is indexed by its literal and, if it is a
+ * {@code NameUsage}, by its base name without rank ending given by
+ * {@link NameAnalyzer#getBaseName(NameUsage)}, both in lower case with
+ * white spaces collapsed.  {@link #resolve(String, Rank, Class)}
+ * returns {@code Name}s scored not less than the threshold, and counts
+ * a hit if any, or a miss to be resolved remotely otherwise.
+ *
+ * {@code Name}s are held weakly, so that indexing does not keep them
+ * alive.  Keys of which {@code Name}s are all collected are purged when
+ * number of keys reaches the maximum size, and then other keys are
+ * evicted if still too many.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class FuzzyNameResolver
+{
+    /** Default score required to resolve locally */
+    public static final double DEFAULT_THRESHOLD = 0.8;
+
+    /** Default maximum number of {@code Name}s resolved */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /** Default maximum number of keys indexed */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+    /**
+     * {@code Match} is a {@code Name} found with its score.
+     */
+    public static class Match
+    {
+	@Getter
+	protected final Name<?> name;
+
+	@Getter
+	protected final double score;
+
+	protected Match(Name<?> name, double score)
+	{
+	    this.name = name;
+	    this.score = score;
+	}
+
+	public String toString()
+	{
+	    return new StringBuffer(getClass().getSimpleName())
+		.append("[name=").append(name.getLiteral())
+		.append(", score=").append(score)
+		.append("]").toString();
+	}
+    }
+
+    protected static final Comparator<Match> BETTER_FIRST = new Comparator<Match>() {
+	    public int compare(Match m1, Match m2) {
+		return Double.compare(m2.score, m1.score);
+	    }
+	};
+
+    /** Index of keys, replaced when keys are purged */
+    protected volatile Ngrammer ngrammer;
+
+    /** Weakly held {@code Name}s by normalized keys */
+    protected final Map<String, Set<Name<?>>> names;
+
+    /** Score required to resolve locally */
+    @Getter
+    @Setter
+    protected volatile double threshold = DEFAULT_THRESHOLD;
+
+    /** Maximum number of {@code Name}s resolved */
+    @Getter
+    @Setter
+    protected volatile int limit = DEFAULT_LIMIT;
+
+    /** Maximum number of keys indexed */
+    @Getter
+    @Setter
+    protected volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /** Hits and misses of {@link #resolve(String, Rank, Class)}, and evictions of keys */
+    @Getter
+    protected final CacheStatistics statistics;
+
+    public FuzzyNameResolver()
+    {
+	this(new Ngrammer());
+    }
+
+    /**
+     * Constructs a resolver indexing keys by {@code ngrammer}.
+     *
+     * @param ngrammer to index keys, which should be empty
+     */
+    public FuzzyNameResolver(Ngrammer ngrammer)
+    {
+	this.ngrammer = ngrammer;
+	names = new ConcurrentHashMap<String, Set<Name<?>>>();
+	statistics = new CacheStatistics();
+    }
+
+    /**
+     * Returns {@code literal} in lower case with white spaces trimmed
+     * and collapsed, or null if {@code literal} is null or empty.
+     *
+     * @param literal to be normalized
+     * @return normalized {@code literal} or null
+     */
+    public static String normalize(String literal)
+    {
+	if(literal == null)
+	    return null;
+	literal = literal.trim();
+	if(literal.isEmpty())
+	    return null;
+	return literal.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns keys of {@code literal}, i.e. normalized {@code literal}
+     * followed by normalized {@code baseName} if it differs.
+     *
+     * @param literal name literal
+     * @param baseName of the {@code literal}, or null
+     * @return {@code List} of keys, empty if none
+     */
+    protected List<String> getKeys(String literal, String baseName)
+    {
+	List<String> keys = new ArrayList<String>(2);
+	String key = normalize(literal);
+	if(key == null)
+	    return keys;
+	keys.add(key);
+	key = normalize(baseName);
+	if(key != null && !keys.contains(key))
+	    keys.add(key);
+	return keys;
+    }
+
+    protected List<String> getKeys(Name<?> name)
+    {
+	String literal = name.getLiteral();
+	String baseName = null;
+	if(literal != null && name instanceof NameUsage)
+	    baseName = NameAnalyzer.getBaseName((NameUsage<?>)name);
+	return getKeys(literal, baseName);
+    }
+
+    /**
+     * Indexes {@code name}.
+     *
+     * @param name to be indexed
+     */
+    public void put(Name<?> name)
+    {
+	if(name == null)
+	    return;
+
+	for(String key : getKeys(name)) {
+	    Set<Name<?>> named = names.get(key);
+	    if(named == null)
+		named = putKey(key);
+	    named.add(name);
+	}
+    }
+
+    /**
+     * Indexes {@code key} unless indexed, purging keys if the index
+     * is full, and returns the {@code Set} of {@code Name}s of the key.
+     *
+     * @param key normalized key to be indexed
+     * @return {@code Set} of {@code Name}s of the {@code key}
+     */
+    protected synchronized Set<Name<?>> putKey(String key)
+    {
+	Set<Name<?>> named = names.get(key);
+	if(named != null)
+	    return named;
+
+	if(names.size() >= maximumSize)
+	    purge();
+	named = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Name<?>, Boolean>(2)));
+	names.put(key, named);
+	ngrammer.put(key);
+	return named;
+    }
+
+    /**
+     * Removes keys of which {@code Name}s are all collected, and evicts
+     * other keys until three quarters of the maximum size remain, then
+     * re-indexes the rest.  It must be called holding the lock of this.
+     */
+    protected void purge()
+    {
+	Iterator<Set<Name<?>>> values = names.values().iterator();
+	while(values.hasNext()) {
+	    if(values.next().isEmpty())
+		values.remove();
+	}
+
+	int remaining = maximumSize - maximumSize / 4;
+	values = names.values().iterator();
+	while(names.size() > remaining && values.hasNext()) {
+	    values.next();
+	    values.remove();
+	    statistics.recordEviction();
+	}
+
+	Ngrammer purged = new Ngrammer(ngrammer.getKeyLength());
+	purged.setSimilarity(ngrammer.getSimilarity());
+	purged.setMinimumScore(ngrammer.getMinimumScore());
+	for(String key : names.keySet())
+	    purged.put(key);
+	ngrammer = purged;
+    }
+
+    /**
+     * Indexes {@code Name}s in {@code names}.
+     *
+     * @param names to be indexed
+     */
+    public void putAll(Collection<? extends Name<?>> names)
+    {
+	if(names == null)
+	    return;
+	for(Name<?> name : names)
+	    put(name);
+    }
+
+    /**
+     * Returns number of keys indexed.
+     *
+     * @return number of keys indexed
+     */
+    public int size()
+    {
+	return names.size();
+    }
+
+    /**
+     * Returns at most {@code k} {@code Name}s similar to {@code literal}
+     * in descending order of score.  If {@code rank} is given,
+     * {@code NameUsage}s of other ranks are excluded.
+     *
+     * @param literal name literal to search
+     * @param rank {@code Rank} of the name, or null
+     * @param k maximum number of {@code Name}s
+     * @return {@code List} of {@code Match}es, empty if none
+     */
+    public List<Match> search(String literal, Rank rank, int k)
+    {
+	List<Match> matches = new ArrayList<Match>();
+	if(literal == null || k < 1)
+	    return matches;
+
+	String baseName = rank == null ? null : NameAnalyzer.getBaseName(literal, rank, null);
+	Ngrammer index = ngrammer;
+	Map<Name<?>, Match> best = new IdentityHashMap<Name<?>, Match>();
+	for(String key : getKeys(literal, baseName)) {
+	    for(Ngrammer.Match found : index.search(key, k)) {
+		Set<Name<?>> named = names.get(found.getItem());
+		if(named == null)
+		    continue;
+		synchronized(named) {
+		    for(Name<?> name : named) {
+			if(!isRankCompatible(name, rank))
+			    continue;
+			Match match = best.get(name);
+			if(match == null || match.score < found.getScore())
+			    best.put(name, new Match(name, found.getScore()));
+		    }
+		}
+	    }
+	}
+
+	matches.addAll(best.values());
+	Collections.sort(matches, BETTER_FIRST);
+	return matches.size() > k ? new ArrayList<Match>(matches.subList(0, k)) : matches;
+    }
+
+    /**
+     * Returns {@code Name}s of {@code type} of which literal is
+     * {@code literal} except cases and white spaces, without fuzzy
+     * matching nor recording a hit or miss.  If {@code rank} is given,
+     * {@code NameUsage}s of other ranks are excluded.
+     *
+     * @param literal name literal to look up
+     * @param rank {@code Rank} of the name, or null
+     * @param type of {@code Name}s to be returned
+     * @return {@code List} of {@code Name}s, empty if none
+     */
+    public <T extends Name<?>> List<T> get(String literal, Rank rank, Class<T> type)
+    {
+	List<T> found = new ArrayList<T>();
+	String key = normalize(literal);
+	Set<Name<?>> named = key == null ? null : names.get(key);
+	if(named == null)
+	    return found;
+	synchronized(named) {
+	    for(Name<?> name : named) {
+		if(type.isInstance(name) && isRankCompatible(name, rank)
+		   && key.equals(normalize(name.getLiteral())))
+		    found.add(type.cast(name));
+	    }
+	}
+	return found;
+    }
+
+    protected boolean isRankCompatible(Name<?> name, Rank rank)
+    {
+	if(rank == null || !(name instanceof NameUsage))
+	    return true;
+	Rank nameRank = ((NameUsage<?>)name).getRank();
+	return nameRank == null || nameRank.equals(rank);
+    }
+
+    /**
+     * Returns {@code Name}s of {@code type} similar to {@code literal}
+     * scored not less than the threshold, and records a hit if any or
+     * a miss otherwise.
+     *
+     * @param literal name literal to resolve
+     * @param rank {@code Rank} of the name, or null
+     * @param type of {@code Name}s to be returned
+     * @return {@code List} of {@code Name}s, empty if to be resolved remotely
+     */
+    public <T extends Name<?>> List<T> resolve(String literal, Rank rank, Class<T> type)
+    {
+	List<T> resolved = new ArrayList<T>();
+	for(Match match : search(literal, rank, limit)) {
+	    if(match.score < threshold)
+		break;
+	    if(type.isInstance(match.name))
+		resolved.add(type.cast(match.name));
+	}
+	if(resolved.isEmpty())
+	    statistics.recordMiss();
+	else
+	    statistics.recordHit();
+	return resolved;
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[keys=").append(size())
+	    .append(", threshold=").append(threshold)
+	    .append(", ").append(statistics)
+	    .append("]").toString();
+    }
+}
@@ -28,6 +28,8 @@ package org.nomencurator.model;
 
 import java.io.Serializable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Hashtable;
 import java.util.HashMap;
 import java.util.Vector;
@@ -40,7 +42,7 @@ import org.nomencurator.util.ObjectPool;
 
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org</A>
  *
- * @version 	02 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Nomencurator
@@ -120,6 +122,28 @@ public class Nomencurator
 	return (NamedObject)resolver.get(key);
     }
 
+    /**
+     * Returns {@code Name}s pooled or waiting for resolution,
+     * e.g. to be indexed by a {@code FuzzyNameResolver}.
+     *
+     * @return {@code Collection} of {@code Name}s
+     */
+    public Collection<Name<?>> getNames()
+    {
+	Collection<Name<?>> names = new ArrayList<Name<?>>();
+	synchronized(pool) {
+	    for(Object object : pool.values()) {
+		if(object instanceof Name)
+		    names.add((Name<?>)object);
+	    }
+	}
+	for(Object object : resolver.values()) {
+	    if(object instanceof Name)
+		names.add((Name<?>)object);
+	}
+	return names;
+    }
+
 }
 
 
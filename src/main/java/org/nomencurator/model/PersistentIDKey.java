@@ -0,0 +1,212 @@
+/*
+ * PersistentIDKey.java:  a compact binary key of a persistent ID
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.model;
+
+import java.io.Serializable;
+
+import lombok.Getter;
+
+/**
+ * {@code PersistentIDKey} is a 128 bit fingerprint of a persistent ID,
+ * to be used in place of the long persistent ID {@code String} for
+ * hashing and indexing, e.g. as a fixed length binary column.
+ * It is made by MurmurHash3 over UTF-16 characters of the persistent ID.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public final class PersistentIDKey
+    implements Comparable<PersistentIDKey>, Serializable
+{
+    private static final long serialVersionUID = -3317745316087271529L;
+
+    /** Number of bytes of the binary form */
+    public static final int BYTES = 16;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /** Upper 64 bits */
+    @Getter
+    private final long high;
+
+    /** Lower 64 bits */
+    @Getter
+    private final long low;
+
+    public PersistentIDKey(long high, long low)
+    {
+	this.high = high;
+	this.low = low;
+    }
+
+    /**
+     * Returns the key of {@code persistentID}.
+     *
+     * @param persistentID persistent ID to be keyed
+     * @return {@code PersistentIDKey} of {@code persistentID}
+     */
+    public static PersistentIDKey valueOf(String persistentID)
+    {
+	if(persistentID == null)
+	    persistentID = "";
+
+	long h1 = 0;
+	long h2 = 0;
+	int length = persistentID.length();
+	int i = 0;
+	// two 64 bit blocks of four characters each
+	for(; i + 8 <= length; i += 8) {
+	    long k1 = pack(persistentID, i, 4);
+	    long k2 = pack(persistentID, i + 4, 4);
+
+	    h1 ^= mixK1(k1);
+	    h1 = Long.rotateLeft(h1, 27) + h2;
+	    h1 = h1 * 5 + 0x52dce729;
+
+	    h2 ^= mixK2(k2);
+	    h2 = Long.rotateLeft(h2, 31) + h1;
+	    h2 = h2 * 5 + 0x38495ab5;
+	}
+
+	int remaining = length - i;
+	if(remaining > 4) {
+	    h2 ^= mixK2(pack(persistentID, i + 4, remaining - 4));
+	    remaining = 4;
+	}
+	if(remaining > 0)
+	    h1 ^= mixK1(pack(persistentID, i, remaining));
+
+	h1 ^= length;
+	h2 ^= length;
+	h1 += h2;
+	h2 += h1;
+	h1 = fmix(h1);
+	h2 = fmix(h2);
+	h1 += h2;
+	h2 += h1;
+
+	return new PersistentIDKey(h1, h2);
+    }
+
+    /**
+     * Returns the key represented by {@code bytes} in big endian,
+     * as returned by {@link #toByteArray()}.
+     *
+     * @param bytes binary form of a key
+     * @return {@code PersistentIDKey} represented by {@code bytes}
+     * @exception IllegalArgumentException if length of {@code bytes} is not {@code BYTES}
+     */
+    public static PersistentIDKey valueOf(byte[] bytes)
+    {
+	if(bytes == null || bytes.length != BYTES)
+	    throw new IllegalArgumentException("key must be " + BYTES + " bytes");
+	return new PersistentIDKey(toLong(bytes, 0), toLong(bytes, 8));
+    }
+
+    private static long pack(String s, int offset, int count)
+    {
+	long k = 0;
+	for(int i = count - 1; i >= 0; i--)
+	    k = (k << 16) | s.charAt(offset + i);
+	return k;
+    }
+
+    private static long mixK1(long k1)
+    {
+	k1 *= C1;
+	k1 = Long.rotateLeft(k1, 31);
+	return k1 * C2;
+    }
+
+    private static long mixK2(long k2)
+    {
+	k2 *= C2;
+	k2 = Long.rotateLeft(k2, 33);
+	return k2 * C1;
+    }
+
+    private static long fmix(long k)
+    {
+	k ^= k >>> 33;
+	k *= 0xff51afd7ed558ccdL;
+	k ^= k >>> 33;
+	k *= 0xc4ceb9fe1a85ec53L;
+	k ^= k >>> 33;
+	return k;
+    }
+
+    private static long toLong(byte[] bytes, int offset)
+    {
+	long value = 0;
+	for(int i = 0; i < 8; i++)
+	    value = (value << 8) | (bytes[offset + i] & 0xff);
+	return value;
+    }
+
+    /**
+     * Returns binary form of this key in big endian.
+     *
+     * @return array of {@code BYTES} bytes
+     */
+    public byte[] toByteArray()
+    {
+	byte[] bytes = new byte[BYTES];
+	for(int i = 0; i < 8; i++) {
+	    bytes[i] = (byte)(high >>> (56 - 8 * i));
+	    bytes[i + 8] = (byte)(low >>> (56 - 8 * i));
+	}
+	return bytes;
+    }
+
+    public int compareTo(PersistentIDKey key)
+    {
+	int result = Long.compareUnsigned(high, key.high);
+	return (result != 0) ? result : Long.compareUnsigned(low, key.low);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+	if(object == this) return true;
+	if(!(object instanceof PersistentIDKey)) return false;
+	PersistentIDKey key = (PersistentIDKey)object;
+	return high == key.high && low == key.low;
+    }
+
+    @Override
+    public int hashCode()
+    {
+	return (int)low;
+    }
+
+    /**
+     * Returns the key in 32 hexadecimal digits.
+     *
+     * @return hexadecimal representation of the key
+     */
+    public String toString()
+    {
+	return String.format("%016x%016x", high, low);
+    }
+}
@@ -60,7 +60,7 @@ import org.w3c.dom.NodeList;
  * @see 	org.nomencurator.model.Appearance
  * @see <A HREF="http://www.nomencurator.org/">http://www.nomencurator.org/</A>
  *
- * @version 	09 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Publication
@@ -1194,6 +1194,7 @@ public class Publication
 	   (authorNames != null && authorNames.equals(this.authorNames)))
 	    return;
 	this.authorNames = authorNames;
+	invalidatePersistentID();
     }
     
     /**
@@ -1405,6 +1406,7 @@ public class Publication
 	    return;
 
 	this.citationTitle = citationTitle;
+	invalidatePersistentID();
     }
 
     /**
@@ -1492,6 +1494,7 @@ public class Publication
 	    return;
 
 	this.doi = doi;
+	invalidatePersistentID();
     }
     
 
@@ -1601,6 +1604,7 @@ public class Publication
 	    return;
 
 	this.isxn = isxn;
+	invalidatePersistentID();
     }
     
     /**
@@ -1637,6 +1641,7 @@ public class Publication
 	    return;
 
 	this.year = year;
+	invalidatePersistentID();
     }
     
     /**
@@ -1670,6 +1675,7 @@ public class Publication
 	    return;
 
 	this.volume = volume;
+	invalidatePersistentID();
     }
     
     /**
@@ -1703,6 +1709,7 @@ public class Publication
 	    return;
 
 	this.issue = issue;
+	invalidatePersistentID();
     }
     
     /**
@@ -1736,6 +1743,7 @@ public class Publication
 	    return;
 
 	firstPage = page;
+	invalidatePersistentID();
     }
     
     /**
@@ -1772,6 +1780,7 @@ public class Publication
 	    return;
 
 	lastPage = page;
+	invalidatePersistentID();
     }
     
     /**
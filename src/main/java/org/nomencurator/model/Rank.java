@@ -36,12 +36,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Getter;
 
@@ -50,7 +54,7 @@ import org.nomencurator.beans.PropertyChanger;
 /**
  * Rank provides rank tracking without parsing name of rank
  *
- * @version 	06 Dec. 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Rank
@@ -238,20 +242,127 @@ public class Rank
     };
 
     /**
-     * {@code Hashtable} to hold {@code Rank}s
+     * {@code Map} to hold {@code Rank}s, of which lookups do not lock
      */
-    static Map<String, Rank> ranks = new HashMap<String, Rank>();
+    static Map<String, Rank> ranks = new ConcurrentHashMap<String, Rank>();
 
     /**
-     * {@code Hashtable} to hold abbreviations of rank name
+     * {@code Map} to hold abbreviations of rank name
      */
-    static Map<String, String> abbreviations = new HashMap<String, String>();
+    static Map<String, String> abbreviations = new ConcurrentHashMap<String, String>();
 
     /**
      * {@code Vector} to hold {@code Rank}s
      */
     static List<Rank> sortedRanks = Collections.synchronizedList(new ArrayList<Rank>());
 
+    /**
+     * {@code RankOrder} is an immutable snapshot of ordinals of
+     * {@code Rank}s in {@code sortedRanks}, replaced as a whole when
+     * a {@code Rank} is put or removed, or links between {@code Rank}s
+     * are changed.  Ordinals order {@code Rank}s only in a chain,
+     * i.e. {@code Rank}s reachable from one another by following
+     * higher or lower {@code Rank}s, because {@code sortedRanks} puts
+     * parallel {@code Rank}s such as strain and subspecies in an
+     * arbitrary order.
+     */
+    static final class RankOrder
+    {
+	final int version;
+
+	final Map<Rank, Integer> ordinals;
+
+	/** {@code Rank}s in chains with each {@code Rank} */
+	final Map<Rank, Set<Rank>> chains;
+
+	RankOrder(int version, List<Rank> sorted)
+	{
+	    this.version = version;
+	    Map<Rank, Integer> ordinals = new IdentityHashMap<Rank, Integer>(sorted.size() * 2);
+	    int ordinal = 0;
+	    for(Rank rank : sorted) {
+		// an equivalent rank shares ordinal with the rank equivalent to
+		Integer equivalent = rank.getEquivalent() == null ? null : ordinals.get(rank.getEquivalent());
+		ordinals.put(rank, equivalent != null ? equivalent : Integer.valueOf(ordinal++));
+	    }
+	    this.ordinals = Collections.unmodifiableMap(ordinals);
+
+	    chains = new IdentityHashMap<Rank, Set<Rank>>(sorted.size() * 2);
+	    for(Rank rank : sorted) {
+		rank = canonical(rank);
+		chain(rank, true);
+		chain(rank, false);
+	    }
+	}
+
+	static Rank canonical(Rank rank)
+	{
+	    return rank.getEquivalent() == null ? rank : rank.getEquivalent();
+	}
+
+	/**
+	 * Puts {@code Rank}s reachable from {@code rank} by following
+	 * higher {@code Rank}s if {@code higher}, or lower ones otherwise,
+	 * in a chain with {@code rank} while their ordinals agree with
+	 * the links.
+	 */
+	void chain(Rank rank, boolean higher)
+	{
+	    Integer ordinal = ordinals.get(rank);
+	    if(ordinal == null)
+		return;
+	    Set<Rank> visited = Collections.newSetFromMap(new IdentityHashMap<Rank, Boolean>());
+	    Rank linked = rank;
+	    while(true) {
+		Rank next = higher ? linked.getHigher() : linked.getLower();
+		if(next == null || next == linked)
+		    return;
+		linked = canonical(next);
+		Integer linkedOrdinal = ordinals.get(linked);
+		if(!visited.add(linked) || linkedOrdinal == null
+		   || (higher ? linkedOrdinal >= ordinal : linkedOrdinal <= ordinal))
+		    return;
+		getChain(rank).add(linked);
+		getChain(linked).add(rank);
+	    }
+	}
+
+	Set<Rank> getChain(Rank rank)
+	{
+	    Set<Rank> chain = chains.get(rank);
+	    if(chain == null) {
+		chain = Collections.newSetFromMap(new IdentityHashMap<Rank, Boolean>());
+		chains.put(rank, chain);
+	    }
+	    return chain;
+	}
+
+	/**
+	 * Returns true if ordinals of {@code r1} and {@code r2} order them.
+	 */
+	boolean isOrdered(Rank r1, Rank r2)
+	{
+	    if(!ordinals.containsKey(r1) || !ordinals.containsKey(r2))
+		return false;
+	    r1 = canonical(r1);
+	    r2 = canonical(r2);
+	    if(r1 == r2)
+		return true;
+	    Set<Rank> chain = chains.get(r1);
+	    return chain != null && chain.contains(r2);
+	}
+    }
+
+    /** Current ordinals of sorted {@code Rank}s */
+    static volatile RankOrder order;
+
+    /**
+     * Version of {@code order} in the upper half and ordinal of this
+     * {@code Rank} in the lower half, cached to compare {@code Rank}s
+     * without lookup
+     */
+    private transient volatile long ordinalStamp;
+
     static final RankObserver rankObserver = new RankObserver();
 
     /**
@@ -352,6 +463,8 @@ public class Rank
 
 	currentRank = null;
 
+	updateOrder();
+
     }
 
     public static final Rank UNRANKED  = ranks.get("");
@@ -491,7 +604,7 @@ public class Rank
      * @param rank to be replaced
      *
      */
-    public static void put(Rank rank)
+    public static synchronized void put(Rank rank)
     {
 	if(rank ==  null)
 	    return;
@@ -526,6 +639,7 @@ public class Rank
 	else {
 	    sortedRanks.add(sortedRanks.indexOf(next) + 1, rank);
 	}
+	updateOrder();
 	rank.addPropertyChangeListener(rankObserver);
 	rankObserver.addPropertyChangeListener(rank);
 	rankObserver.propertyChange(new PropertyChangeEvent(rank, "put", null, null));
@@ -537,7 +651,7 @@ public class Rank
      * @param rank to be removed
      *
      */
-    public static void remove(Rank rank)
+    public static synchronized void remove(Rank rank)
     {
 	if(rank == null)
 	    return;
@@ -546,6 +660,7 @@ public class Rank
 	rankObserver.removePropertyChangeListener(rank);
 	sortedRanks.remove(rank);
 	ranks.remove(rank.getName());
+	updateOrder();
 	rankObserver.propertyChange(new PropertyChangeEvent(rank, "remove", null, null));	
     }
 
@@ -578,6 +693,23 @@ public class Rank
 	    name = name.toLowerCase();
 	    rank = ranks.get(name);
 	}
+	if(rank == null)
+	    rank = create(name);
+
+	return rank;
+    }
+
+    /**
+     * Creates a {@code Rank} of given {@code name} prefixed by
+     * super, sub or infra to a {@code Rank} in the {@code Hashtable}
+     * unless another thread has created it.
+     *
+     * @param name of the {@code Rank} in lower case
+     * @return a {@code Rank} of given {@code name} or null
+     */
+    protected static synchronized Rank create(String name)
+    {
+	Rank rank = ranks.get(name);
 	if(rank == null) {
 	    String baseName = null;
 	    if(name.startsWith("sup")) {
@@ -1151,6 +1283,9 @@ public class Rank
 	if(rank == null || rank == this)
 	    return false;
 
+	if(isOrderedWith(rank))
+	    return getOrdinal() < rank.getOrdinal();
+
 	Rank[]  path1 = getRankPath(this.getFullyLinkedRank());
 	Rank[]  path2 = getRankPath(rank.getFullyLinkedRank());
 
@@ -1201,6 +1336,9 @@ public class Rank
 	if(rank == null || rank == this)
 	    return false;
 
+	if(isOrderedWith(rank))
+	    return getOrdinal() > rank.getOrdinal();
+
 	Rank[]  path1 = getRankPath(this.getFullyLinkedRank());
 	Rank[]  path2 = getRankPath(rank.getFullyLinkedRank());
 
@@ -1227,6 +1365,60 @@ public class Rank
 	return false; //?
     }
 
+    /**
+     * Returns ordinal of this {@code Rank} in {@link #getSortedRanks()},
+     * counting a {@code Rank} equivalent to another as the same, or -1
+     * if this {@code Rank} is not sorted.  A higher {@code Rank} in
+     * a chain has a smaller ordinal; ordinals of {@code Rank}s not in
+     * a chain do not order them.
+     *
+     * @see #isOrderedWith(Rank)
+     *
+     * @return ordinal of this {@code Rank} or -1
+     */
+    public int getOrdinal()
+    {
+	RankOrder current = order;
+	if(current == null)
+	    return -1;
+
+	long stamp = ordinalStamp;
+	if((int)(stamp >>> 32) == current.version)
+	    return (int)stamp;
+
+	Integer ordinal = current.ordinals.get(this);
+	int value = ordinal == null ? -1 : ordinal.intValue();
+	ordinalStamp = ((long)current.version << 32) | (value & 0xffffffffL);
+	return value;
+    }
+
+    /**
+     * Returns whether ordinals of this and {@code rank} order them,
+     * i.e. both are sorted and in a chain of higher or lower
+     * {@code Rank}s.  Otherwise their order is given by paths to them.
+     *
+     * @param rank to be compared
+     * @return true if ordinals of this and {@code rank} order them
+     */
+    public boolean isOrderedWith(Rank rank)
+    {
+	RankOrder current = order;
+	return current != null && rank != null && current.isOrdered(this, rank);
+    }
+
+    /**
+     * Replaces ordinals of sorted {@code Rank}s by a new snapshot.
+     */
+    protected static synchronized void updateOrder()
+    {
+	RankOrder current = order;
+	List<Rank> sorted = null;
+	synchronized(sortedRanks) {
+	    sorted = new ArrayList<Rank>(sortedRanks);
+	}
+	order = new RankOrder(current == null ? 1 : current.version + 1, sorted);
+    }
+
     /**
      * Returns descending path from highest rank to
      * given {@code rank}
@@ -1466,6 +1658,11 @@ public class Rank
 	
 	public void propertyChange(PropertyChangeEvent event)
 	{
+	    // links between ranks give the order of ranks
+	    String property = event.getPropertyName();
+	    if ("higher".equals(property) || "lower".equals(property)
+		|| "equivalent".equals(property))
+		Rank.updateOrder();
 	    while (Objects.nonNull(currentEvent)) { }
 	    currentEvent = event;
 	    firePropertyChange(event);
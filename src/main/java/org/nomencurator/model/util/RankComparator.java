@@ -31,7 +31,7 @@ import lombok.Setter;
 /**
  * <tt>RankComparator</tt> is a Comparator for <tt>Rank</tt>.
  *
- * @version 	04 Sep. 2015
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class RankComparator
@@ -63,6 +63,10 @@ public class RankComparator
 	if (r1.equals(r2))
 	    return 0;
 
+	// ranks in a chain are compared by their ordinals
+	if (r1.isOrderedWith(r2))
+	    return Integer.compare(r2.getOrdinal(), r1.getOrdinal());
+
 	return r1.isHigher(r2) ? 1 : -1;
     }
 }
@@ -29,7 +29,7 @@ import lombok.Getter;
 /**
  * Enumeration of nomenclature codes
  *
- * @version 	16 July 2015
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public enum NomenclatureCode
@@ -70,7 +70,9 @@ public enum NomenclatureCode
 	    builder = new Builder();
 	synchronized(builder) {
 	    builder.clear();
-	    builder.setExtension(Locale.PRIVATE_USE_EXTENSION,extension);
+	    // a private use subtag is at most eight characters
+	    builder.setExtension(Locale.PRIVATE_USE_EXTENSION,
+				 extension.length() > 8 ? extension.substring(0, 8) : extension);
 	    locale = builder.build();
 	}
 	this.extension = extension;
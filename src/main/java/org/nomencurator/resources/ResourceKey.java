@@ -1022,6 +1022,9 @@ public class ResourceKey
     /** Key to SQL statemet to select a NamedObject by object ID */
     public static final String SELECT_NAMED_OBJECT_BY_OID = "SELECT_NAMED_OBJECT_BY_OID";
 
+    /** Key to SQL statemet to select NamedObjects of a type by a list of object IDs */
+    public static final String SELECT_NAMED_OBJECTS_BY_OIDS = "SELECT_NAMED_OBJECTS_BY_OIDS";
+
     /** Key to SQL statemet to select a NamedObject by persistent ID */
     public static final String SELECT_NAMED_OBJECT_BY_PID = "SELECT_NAMED_OBJECT_BY_PID";
 
@@ -1040,6 +1043,9 @@ public class ResourceKey
     /** Key to SQL statemet to select object type by persistent ID */
     public static final String SELECT_TYPE_BY_PID = "SELECT_TYPE_BY_PID";
 
+    /** Key to SQL statemet to select object types and persistent IDs by a list of object IDs */
+    public static final String SELECT_TYPES_BY_OIDS = "SELECT_TYPES_BY_OIDS";
+
     /** Key to SQL statemet to select lower taxa by object ID of the higher taxon */
     public static final String SELECT_LOWER_TAXA_BY_OID = "SELECT_LOWER_TAXA_BY_OID";
 
@@ -29,7 +29,7 @@ import java.util.HashSet;
 /**
  * <code>HashRoughSet</code> is a Rough set using <tt>HashSet</tt>.
  *
- * @version 	16 July 2015
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class HashRoughSet<E>
@@ -74,7 +74,7 @@ public class HashRoughSet<E>
 
     protected Collection<E> constructCollection(Collection<? extends E> collection)
     {
-	return new HashSet<E>(collection);
+	return (collection == null) ? new HashSet<E>() : new HashSet<E>(collection);
     }
 
     protected Collection<E> constructCollection(int initialCapacity)
@@ -1,7 +1,7 @@
 /*
  * Ngrammer.java:  a class to provide a N-gram search
  *
- * Copyright (c) 2005, 2014, 2015, 2016 Nozomi `James' Ytow
+ * Copyright (c) 2005, 2014, 2015, 2016, 2026 Nozomi `James' Ytow
  * All rights reserved.
  */
 
@@ -25,38 +25,134 @@
 
 package org.nomencurator.util;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Enumeration;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.nomencurator.model.Name;
-import org.nomencurator.model.NamedObject;
 
 /**
- * {@code Ngrammer} provides a N-gram
+ * {@code Ngrammer} provides a N-gram index of items by their literals,
+ * i.e. literal of a {@code Name} or {@code toString()} of other objects,
+ * to search items similar to a query.
  *
- * @version 	03 July 2016
+ * Each distinct N-gram is interned once and identified by an integer,
+ * and items containing it are held in a posting list of integer item IDs,
+ * so that neither indexing nor searching allocates a {@code String} per
+ * N-gram.  {@link #search(String, int)} scores items sharing N-grams with
+ * the query by Dice or Jaccard coefficient over distinct N-grams.
+ *
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class Ngrammer
 {
-    protected Map<String, Set<Object>> nGram;
+    public static int DEFAULT_KEY_LENGTH = 3;
 
-    protected Set<Object> items;
+    protected static final int INITIAL_CAPACITY = 16;
 
-    protected int keyLength;
+    /**
+     * Similarity coefficient over sets of N-grams.
+     */
+    public enum Similarity {
+	/** 2|A &cap; B| / (|A| + |B|) */
+	DICE,
+	/** |A &cap; B| / |A &cup; B| */
+	JACCARD
+    }
 
-    public static int DEFAULT_KEY_LENGTH = 3;
+    /**
+     * {@code Match} is an item found by {@link Ngrammer#search(String, int)}
+     * with its score.
+     */
+    public static class Match
+    {
+	protected final Object item;
+
+	protected final double score;
+
+	protected final int itemID;
+
+	protected Match(Object item, double score, int itemID)
+	{
+	    this.item = item;
+	    this.score = score;
+	    this.itemID = itemID;
+	}
+
+	public Object getItem()
+	{
+	    return item;
+	}
+
+	public double getScore()
+	{
+	    return score;
+	}
+
+	public String toString()
+	{
+	    return new StringBuffer(getClass().getSimpleName())
+		.append("[item=").append(item)
+		.append(", score=").append(score)
+		.append("]").toString();
+	}
+    }
+
+    /** Orders better {@code Match}es first, then ones indexed earlier */
+    protected static final Comparator<Match> BETTER_FIRST = new Comparator<Match>() {
+	    public int compare(Match m1, Match m2) {
+		int result = Double.compare(m2.score, m1.score);
+		return result != 0 ? result : Integer.compare(m1.itemID, m2.itemID);
+	    }
+	};
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Numbers of N-grams shared with a query by item ID, reused by
+     * searches of each thread and cleared after each search
+     */
+    protected final ThreadLocal<int[]> sharedCounts = new ThreadLocal<int[]>();
+
+    /** Items by item ID */
+    protected List<Object> items;
+
+    /** Item IDs by item */
+    protected Map<Object, Integer> itemIDs;
+
+    /** Number of distinct N-grams of items by item ID */
+    protected int[] gramCounts;
+
+    /** N-grams by gram ID */
+    protected String[] grams;
+
+    protected int gramCount;
+
+    /** Open addressing table of gram ID plus one, or zero if empty */
+    protected int[] gramTable;
+
+    /** IDs of items containing a N-gram in ascending order by gram ID */
+    protected int[][] postings;
+
+    protected int[] postingSizes;
+
+    protected int keyLength;
 
     protected double minimumScore;
 
+    protected Similarity similarity = Similarity.DICE;
+
     public Ngrammer()
     {
 	this(DEFAULT_KEY_LENGTH);
@@ -67,26 +163,33 @@ public class Ngrammer
 	setKeyLength(keyLength);
     }
 
+    /**
+     * Sets length of N-grams to {@code keyLength}, and re-indexes
+     * items if necessary.
+     *
+     * @param keyLength length of N-grams, must be positive
+     */
     public void setKeyLength(int keyLength)
     {
-	if(keyLength == this.keyLength)
-	    return;
+	if(keyLength < 1)
+	    throw new IllegalArgumentException("key length must be positive: " + keyLength);
 
-	synchronized(this) {
+	lock.writeLock().lock();
+	try {
+	    if(keyLength == this.keyLength)
+		return;
 
 	    this.keyLength = keyLength;
+	    if(grams == null)
+		return;
 
-	    if(nGram != null) {
-		Collection<Set<Object>> values = nGram.values();
-		for(Set<Object> nGram : values) {
-		    nGram.clear();
-		}
-	    
-		nGram.clear();
-
-		for(Object item: items)
-		    put(item);
-	    }
+	    clearGrams();
+	    int size = items.size();
+	    for(int itemID = 0; itemID < size; itemID++)
+		nGramize(itemID, items.get(itemID));
+	}
+	finally {
+	    lock.writeLock().unlock();
 	}
     }
 
@@ -95,53 +198,388 @@ public class Ngrammer
 	return keyLength;
     }
 
+    /**
+     * Returns the score below which items are not returned by
+     * {@link #search(String, int)}.
+     *
+     * @return the minimum score
+     */
+    public double getMinimumScore()
+    {
+	return minimumScore;
+    }
+
+    public void setMinimumScore(double minimumScore)
+    {
+	this.minimumScore = minimumScore;
+    }
+
+    public Similarity getSimilarity()
+    {
+	return similarity;
+    }
+
+    public void setSimilarity(Similarity similarity)
+    {
+	this.similarity = similarity == null ? Similarity.DICE : similarity;
+    }
+
+    /**
+     * Returns number of items indexed.
+     *
+     * @return number of items indexed
+     */
+    public int size()
+    {
+	lock.readLock().lock();
+	try {
+	    return items == null ? 0 : items.size();
+	}
+	finally {
+	    lock.readLock().unlock();
+	}
+    }
+
     public void put(Object object)
     {
-	if(object == null
-	   || items.contains(object)
-	   )
+	if(object == null)
 	    return;
 
-	if(items == null)
-	    items = Collections.synchronizedSet(new HashSet<Object>());
-	items.add(object);
+	lock.writeLock().lock();
+	try {
+	    if(items == null) {
+		items = new ArrayList<Object>();
+		itemIDs = new HashMap<Object, Integer>();
+		gramCounts = new int[INITIAL_CAPACITY];
+		clearGrams();
+	    }
+
+	    if(itemIDs.containsKey(object))
+		return;
+
+	    int itemID = items.size();
+	    items.add(object);
+	    itemIDs.put(object, itemID);
+	    if(itemID == gramCounts.length)
+		gramCounts = Arrays.copyOf(gramCounts, grow(itemID));
+	    nGramize(itemID, object);
+	}
+	finally {
+	    lock.writeLock().unlock();
+	}
+    }
+
+    /**
+     * Returns items sharing at least one N-gram with {@code query}.
+     *
+     * @param query {@code String} to look up
+     * @return {@code Set} of items, empty if none
+     */
+    public Set<Object> lookup(String query)
+    {
+	Set<Object> found = new HashSet<Object>();
+	if(query == null)
+	    return found;
+
+	lock.readLock().lock();
+	try {
+	    if(grams == null)
+		return found;
+	    int count = getGramCount(query);
+	    for(int i = 0; i < count; i++) {
+		int gramID = getGramID(query, i, getGramLength(query, i));
+		if(gramID < 0)
+		    continue;
+		int[] posting = postings[gramID];
+		int size = postingSizes[gramID];
+		for(int j = 0; j < size; j++)
+		    found.add(items.get(posting[j]));
+	    }
+	}
+	finally {
+	    lock.readLock().unlock();
+	}
+	return found;
+    }
+
+    /**
+     * Returns at most {@code k} items most similar to {@code query},
+     * scored not less than the minimum score, in descending order of score.
+     *
+     * @param query {@code String} to search
+     * @param k maximum number of items to be returned
+     * @return {@code List} of {@code Match}es, empty if none
+     */
+    public List<Match> search(String query, int k)
+    {
+	return search(query, k, minimumScore);
+    }
+
+    /**
+     * Returns at most {@code k} items most similar to {@code query},
+     * scored not less than {@code minimumScore}, in descending order of score.
+     * Items with equal score are in order of indexing.
+     *
+     * @param query {@code String} to search
+     * @param k maximum number of items to be returned
+     * @param minimumScore the lowest score of items to be returned
+     * @return {@code List} of {@code Match}es, empty if none
+     */
+    public List<Match> search(String query, int k, double minimumScore)
+    {
+	if(query == null || k < 1)
+	    return Collections.emptyList();
+
+	lock.readLock().lock();
+	try {
+	    if(items == null || items.isEmpty())
+		return Collections.emptyList();
+
+	    // distinct N-grams of the query, and IDs of those indexed
+	    int count = getGramCount(query);
+	    int[] queryGrams = new int[count];
+	    int known = 0;
+	    int distinct = 0;
+	    for(int i = 0; i < count; i++) {
+		int length = getGramLength(query, i);
+		boolean duplicated = false;
+		for(int j = 0; j < i && !duplicated; j++) {
+		    duplicated = getGramLength(query, j) == length
+			&& query.regionMatches(j, query, i, length);
+		}
+		if(duplicated)
+		    continue;
+		distinct++;
+		int gramID = getGramID(query, i, length);
+		if(gramID >= 0)
+		    queryGrams[known++] = gramID;
+	    }
+
+	    int[] shared = sharedCounts.get();
+	    if(shared == null || shared.length < items.size()) {
+		shared = new int[Math.max(items.size(), grow(shared == null ? 0 : shared.length))];
+		sharedCounts.set(shared);
+	    }
+	    int[] candidates = new int[INITIAL_CAPACITY];
+	    int candidateCount = 0;
+	    PriorityQueue<Match> best = null;
+	    try {
+		for(int i = 0; i < known; i++) {
+		    int gramID = queryGrams[i];
+		    int[] posting = postings[gramID];
+		    int size = postingSizes[gramID];
+		    for(int j = 0; j < size; j++) {
+			int itemID = posting[j];
+			if(shared[itemID]++ == 0) {
+			    if(candidateCount == candidates.length)
+				candidates = Arrays.copyOf(candidates, grow(candidateCount));
+			    candidates[candidateCount++] = itemID;
+			}
+		    }
+		}
+
+		best = new PriorityQueue<Match>(Math.min(k, candidateCount) + 1,
+						Collections.reverseOrder(BETTER_FIRST));
+		for(int i = 0; i < candidateCount; i++) {
+		    int itemID = candidates[i];
+		    double score = getScore(shared[itemID], distinct, gramCounts[itemID]);
+		    if(score < minimumScore)
+			continue;
+		    if(best.size() == k) {
+			Match worst = best.peek();
+			if(score < worst.score || (score == worst.score && itemID > worst.itemID))
+			    continue;
+			best.poll();
+		    }
+		    best.add(new Match(items.get(itemID), score, itemID));
+		}
+	    }
+	    finally {
+		// only counts of the candidates are touched
+		for(int i = 0; i < candidateCount; i++)
+		    shared[candidates[i]] = 0;
+	    }
+
+	    List<Match> matches = new ArrayList<Match>(best);
+	    Collections.sort(matches, BETTER_FIRST);
+	    return matches;
+	}
+	finally {
+	    lock.readLock().unlock();
+	}
+    }
 
-	nGramize(object);
+    /**
+     * Returns similarity score of sets of N-grams of sizes {@code size1}
+     * and {@code size2} sharing {@code shared} N-grams.
+     *
+     * @param shared number of shared N-grams
+     * @param size1 number of distinct N-grams of one
+     * @param size2 number of distinct N-grams of the other
+     * @return similarity score between zero and one
+     */
+    protected double getScore(int shared, int size1, int size2)
+    {
+	switch(similarity) {
+	case JACCARD:
+	    return (double)shared / (size1 + size2 - shared);
+	default:
+	    return 2.0 * shared / (size1 + size2);
+	}
     }
 
-    protected void nGramize(Object object)
+    /**
+     * Returns literal of {@code object} to be indexed.
+     *
+     * @param object to be indexed
+     * @return literal of {@code object}
+     */
+    protected String getKey(Object object)
     {
-	String key = null;
 	if(object instanceof Name)
-	    key = ((Name<?>)object).getLiteral();
-	else
-	    key = object.toString();
+	    return ((Name<?>)object).getLiteral();
+	return object.toString();
+    }
 
-	if(nGram == null)
-	    nGram = Collections.synchronizedMap(new HashMap<String, Set<Object>>());
+    protected void nGramize(int itemID, Object object)
+    {
+	String key = getKey(object);
+	if(key == null)
+	    key = "";
 
-	if(key.length() <= keyLength) {
-	    put(key, object);
-	    return;
+	int count = getGramCount(key);
+	int distinct = 0;
+	for(int i = 0; i < count; i++) {
+	    if(addPosting(internGram(key, i, getGramLength(key, i)), itemID))
+		distinct++;
 	}
+	gramCounts[itemID] = distinct;
+    }
+
+    /**
+     * Returns number of N-grams of {@code key}, i.e. one if it is not
+     * longer than the key length, or N-grams starting at each character
+     * including suffixes shorter than the key length.
+     *
+     * @param key {@code String} to be split
+     * @return number of N-grams
+     */
+    protected int getGramCount(String key)
+    {
+	return key.length() <= keyLength ? 1 : key.length();
+    }
+
+    /**
+     * Returns length of N-gram of {@code key} starting at {@code offset}.
+     *
+     * @param key {@code String} to be split
+     * @param offset of the N-gram
+     * @return length of the N-gram
+     */
+    protected int getGramLength(String key, int offset)
+    {
+	return Math.min(keyLength, key.length() - offset);
+    }
 
-	int limit = key.length() - keyLength;
-	int i = 0;
-	for(; i < limit; i++)
-	    put(key.substring(i, i+keyLength), object);
+    protected void clearGrams()
+    {
+	gramCount = 0;
+	grams = new String[INITIAL_CAPACITY];
+	gramTable = new int[INITIAL_CAPACITY * 2];
+	postings = new int[INITIAL_CAPACITY][];
+	postingSizes = new int[INITIAL_CAPACITY];
+    }
+
+    protected static int grow(int size)
+    {
+	return Math.max(size + (size >> 1), INITIAL_CAPACITY);
+    }
 
-	limit = key.length();
-	for(; i < limit; i++)
-	    put(key.substring(i), object);
+    protected static int hash(String key, int offset, int length)
+    {
+	int hash = 0;
+	for(int i = offset + length - 1; i >= offset; i--)
+	    hash = 31 * hash + key.charAt(i);
+	return hash ^ (hash >>> 16);
     }
 
-    protected void put(String key, Object object)
+    /**
+     * Returns ID of N-gram of {@code key} at {@code offset}, or -1 if it
+     * is not indexed.
+     */
+    protected int getGramID(String key, int offset, int length)
     {
-	Set<Object> set = nGram.get(key);
-	if(set == null) {
-	    set = Collections.synchronizedSet(new HashSet<Object>());
-	    nGram.put(key, set);
+	int mask = gramTable.length - 1;
+	for(int slot = hash(key, offset, length) & mask; gramTable[slot] != 0; slot = (slot + 1) & mask) {
+	    String gram = grams[gramTable[slot] - 1];
+	    if(gram.length() == length && key.regionMatches(offset, gram, 0, length))
+		return gramTable[slot] - 1;
+	}
+	return -1;
+    }
+
+    /**
+     * Returns ID of N-gram of {@code key} at {@code offset}, interning
+     * it if it is not indexed yet.
+     */
+    protected int internGram(String key, int offset, int length)
+    {
+	int gramID = getGramID(key, offset, length);
+	if(gramID >= 0)
+	    return gramID;
+
+	gramID = gramCount++;
+	if(gramID == grams.length) {
+	    int capacity = grams.length * 2;
+	    grams = Arrays.copyOf(grams, capacity);
+	    postings = Arrays.copyOf(postings, capacity);
+	    postingSizes = Arrays.copyOf(postingSizes, capacity);
+	    rehash(capacity * 2);
+	}
+	grams[gramID] = key.substring(offset, offset + length);
+	insertGram(gramID);
+	return gramID;
+    }
+
+    protected void insertGram(int gramID)
+    {
+	String gram = grams[gramID];
+	int mask = gramTable.length - 1;
+	int slot = hash(gram, 0, gram.length()) & mask;
+	while(gramTable[slot] != 0)
+	    slot = (slot + 1) & mask;
+	gramTable[slot] = gramID + 1;
+    }
+
+    protected void rehash(int capacity)
+    {
+	gramTable = new int[capacity];
+	for(int gramID = 0; gramID < gramCount - 1; gramID++)
+	    insertGram(gramID);
+    }
+
+    /**
+     * Adds {@code itemID} to the posting list of {@code gramID}.
+     *
+     * @return false if the item was already in the posting list
+     */
+    protected boolean addPosting(int gramID, int itemID)
+    {
+	int[] posting = postings[gramID];
+	int size = postingSizes[gramID];
+	if(posting == null) {
+	    posting = new int[2];
+	    postings[gramID] = posting;
+	}
+	else if(posting[size - 1] == itemID) {
+	    return false;
+	}
+	else if(size == posting.length) {
+	    posting = Arrays.copyOf(posting, size * 2);
+	    postings[gramID] = posting;
 	}
-	set.add(object);
+	posting[size] = itemID;
+	postingSizes[gramID] = size + 1;
+	return true;
     }
 }
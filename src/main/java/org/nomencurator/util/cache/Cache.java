@@ -0,0 +1,107 @@
+/*
+ * Cache.java:  an interface of bounded object caches
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.util.Collection;
+
+/**
+ * {@code Cache} defines an interface of object caches which may
+ * evict their entries by size, weight or age.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public interface Cache<K, V>
+{
+    /**
+     * Returns the value cached for {@code key}, or null if it is
+     * absent or expired.
+     *
+     * @param key to look up
+     * @return cached value or null
+     */
+    public V get(K key);
+
+    /**
+     * Caches {@code value} under {@code key}.
+     *
+     * @param key of the entry
+     * @param value to cache
+     * @return value previously cached under the {@code key}, or null
+     */
+    public V put(K key, V value);
+
+    /**
+     * Caches {@code value} under {@code key} unless a live entry
+     * exists for the {@code key}.
+     *
+     * @param key of the entry
+     * @param value to cache
+     * @return value already cached under the {@code key}, or null if {@code value} was cached
+     */
+    public V putIfAbsent(K key, V value);
+
+    /**
+     * Removes the entry for {@code key}.
+     *
+     * @param key of the entry to remove
+     * @return removed value or null
+     */
+    public V remove(K key);
+
+    /**
+     * Removes all entries.
+     */
+    public void clear();
+
+    /**
+     * Returns number of entries in the cache.
+     *
+     * @return number of entries
+     */
+    public int size();
+
+    /**
+     * Returns total weight of entries in the cache.
+     *
+     * @return total weight of entries
+     */
+    public long getWeight();
+
+    /**
+     * Returns a snapshot of cached values.
+     *
+     * @return {@code Collection} of cached values
+     */
+    public Collection<V> values();
+
+    /**
+     * Returns statistics of the cache.
+     *
+     * @return {@code CacheStatistics} of the cache
+     */
+    public CacheStatistics getStatistics();
+
+    public void addEvictionListener(EvictionListener<K, V> listener);
+
+    public void removeEvictionListener(EvictionListener<K, V> listener);
+}
@@ -0,0 +1,120 @@
+/*
+ * CacheStatistics.java:  counters of cache access
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code CacheStatistics} counts hits, misses and evictions of a {@code Cache}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class CacheStatistics
+{
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    protected final LongAdder evictions = new LongAdder();
+
+    protected final LongAdder expirations = new LongAdder();
+
+    public void recordHit()
+    {
+	hits.increment();
+    }
+
+    public void recordMiss()
+    {
+	misses.increment();
+    }
+
+    public void recordEviction()
+    {
+	evictions.increment();
+    }
+
+    public void recordExpiration()
+    {
+	expirations.increment();
+    }
+
+    public long getHitCount()
+    {
+	return hits.sum();
+    }
+
+    public long getMissCount()
+    {
+	return misses.sum();
+    }
+
+    public long getRequestCount()
+    {
+	return getHitCount() + getMissCount();
+    }
+
+    /**
+     * Returns number of entries evicted to keep the cache in its bounds.
+     *
+     * @return number of evicted entries
+     */
+    public long getEvictionCount()
+    {
+	return evictions.sum();
+    }
+
+    public long getExpirationCount()
+    {
+	return expirations.sum();
+    }
+
+    /**
+     * Returns ratio of hits to requests, or 1.0 if no request was made.
+     *
+     * @return hit rate
+     */
+    public double getHitRate()
+    {
+	long requests = getRequestCount();
+	return (requests == 0) ? 1.0 : (double)getHitCount() / requests;
+    }
+
+    public void reset()
+    {
+	hits.reset();
+	misses.reset();
+	evictions.reset();
+	expirations.reset();
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[hits=").append(getHitCount())
+	    .append(", misses=").append(getMissCount())
+	    .append(", evictions=").append(getEvictionCount())
+	    .append(", expirations=").append(getExpirationCount())
+	    .append("]").toString();
+    }
+}
@@ -0,0 +1,634 @@
+/*
+ * DiskResponseCache.java:  a file-backed cache of web service responses
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code DiskResponseCache} keeps bodies of web service responses in
+ * files under a directory so that they survive restart of the application.
+ *
+ * An entry is identified by the resource URL and the Accept-Language
+ * of the request.  Entries younger than {@code maxAge} are served without
+ * network access; older entries are revalidated using ETag and
+ * Last-Modified, and served stale if the service is unreachable.
+ * An entry is removed when the service answers that the resource is
+ * not found or gone.
+ * In offline mode no network access is made at all, which allows
+ * tests to run against a recorded cache directory.
+ * <P>
+ * Bodies are streamed from the network to entry files, and served
+ * by reading the files, so that a large response is never held in
+ * memory.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class DiskResponseCache
+{
+    /** Default maximum size of cache directory in bytes */
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024L * 1024L;
+
+    /** Default maximum age of entries to be served without revalidation in milliseconds */
+    public static final long DEFAULT_MAX_AGE = 7L * 24L * 60L * 60L * 1000L;
+
+    protected static final int MAGIC = 0x4e435244; // "NCRD"
+
+    /** offset of the time stored in an entry file, following {@code MAGIC} */
+    protected static final long STORED_OFFSET = 4L;
+
+    protected static final String SUFFIX = ".entry";
+
+    protected final File directory;
+
+    protected volatile long maxSize;
+
+    protected volatile long maxAge;
+
+    protected volatile boolean offline;
+
+    protected volatile int timeout;
+
+    /** sizes of entry files indexed by file name */
+    protected final Map<String, Long> sizes;
+
+    protected final AtomicLong totalSize;
+
+    protected final CacheStatistics statistics;
+
+    /** number of entries revalidated by conditional requests */
+    protected final AtomicLong revalidations;
+
+    public DiskResponseCache(File directory)
+	throws IOException
+    {
+	this(directory, DEFAULT_MAX_SIZE);
+    }
+
+    public DiskResponseCache(File directory, long maxSize)
+	throws IOException
+    {
+	if(!directory.isDirectory() && !directory.mkdirs())
+	    throw new IOException("cannot create cache directory " + directory);
+
+	this.directory = directory;
+	this.maxSize = maxSize;
+	maxAge = DEFAULT_MAX_AGE;
+	timeout = 0;
+	sizes = new ConcurrentHashMap<String, Long>();
+	totalSize = new AtomicLong();
+	statistics = new CacheStatistics();
+	revalidations = new AtomicLong();
+
+	File[] files = directory.listFiles();
+	if(files != null) {
+	    for(File file : files) {
+		if(file.getName().endsWith(SUFFIX)) {
+		    sizes.put(file.getName(), file.length());
+		    totalSize.addAndGet(file.length());
+		}
+	    }
+	}
+    }
+
+    public File getDirectory()
+    {
+	return directory;
+    }
+
+    public long getMaxSize()
+    {
+	return maxSize;
+    }
+
+    /**
+     * Sets maximum total size of entry files.  Least recently used
+     * entries are removed when the total size exceeds {@code maxSize}.
+     *
+     * @param maxSize in bytes, or non-positive for unlimited
+     */
+    public void setMaxSize(long maxSize)
+    {
+	this.maxSize = maxSize;
+	trim();
+    }
+
+    public long getMaxAge()
+    {
+	return maxAge;
+    }
+
+    /**
+     * Sets maximum age of entries to be served without revalidation.
+     *
+     * @param maxAge in milliseconds, zero to revalidate always, or negative never to revalidate
+     */
+    public void setMaxAge(long maxAge)
+    {
+	this.maxAge = maxAge;
+    }
+
+    public boolean isOffline()
+    {
+	return offline;
+    }
+
+    /**
+     * Sets offline mode.  In offline mode only cached entries are
+     * served and a request of uncached resource fails.
+     *
+     * @param offline true to avoid any network access
+     */
+    public void setOffline(boolean offline)
+    {
+	this.offline = offline;
+    }
+
+    public int getTimeout()
+    {
+	return timeout;
+    }
+
+    /**
+     * Sets connect and read timeout of network access.
+     *
+     * @param timeout in milliseconds, or zero for infinite
+     */
+    public void setTimeout(int timeout)
+    {
+	this.timeout = timeout;
+    }
+
+    public CacheStatistics getStatistics()
+    {
+	return statistics;
+    }
+
+    public long getRevalidationCount()
+    {
+	return revalidations.get();
+    }
+
+    public int size()
+    {
+	return sizes.size();
+    }
+
+    public long getTotalSize()
+    {
+	return totalSize.get();
+    }
+
+    /**
+     * Returns an {@code InputStream} to read body of the resource,
+     * from the cache if possible.
+     *
+     * @param resourceURL URL of the resource
+     * @param acceptLanguage value of Accept-Language request property, or null
+     * @return {@code InputStream} to read the body of the resource
+     * @exception IOException if the resource is neither cached nor retrievable
+     */
+    public InputStream get(String resourceURL, String acceptLanguage)
+	throws IOException
+    {
+	String key = getKey(resourceURL, acceptLanguage);
+	File file = new File(directory, getFileName(key));
+	Entry entry = read(file, key);
+
+	if(entry != null
+	   && (offline || maxAge < 0 || System.currentTimeMillis() - entry.stored < maxAge)) {
+	    InputStream body = open(file, key);
+	    if(body != null) {
+		statistics.recordHit();
+		touch(file);
+		return body;
+	    }
+	    // removed after its header was read
+	    entry = null;
+	}
+
+	if(offline) {
+	    statistics.recordMiss();
+	    throw new FileNotFoundException("offline and not cached: " + resourceURL);
+	}
+
+	URLConnection connection = null;
+	try {
+	    connection = new URL(resourceURL).openConnection();
+	    if(timeout > 0) {
+		connection.setConnectTimeout(timeout);
+		connection.setReadTimeout(timeout);
+	    }
+	    if(acceptLanguage != null && acceptLanguage.length() > 0)
+		connection.setRequestProperty("Accept-Language", acceptLanguage);
+	    if(entry != null) {
+		if(entry.etag.length() > 0)
+		    connection.setRequestProperty("If-None-Match", entry.etag);
+		if(entry.lastModified.length() > 0)
+		    connection.setRequestProperty("If-Modified-Since", entry.lastModified);
+	    }
+
+	    if(entry != null
+	       && connection instanceof HttpURLConnection
+	       && ((HttpURLConnection)connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+		InputStream body = open(file, key);
+		if(body != null) {
+		    statistics.recordHit();
+		    revalidations.incrementAndGet();
+		    restamp(file, System.currentTimeMillis());
+		    return body;
+		}
+		throw new FileNotFoundException("cached entry removed: " + resourceURL);
+	    }
+
+	    InputStream in = connection.getInputStream();
+	    statistics.recordMiss();
+	    String etag = connection.getHeaderField("ETag");
+	    String lastModified = connection.getHeaderField("Last-Modified");
+	    write(file, new Entry(key, etag, lastModified, System.currentTimeMillis()), in);
+	    // opened before trimming not to lose an entry larger than the maximum size
+	    InputStream body = open(file, key);
+	    trim();
+	    if(body == null)
+		throw new IOException("cached entry unreadable: " + resourceURL);
+	    return body;
+	}
+	catch (IOException e) {
+	    int status = -1;
+	    // connections read through are left to the keep-alive pool
+	    if(connection instanceof HttpURLConnection) {
+		status = getResponseCode((HttpURLConnection)connection);
+		((HttpURLConnection)connection).disconnect();
+	    }
+	    if(entry == null)
+		throw e;
+	    if(status == HttpURLConnection.HTTP_NOT_FOUND
+	       || status == HttpURLConnection.HTTP_GONE) {
+		remove(file);
+		statistics.recordMiss();
+		throw e;
+	    }
+	    // the service answered, with an error which a stale entry would hide
+	    if(status >= HttpURLConnection.HTTP_BAD_REQUEST)
+		throw e;
+	    // serve stale entry while the service is unreachable
+	    InputStream body = open(file, key);
+	    if(body == null)
+		throw e;
+	    statistics.recordHit();
+	    return body;
+	}
+    }
+
+    /**
+     * Returns response code of the {@code connection}, or -1 if
+     * the service did not answer.
+     *
+     * @param connection to examine
+     * @return HTTP status code, or -1 on connectivity failure
+     */
+    protected static int getResponseCode(HttpURLConnection connection)
+    {
+	try {
+	    return connection.getResponseCode();
+	}
+	catch (IOException e) {
+	    return -1;
+	}
+    }
+
+    /**
+     * Removes the entry of the resource.
+     *
+     * @param resourceURL URL of the resource
+     * @param acceptLanguage value of Accept-Language request property, or null
+     */
+    public void remove(String resourceURL, String acceptLanguage)
+    {
+	remove(new File(directory, getFileName(getKey(resourceURL, acceptLanguage))));
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear()
+    {
+	for(String name : new ArrayList<String>(sizes.keySet()))
+	    remove(new File(directory, name));
+    }
+
+    protected String getKey(String resourceURL, String acceptLanguage)
+    {
+	if(acceptLanguage == null || acceptLanguage.length() == 0)
+	    return resourceURL;
+	return new StringBuffer(resourceURL).append(' ').append(acceptLanguage).toString();
+    }
+
+    protected String getFileName(String key)
+    {
+	try {
+	    byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+	    StringBuffer name = new StringBuffer(digest.length * 2 + SUFFIX.length());
+	    for(byte b : digest) {
+		name.append(Character.forDigit((b >> 4) & 0xf, 16));
+		name.append(Character.forDigit(b & 0xf, 16));
+	    }
+	    return name.append(SUFFIX).toString();
+	}
+	catch (NoSuchAlgorithmException e) {
+	    // every Java platform is required to support SHA-1
+	    throw new IllegalStateException(e);
+	}
+    }
+
+    /**
+     * Returns the header of the entry of {@code key} in the {@code file},
+     * or null if the file is not an entry of {@code key}.
+     *
+     * @param file to read
+     * @param key of the entry
+     * @return {@code Entry} without body, or null
+     */
+    protected Entry read(File file, String key)
+    {
+	DataInputStream in = openFile(file);
+	if(in == null)
+	    return null;
+
+	Entry entry = null;
+	try {
+	    entry = readHeader(in, key);
+	}
+	catch (IOException e) {
+	    remove(file);
+	}
+	finally {
+	    try {
+		in.close();
+	    }
+	    catch (IOException e) {
+	    }
+	}
+	return entry;
+    }
+
+    /**
+     * Returns an {@code InputStream} to read the body of the entry of
+     * {@code key} in the {@code file}, or null if the file is not an
+     * entry of {@code key}.
+     *
+     * @param file to read
+     * @param key of the entry
+     * @return {@code InputStream} positioned at the body, or null
+     */
+    protected InputStream open(File file, String key)
+    {
+	DataInputStream in = openFile(file);
+	if(in == null)
+	    return null;
+
+	try {
+	    if(readHeader(in, key) != null)
+		return in;
+	}
+	catch (IOException e) {
+	    remove(file);
+	}
+	try {
+	    in.close();
+	}
+	catch (IOException e) {
+	}
+	return null;
+    }
+
+    protected DataInputStream openFile(File file)
+    {
+	if(!file.isFile())
+	    return null;
+
+	try {
+	    return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+	}
+	catch (FileNotFoundException e) {
+	    return null;
+	}
+    }
+
+    /**
+     * Reads the header of an entry file from {@code in}, which is
+     * positioned at the body on return.
+     *
+     * @param in to read
+     * @param key of the entry
+     * @return {@code Entry} without body, or null if {@code in} is not an entry of {@code key}
+     * @exception IOException if the file is truncated
+     */
+    protected Entry readHeader(DataInputStream in, String key)
+	throws IOException
+    {
+	if(in.readInt() != MAGIC)
+	    return null;
+	long stored = in.readLong();
+	String storedKey = in.readUTF();
+	// different keys of the same digest are not expected but possible
+	if(!key.equals(storedKey))
+	    return null;
+	String etag = in.readUTF();
+	String lastModified = in.readUTF();
+	return new Entry(storedKey, etag, lastModified, stored);
+    }
+
+    /**
+     * Updates the time the entry in the {@code file} was stored,
+     * ignoring failure which only costs a later revalidation.
+     *
+     * @param file to update
+     * @param stored time in milliseconds
+     */
+    protected void restamp(File file, long stored)
+    {
+	RandomAccessFile out = null;
+	try {
+	    out = new RandomAccessFile(file, "rw");
+	    out.seek(STORED_OFFSET);
+	    out.writeLong(stored);
+	}
+	catch (IOException e) {
+	}
+	finally {
+	    if(out != null) {
+		try {
+		    out.close();
+		}
+		catch (IOException e) {
+		}
+	    }
+	}
+    }
+
+    /**
+     * Writes the {@code entry} with {@code body} to the {@code file},
+     * replacing it atomically.  The {@code body} is closed on return.
+     *
+     * @param file to write
+     * @param entry header to be written
+     * @param body to be copied to the file
+     * @exception IOException if reading the body or writing the file failed
+     */
+    protected void write(File file, Entry entry, InputStream body)
+	throws IOException
+    {
+	File temporary = null;
+	DataOutputStream out = null;
+	try {
+	    temporary = File.createTempFile("entry", ".tmp", directory);
+	    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+	    out.writeInt(MAGIC);
+	    out.writeLong(entry.stored);
+	    out.writeUTF(entry.key);
+	    out.writeUTF(entry.etag);
+	    out.writeUTF(entry.lastModified);
+	    copy(body, out);
+	    out.close();
+	    out = null;
+	    Files.move(temporary.toPath(), file.toPath(),
+		       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	finally {
+	    body.close();
+	    if(out != null)
+		out.close();
+	    if(temporary != null)
+		temporary.delete();
+	}
+
+	long length = file.length();
+	Long previous = sizes.put(file.getName(), length);
+	totalSize.addAndGet(length - (previous == null ? 0L : previous.longValue()));
+    }
+
+    protected static void copy(InputStream in, OutputStream out)
+	throws IOException
+    {
+	byte[] buffer = new byte[8192];
+	int length = 0;
+	while((length = in.read(buffer)) != -1)
+	    out.write(buffer, 0, length);
+    }
+
+    protected void touch(File file)
+    {
+	file.setLastModified(System.currentTimeMillis());
+    }
+
+    protected void remove(File file)
+    {
+	Long size = sizes.remove(file.getName());
+	if(size != null)
+	    totalSize.addAndGet(-size.longValue());
+	file.delete();
+    }
+
+    /**
+     * Removes least recently used entries until the total size
+     * falls within the maximum size.
+     */
+    protected void trim()
+    {
+	if(maxSize <= 0 || totalSize.get() <= maxSize)
+	    return;
+
+	synchronized(this) {
+	    List<Entry> entries = new ArrayList<Entry>(sizes.size());
+	    for(String name : sizes.keySet()) {
+		// the last modified time of a file is its last access time
+		File file = new File(directory, name);
+		entries.add(new Entry(name, null, null, file.lastModified()));
+	    }
+	    Collections.sort(entries, new Comparator<Entry>() {
+		    public int compare(Entry e1, Entry e2) {
+			return Long.compare(e1.stored, e2.stored);
+		    }
+		});
+	    for(int i = 0; i < entries.size() && totalSize.get() > maxSize; i++) {
+		remove(new File(directory, entries.get(i).key));
+		statistics.recordEviction();
+	    }
+	    entries.clear();
+	}
+    }
+
+    /**
+     * Header of a cached response, of which body is kept in the entry file.
+     */
+    protected static class Entry
+    {
+	protected final String key;
+
+	protected final String etag;
+
+	protected final String lastModified;
+
+	protected final long stored;
+
+	protected Entry(String key, String etag, String lastModified, long stored)
+	{
+	    this.key = key;
+	    this.etag = (etag == null) ? "" : etag;
+	    this.lastModified = (lastModified == null) ? "" : lastModified;
+	    this.stored = stored;
+	}
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * EvictionEvent.java:  an event of cache eviction
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.util.EventObject;
+
+import lombok.Getter;
+
+/**
+ * {@code EvictionEvent} informs an entry removed from a {@code Cache}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class EvictionEvent<K, V>
+    extends EventObject
+{
+    private static final long serialVersionUID = -3187642040945215631L;
+
+    /** Reasons of eviction */
+    public static enum Cause {
+	/** exceeded maximum number of entries or maximum weight */
+	SIZE,
+	/** lived longer than time to live */
+	EXPIRED,
+	/** replaced by another value of the same key */
+	REPLACED,
+	/** removed by {@code remove} or {@code clear} */
+	EXPLICIT
+    }
+
+    @Getter
+    protected transient K key;
+
+    @Getter
+    protected transient V value;
+
+    @Getter
+    protected Cause cause;
+
+    public EvictionEvent(Cache<K, V> source, K key, V value, Cause cause)
+    {
+	super(source);
+	this.key = key;
+	this.value = value;
+	this.cause = cause;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * EvictionListener.java:  a listener of cache evictions
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.util.EventListener;
+
+/**
+ * {@code EvictionListener} defines an interface to listen for {@code EvictionEvent}s.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public interface EvictionListener<K, V>
+    extends EventListener
+{
+    /**
+     * Invoked when an entry was removed from the source {@code Cache}
+     * of the {@code event}.
+     *
+     * @param event an {@code EvictionEvent} object
+     */
+    public void entryEvicted(EvictionEvent<K, V> event);
+}
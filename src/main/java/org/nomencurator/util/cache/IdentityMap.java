@@ -0,0 +1,543 @@
+/*
+ * IdentityMap.java:  an int keyed map of weakly or softly referred values
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.util.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+import java.util.WeakHashMap;
+
+/**
+ * {@code IdentityMap} maps {@code int} keys, e.g. object IDs in a
+ * database, to values held by weak or soft references, so that
+ * values not used elsewhere can be reclaimed by garbage collector.
+ * Keys are not boxed.
+ *
+ * Up to {@code capacity} values put or found most recently are held
+ * strongly in addition, to keep values of a working set from being
+ * reclaimed.  Entries of reclaimed values are removed on updates.
+ *
+ * A value can be looked up to get its key.  The lookup uses
+ * {@code equals()} of values.
+ *
+ * Entries are distributed over segments by their keys, each guarded
+ * by its own lock, so that lookups of different keys rarely contend.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class IdentityMap<V>
+{
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /** Strength of references to values */
+    public enum Strength {
+	/** Values are reclaimed when they are not used elsewhere */
+	WEAK,
+	/** Values are reclaimed under memory pressure */
+	SOFT
+    }
+
+    protected final Segment<V>[] segments;
+
+    protected final Inverse<V>[] inverses;
+
+    protected final int segmentMask;
+
+    protected final Strength strength;
+
+    protected final CacheStatistics statistics;
+
+    /**
+     * Constructs an {@code IdentityMap} holding values weakly, so that
+     * it does not keep values its owner no longer uses.  Owners able
+     * to load values again, but only at a cost, may prefer
+     * {@code Strength.SOFT}.
+     */
+    public IdentityMap()
+    {
+	this(Strength.WEAK, DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public IdentityMap(Strength strength, int capacity)
+    {
+	this(strength, capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs an {@code IdentityMap}.
+     *
+     * @param strength of references to values
+     * @param capacity number of recently used values held strongly, or non-positive for none
+     * @param concurrencyLevel expected number of concurrently updating threads
+     */
+    @SuppressWarnings("unchecked")
+    public IdentityMap(Strength strength, int capacity, int concurrencyLevel)
+    {
+	if(strength == null)
+	    throw new NullPointerException();
+	if(concurrencyLevel < 1)
+	    concurrencyLevel = 1;
+
+	int segmentCount = 1;
+	while(segmentCount < concurrencyLevel)
+	    segmentCount <<= 1;
+
+	int strongPerSegment = (capacity > 0) ? (capacity + segmentCount - 1) / segmentCount : 0;
+
+	segments = (Segment<V>[])new Segment<?>[segmentCount];
+	inverses = (Inverse<V>[])new Inverse<?>[segmentCount];
+	for(int i = 0; i < segmentCount; i++) {
+	    segments[i] = new Segment<V>(strongPerSegment);
+	    inverses[i] = new Inverse<V>();
+	}
+	segmentMask = segmentCount - 1;
+
+	this.strength = strength;
+	statistics = new CacheStatistics();
+    }
+
+    protected static int hash(int h)
+    {
+	h *= 0x9E3779B9;
+	return h ^ (h >>> 16);
+    }
+
+    protected Segment<V> segmentFor(int key)
+    {
+	return segments[hash(key) & segmentMask];
+    }
+
+    protected Inverse<V> inverseFor(Object value)
+    {
+	return inverses[hash(value.hashCode()) & segmentMask];
+    }
+
+    public Strength getStrength()
+    {
+	return strength;
+    }
+
+    /**
+     * Returns value of {@code key}, or null if it is not mapped
+     * or the value was reclaimed.
+     *
+     * @param key of the value
+     * @return value of the {@code key} or null
+     */
+    public V get(int key)
+    {
+	Segment<V> segment = segmentFor(key);
+	V value = null;
+	synchronized(segment) {
+	    Entry<V> entry = segment.get(key);
+	    if(entry != null) {
+		value = entry.get();
+		if(value != null)
+		    segment.hold(value);
+	    }
+	}
+
+	if(value == null)
+	    statistics.recordMiss();
+	else
+	    statistics.recordHit();
+	return value;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}
+     *
+     * @param key of the {@code value}
+     * @param value to be mapped
+     * @return value previously mapped from {@code key}, or null
+     */
+    public V put(int key, V value)
+    {
+	if(value == null)
+	    throw new NullPointerException();
+
+	Segment<V> segment = segmentFor(key);
+	Entry<V> entry = null;
+	Entry<V> previous = null;
+	synchronized(segment) {
+	    expunge(segment);
+	    entry = (strength == Strength.SOFT) ?
+		new SoftEntry<V>(key, value, segment.queue) :
+		new WeakEntry<V>(key, value, segment.queue);
+	    previous = segment.put(entry);
+	    segment.hold(value);
+	}
+
+	V previousValue = null;
+	if(previous != null) {
+	    previousValue = previous.get();
+	    unmapInverse(previous);
+	}
+	Inverse<V> inverse = inverseFor(value);
+	synchronized(inverse) {
+	    inverse.map.put(value, entry);
+	}
+
+	return previousValue;
+    }
+
+    /**
+     * Removes mapping of {@code key}
+     *
+     * @param key to be removed
+     * @return value mapped from {@code key}, or null
+     */
+    public V remove(int key)
+    {
+	Segment<V> segment = segmentFor(key);
+	Entry<V> entry = null;
+	synchronized(segment) {
+	    expunge(segment);
+	    entry = segment.remove(key);
+	}
+	if(entry == null)
+	    return null;
+
+	unmapInverse(entry);
+	return entry.get();
+    }
+
+    /**
+     * Returns key of {@code value}, or {@code absent} if
+     * {@code value} is not mapped.
+     *
+     * @param value of which key to be returned
+     * @param absent to be returned if {@code value} is not mapped
+     * @return key of {@code value} or {@code absent}
+     */
+    public int getKey(V value, int absent)
+    {
+	if(value == null)
+	    return absent;
+
+	Entry<V> entry = null;
+	Inverse<V> inverse = inverseFor(value);
+	synchronized(inverse) {
+	    entry = inverse.map.get(value);
+	}
+	return (entry == null) ? absent : entry.getKey();
+    }
+
+    /**
+     * Removes mapping of {@code value} from its key
+     * if {@code entry} is still the mapping.
+     */
+    protected void unmapInverse(Entry<V> entry)
+    {
+	V value = entry.get();
+	if(value == null)
+	    return;
+	Inverse<V> inverse = inverseFor(value);
+	synchronized(inverse) {
+	    if(inverse.map.get(value) == entry)
+		inverse.map.remove(value);
+	}
+    }
+
+    /**
+     * Removes entries of reclaimed values from {@code segment}.
+     * It must be called holding lock of {@code segment}.
+     */
+    protected void expunge(Segment<V> segment)
+    {
+	Reference<? extends V> reference = segment.queue.poll();
+	while(reference != null) {
+	    @SuppressWarnings("unchecked")
+		Entry<V> entry = (Entry<V>)reference;
+	    if(segment.removeEntry(entry))
+		statistics.recordEviction();
+	    reference = segment.queue.poll();
+	}
+    }
+
+    /**
+     * Removes entries of reclaimed values.
+     */
+    public void cleanUp()
+    {
+	for(Segment<V> segment : segments) {
+	    synchronized(segment) {
+		expunge(segment);
+	    }
+	}
+    }
+
+    /**
+     * Returns number of entries, including entries of which values are
+     * reclaimed but not yet removed.
+     *
+     * @return number of entries
+     */
+    public int size()
+    {
+	int size = 0;
+	for(Segment<V> segment : segments) {
+	    synchronized(segment) {
+		size += segment.count;
+	    }
+	}
+	return size;
+    }
+
+    public void clear()
+    {
+	for(Segment<V> segment : segments) {
+	    synchronized(segment) {
+		segment.clear();
+	    }
+	}
+	for(Inverse<V> inverse : inverses) {
+	    synchronized(inverse) {
+		inverse.map.clear();
+	    }
+	}
+    }
+
+    public CacheStatistics getStatistics()
+    {
+	return statistics;
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[strength=").append(strength)
+	    .append(", size=").append(size())
+	    .append(", ").append(statistics)
+	    .append("]").toString();
+    }
+
+    /**
+     * {@code Entry} of a key and a reference to its value,
+     * chained in a bucket of a {@code Segment}.
+     */
+    protected interface Entry<V>
+    {
+	public int getKey();
+
+	public V get();
+
+	public Entry<V> getNext();
+
+	public void setNext(Entry<V> next);
+    }
+
+    protected static class WeakEntry<V>
+	extends WeakReference<V>
+	implements Entry<V>
+    {
+	protected final int key;
+
+	protected Entry<V> next;
+
+	protected WeakEntry(int key, V value, ReferenceQueue<? super V> queue)
+	{
+	    super(value, queue);
+	    this.key = key;
+	}
+
+	public int getKey() { return key; }
+
+	public Entry<V> getNext() { return next; }
+
+	public void setNext(Entry<V> next) { this.next = next; }
+    }
+
+    protected static class SoftEntry<V>
+	extends SoftReference<V>
+	implements Entry<V>
+    {
+	protected final int key;
+
+	protected Entry<V> next;
+
+	protected SoftEntry(int key, V value, ReferenceQueue<? super V> queue)
+	{
+	    super(value, queue);
+	    this.key = key;
+	}
+
+	public int getKey() { return key; }
+
+	public Entry<V> getNext() { return next; }
+
+	public void setNext(Entry<V> next) { this.next = next; }
+    }
+
+    /**
+     * {@code Segment} is a hash table of {@code Entry}s chained in
+     * buckets, with a ring of values held strongly.
+     */
+    protected static class Segment<V>
+    {
+	protected static final int INITIAL_CAPACITY = 16;
+
+	protected final ReferenceQueue<V> queue = new ReferenceQueue<V>();
+
+	protected Entry<V>[] table;
+
+	protected int count;
+
+	protected final Object[] strong;
+
+	protected int hand;
+
+	@SuppressWarnings("unchecked")
+	protected Segment(int strongCapacity)
+	{
+	    table = (Entry<V>[])new Entry<?>[INITIAL_CAPACITY];
+	    strong = new Object[strongCapacity];
+	}
+
+	protected int indexFor(int key, int length)
+	{
+	    return hash(key) & (length - 1);
+	}
+
+	protected Entry<V> get(int key)
+	{
+	    Entry<V> entry = table[indexFor(key, table.length)];
+	    while(entry != null && entry.getKey() != key)
+		entry = entry.getNext();
+	    return entry;
+	}
+
+	/**
+	 * Puts {@code entry} replacing an entry of the same key,
+	 * and returns the replaced entry or null.
+	 */
+	protected Entry<V> put(Entry<V> entry)
+	{
+	    Entry<V> previous = remove(entry.getKey());
+	    if(count >= table.length - (table.length >>> 2))
+		resize();
+	    int index = indexFor(entry.getKey(), table.length);
+	    entry.setNext(table[index]);
+	    table[index] = entry;
+	    count++;
+	    return previous;
+	}
+
+	protected Entry<V> remove(int key)
+	{
+	    int index = indexFor(key, table.length);
+	    Entry<V> previous = null;
+	    Entry<V> entry = table[index];
+	    while(entry != null && entry.getKey() != key) {
+		previous = entry;
+		entry = entry.getNext();
+	    }
+	    if(entry != null)
+		unlink(index, previous, entry);
+	    return entry;
+	}
+
+	/**
+	 * Removes {@code target} if it is in this {@code Segment}.
+	 */
+	protected boolean removeEntry(Entry<V> target)
+	{
+	    int index = indexFor(target.getKey(), table.length);
+	    Entry<V> previous = null;
+	    Entry<V> entry = table[index];
+	    while(entry != null && entry != target) {
+		previous = entry;
+		entry = entry.getNext();
+	    }
+	    if(entry == null)
+		return false;
+	    unlink(index, previous, entry);
+	    return true;
+	}
+
+	protected void unlink(int index, Entry<V> previous, Entry<V> entry)
+	{
+	    if(previous == null)
+		table[index] = entry.getNext();
+	    else
+		previous.setNext(entry.getNext());
+	    entry.setNext(null);
+	    count--;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void resize()
+	{
+	    Entry<V>[] oldTable = table;
+	    Entry<V>[] newTable = (Entry<V>[])new Entry<?>[oldTable.length << 1];
+	    for(int i = 0; i < oldTable.length; i++) {
+		Entry<V> entry = oldTable[i];
+		while(entry != null) {
+		    Entry<V> next = entry.getNext();
+		    int index = indexFor(entry.getKey(), newTable.length);
+		    entry.setNext(newTable[index]);
+		    newTable[index] = entry;
+		    entry = next;
+		}
+	    }
+	    table = newTable;
+	}
+
+	/**
+	 * Holds {@code value} strongly until it is pushed out
+	 * by more recently used values.
+	 */
+	protected void hold(V value)
+	{
+	    if(strong.length == 0)
+		return;
+	    strong[hand] = value;
+	    hand = (hand + 1) % strong.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void clear()
+	{
+	    table = (Entry<V>[])new Entry<?>[INITIAL_CAPACITY];
+	    count = 0;
+	    for(int i = 0; i < strong.length; i++)
+		strong[i] = null;
+	    hand = 0;
+	    while(queue.poll() != null) { }
+	}
+    }
+
+    /**
+     * {@code Inverse} maps values to their {@code Entry}s, without
+     * keeping values from being reclaimed.
+     */
+    protected static class Inverse<V>
+    {
+	protected final WeakHashMap<V, Entry<V>> map = new WeakHashMap<V, Entry<V>>();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * SingleFlight.java:  coalesces concurrent loads of the same key
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.io.InterruptedIOException;
+import java.io.IOException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code SingleFlight} lets concurrent requests of the same key share
+ * one in-flight load, so that e.g. threads of a multiplex query asking
+ * the same usage key issue only one remote call.
+ *
+ * The load is executed by the first requesting thread; other threads
+ * requesting the same key meanwhile wait for and receive its result.
+ * Results are not retained after the load completes, which is the
+ * business of a {@code Cache}.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class SingleFlight<K, V>
+{
+    protected final ConcurrentHashMap<K, Future<V>> flights;
+
+    protected final LongAdder executions;
+
+    protected final LongAdder coalesced;
+
+    public SingleFlight()
+    {
+	flights = new ConcurrentHashMap<K, Future<V>>();
+	executions = new LongAdder();
+	coalesced = new LongAdder();
+    }
+
+    /**
+     * Returns the value loaded by {@code loader}, or by a load of the
+     * same {@code key} already in flight.
+     *
+     * @param key identifying the load
+     * @param loader to load the value if no load of the {@code key} is in flight
+     * @return loaded value
+     * @exception IOException thrown by the load, or wrapping a checked exception of the load
+     */
+    public V execute(K key, Callable<V> loader)
+	throws IOException
+    {
+	FutureTask<V> task = new FutureTask<V>(loader);
+	Future<V> flight = flights.putIfAbsent(key, task);
+	if(flight != null) {
+	    coalesced.increment();
+	    return await(flight);
+	}
+
+	executions.increment();
+	try {
+	    task.run();
+	}
+	finally {
+	    flights.remove(key, task);
+	}
+	return await(task);
+    }
+
+    protected V await(Future<V> flight)
+	throws IOException
+    {
+	try {
+	    return flight.get();
+	}
+	catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    InterruptedIOException interrupted = new InterruptedIOException();
+	    interrupted.initCause(e);
+	    throw interrupted;
+	}
+	catch (ExecutionException e) {
+	    Throwable cause = e.getCause();
+	    if(cause instanceof IOException)
+		throw (IOException)cause;
+	    if(cause instanceof RuntimeException)
+		throw (RuntimeException)cause;
+	    if(cause instanceof Error)
+		throw (Error)cause;
+	    throw new IOException(cause);
+	}
+    }
+
+    /**
+     * Returns number of loads in flight.
+     *
+     * @return number of loads in flight
+     */
+    public int getInFlightCount()
+    {
+	return flights.size();
+    }
+
+    /**
+     * Returns number of loads actually executed.
+     *
+     * @return number of executed loads
+     */
+    public long getExecutionCount()
+    {
+	return executions.sum();
+    }
+
+    /**
+     * Returns number of requests which shared a load in flight
+     * instead of executing their own.
+     *
+     * @return number of coalesced requests
+     */
+    public long getCoalescedCount()
+    {
+	return coalesced.sum();
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[executions=").append(getExecutionCount())
+	    .append(", coalesced=").append(getCoalescedCount())
+	    .append("]").toString();
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * StripedCache.java:  a lock-striped LRU cache with time to live
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code StripedCache} provides a {@code Cache} bounded by number of
+ * entries and/or total weight, evicting least recently used entries
+ * first and optionally expiring entries after a time to live.
+ *
+ * Entries are distributed over segments by hash of keys, each guarded
+ * by its own lock, so that lookups of different keys rarely contend.
+ * Bounds are applied per segment, i.e. each segment holds at most
+ * its share of maximum entries and weight.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class StripedCache<K, V>
+    implements Cache<K, V>
+{
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /** Value indicating no bound or no expiration */
+    public static final long UNLIMITED = -1L;
+
+    protected final Segment<K, V>[] segments;
+
+    protected final int segmentMask;
+
+    /** time to live in nano seconds, or non-positive for no expiration */
+    protected final long timeToLive;
+
+    protected final Weigher<? super K, ? super V> weigher;
+
+    protected final CacheStatistics statistics;
+
+    protected final List<EvictionListener<K, V>> listeners;
+
+    public StripedCache(int maxEntries)
+    {
+	this(maxEntries, UNLIMITED, TimeUnit.NANOSECONDS);
+    }
+
+    public StripedCache(int maxEntries, long timeToLive, TimeUnit unit)
+    {
+	this(maxEntries, UNLIMITED, null, timeToLive, unit, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public StripedCache(long maxWeight, Weigher<? super K, ? super V> weigher, long timeToLive, TimeUnit unit)
+    {
+	this((int)UNLIMITED, maxWeight, weigher, timeToLive, unit, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a {@code StripedCache}.
+     *
+     * @param maxEntries maximum number of entries, or non-positive for unlimited
+     * @param maxWeight maximum total weight given by {@code weigher}, or non-positive for unlimited
+     * @param weigher to weigh entries, or null to weigh each entry as one
+     * @param timeToLive time to live after put, or non-positive for no expiration
+     * @param unit of {@code timeToLive}
+     * @param concurrencyLevel expected number of concurrently updating threads
+     */
+    @SuppressWarnings("unchecked")
+    public StripedCache(int maxEntries, long maxWeight, Weigher<? super K, ? super V> weigher,
+			long timeToLive, TimeUnit unit, int concurrencyLevel)
+    {
+	if(concurrencyLevel < 1)
+	    concurrencyLevel = 1;
+	if(maxEntries > 0 && concurrencyLevel > maxEntries)
+	    concurrencyLevel = maxEntries;
+	if(maxWeight > 0 && concurrencyLevel > maxWeight)
+	    concurrencyLevel = (int)maxWeight;
+
+	int segmentCount = 1;
+	while(segmentCount < concurrencyLevel)
+	    segmentCount <<= 1;
+	if(segmentCount > concurrencyLevel)
+	    segmentCount >>= 1;
+
+	int entriesPerSegment = (maxEntries > 0) ? (maxEntries + segmentCount - 1) / segmentCount : -1;
+	long weightPerSegment = (maxWeight > 0) ? (maxWeight + segmentCount - 1) / segmentCount : -1L;
+
+	segments = (Segment<K, V>[])new Segment<?, ?>[segmentCount];
+	for(int i = 0; i < segmentCount; i++)
+	    segments[i] = new Segment<K, V>(entriesPerSegment, weightPerSegment);
+	segmentMask = segmentCount - 1;
+
+	this.weigher = weigher;
+	this.timeToLive = (timeToLive > 0 && unit != null) ? unit.toNanos(timeToLive) : UNLIMITED;
+	statistics = new CacheStatistics();
+	listeners = new CopyOnWriteArrayList<EvictionListener<K, V>>();
+    }
+
+    protected Segment<K, V> segmentFor(Object key)
+    {
+	int h = key.hashCode();
+	h ^= (h >>> 16);
+	return segments[h & segmentMask];
+    }
+
+    protected int weigh(K key, V value)
+    {
+	return (weigher == null) ? 1 : weigher.weigh(key, value);
+    }
+
+    protected boolean isExpired(Entry<V> entry, long now)
+    {
+	return timeToLive > 0 && now - entry.created >= timeToLive;
+    }
+
+    public V get(K key)
+    {
+	if(key == null)
+	    return null;
+
+	Segment<K, V> segment = segmentFor(key);
+	V value = null;
+	boolean expired = false;
+	synchronized(segment) {
+	    Entry<V> entry = segment.get(key);
+	    if(entry != null) {
+		if(isExpired(entry, System.nanoTime())) {
+		    segment.remove(key);
+		    segment.weight -= entry.weight;
+		    expired = true;
+		    value = entry.value;
+		}
+		else {
+		    statistics.recordHit();
+		    return entry.value;
+		}
+	    }
+	}
+
+	statistics.recordMiss();
+	if(expired) {
+	    statistics.recordExpiration();
+	    fireEvictionEvent(key, value, EvictionEvent.Cause.EXPIRED);
+	}
+	return null;
+    }
+
+    public V put(K key, V value)
+    {
+	return put(key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value)
+    {
+	return put(key, value, true);
+    }
+
+    protected V put(K key, V value, boolean onlyIfAbsent)
+    {
+	if(key == null || value == null)
+	    throw new NullPointerException();
+
+	Segment<K, V> segment = segmentFor(key);
+	Entry<V> entry = new Entry<V>(value, weigh(key, value), System.nanoTime());
+	Entry<V> previous = null;
+	List<Map.Entry<K, Entry<V>>> evicted = null;
+	synchronized(segment) {
+	    previous = segment.get(key);
+	    if(previous != null && isExpired(previous, entry.created)) {
+		segment.remove(key);
+		segment.weight -= previous.weight;
+		evicted = new ArrayList<Map.Entry<K, Entry<V>>>(1);
+		evicted.add(new Expired<K, V>(key, previous));
+		previous = null;
+	    }
+
+	    if(onlyIfAbsent && previous != null)
+		return previous.value;
+
+	    segment.put(key, entry);
+	    segment.weight += entry.weight;
+	    if(previous != null)
+		segment.weight -= previous.weight;
+	    evicted = segment.evict(evicted);
+	}
+
+	if(previous != null && previous.value != value)
+	    fireEvictionEvent(key, previous.value, EvictionEvent.Cause.REPLACED);
+
+	if(evicted != null) {
+	    for(Map.Entry<K, Entry<V>> e : evicted) {
+		if(e instanceof Expired) {
+		    statistics.recordExpiration();
+		    fireEvictionEvent(e.getKey(), e.getValue().value, EvictionEvent.Cause.EXPIRED);
+		}
+		else {
+		    statistics.recordEviction();
+		    fireEvictionEvent(e.getKey(), e.getValue().value, EvictionEvent.Cause.SIZE);
+		}
+	    }
+	    evicted.clear();
+	}
+
+	return (previous == null) ? null : previous.value;
+    }
+
+    public V remove(K key)
+    {
+	if(key == null)
+	    return null;
+
+	Segment<K, V> segment = segmentFor(key);
+	Entry<V> entry = null;
+	synchronized(segment) {
+	    entry = segment.remove(key);
+	    if(entry != null)
+		segment.weight -= entry.weight;
+	}
+
+	if(entry == null)
+	    return null;
+
+	fireEvictionEvent(key, entry.value, EvictionEvent.Cause.EXPLICIT);
+	return entry.value;
+    }
+
+    public void clear()
+    {
+	for(Segment<K, V> segment : segments) {
+	    List<Map.Entry<K, Entry<V>>> removed = null;
+	    synchronized(segment) {
+		if(!listeners.isEmpty())
+		    removed = new ArrayList<Map.Entry<K, Entry<V>>>(segment.entrySet());
+		segment.clear();
+		segment.weight = 0;
+	    }
+	    if(removed != null) {
+		for(Map.Entry<K, Entry<V>> e : removed)
+		    fireEvictionEvent(e.getKey(), e.getValue().value, EvictionEvent.Cause.EXPLICIT);
+		removed.clear();
+	    }
+	}
+    }
+
+    /**
+     * Removes expired entries from all segments.  Expired entries
+     * are otherwise removed lazily when they are accessed or reached
+     * by eviction.
+     */
+    public void cleanUp()
+    {
+	if(timeToLive <= 0)
+	    return;
+
+	for(Segment<K, V> segment : segments) {
+	    List<Map.Entry<K, Entry<V>>> expired = new ArrayList<Map.Entry<K, Entry<V>>>();
+	    synchronized(segment) {
+		long now = System.nanoTime();
+		Iterator<Map.Entry<K, Entry<V>>> iterator = segment.entrySet().iterator();
+		while(iterator.hasNext()) {
+		    Map.Entry<K, Entry<V>> e = iterator.next();
+		    if(isExpired(e.getValue(), now)) {
+			expired.add(new Expired<K, V>(e.getKey(), e.getValue()));
+			segment.weight -= e.getValue().weight;
+			iterator.remove();
+		    }
+		}
+	    }
+	    for(Map.Entry<K, Entry<V>> e : expired) {
+		statistics.recordExpiration();
+		fireEvictionEvent(e.getKey(), e.getValue().value, EvictionEvent.Cause.EXPIRED);
+	    }
+	    expired.clear();
+	}
+    }
+
+    public int size()
+    {
+	int size = 0;
+	for(Segment<K, V> segment : segments) {
+	    synchronized(segment) {
+		size += segment.size();
+	    }
+	}
+	return size;
+    }
+
+    public long getWeight()
+    {
+	long weight = 0;
+	for(Segment<K, V> segment : segments) {
+	    synchronized(segment) {
+		weight += segment.weight;
+	    }
+	}
+	return weight;
+    }
+
+    public Collection<V> values()
+    {
+	List<V> values = new ArrayList<V>();
+	for(Segment<K, V> segment : segments) {
+	    synchronized(segment) {
+		for(Entry<V> entry : segment.values())
+		    values.add(entry.value);
+	    }
+	}
+	return values;
+    }
+
+    public CacheStatistics getStatistics()
+    {
+	return statistics;
+    }
+
+    public void addEvictionListener(EvictionListener<K, V> listener)
+    {
+	if(listener != null)
+	    listeners.add(listener);
+    }
+
+    public void removeEvictionListener(EvictionListener<K, V> listener)
+    {
+	listeners.remove(listener);
+    }
+
+    protected void fireEvictionEvent(K key, V value, EvictionEvent.Cause cause)
+    {
+	if(listeners.isEmpty())
+	    return;
+
+	EvictionEvent<K, V> event = new EvictionEvent<K, V>(this, key, value, cause);
+	for(EvictionListener<K, V> listener : listeners)
+	    listener.entryEvicted(event);
+    }
+
+    public String toString()
+    {
+	return new StringBuffer(getClass().getSimpleName())
+	    .append("[size=").append(size())
+	    .append(", weight=").append(getWeight())
+	    .append(", ").append(statistics)
+	    .append("]").toString();
+    }
+
+    /**
+     * A cached value with its weight and creation time.
+     */
+    protected static class Entry<V>
+    {
+	protected final V value;
+
+	protected final int weight;
+
+	protected final long created;
+
+	protected Entry(V value, int weight, long created)
+	{
+	    this.value = value;
+	    this.weight = weight;
+	    this.created = created;
+	}
+    }
+
+    /**
+     * A marker of entries removed by expiration rather than by size.
+     */
+    protected static class Expired<K, V>
+	extends AbstractMap.SimpleImmutableEntry<K, Entry<V>>
+    {
+	private static final long serialVersionUID = 2706313538452017498L;
+
+	protected Expired(K key, Entry<V> entry)
+	{
+	    super(key, entry);
+	}
+    }
+
+    /**
+     * A segment of the cache, ordered from the least recently
+     * accessed entry to the most recently accessed.
+     */
+    protected static class Segment<K, V>
+	extends LinkedHashMap<K, Entry<V>>
+    {
+	private static final long serialVersionUID = -1424870317291350839L;
+
+	protected final int maxEntries;
+
+	protected final long maxWeight;
+
+	protected long weight;
+
+	protected Segment(int maxEntries, long maxWeight)
+	{
+	    super(16, 0.75f, true);
+	    this.maxEntries = maxEntries;
+	    this.maxWeight = maxWeight;
+	}
+
+	protected boolean isOverflown()
+	{
+	    return (maxEntries > 0 && size() > maxEntries)
+		|| (maxWeight > 0 && weight > maxWeight && size() > 1);
+	}
+
+	/**
+	 * Removes least recently used entries while the segment exceeds its bounds.
+	 * Must be called under lock of the segment.
+	 *
+	 * @param evicted {@code List} to add evicted entries, or null
+	 * @return {@code List} of evicted entries, or null if nothing was evicted
+	 */
+	protected List<Map.Entry<K, Entry<V>>> evict(List<Map.Entry<K, Entry<V>>> evicted)
+	{
+	    if(!isOverflown())
+		return evicted;
+
+	    if(evicted == null)
+		evicted = new ArrayList<Map.Entry<K, Entry<V>>>();
+
+	    Iterator<Map.Entry<K, Entry<V>>> iterator = entrySet().iterator();
+	    while(isOverflown() && iterator.hasNext()) {
+		Map.Entry<K, Entry<V>> eldest = iterator.next();
+		evicted.add(new AbstractMap.SimpleImmutableEntry<K, Entry<V>>(eldest));
+		weight -= eldest.getValue().weight;
+		iterator.remove();
+	    }
+
+	    return evicted;
+	}
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Weigher.java:  an interface to weigh cache entries
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+/**
+ * {@code Weigher} gives relative weight of a cache entry, used to
+ * bound a {@code Cache} by total weight instead of number of entries.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public interface Weigher<K, V>
+{
+    /**
+     * Returns non-negative weight of the entry.
+     *
+     * @param key of the entry
+     * @param value of the entry
+     * @return weight of the entry
+     */
+    public int weigh(K key, V value);
+}
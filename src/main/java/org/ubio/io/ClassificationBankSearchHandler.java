@@ -0,0 +1,55 @@
+/*
+ * ClassificationBankSearchHandler.java:  receives names of uBio classificationbank_search result as parsed
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ubio.io;
+
+import org.ubio.model.ServiceData;
+import org.ubio.model.JuniorName;
+import org.ubio.model.SeniorName;
+
+/**
+ * {@code ClassificationBankSearchHandler} receives contents of a uBio
+ * classificationbank_search result one by one while the response is
+ * parsed, so that a large result need not be held in full.
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public interface ClassificationBankSearchHandler
+{
+    public void serviceData(ServiceData serviceData);
+
+    /**
+     * Receives a senior name.
+     *
+     * @param seniorName parsed {@code SeniorName}
+     * @return false to stop parsing the response
+     */
+    public boolean seniorName(SeniorName seniorName);
+
+    /**
+     * Receives a junior name.
+     *
+     * @param juniorName parsed {@code JuniorName}
+     * @return false to stop parsing the response
+     */
+    public boolean juniorName(JuniorName juniorName);
+}
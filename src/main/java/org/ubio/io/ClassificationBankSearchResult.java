@@ -21,6 +21,7 @@
 
 package org.ubio.io;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Data;
@@ -32,11 +33,15 @@ import org.ubio.model.SeniorName;
 /**
  * {@code ClassificationBankSearchResult} provides a contains of uBio namebank_search result.
  *
- * @version 	20 June 2016
+ * As a {@code ClassificationBankSearchHandler}, it collects names
+ * given while a response is parsed.
+ *
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 @Data
 public class ClassificationBankSearchResult
+    implements ClassificationBankSearchHandler
 {
     protected ServiceData serviceData;
     protected List<SeniorName> seniorNames;
@@ -52,11 +57,32 @@ public class ClassificationBankSearchResult
     }
 
     public ClassificationBankSearchResult(ServiceData serviceData,
-				List<SeniorName> seniroNames,
+				List<SeniorName> seniorNames,
 				List<JuniorName> juniorNames)
     {
 	this(serviceData);
 	setSeniorNames(seniorNames);
 	setJuniorNames(juniorNames);
     }
+
+    public void serviceData(ServiceData serviceData)
+    {
+	setServiceData(serviceData);
+    }
+
+    public boolean seniorName(SeniorName seniorName)
+    {
+	if(seniorNames == null)
+	    seniorNames = new ArrayList<SeniorName>();
+	seniorNames.add(seniorName);
+	return true;
+    }
+
+    public boolean juniorName(JuniorName juniorName)
+    {
+	if(juniorNames == null)
+	    juniorNames = new ArrayList<JuniorName>();
+	juniorNames.add(juniorName);
+	return true;
+    }
 }
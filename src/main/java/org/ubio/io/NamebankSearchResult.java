@@ -21,6 +21,7 @@
 
 package org.ubio.io;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Getter;
@@ -32,11 +33,14 @@ import org.ubio.model.VernacularName;
 
 /**
  * {@code NamebankSearchResult} provides a contains of uBio namebank_search result.
+ * As a {@code NamebankSearchHandler}, it collects names given while
+ * a response is parsed.
  *
- * @version 	20 June 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NamebankSearchResult
+    implements NamebankSearchHandler
 {
     @Getter
     @Setter
@@ -71,4 +75,25 @@ public class NamebankSearchResult
 	setScientificNames(scientificNames);
 	setVernacularNames(verncularNames);
     }
+
+    public void serviceData(ServiceData serviceData)
+    {
+	setServiceData(serviceData);
+    }
+
+    public boolean scientificName(ScientificName scientificName)
+    {
+	if(scientificNames == null)
+	    scientificNames = new ArrayList<ScientificName>();
+	scientificNames.add(scientificName);
+	return true;
+    }
+
+    public boolean vernacularName(VernacularName vernacularName)
+    {
+	if(vernacularNames == null)
+	    vernacularNames = new ArrayList<VernacularName>();
+	vernacularNames.add(vernacularName);
+	return true;
+    }
 }
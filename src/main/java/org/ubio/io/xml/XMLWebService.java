@@ -25,6 +25,8 @@
 
 package org.ubio.io.xml;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -64,6 +66,8 @@ import java.util.Objects;
 
 import org.nomencurator.model.NameUsage;
 
+import org.nomencurator.util.cache.DiskResponseCache;
+
 import org.ubio.model.Author;
 import org.ubio.model.Citation;
 import org.ubio.model.ClassificationData;
@@ -80,7 +84,9 @@ import org.ubio.model.ServiceData;
 import org.ubio.model.ScientificName;
 import org.ubio.model.VernacularName;
 
+import org.ubio.io.ClassificationBankSearchHandler;
 import org.ubio.io.ClassificationBankSearchResult;
+import org.ubio.io.NamebankSearchHandler;
 import org.ubio.io.NamebankSearchResult;
 
 import org.ubio.util.Base64Codex;
@@ -88,8 +94,17 @@ import org.ubio.util.Base64Codex;
 /**
  * {@code XMLWebService} provides a set of utility methods
  * to access to uBio using XML Webservices.
+ * <P>
+ * Responses are read through a {@code DiskResponseCache} if given,
+ * and are closed when parsed, even on failure, so that connections
+ * read through can be reused by the keep-alive pool of
+ * {@code HttpURLConnection}.  Results of namebank_search and
+ * classificationbank_search can be streamed to a handler while the
+ * response is parsed.  Methods returning parsed objects throw an
+ * {@code IOException} if the service is unavailable or the response
+ * is malformed.
  *
- * @version 	03 Dec 2019
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class XMLWebService
@@ -163,6 +178,23 @@ public class XMLWebService
 
     public XMLInputFactory factory = null;
 
+    /** {@code DiskResponseCache} used by services constructed without explicit cache */
+    protected static DiskResponseCache defaultResponseCache;
+
+    /** {@code DiskResponseCache} of responses, or null not to cache responses */
+    protected DiskResponseCache responseCache;
+
+    /** Connect and read timeout in milliseconds, or zero for infinite */
+    protected int timeout;
+
+    /**
+     * {@code ResponseParser} parses a response.
+     */
+    protected interface ResponseParser<T>
+    {
+	public T parse(XMLStreamReader xml) throws XMLStreamException;
+    }
+
     /**
      * Constructs a XMLWebService object 
      * connecting to default base URL
@@ -192,6 +224,52 @@ public class XMLWebService
 	    throw new Exception("org.ubio.XMLWebService requires a key code for uBio");
 	setBaseURL(baseURL);
 	setKeyCode(keyCode);
+	setResponseCache(defaultResponseCache);
+    }
+
+    /**
+     * Returns {@code DiskResponseCache} to be used by services constructed after this call
+     *
+     * @return default {@code DiskResponseCache}, or null if responses are not cached
+     */
+    public static DiskResponseCache getDefaultResponseCache()
+    {
+	return defaultResponseCache;
+    }
+
+    /**
+     * Sets {@code DiskResponseCache} to be used by services constructed after this call
+     *
+     * @param responseCache {@code DiskResponseCache} to be used, or null not to cache responses
+     */
+    public static void setDefaultResponseCache(DiskResponseCache responseCache)
+    {
+	defaultResponseCache = responseCache;
+    }
+
+    public DiskResponseCache getResponseCache()
+    {
+	return responseCache;
+    }
+
+    public void setResponseCache(DiskResponseCache responseCache)
+    {
+	this.responseCache = responseCache;
+    }
+
+    public int getTimeout()
+    {
+	return timeout;
+    }
+
+    /**
+     * Sets connect and read timeout of requests not served by the cache.
+     *
+     * @param timeout in milliseconds, or zero for infinite
+     */
+    public void setTimeout(int timeout)
+    {
+	this.timeout = timeout;
     }
 
     public void setBaseURL(String baseURL)
@@ -214,25 +292,108 @@ public class XMLWebService
 	return keyCode;
     }
 
-    protected XMLStreamReader getQueryResult(String query)
+    protected synchronized XMLInputFactory getXMLInputFactory()
     {
-	if(factory == null)
+	if(factory == null) {
 	    factory = XMLInputFactory.newInstance();
-	HttpURLConnection connection = null;
+	    // Base64 encoded names may be split into CHARACTERS events otherwise
+	    factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+	}
+	return factory;
+    }
+
+    protected String getQueryURL(String query)
+    {
+	return new StringBuffer(baseURL).append(query)
+	    .append("&keyCode=").append(getKeyCode()).toString();
+    }
+
+    /**
+     * Returns {@code InputStream} to read the response to {@code query},
+     * via the response cache if available.
+     *
+     * @param query query without the key code
+     * @return {@code InputStream} to read the response
+     * @exception IOException if the response is neither cached nor retrievable
+     */
+    protected InputStream getInputStream(String query)
+	throws IOException
+    {
+	String url = getQueryURL(query);
+	DiskResponseCache cache = responseCache;
+	if(cache != null)
+	    return cache.get(url, null);
+
+	URLConnection connection = new URL(url).openConnection();
+	if(timeout > 0) {
+	    connection.setConnectTimeout(timeout);
+	    connection.setReadTimeout(timeout);
+	}
+	if(connection instanceof HttpURLConnection)
+	    ((HttpURLConnection)connection).setRequestMethod("GET");
+	return connection.getInputStream();
+    }
+
+    /**
+     * Parses the response to {@code query} by {@code parser}.
+     * The response is closed when parsed, even on failure.
+     *
+     * @param query query without the key code
+     * @param parser to parse the response
+     * @return the result of {@code parser}
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    protected <T> T parse(String query, ResponseParser<T> parser)
+	throws IOException
+    {
+	InputStream in = getInputStream(query);
+	XMLStreamReader xml = null;
 	try {
-	    connection = 
-		(HttpURLConnection)((new URL(baseURL + 
-					     query +
-					     "&keyCode=" +
-					     getKeyCode())).openConnection());
-	    connection.setRequestMethod("GET");
-	    connection.connect();
-	    
-	    return factory.createXMLStreamReader(connection.getInputStream());
+	    xml = getXMLInputFactory().createXMLStreamReader(in);
+	    return parser.parse(xml);
 	}
-	catch (Throwable t) {
-	    t.printStackTrace();
-	    return null;
+	catch (XMLStreamException e) {
+	    throw new IOException("malformed response to " + query, e);
+	}
+	finally {
+	    if(xml != null) {
+		try {
+		    xml.close();
+		}
+		catch (XMLStreamException e) {
+		}
+	    }
+	    in.close();
+	}
+    }
+
+    /**
+     * Returns {@code XMLStreamReader} over the response to {@code query}
+     * read in full, for methods giving the reader to the caller.
+     *
+     * @param query query without the key code
+     * @return {@code XMLStreamReader} over the response
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    protected XMLStreamReader getQueryResult(String query)
+	throws IOException
+    {
+	try {
+	    InputStream in = getInputStream(query);
+	    ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+	    try {
+		byte[] buffer = new byte[8192];
+		int length = 0;
+		while((length = in.read(buffer)) != -1)
+		    body.write(buffer, 0, length);
+	    }
+	    finally {
+		in.close();
+	    }
+	    return getXMLInputFactory().createXMLStreamReader(new ByteArrayInputStream(body.toByteArray()));
+	}
+	catch (XMLStreamException e) {
+	    throw new IOException("malformed response to " + query, e);
 	}
     }
 
@@ -254,13 +415,15 @@ public class XMLWebService
     }
 
     public NamebankObject namebankObject(int namebankID)
+	throws IOException
     {
 	return namebankObject(Integer.toString(namebankID));
     }
 
     public NamebankObject namebankObject(String namebankID)
+	throws IOException
     {
-	return namebankObject(getQueryResult(namebankObjectQuery(namebankID)));
+	return parse(namebankObjectQuery(namebankID), xml -> namebankObject(xml));
     }
 
     protected NamebankObject namebankObject(XMLStreamReader xml)
@@ -269,37 +432,34 @@ public class XMLWebService
     }
 
     protected Map<String, String> keyValueMap(XMLStreamReader xml, String terminator)
+	throws XMLStreamException
     {
 	String elementName = null;
 	String cdata = null;
 	Map<String, String> cache = new HashMap<String, String>();
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(cdata != null) {
-			cache.put(elementName, cdata);
-		    }
-		    cdata = null;
-		    break;
-		case XMLStreamReader.CDATA:
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
+	while(xml.hasNext() && 
+	      (elementName == null ||
+	       !xml.isEndElement() || !elementName.equals(terminator))) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		elementName = xml.getName().toString();
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		elementName = xml.getName().toString();
+		if(cdata != null) {
+		    cache.put(elementName, cdata);
 		}
+		cdata = null;
+		break;
+	    case XMLStreamReader.CDATA:
+		break;
+	    case XMLStreamReader.CHARACTERS:
+		cdata = new String(xml.getTextCharacters(),
+				   xml.getTextStart(),
+				   xml.getTextLength());
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	}
 	return cache;
     }
 
@@ -566,6 +726,7 @@ public class XMLWebService
 
     protected RecordedName recordedName(XMLStreamReader xml, 
 					String terminator)
+	throws XMLStreamException
     {
 	RecordedName recordedName = null;
 	Map<String, String> keyValueMap = keyValueMap(xml, terminator);
@@ -611,6 +772,7 @@ public class XMLWebService
 
     protected VernacularName vernacularName(XMLStreamReader xml, 
 					String terminator)
+	throws XMLStreamException
     {
 	VernacularName vernacularName = null;
 	Map<String, String> keyValueMap = keyValueMap(xml, terminator);
@@ -621,40 +783,37 @@ public class XMLWebService
     }
 
     protected List<VernacularName> getVernacularNames(XMLStreamReader xml, String terminator)
+	throws XMLStreamException
     {
 	List<VernacularName> v = new ArrayList<VernacularName>();
 	String elementName = null;
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if("value".equals(elementName)) {
-			VernacularName obj = vernacularName(xml, "value");
-			if(obj != null) {
-			    v.add(obj);
-			}
+	while(xml.hasNext() && 
+	      (elementName == null ||
+	       !xml.isEndElement() || !elementName.equals(terminator))) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		elementName = xml.getName().toString();
+		if("value".equals(elementName)) {
+		    VernacularName obj = vernacularName(xml, "value");
+		    if(obj != null) {
+			v.add(obj);
 		    }
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.CDATA:
-		    break;
 		}
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		elementName = xml.getName().toString();
+		break;
+	    case XMLStreamReader.CDATA:
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
-	}
 
 	return v;
     }
 
     protected ScientificName scientificName(XMLStreamReader xml, 
 					String terminator)
+	throws XMLStreamException
     {
 	ScientificName scientificName = null;
 	Map<String, String> keyValueMap = keyValueMap(xml, terminator);
@@ -665,40 +824,37 @@ public class XMLWebService
     }
 
     protected List<ScientificName> scientificNames(XMLStreamReader xml, String terminator)
+	throws XMLStreamException
     {
 	List<ScientificName> v = new ArrayList<ScientificName>();
 	String elementName = null;
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if("value".equals(elementName)) {
-			ScientificName obj = scientificName(xml, "value");
-			if(obj != null) {
-			    v.add(obj);
-			}
+	while(xml.hasNext() && 
+	      (elementName == null ||
+	       !xml.isEndElement() || !elementName.equals(terminator))) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		elementName = xml.getName().toString();
+		if("value".equals(elementName)) {
+		    ScientificName obj = scientificName(xml, "value");
+		    if(obj != null) {
+			v.add(obj);
 		    }
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.CDATA:
-		    break;
 		}
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		elementName = xml.getName().toString();
+		break;
+	    case XMLStreamReader.CDATA:
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
-	}
 
 	return v;
     }
 
     protected SeniorName seniorName(XMLStreamReader xml, 
 					String terminator)
+	throws XMLStreamException
     {
 	SeniorName seniorName = null;
 	Map<String, String> keyValueMap = keyValueMap(xml, terminator);
@@ -742,6 +898,7 @@ public class XMLWebService
 
     protected JuniorName juniorName(XMLStreamReader xml, 
 					String terminator)
+	throws XMLStreamException
     {
 	JuniorName juniorName = null;
 	Map<String, String> keyValueMap = keyValueMap(xml, terminator);
@@ -811,6 +968,7 @@ public class XMLWebService
     }
 
     public ClassificationBankObject classificationBankObject(int classificationBankID)
+	throws IOException
     {
 	return classificationBankObject(classificationBankID, 1, 1, 1, 1);
     }
@@ -820,6 +978,7 @@ public class XMLWebService
 							     int includeHigherTaxa,
 							     int includeBibliographies,
 							     int includeSynonyms)
+	throws IOException
     {
 	return classificationBankObject(String.valueOf(classificationBankID),
 					includeLowerTaxa,
@@ -833,6 +992,7 @@ public class XMLWebService
 							     boolean includeHigherTaxa,
 							     boolean includeBibliographies,
 							     boolean includeSynonyms)
+	throws IOException
     {
 	return classificationBankObject(String.valueOf(classificationBankID),
 					includeLowerTaxa,
@@ -846,13 +1006,13 @@ public class XMLWebService
 							     int includeHigherTaxa,
 							     int includeBibliographies,
 							     int includeSynonyms)
+	throws IOException
     {
 	return classificationBankObject(classificationBankID,
-					   getQueryResult(classificationBankObjectQuery(classificationBankID,
-											includeLowerTaxa==1,
-											includeHigherTaxa==1,
-											includeBibliographies==1,
-											includeSynonyms==1)));
+					includeLowerTaxa==1,
+					includeHigherTaxa==1,
+					includeBibliographies==1,
+					includeSynonyms==1);
     }
 
     public ClassificationBankObject classificationBankObject(String classificationBankID,
@@ -860,17 +1020,19 @@ public class XMLWebService
 						      boolean includeHigherTaxa,
 						      boolean includeBibliographies,
 						      boolean includeSynonyms)
+	throws IOException
     {
-	return classificationBankObject(classificationBankID,
-					   getQueryResult(classificationBankObjectQuery(classificationBankID,
-											includeLowerTaxa,
-											includeHigherTaxa,
-											includeBibliographies,
-											includeSynonyms)));
+	return parse(classificationBankObjectQuery(classificationBankID,
+						   includeLowerTaxa,
+						   includeHigherTaxa,
+						   includeBibliographies,
+						   includeSynonyms),
+		     xml -> classificationBankObject(classificationBankID, xml));
     }
 
     protected ClassificationBankObject classificationBankObject(String classificationBankID,
 								   XMLStreamReader xml)
+	throws XMLStreamException
     {
 	return classificationBankObject(classificationBankID, xml, "results");
     }
@@ -878,6 +1040,7 @@ public class XMLWebService
     protected ClassificationBankObject classificationBankObject(String classificationBankID,
 								   XMLStreamReader xml,
 								   String terminator)
+	throws XMLStreamException
     {
 	String elementName = null;
 	String cdata = null;
@@ -889,56 +1052,51 @@ public class XMLWebService
 	String rankName = null;
 	NamebankObject recordedName = null;
 	Vector<ClassificationBankObject> v = new Vector<ClassificationBankObject>();
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
+	while(xml.hasNext() && 
+	      (elementName == null ||
+	       !xml.isEndElement() || !elementName.equals(terminator))) {
+	    elementName = xml.getName().toString();
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		if(elementName.equals("serviceData")) {
+		    ServiceData svd = 
+			getServiceData(xml, "serviceData");
+		}
+		else if(elementName.equals("recordedName")) {
+		    recordedName = 
+			namebankObject(xml, "recordedName");
+		}
+		else if(elementName.equals("ancestry")) {
+		}
+		else if(elementName.equals("children")) {
+		}
+		else if(elementName.equals("classificationData")) {
+		    cls = getClassification(xml, "classificationData");
+		}
+		break;
+	    case XMLStreamReader.END_ELEMENT:
 		elementName = xml.getName().toString();
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    if(elementName.equals("serviceData")) {
-			ServiceData svd = 
-			    getServiceData(xml, "serviceData");
-		    }
-		    else if(elementName.equals("recordedName")) {
-			recordedName = 
-			    namebankObject(xml, "recordedName");
-		    }
-		    else if(elementName.equals("ancestry")) {
-		    }
-		    else if(elementName.equals("children")) {
-		    }
-		    else if(elementName.equals("classificationData")) {
-			cls = getClassification(xml, "classificationData");
-		    }
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(elementName.equals("rankID")) {
-			rankID = cdata;
-		    }
-		    else if(elementName.equals("rankName")) {
-			rankName = cdata;
-		    }
-		    cdata = null;
-		    break;
-		    //case XMLStreamReader.CDATA:
-		case XMLStreamReader.CHARACTERS:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
+		if(elementName.equals("rankID")) {
+		    rankID = cdata;
 		}
-	    }
-	    rank = Rank.get(rankID);
-	    if(rank != null) {
-		if(rankName != null) {
-		    rank.setName(rankName);
+		else if(elementName.equals("rankName")) {
+		    rankName = cdata;
 		}
+		cdata = null;
+		break;
+		//case XMLStreamReader.CDATA:
+	    case XMLStreamReader.CHARACTERS:
+		cdata = new String(xml.getTextCharacters(),
+				   xml.getTextStart(),
+				   xml.getTextLength());
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
+	rank = Rank.get(rankID);
+	if(rank != null) {
+	    if(rankName != null) {
+		rank.setName(rankName);
+	    }
 	}
 
 	ClassificationBankObject obj = 
@@ -979,6 +1137,7 @@ public class XMLWebService
     }
 
     public NamebankSearchResult  namebankSearch(String name)
+	throws IOException
     {
 	return namebankSearch(name, null, null, SORT_UNSPECIFIED, true, true);
     }
@@ -989,13 +1148,58 @@ public class XMLWebService
 					    int sortKey,
 					    boolean includeScientificNames,
 					    boolean includeVernacularNames)
+	throws IOException
     {
-	return namebankSearch(getQueryResult(namebankSearchQuery(name,
-								 authorship,
-								 year,
-								 sortKey,
-								 includeScientificNames,
-								 includeVernacularNames)));
+	return parse(namebankSearchQuery(name,
+					 authorship,
+					 year,
+					 sortKey,
+					 includeScientificNames,
+					 includeVernacularNames),
+		     xml -> namebankSearch(xml, new NamebankSearchResult()));
+    }
+
+    /**
+     * Streams names found by namebank_search of {@code name} to {@code handler}.
+     *
+     * @param name name to search
+     * @param handler to receive names
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    public void namebankSearch(String name, NamebankSearchHandler handler)
+	throws IOException
+    {
+	namebankSearch(name, null, null, SORT_UNSPECIFIED, true, true, handler);
+    }
+
+    /**
+     * Streams names found by namebank_search to {@code handler}.
+     *
+     * @param name name to search
+     * @param authorship authorship to search, or null
+     * @param year year to search, or null
+     * @param sortKey one of SORT_UNSPECIFIED, SORT_BY_NAME and SORT_BY_LANG
+     * @param includeScientificNames true to search scientific names
+     * @param includeVernacularNames true to search vernacular names
+     * @param handler to receive names
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    public void namebankSearch(String name,
+			       String authorship,
+			       String year,
+			       int sortKey,
+			       boolean includeScientificNames,
+			       boolean includeVernacularNames,
+			       final NamebankSearchHandler handler)
+	throws IOException
+    {
+	parse(namebankSearchQuery(name,
+				  authorship,
+				  year,
+				  sortKey,
+				  includeScientificNames,
+				  includeVernacularNames),
+	      xml -> namebankSearch(xml, handler));
     }
 
     public NamebankSearchResult namebankObjects(String name,
@@ -1004,58 +1208,57 @@ public class XMLWebService
 						 int sortKey,
 						 boolean includeScientificNames,
 						 boolean includeVernacularNames)
+	throws IOException
     {
 	return namebankSearch(name, authorship, year, sortKey,
 			      includeScientificNames,
 			      includeVernacularNames);
     }
 
-    protected NamebankSearchResult namebankSearch(XMLStreamReader xml)
-    {
-	return namebankSearch(xml, RESULTS_KEY);
-    }
-
-    protected NamebankSearchResult namebankSearch(XMLStreamReader xml,
-						String terminator)
-    {
-	String elementName = null;
-	String cdata = null;
-	List<ScientificName> scientificNames = null;
-	List<VernacularName> vernaculars = null;
-	ServiceData serviceData = null;
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(elementName.equals("serviceData")) {
-			serviceData = getServiceData(xml, "serviceData");
-		    }
-		    else if("scientificNames".equals(elementName)) {
-			scientificNames = scientificNames(xml, "scientificNames");
+    /**
+     * Gives names in namebank_search response to {@code handler}
+     * one by one while parsing.
+     *
+     * @param xml response to parse
+     * @param handler to receive names
+     * @return {@code handler}
+     * @exception XMLStreamException if the response is malformed
+     */
+    protected <H extends NamebankSearchHandler> H namebankSearch(XMLStreamReader xml, H handler)
+	throws XMLStreamException
+    {
+	String section = null;
+	while(xml.hasNext()) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		String elementName = xml.getLocalName();
+		if(SERVICE_DATA_KEY.equals(elementName)) {
+		    handler.serviceData(getServiceData(xml, SERVICE_DATA_KEY));
+		}
+		else if("scientificNames".equals(elementName) ||
+			"vernacularNames".equals(elementName)) {
+		    section = elementName;
+		}
+		else if(VALUE_KEY.equals(elementName) && section != null) {
+		    if("scientificNames".equals(section)) {
+			ScientificName name = scientificName(xml, VALUE_KEY);
+			if(name != null && !handler.scientificName(name))
+			    return handler;
 		    }
-		    else if("vernacularNames".equals(elementName)) {
-			vernaculars = getVernacularNames(xml, "vernacularNames");
+		    else {
+			VernacularName name = vernacularName(xml, VALUE_KEY);
+			if(name != null && !handler.vernacularName(name))
+			    return handler;
 		    }
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    //case XMLStreamReader.CDATA:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
 		}
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		if(xml.getLocalName().equals(section))
+		    section = null;
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	}
-
-	return  new NamebankSearchResult(serviceData, scientificNames, vernaculars);
+	return handler;
     }
 
     protected String classificationBankSearchQuery(String namebankID,
@@ -1072,64 +1275,111 @@ public class XMLWebService
     }
 
     public ClassificationBankSearchResult classificationBankSearch(int namebankID)
+	throws IOException
     {
 	return classificationBankSearch(Integer.toString(namebankID));
     }
 
     public ClassificationBankSearchResult classificationBankSearch(int namebankID,
 						       int classificationTitleID)
+	throws IOException
     {
 	return classificationBankSearch(Integer.toString(namebankID),
 					Integer.toString(classificationTitleID));
     }
 
     public ClassificationBankSearchResult classificationBankSearch(String namebankID)
+	throws IOException
     {
-	return classificationBankSearch(getQueryResult(classificationBankSearchQuery(namebankID,
-										     null)));
+	return classificationBankSearch(namebankID, (String)null);
     }
 
     public ClassificationBankSearchResult classificationBankSearch(String namebankID,
 						       String classificationTitleID)
+	throws IOException
     {
-	return classificationBankSearch(getQueryResult(classificationBankSearchQuery(namebankID,
-										     classificationTitleID)));
+	return parse(classificationBankSearchQuery(namebankID,
+						   classificationTitleID),
+		     xml -> classificationBankSearch(xml, new ClassificationBankSearchResult()));
     }
 
-    protected ClassificationBankSearchResult classificationBankSearch(XMLStreamReader xml)
+    /**
+     * Streams names found by classificationbank_search of
+     * {@code namebankID} to {@code handler}.
+     *
+     * @param namebankID namebank ID to search
+     * @param handler to receive names
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    public void classificationBankSearch(int namebankID,
+					 ClassificationBankSearchHandler handler)
+	throws IOException
     {
-	String elementName = null;
-	ServiceData serviceData = null;
-	List<SeniorName> seniorNames = null;
-	List<JuniorName> juniorNames = null;
-	try {
-	    while(xml.hasNext() && ( //!xml.isEndElement() ||
-		  elementName == null ||
-		  !elementName.equals(RESULTS_KEY))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(elementName.equals(SERVICE_DATA_KEY)) {
-			serviceData = getServiceData(xml, SERVICE_DATA_KEY);
-		    }
-		    else if(elementName.equals(SENIOR_NAMES_KEY)) {
-			seniorNames = seniorNames(xml, SENIOR_NAMES_KEY);
-		    }
-		    else if(elementName.equals(JUNIOR_NAMES_KEY)) {
-			seniorNames = seniorNames(xml, JUNIOR_NAMES_KEY);
+	classificationBankSearch(Integer.toString(namebankID), null, handler);
+    }
+
+    /**
+     * Streams names found by classificationbank_search to {@code handler}.
+     *
+     * @param namebankID namebank ID to search
+     * @param classificationTitleID classification title ID to search, or null
+     * @param handler to receive names
+     * @exception IOException if the response is not retrievable or malformed
+     */
+    public void classificationBankSearch(String namebankID,
+					 String classificationTitleID,
+					 final ClassificationBankSearchHandler handler)
+	throws IOException
+    {
+	parse(classificationBankSearchQuery(namebankID,
+					    classificationTitleID),
+	      xml -> classificationBankSearch(xml, handler));
+    }
+
+    /**
+     * Gives names in classificationbank_search response to
+     * {@code handler} one by one while parsing.
+     *
+     * @param xml response to parse
+     * @param handler to receive names
+     * @return {@code handler}
+     * @exception XMLStreamException if the response is malformed
+     */
+    protected <H extends ClassificationBankSearchHandler> H classificationBankSearch(XMLStreamReader xml, H handler)
+	throws XMLStreamException
+    {
+	String section = null;
+	while(xml.hasNext()) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		String elementName = xml.getLocalName();
+		if(SERVICE_DATA_KEY.equals(elementName)) {
+		    handler.serviceData(getServiceData(xml, SERVICE_DATA_KEY));
+		}
+		else if(SENIOR_NAMES_KEY.equals(elementName) ||
+			JUNIOR_NAMES_KEY.equals(elementName)) {
+		    section = elementName;
+		}
+		else if(VALUE_KEY.equals(elementName) && section != null) {
+		    if(SENIOR_NAMES_KEY.equals(section)) {
+			SeniorName name = seniorName(xml, VALUE_KEY);
+			if(name != null && !handler.seniorName(name))
+			    return handler;
 		    }
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    break;
+		    else {
+			JuniorName name = juniorName(xml, VALUE_KEY);
+			if(name != null && !handler.juniorName(name))
+			    return handler;
 		    }
+		}
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		if(xml.getLocalName().equals(section))
+		    section = null;
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	}
-
-	return new ClassificationBankSearchResult(serviceData, seniorNames, juniorNames);
+	return handler;
     }
 
     protected List<ClassificationBankObject> classificationBankObjectSearch(String namebankID, XMLStreamReader xml)
@@ -1221,6 +1471,7 @@ public class XMLWebService
 			      boolean isURL,
 			      boolean strict,
 			      double threshold)
+	throws IOException
     {
 	return findIT(getQueryResult(findITQuery(urlOrFreeText,
 						 isURL,
@@ -1253,6 +1504,7 @@ public class XMLWebService
     public XMLStreamReader taxonFinder(String urlOrFreeText,
 				   boolean isURL,
 				   boolean includeLinks)
+	throws IOException
     {
 	return taxonFinder(getQueryResult(taxonFinderQuery(urlOrFreeText,
 							   isURL,
@@ -1277,18 +1529,21 @@ public class XMLWebService
     }
 
     public Collection<NamebankPackage> packageList()
+	throws IOException
     {
-	return packageList(getQueryResult(namebankPackageListQuery(null)));
+	return packageList((String)null);
     }
 
     public Collection<NamebankPackage> packageList(int packageID)
+	throws IOException
     {
-	return packageList(getQueryResult(namebankPackageListQuery(Integer.toString(packageID))));
+	return packageList(Integer.toString(packageID));
     }
 
     public Collection<NamebankPackage> packageList(String packageID)
+	throws IOException
     {
-	return packageList(getQueryResult(namebankPackageListQuery(packageID)));
+	return parse(namebankPackageListQuery(packageID), xml -> packageList(xml));
     }
 
     protected Collection<NamebankPackage> packageList(XMLStreamReader xml)
@@ -1309,13 +1564,15 @@ public class XMLWebService
     }
 
     public Vector<ClassificationData> getClassificationList()
+	throws IOException
     {
 	return getClassificationList("");
     }
 
     public Vector<ClassificationData> getClassificationList(String classificationTitleID)
+	throws IOException
     {
-	return getClassificationList(getQueryResult(classificationListQuery(classificationTitleID)));
+	return parse(classificationListQuery(classificationTitleID), xml -> getClassificationList(xml));
     }
 
     protected Vector<ClassificationData> getClassificationList(XMLStreamReader xml)
@@ -1324,58 +1581,54 @@ public class XMLWebService
     }
 
     protected ClassificationData getClassification(XMLStreamReader xml, String terminator)
+	throws XMLStreamException
     {
 	String elementName = null;
 	String cdata = null;
 	ClassificationData c = null;
 	Hashtable<String, String> cache = new Hashtable<String, String>();
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(cdata != null) {
-			cache.put(elementName, cdata);
-		    }
-		    cdata = null;
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    //case XMLStreamReader.CDATA:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
+	while(xml.hasNext() && 
+	      (elementName == null ||
+	       !xml.isEndElement() || !elementName.equals(terminator))) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		elementName = xml.getName().toString();
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		elementName = xml.getName().toString();
+		if(cdata != null) {
+		    cache.put(elementName, cdata);
 		}
-	    }
-	    String idString = cache.get("classificationTitleID");
-	    String title = decode(cache.get("classificationTitle"));
-	    String description = decode(cache.get("classificationDescription"));
-	    String parentString = cache.get("classificationTitleIDParent");
-	    String rootString = cache.get("classificationRoot");
-	    int id = (idString==null)?0:Integer.valueOf(idString);
-	    int parentID = (parentString==null)?0:Integer.valueOf(parentString);
-	    int rootID = (parentString==null)?0:Integer.valueOf(rootString);
-	    ClassificationData parent = ClassificationData.get(parentID);
-	    NamebankObject root = NamebankObject.get(rootID);
-	    
-	    c = ClassificationData.get(id);
-	    if(!c.isSaturated()) {
-		c.setClassificationTitle(title);
-		c.setClassificationDescription(description);
-		c.setParent(parent);
-		c.setClassificationTitleIDParent(parentID);
-		c.setRoot(root);
-		c.setClassificationRoot(rootID);
-		c.setSaturated(true);
+		cdata = null;
+		break;
+	    case XMLStreamReader.CHARACTERS:
+		//case XMLStreamReader.CDATA:
+		cdata = new String(xml.getTextCharacters(),
+				   xml.getTextStart(),
+				   xml.getTextLength());
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
+	String idString = cache.get("classificationTitleID");
+	String title = decode(cache.get("classificationTitle"));
+	String description = decode(cache.get("classificationDescription"));
+	String parentString = cache.get("classificationTitleIDParent");
+	String rootString = cache.get("classificationRoot");
+	int id = (idString==null)?0:Integer.valueOf(idString);
+	int parentID = (parentString==null)?0:Integer.valueOf(parentString);
+	int rootID = (parentString==null)?0:Integer.valueOf(rootString);
+	ClassificationData parent = ClassificationData.get(parentID);
+	NamebankObject root = NamebankObject.get(rootID);
+
+	c = ClassificationData.get(id);
+	if(!c.isSaturated()) {
+	    c.setClassificationTitle(title);
+	    c.setClassificationDescription(description);
+	    c.setParent(parent);
+	    c.setClassificationTitleIDParent(parentID);
+	    c.setRoot(root);
+	    c.setClassificationRoot(rootID);
+	    c.setSaturated(true);
 	}
 
 	return c;
@@ -1387,8 +1640,9 @@ public class XMLWebService
     }
 
     public List<Language> languageList()
+	throws IOException
     {
-	return languageList(getQueryResult(languageListQuery()));
+	return parse(languageListQuery(), xml -> languageList(xml));
     }
 
     protected List<Language> languageList(XMLStreamReader xml)
@@ -1437,8 +1691,9 @@ public class XMLWebService
     }
 
     public List<? extends NameUsage<?>> getSynonymList(String classificationBankID)
+	throws IOException
     {
-	return getSynonymList(getQueryResult(synonymListQuery(classificationBankID)));
+	return parse(synonymListQuery(classificationBankID), xml -> getSynonymList(xml));
     }
 
     protected List<? extends NameUsage<?>> getSynonymList(XMLStreamReader xml)
@@ -1472,10 +1727,12 @@ public class XMLWebService
     public Vector<Author> getAuthorVariants(String author,
 					    int qualifier,
 					    int limit)
+	throws IOException
     {
-	return namebankSearchAuthors(getQueryResult(namebankSearchAuthorsQuery(author,
-									  qualifier,
-									  limit)));	
+	return parse(namebankSearchAuthorsQuery(author,
+						qualifier,
+						limit),
+		     xml -> namebankSearchAuthors(xml));
     }
 
     protected Vector<Author> namebankSearchAuthors(XMLStreamReader xml)
@@ -1492,8 +1749,9 @@ public class XMLWebService
     }
 
     public Vector<Author> getAuthorVariants(int groupID)
+	throws IOException
     {
-	return namebankObjectAuthors(getQueryResult(namebankObjectAuthorsQuery(groupID)));	
+	return parse(namebankObjectAuthorsQuery(groupID), xml -> namebankObjectAuthors(xml));
     }
 
     protected Vector<Author> namebankObjectAuthors(XMLStreamReader xml)
@@ -1502,95 +1760,63 @@ public class XMLWebService
     }
 
     public Author getAuthor(XMLStreamReader xml)
+	throws XMLStreamException
     {
 	int depth = 1;
 	String elementName = null;
 	String cdata = null;
 	Author author = null;
-	try {
-	    while(xml.hasNext() && ( //!xml.isEndElement() ||
-		  elementName == null ||
-		  !elementName.equals("value"))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
+	while(xml.hasNext() && ( //!xml.isEndElement() ||
+	      elementName == null ||
+	      !elementName.equals("value"))) {
+	    switch(xml.next()) {
+	    case XMLStreamReader.START_ELEMENT:
+		elementName = xml.getName().toString();
+		break;
+	    case XMLStreamReader.END_ELEMENT:
+		if(cdata != null) {
 		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    if(cdata != null) {
-			elementName = xml.getName().toString();
-			if("authorID".equals(elementName)) {
-			    if(author == null)
-				author = new Author();
-			    author.setId(Integer.valueOf(cdata));
-			}
-			if("groupID".equals(elementName)) {
-			    if(author == null)
-				author = new Author();
-			    author.setGroup(Integer.valueOf(cdata));
-			}
-			else if("authorString".equals(elementName)) {
-			    if(author == null)
-				author = new Author();
-			    author.setAuthorString(cdata);
-			}
-			else if("attributeID".equals(elementName)) {
-			    if(author == null)
-				author = new Author();
-			    author.setAttribute(Integer.valueOf(cdata));
-			}
-			cdata = null;
+		    if("authorID".equals(elementName)) {
+			if(author == null)
+			    author = new Author();
+			author.setId(Integer.valueOf(cdata));
 		    }
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    //case XMLStreamReader.CDATA:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
+		    if("groupID".equals(elementName)) {
+			if(author == null)
+			    author = new Author();
+			author.setGroup(Integer.valueOf(cdata));
+		    }
+		    else if("authorString".equals(elementName)) {
+			if(author == null)
+			    author = new Author();
+			author.setAuthorString(cdata);
+		    }
+		    else if("attributeID".equals(elementName)) {
+			if(author == null)
+			    author = new Author();
+			author.setAttribute(Integer.valueOf(cdata));
+		    }
+		    cdata = null;
 		}
+		break;
+	    case XMLStreamReader.CHARACTERS:
+		//case XMLStreamReader.CDATA:
+		cdata = new String(xml.getTextCharacters(),
+				   xml.getTextStart(),
+				   xml.getTextLength());
+		break;
 	    }
 	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
-	}
 	return author;
     }
 
     protected ServiceData getServiceData(XMLStreamReader xml, String terminator)
+	throws XMLStreamException
     {
-	String elementName = null;
-	String cdata = null;
-	ServiceData serviceData = null;
-	Hashtable<String, String> cache = new Hashtable<String, String>();
-	try {
-	    while(xml.hasNext() && 
-		  (elementName == null ||
-		   !xml.isEndElement() || !elementName.equals(terminator))) {
-		switch(xml.next()) {
-		case XMLStreamReader.START_ELEMENT:
-		    elementName = xml.getName().toString();
-		    break;
-		case XMLStreamReader.END_ELEMENT:
-		    elementName = xml.getName().toString();
-		    if(cdata != null) {
-			cache.put(elementName, cdata);
-		    }
-		    cdata = null;
-		    break;
-		case XMLStreamReader.CHARACTERS:
-		    cdata = new String(xml.getTextCharacters(),
-				       xml.getTextStart(),
-				       xml.getTextLength());
-		    break;
-		}
-	    }
-	    serviceData = new ServiceData(cache.get("currentVersion"),
-					  cache.get("dateStamp"),
-					  cache.get("timeStamp"));
-	}
-	catch(XMLStreamException e) {
-	    e.printStackTrace();
-	}
+	Map<String, String> cache = keyValueMap(xml, terminator);
+	ServiceData serviceData = new ServiceData(cache.get("currentVersion"),
+						  cache.get("dateStamp"),
+						  cache.get("timeStamp"));
 	cache.clear();
 
 	return serviceData;
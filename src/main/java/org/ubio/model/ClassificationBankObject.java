@@ -27,13 +27,15 @@ package org.ubio.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashMap;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Data;
 /**
  * {@code ClassificationBankObject} provides a method to handle classificationbank object element returned from uBio XML Webservices
  *
- * @version 	30 June 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 @Data
@@ -55,7 +57,9 @@ public class ClassificationBankObject
     protected List<NamebankObject> higherNames;
     protected List<NamebankObject> lowerNames;
 
-    protected static HashMap<Integer, ClassificationBankObject> bank;
+    /** shared by threads parsing responses in parallel */
+    protected static final Map<Integer, ClassificationBankObject> bank =
+	new ConcurrentHashMap<Integer, ClassificationBankObject>();
 
     public static ClassificationBankObject get(String classificationsID)
     {
@@ -69,9 +73,7 @@ public class ClassificationBankObject
 
     public static ClassificationBankObject get(Integer classificationsID)
     {
-	ClassificationBankObject c = null;
-	if(bank != null)
-	    c = bank.get(classificationsID);
+	ClassificationBankObject c = bank.get(classificationsID);
 
 	if(c == null)
 	    c = new ClassificationBankObject(classificationsID.intValue());
@@ -83,10 +85,6 @@ public class ClassificationBankObject
     {
 	setClassificationsID(classificationsID);
 
-	if(bank == null) {
-	    bank = new HashMap<Integer, ClassificationBankObject>();
-	}
-
 	bank.put(Integer.valueOf(classificationsID), this);
     }
 
@@ -26,9 +26,11 @@
 package org.ubio.model;
 
 import java.util.List;
-import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -36,7 +38,7 @@ import lombok.Setter;
  * An implementation of uBio {@code NamebankObject}.
  *
  *
- * @version 	30 June 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NamebankObject
@@ -89,7 +91,9 @@ public class NamebankObject
     @Setter
     protected boolean saturated;
 
-    protected static HashMap<Integer, NamebankObject> namebank;
+    /** shared by threads parsing responses in parallel */
+    protected static final Map<Integer, NamebankObject> namebank =
+	new ConcurrentHashMap<Integer, NamebankObject>();
 
     public static NamebankObject ZERO = new NamebankObject(0, "");
 
@@ -171,9 +175,7 @@ public class NamebankObject
 
     public static NamebankObject get(int namebankID)
     {
-	NamebankObject obj = null;
-	if(namebank != null)
-	    obj = namebank.get(namebankID);
+	NamebankObject obj = namebank.get(namebankID);
 
 	/*
 	if(obj == null) {
@@ -192,9 +194,6 @@ public class NamebankObject
 
     public static NamebankObject remove(int namebankID)
     {
-	if(namebank == null)
-	    return null;
-
 	return namebank.remove(namebankID);
     }
 
@@ -226,9 +225,6 @@ public class NamebankObject
     {
 	super();
 	setNamebankID(namebankID);
-	if(namebank == null) {
-	    namebank = new HashMap<Integer, NamebankObject>();
-	}
 	namebank.put(Integer.valueOf(namebankID), this);
     }
 
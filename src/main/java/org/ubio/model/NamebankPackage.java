@@ -21,16 +21,17 @@
 
 package org.ubio.model;
 
-import java.util.HashMap;
 import java.util.Map;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * {@code NamebankPackage} provides methods to handle namebank package element returned from uBio XML Webservices
  *
- * @version 	20 June 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NamebankPackage
@@ -51,7 +52,9 @@ public class NamebankPackage
     @Setter
     protected int packageLevel;
 
-    protected static Map<Integer, NamebankPackage> packages;
+    /** shared by threads parsing responses in parallel */
+    protected static final Map<Integer, NamebankPackage> packages =
+	new ConcurrentHashMap<Integer, NamebankPackage>();
 
     public static NamebankPackage get(String packageID)
     {
@@ -60,9 +63,6 @@ public class NamebankPackage
 
     public static NamebankPackage get(int packageID)
     {
-	if(packages == null)
-	    return null;
-
 	return packages.get(String.valueOf(packageID));
 
     }
@@ -92,10 +92,6 @@ public class NamebankPackage
 	setPackageID(packageID);
 	setPackageName(packageName);
 
-	if(packages == null) {
-	    packages = new HashMap<Integer, NamebankPackage>();
-	}
-
 	packages.put(Integer.valueOf(packageID), this);
     }
 
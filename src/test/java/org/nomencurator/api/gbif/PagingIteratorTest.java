@@ -0,0 +1,133 @@
+/*
+ * PagingIteratorTest.java:  testcases of PagingIterator
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.api.gbif;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gbif.api.model.common.paging.Pageable;
+import org.gbif.api.model.common.paging.PagingResponse;
+
+/**
+ * Unit test for PagingIterator
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class PagingIteratorTest
+{
+    /**
+     * Returns a loader of integers from zero to {@code total} - 1,
+     * giving the count if {@code counted}.
+     */
+    protected PagingIterator.PageLoader<Integer> loader(final int total, final boolean counted, final AtomicInteger loads) {
+	return new PagingIterator.PageLoader<Integer>() {
+	    public PagingResponse<Integer> load(Pageable page) {
+		loads.incrementAndGet();
+		List<Integer> results = new ArrayList<Integer>();
+		long end = Math.min(total, page.getOffset() + page.getLimit());
+		for(long i = page.getOffset(); i < end; i++)
+		    results.add((int)i);
+		PagingResponse<Integer> response =
+		    new PagingResponse<Integer>(page.getOffset(), page.getLimit(), counted ? Long.valueOf(total) : null, results);
+		response.setEndOfRecords(end >= total);
+		return response;
+	    }
+	};
+    }
+
+    protected void assertSequence(PagingIterator<Integer> iterator, int total) {
+	int expected = 0;
+	while(iterator.hasNext()) {
+	    assertThat(iterator.next(), is(expected++));
+	}
+	assertThat(expected, is(total));
+    }
+
+    @Test
+    public void iterateCountedPages() {
+	AtomicInteger loads = new AtomicInteger();
+	assertSequence(new PagingIterator<Integer>(loader(1003, true, loads), 100, 2), 1003);
+	assertThat(loads.get(), is(11));
+    }
+
+    @Test
+    public void iterateUncountedPages() {
+	AtomicInteger loads = new AtomicInteger();
+	assertSequence(new PagingIterator<Integer>(loader(250, false, loads), 100, 3), 250);
+	assertThat(loads.get() >= 3, is(true));
+    }
+
+    @Test
+    public void iterateOnDemand() {
+	AtomicInteger loads = new AtomicInteger();
+	PagingIterator<Integer> iterator = new PagingIterator<Integer>(loader(300, false, loads), 100, 0);
+	assertThat(loads.get(), is(0));
+	iterator.next();
+	assertThat(loads.get(), is(1));
+	iterator.close();
+	assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void stream() {
+	AtomicInteger loads = new AtomicInteger();
+	PagingIterator<Integer> iterator = new PagingIterator<Integer>(loader(1000, true, loads), 100, 2);
+	assertThat(iterator.stream().mapToInt(Integer::intValue).sum(), is(999 * 1000 / 2));
+    }
+
+    @Test
+    public void surfaceFailure() {
+	final AtomicInteger loads = new AtomicInteger();
+	final PagingIterator.PageLoader<Integer> pages = loader(1000, true, loads);
+	PagingIterator<Integer> iterator = new PagingIterator<Integer>(new PagingIterator.PageLoader<Integer>() {
+		public PagingResponse<Integer> load(Pageable page) throws IOException {
+		    if(page.getOffset() >= 300)
+			throw new IOException("service unavailable");
+		    return pages.load(page);
+		}
+	    }, 100, 2);
+	int read = 0;
+	try {
+	    while(iterator.hasNext()) {
+		iterator.next();
+		read++;
+	    }
+	    fail("failed page ended iteration silently");
+	}
+	catch (UncheckedIOException e) {
+	    assertThat(e.getCause().getMessage(), is("service unavailable"));
+	}
+	assertThat(read, is(300));
+	assertThat(iterator.getFailure().getMessage(), is("service unavailable"));
+	assertThat(iterator.hasNext(), is(false));
+    }
+}
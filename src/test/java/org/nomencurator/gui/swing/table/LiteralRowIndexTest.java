@@ -0,0 +1,86 @@
+/*
+ * LiteralRowIndexTest.java:  testcases of LiteralRowIndex
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.gui.swing.table;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit test for LiteralRowIndex
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class LiteralRowIndexTest
+{
+    protected List<List<String>> lists(List<String> first, List<String> second) {
+	List<List<String>> lists = new ArrayList<List<String>>(2);
+	lists.add(first);
+	lists.add(second);
+	return lists;
+    }
+
+    @Test
+    public void getRow() {
+	LiteralRowIndex index = new LiteralRowIndex(2);
+	index.update(lists(Arrays.asList("a", "b", "c"), Arrays.asList("c", "a")));
+	assertThat(index.getRow("a", 0), is(0));
+	assertThat(index.getRow("c", 0), is(2));
+	assertThat(index.getRow("c", 1), is(0));
+	assertThat(index.getRow("b", 1), is(-1));
+	assertThat(index.getRow("d", 0), is(-1));
+	assertThat(index.size(), is(3));
+    }
+
+    @Test
+    public void getRows() {
+	LiteralRowIndex index = new LiteralRowIndex(2);
+	index.update(lists(Arrays.asList("a", "b", "c"), Arrays.asList("c", "a")));
+	assertArrayEquals(new int[]{2, 0}, index.getRows(new String[]{"c", "d", "a"}, 0));
+	assertThat(index.getRows(new String[]{"b"}, 1).length, is(0));
+    }
+
+    @Test
+    public void update() {
+	LiteralRowIndex index = new LiteralRowIndex(2);
+	List<String> second = Arrays.asList("x", "y");
+	index.update(lists(Arrays.asList("a", "b", "c"), second));
+	index.update(lists(Arrays.asList("a", "c", "d"), second));
+	assertThat(index.getRow("a", 0), is(0));
+	assertThat(index.getRow("b", 0), is(-1));
+	assertThat(index.getRow("c", 0), is(1));
+	assertThat(index.getRow("d", 0), is(2));
+	assertThat(index.getRow("y", 1), is(1));
+	assertThat(index.size(), is(5));
+
+	index.update(lists(Arrays.asList("a"), Arrays.asList("y")));
+	assertThat(index.getRow("c", 0), is(-1));
+	assertThat(index.getRow("y", 1), is(0));
+	assertThat(index.getRow("x", 1), is(-1));
+	assertThat(index.size(), is(2));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * NameTreeTableModelTest.java:  testcases of NameTreeTableModel
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.gui.swing.table;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import javax.swing.tree.TreeNode;
+
+import org.nomencurator.gui.swing.tree.NameTreeModel;
+import org.nomencurator.gui.swing.tree.NameTreeNode;
+import org.nomencurator.gui.swing.tree.UnitedNameTreeModel;
+
+import org.nomencurator.model.DefaultNameUsage;
+
+/**
+ * Unit test for NameTreeTableModel, patching its cell matrix on
+ * modification of trees
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NameTreeTableModelTest
+{
+    protected DefaultNameUsage createNameUsage(String rank, String name, DefaultNameUsage higher) {
+	DefaultNameUsage nameUsage = new DefaultNameUsage();
+	nameUsage.setRankLiteral(rank);
+	nameUsage.setLiteral(name);
+	if(higher != null)
+	    nameUsage.setHigherNameUsage(higher);
+	return nameUsage;
+    }
+
+    /**
+     * Returns a tree of Animalia with Chordata containing Mammalia,
+     * and Aves under {@code avesParent}
+     */
+    protected NameTreeModel createTree(String avesParent) {
+	DefaultNameUsage root = createNameUsage("kingdom", "Animalia", null);
+	DefaultNameUsage chordata = createNameUsage("phylum", "Chordata", root);
+	createNameUsage("class", "Mammalia", chordata);
+	DefaultNameUsage parent = chordata;
+	if(!"Chordata".equals(avesParent))
+	    parent = createNameUsage("phylum", avesParent, root);
+	createNameUsage("class", "Aves", parent);
+	return new NameTreeModel(root);
+    }
+
+    protected NameTreeNode getChild(TreeNode parent, String literal) {
+	for(int i = 0; i < parent.getChildCount(); i++) {
+	    NameTreeNode child = (NameTreeNode)parent.getChildAt(i);
+	    if(literal.equals(child.getLiteral()))
+		return child;
+	}
+	return null;
+    }
+
+    /**
+     * Returns the row of {@code literal} in {@code tableModel}
+     */
+    protected int getRow(NameTreeTableModel tableModel, String literal) {
+	return tableModel.getRowIndex().getRow(literal, tableModel.getTableMode().ordinal());
+    }
+
+    /**
+     * Asserts that the matrix of {@code tableModel} is what building it again gives
+     */
+    protected void assertPatched(NameTreeTableModel tableModel) {
+	NameTreeTableModel.CellMatrix matrix = tableModel.cellMatrix;
+	assertThat(matrix, is(notNullValue()));
+	NameTreeTableModel.CellMatrix built = tableModel.createCellMatrix(matrix.literals);
+	for (int column = 0; column < built.columns.length; column++)
+	    assertThat(Arrays.asList(matrix.columns[column]), is(Arrays.asList(built.columns[column])));
+    }
+
+    protected void invokeAndWait(Runnable runnable) throws Exception {
+	SwingUtilities.invokeAndWait(runnable);
+    }
+
+    @Test
+    public void patchOnInsertion() throws Exception {
+	final NameTreeModel agreeing = createTree("Chordata");
+	final NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel unitedTree = new UnitedNameTreeModel();
+	unitedTree.add(agreeing);
+	unitedTree.add(disagreeing);
+	final NameTreeTableModel tableModel = new NameTreeTableModel(unitedTree);
+	tableModel.buildCellMatrix();
+	final NameTreeTableModel.CellMatrix matrix = tableModel.cellMatrix;
+	final int row = getRow(tableModel, "Mammalia");
+	assertThat(row >= 0, is(true));
+	assertThat(matrix.columns[1][row] instanceof NameTreeNode, is(true));
+
+	invokeAndWait(new Runnable() {
+		public void run() {
+		    NameTreeNode arthropoda = getChild((TreeNode)disagreeing.getRoot(), "Arthropoda");
+		    disagreeing.insertNodeInto(new NameTreeNode(createNameUsage("class", "Mammalia", null)), arthropoda, 0);
+		}
+	    });
+
+	// the matrix is replaced by a patched copy
+	assertThat(tableModel.cellMatrix, is(not(sameInstance(matrix))));
+	assertThat(tableModel.cellMatrix.columns[1][row] instanceof Collection, is(true));
+	assertThat(((Collection<?>)tableModel.cellMatrix.columns[1][row]).size(), is(2));
+	assertThat(matrix.columns[1][row] instanceof NameTreeNode, is(true));
+	assertPatched(tableModel);
+
+	// a node mapped to an existing node of the united tree
+	final int arthropodaRow = getRow(tableModel, "Arthropoda");
+	assertThat(tableModel.cellMatrix.columns[0][arthropodaRow], is(nullValue()));
+	invokeAndWait(new Runnable() {
+		public void run() {
+		    TreeNode root = (TreeNode)agreeing.getRoot();
+		    agreeing.insertNodeInto(new NameTreeNode(createNameUsage("phylum", "Arthropoda", null)), (NameTreeNode)root, 0);
+		}
+	    });
+	assertThat(tableModel.cellMatrix.columns[0][arthropodaRow], is(notNullValue()));
+	assertPatched(tableModel);
+    }
+
+    @Test
+    public void patchOnRemoval() throws Exception {
+	NameTreeModel agreeing = createTree("Chordata");
+	final NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel unitedTree = new UnitedNameTreeModel();
+	unitedTree.add(agreeing);
+	unitedTree.add(disagreeing);
+	final NameTreeTableModel tableModel = new NameTreeTableModel(unitedTree);
+	tableModel.buildCellMatrix();
+	final NameTreeTableModel.CellMatrix matrix = tableModel.cellMatrix;
+	final int row = getRow(tableModel, "Aves");
+	assertThat(matrix.columns[1][row], is(notNullValue()));
+
+	invokeAndWait(new Runnable() {
+		public void run() {
+		    disagreeing.removeNodeFromParent(getChild((TreeNode)disagreeing.getRoot(), "Arthropoda"));
+		}
+	    });
+
+	assertThat(tableModel.cellMatrix, is(not(sameInstance(matrix))));
+	assertThat(tableModel.cellMatrix.columns[1][row], is(nullValue()));
+	assertThat(tableModel.cellMatrix.columns[0][row], is(matrix.columns[0][row]));
+	assertPatched(tableModel);
+    }
+
+    @Test
+    public void dispose() {
+	UnitedNameTreeModel unitedTree = new UnitedNameTreeModel();
+	unitedTree.add(createTree("Chordata"));
+	int listeners = unitedTree.getTreeModelListeners().length;
+	List<NameTreeTableModel> tableModels = NameTreeTableModel.createTableModels(unitedTree);
+	assertThat(unitedTree.getTreeModelListeners().length, is(listeners + tableModels.size()));
+
+	for (NameTreeTableModel tableModel : tableModels)
+	    tableModel.dispose();
+	assertThat(unitedTree.getTreeModelListeners().length, is(listeners));
+	assertThat(tableModels.get(0).cellMatrix, is(nullValue()));
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * UnitedNameTreeModelTest.java:  testcases of UnitedNameTreeModel
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.gui.swing.tree;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.swing.SwingUtilities;
+
+import javax.swing.tree.TreeNode;
+
+import org.nomencurator.model.DefaultNameUsage;
+
+/**
+ * Unit test for UnitedNameTreeModel, adding and removing trees and
+ * nodes of trees which disagree in part
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class UnitedNameTreeModelTest
+{
+    protected DefaultNameUsage createNameUsage(String rank, String name, DefaultNameUsage higher) {
+	DefaultNameUsage nameUsage = new DefaultNameUsage();
+	nameUsage.setRankLiteral(rank);
+	nameUsage.setLiteral(name);
+	if(higher != null)
+	    nameUsage.setHigherNameUsage(higher);
+	return nameUsage;
+    }
+
+    /**
+     * Returns a tree of Animalia with Chordata containing Mammalia,
+     * and Aves under {@code avesParent}
+     */
+    protected NameTreeModel createTree(String avesParent) {
+	DefaultNameUsage root = createNameUsage("kingdom", "Animalia", null);
+	DefaultNameUsage chordata = createNameUsage("phylum", "Chordata", root);
+	createNameUsage("class", "Mammalia", chordata);
+	DefaultNameUsage parent = chordata;
+	if(!"Chordata".equals(avesParent))
+	    parent = createNameUsage("phylum", avesParent, root);
+	createNameUsage("class", "Aves", parent);
+	return new NameTreeModel(root);
+    }
+
+    protected NameTreeNode getChild(TreeNode parent, String literal) {
+	for(int i = 0; i < parent.getChildCount(); i++) {
+	    NameTreeNode child = (NameTreeNode)parent.getChildAt(i);
+	    if(literal.equals(child.getLiteral()))
+		return child;
+	}
+	return null;
+    }
+
+    /**
+     * Returns paths of literals of all nodes in {@code model}
+     */
+    protected Set<String> getPaths(UnitedNameTreeModel model) {
+	Set<String> paths = new TreeSet<String>();
+	collectPaths((TreeNode)model.getRoot(), "", paths);
+	return paths;
+    }
+
+    protected void collectPaths(TreeNode node, String path, Set<String> paths) {
+	for(int i = 0; i < node.getChildCount(); i++) {
+	    TreeNode child = node.getChildAt(i);
+	    String childPath = path + "/" + ((UnitedNameTreeNode)child).getLiteral();
+	    paths.add(childPath);
+	    collectPaths(child, childPath, paths);
+	}
+    }
+
+    protected int size(Collection<?> nodes) {
+	return nodes == null ? 0 : nodes.size();
+    }
+
+    @Test
+    public void addDisagreeingTrees() {
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(createTree("Chordata"));
+	model.add(createTree("Arthropoda"));
+	assertThat(model.getTreeCount(), is(2));
+	assertThat(size(model.getNodesFor("Aves")), is(2));
+	assertThat(size(model.getNodesFor("Mammalia")), is(1));
+	assertThat(getPaths(model).contains("/Animalia/Arthropoda/Aves"), is(true));
+	assertThat(getPaths(model).contains("/Animalia/Chordata/Aves"), is(true));
+    }
+
+    @Test
+    public void removeTree() {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+	model.add(disagreeing);
+
+	model.remove(disagreeing);
+	assertThat(model.getTreeCount(), is(1));
+	// nodes only of the removed tree are pruned and unindexed
+	assertThat(size(model.getNodesFor("Arthropoda")), is(0));
+	assertThat(size(model.getNodesFor("Aves")), is(1));
+
+	UnitedNameTreeModel rebuilt = new UnitedNameTreeModel();
+	rebuilt.add(agreeing);
+	assertThat(getPaths(model), is(getPaths(rebuilt)));
+    }
+
+    @Test
+    public void removeNodes() {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+	model.add(disagreeing);
+
+	disagreeing.removeNodeFromParent(getChild((TreeNode)disagreeing.getRoot(), "Arthropoda"));
+	assertThat(size(model.getNodesFor("Arthropoda")), is(0));
+	assertThat(size(model.getNodesFor("Aves")), is(1));
+	assertThat(getPaths(model).contains("/Animalia/Chordata/Aves"), is(true));
+	// Mammalia is still mapped from both trees
+	assertThat(model.getTreesAndNodesFor(model.getNodesFor("Mammalia").iterator().next()).size(), is(2));
+    }
+
+    @Test
+    public void insertNodes() {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+	model.add(disagreeing);
+
+	NameTreeNode chordata = getChild((TreeNode)disagreeing.getRoot(), "Chordata");
+	disagreeing.insertNodeInto(new NameTreeNode(createNameUsage("class", "Reptilia", null)), chordata, 0);
+	NameTreeNode arthropoda = getChild((TreeNode)disagreeing.getRoot(), "Arthropoda");
+	disagreeing.insertNodeInto(new NameTreeNode(createNameUsage("class", "Mammalia", null)), arthropoda, 0);
+
+	Set<String> paths = getPaths(model);
+	assertThat(paths.contains("/Animalia/Chordata/Reptilia"), is(true));
+	assertThat(paths.contains("/Animalia/Arthropoda/Mammalia"), is(true));
+	assertThat(size(model.getNodesFor("Mammalia")), is(2));
+
+	// removal of the tree leaves nodes of the other tree only
+	model.remove(disagreeing);
+	assertThat(size(model.getNodesFor("Reptilia")), is(0));
+	assertThat(size(model.getNodesFor("Mammalia")), is(1));
+	UnitedNameTreeModel rebuilt = new UnitedNameTreeModel();
+	rebuilt.add(agreeing);
+	assertThat(getPaths(model), is(getPaths(rebuilt)));
+    }
+
+    @Test
+    public void adoptDetachedModel() {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+	int modifications = model.getModificationCount();
+
+	UnitedNameTreeModel detached = model.createDetachedModel();
+	assertThat(detached.isAttached(), is(false));
+	detached.add(agreeing);
+	detached.add(disagreeing);
+	// the model is untouched until it adopts the detached model
+	assertThat(model.getTreeCount(), is(1));
+	assertThat(model.getModificationCount(), is(modifications));
+
+	model.adopt(detached);
+	assertThat(model.getTreeCount(), is(2));
+	assertThat(size(model.getNodesFor("Aves")), is(2));
+	UnitedNameTreeModel rebuilt = new UnitedNameTreeModel();
+	rebuilt.add(agreeing);
+	rebuilt.add(disagreeing);
+	assertThat(getPaths(model), is(getPaths(rebuilt)));
+
+	// the model listens to adopted trees
+	disagreeing.removeNodeFromParent(getChild((TreeNode)disagreeing.getRoot(), "Arthropoda"));
+	assertThat(size(model.getNodesFor("Arthropoda")), is(0));
+	assertThat(size(model.getNodesFor("Aves")), is(1));
+    }
+
+    @Test
+    public void adoptDetachedCopy() {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+	Set<String> paths = getPaths(model);
+	int modifications = model.getModificationCount();
+
+	// only the added tree is merged into the copy
+	UnitedNameTreeModel copy = model.createDetachedCopy();
+	assertThat(copy.isAttached(), is(false));
+	assertThat(copy.getRoot(), is(not(sameInstance(model.getRoot()))));
+	assertThat(getPaths(copy), is(paths));
+	copy.add(disagreeing);
+	assertThat(model.getTreeCount(), is(1));
+	assertThat(model.getModificationCount(), is(modifications));
+	assertThat(getPaths(model), is(paths));
+	assertThat(size(model.getNodesFor("Aves")), is(1));
+
+	model.adopt(copy);
+	assertThat(model.getTreeCount(), is(2));
+	assertThat(size(model.getNodesFor("Aves")), is(2));
+	UnitedNameTreeModel rebuilt = new UnitedNameTreeModel();
+	rebuilt.add(agreeing);
+	rebuilt.add(disagreeing);
+	assertThat(getPaths(model), is(getPaths(rebuilt)));
+
+	// nodes of the copied tree are mapped to the adopted nodes
+	agreeing.removeNodeFromParent(getChild((TreeNode)agreeing.getRoot(), "Chordata"));
+	disagreeing.removeNodeFromParent(getChild((TreeNode)disagreeing.getRoot(), "Arthropoda"));
+	assertThat(size(model.getNodesFor("Arthropoda")), is(0));
+	assertThat(size(model.getNodesFor("Aves")), is(0));
+	assertThat(size(model.getNodesFor("Mammalia")), is(1));
+	assertThat(model.getTreesAndNodesFor(model.getNodesFor("Mammalia").iterator().next()).size(), is(1));
+    }
+
+    @Test
+    public void scheduleAlignments() throws Exception {
+	NameTreeModel agreeing = createTree("Chordata");
+	NameTreeModel disagreeing = createTree("Arthropoda");
+	NameTreeModel another = createTree("Mollusca");
+	final UnitedNameTreeModel model = new UnitedNameTreeModel();
+	model.add(agreeing);
+
+	// the second alignment starts after the first is adopted, so neither is stale
+	new UnitedNameTreeAlignment(model, Collections.singleton(disagreeing)).schedule();
+	new UnitedNameTreeAlignment(model, Collections.singleton(another)).schedule();
+	final int[] count = new int[1];
+	long deadline = System.currentTimeMillis() + 10000L;
+	while (count[0] < 3 && System.currentTimeMillis() < deadline) {
+	    Thread.sleep(10L);
+	    SwingUtilities.invokeAndWait(new Runnable() {
+		    public void run() {
+			count[0] = model.getTreeCount();
+		    }
+		});
+	}
+	assertThat(count[0], is(3));
+	assertThat(model.getModificationCount(), is(3));
+
+	UnitedNameTreeModel rebuilt = new UnitedNameTreeModel();
+	rebuilt.add(agreeing);
+	rebuilt.add(disagreeing);
+	rebuilt.add(another);
+	assertThat(getPaths(model), is(getPaths(rebuilt)));
+    }
+}
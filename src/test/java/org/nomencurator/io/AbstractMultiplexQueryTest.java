@@ -0,0 +1,127 @@
+/*
+ * AbstractMultiplexQueryTest.java:  testcases of AbstractMultiplexQuery
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.nomencurator.model.DefaultNameUsage;
+
+/**
+ * Unit test for AbstractMultiplexQuery counting sources out
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class AbstractMultiplexQueryTest
+{
+    /**
+     * Returns a query to a source giving a {@code DefaultNameUsage}
+     * of {@code literal} after {@code delay} milliseconds.
+     */
+    protected NamedObjectQuery<DefaultNameUsage> createQuery(final String literal, final long delay) {
+	return new NamedObjectQuery<DefaultNameUsage>(null) {
+	    public Collection<DefaultNameUsage> call() throws IOException {
+		checkCancelled();
+		runner = Thread.currentThread();
+		try {
+		    Thread.sleep(delay);
+		}
+		catch (InterruptedException e) {
+		    throw new InterruptedIOException();
+		}
+		finally {
+		    runner = null;
+		}
+		DefaultNameUsage nameUsage = new DefaultNameUsage();
+		nameUsage.setLiteral(literal);
+		results = Collections.singletonList(nameUsage);
+		// as a source firing its event, then returned to the caller as well
+		fireQueryResultEvent(new QueryResultEvent<DefaultNameUsage>(this, 0, 1));
+		return results;
+	    }
+	};
+    }
+
+    @Test
+    public void reportNoResidueOnce() throws InterruptedException {
+	List<NamedObjectQuery<DefaultNameUsage>> queries = new ArrayList<NamedObjectQuery<DefaultNameUsage>>();
+	for(int i = 0; i < 50; i++)
+	    queries.add(createQuery("Homo sapiens " + i, i % 3));
+	MultiplexNamedObjectQuery<DefaultNameUsage> multiplex = new MultiplexNamedObjectQuery<DefaultNameUsage>(queries);
+
+	final AtomicInteger finished = new AtomicInteger();
+	final CountDownLatch latch = new CountDownLatch(1);
+	multiplex.addQueryResultListener(new QueryResultListener<DefaultNameUsage>() {
+		public void queryReturned(QueryResultEvent<DefaultNameUsage> event) {
+		    if(event.getResidue() == 0) {
+			finished.incrementAndGet();
+			latch.countDown();
+		    }
+		}
+	    });
+	multiplex.call();
+
+	assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+	Thread.sleep(100);
+	assertThat(finished.get(), is(1));
+	assertThat(multiplex.getResidue(), is(0));
+	assertThat(multiplex.getResults().size(), is(50));
+    }
+
+    @Test
+    public void cancelTimedOut() throws InterruptedException {
+	NamedObjectQuery<DefaultNameUsage> slow = createQuery("Pan troglodytes", 10000L);
+	List<NamedObjectQuery<DefaultNameUsage>> queries = new ArrayList<NamedObjectQuery<DefaultNameUsage>>();
+	queries.add(createQuery("Homo sapiens", 0L));
+	queries.add(slow);
+	MultiplexNamedObjectQuery<DefaultNameUsage> multiplex = new MultiplexNamedObjectQuery<DefaultNameUsage>(queries);
+	multiplex.setTimeout(100L);
+
+	final CountDownLatch latch = new CountDownLatch(1);
+	multiplex.addQueryResultListener(new QueryResultListener<DefaultNameUsage>() {
+		public void queryReturned(QueryResultEvent<DefaultNameUsage> event) {
+		    if(event.getResidue() == 0)
+			latch.countDown();
+		}
+	    });
+	multiplex.call();
+
+	assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+	assertThat(slow.isCancelled(), is(true));
+	assertThat(multiplex.getResults().size(), is(1));
+    }
+}
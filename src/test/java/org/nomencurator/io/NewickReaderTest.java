@@ -0,0 +1,209 @@
+/*
+ * NewickReaderTest.java:  testcases of NewickReader and NexusReader
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.nomencurator.model.NameUsage;
+
+/**
+ * Unit test for NewickReader and NexusReader
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NewickReaderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected File write(String name, String content) throws IOException {
+	File file = new File(folder.getRoot(), name);
+	Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	return file;
+    }
+
+    protected static List<String> literals(List<? extends NameUsage<?>> nameUsages) {
+	List<String> literals = new ArrayList<String>();
+	for(NameUsage<?> nameUsage : nameUsages)
+	    literals.add(nameUsage.getLiteral());
+	return literals;
+    }
+
+    @Test
+    public void parseTrees() throws IOException {
+	File file = write("trees.nwk", "(A:0.1,(B:0.2,\n C:0.3)D:0.4)E;\n(X,Y);\n");
+	NameUsage<?>[] roots = new NewickReader().parseTrees(file);
+	assertThat(roots.length, is(2));
+
+	NameUsage<?> root = roots[0];
+	assertThat(root.getLiteral(), is("E"));
+	assertThat(root.getHigherNameUsage(), is(nullValue()));
+	assertThat(literals(root.getLowerNameUsages()).toString(), is("[A, D]"));
+	NameUsage<?> d = root.getLowerNameUsages().get(1);
+	assertThat(d.getNotes(), is("0.4"));
+	assertThat(literals(d.getLowerNameUsages()).toString(), is("[B, C]"));
+	assertThat(d.getLowerNameUsages().get(1).getNotes(), is("0.3"));
+
+	assertThat(roots[1].getLowerNameUsages().size(), is(2));
+    }
+
+    @Test
+    public void parseCompactTrees() throws IOException {
+	File file = write("tree.nwk", "[comment] ('Homo sapiens':1.5,'O''Brien' [x]:2,(,b)):0;");
+	CompactTree[] trees = new NewickReader().parseCompactTrees(file);
+	assertThat(trees.length, is(1));
+
+	CompactTree tree = trees[0];
+	assertThat(tree.size(), is(6));
+	assertThat(tree.getLeafCount(), is(4));
+	int root = tree.getRoot();
+	assertThat(tree.getParent(root), is(CompactTree.NONE));
+	assertThat(tree.getChildCount(root), is(3));
+
+	int[] children = tree.getChildren(root);
+	assertThat(tree.getLabel(children[0]), is("Homo sapiens"));
+	assertThat(tree.getBranchLength(children[0]), is(1.5));
+	assertThat(tree.getLabel(children[1]), is("O'Brien"));
+	assertThat(tree.getBranchLength(children[1]), is(2.0));
+	assertThat(Double.isNaN(tree.getBranchLength(children[2])), is(true));
+
+	int[] grandChildren = tree.getChildren(children[2]);
+	assertThat(grandChildren.length, is(2));
+	assertThat(tree.getLabel(grandChildren[0]), is(nullValue()));
+	assertThat(tree.getLabel(grandChildren[1]), is("b"));
+	assertThat(tree.getParent(tree.indexOf("b")), is(children[2]));
+    }
+
+    @Test
+    public void parseDeepTree() throws IOException {
+	// a caterpillar tree deeper than a recursive parser could handle
+	int depth = 100000;
+	StringBuilder newick = new StringBuilder();
+	for(int i = 0; i < depth; i++)
+	    newick.append('(');
+	newick.append("t0");
+	for(int i = 1; i <= depth; i++)
+	    newick.append(",t").append(i).append(')');
+	newick.append(';');
+
+	CompactTree.Builder builder = new CompactTree.Builder();
+	new NewickReader().parse(new StringReader(newick.toString()), builder);
+	CompactTree tree = builder.getTrees().get(0);
+	assertThat(tree.size(), is(2 * depth + 1));
+	assertThat(tree.getLeafCount(), is(depth + 1));
+	assertThat(tree.getLabel(tree.getChildren(tree.getRoot())[1]), is("t" + depth));
+    }
+
+    @Test
+    public void stopParsing() throws IOException {
+	final List<String> labels = new ArrayList<String>();
+	new NewickReader().parse(new StringReader("(a,b);(c,d);"), new NewickHandler() {
+		public void startTree(String name) {
+		}
+
+		public boolean node(String label, String branch, int children) {
+		    labels.add(label);
+		    return true;
+		}
+
+		public boolean endTree() {
+		    return false;
+		}
+	    });
+	assertThat(labels.toString(), is("[a, b, null]"));
+    }
+
+    @Test(expected = IOException.class)
+    public void unclosedTree() throws IOException {
+	new NewickReader().parse(new StringReader("((a,b),c"), new CompactTree.Builder());
+    }
+
+    @Test
+    public void mapInWindows() throws IOException {
+	String newick = "(été,日本,(🌲,x));";
+	File file = write("utf8.nwk", newick);
+	for(long size = 1; size < 8; size++) {
+	    CompactTree.Builder builder = new CompactTree.Builder();
+	    try (NewickTokenizer tokenizer = new NewickTokenizer(file)) {
+		tokenizer.mapSize = size;
+		tokenizer.parseTree(null, builder);
+	    }
+	    CompactTree tree = builder.getTrees().get(0);
+	    assertThat(tree.getLabel(0), is("été"));
+	    assertThat(tree.getLabel(1), is("日本"));
+	    assertThat(tree.getLabel(2), is("🌲"));
+	}
+    }
+
+    @Test
+    public void parseNexus() throws IOException {
+	File file = write("trees.nex",
+			  "#NEXUS\n"
+			  + "[written by hand]\n"
+			  + "BEGIN TAXA;\n"
+			  + "\tDIMENSIONS NTAX=3;\n"
+			  + "\tTAXLABELS Alpha Beta Gamma;\n"
+			  + "END;\n"
+			  + "BEGIN CHARACTERS; DIMENSIONS NCHAR=1; END;\n"
+			  + "BEGIN TREES;\n"
+			  + "\tTRANSLATE\n"
+			  + "\t\t1 'Homo sapiens',\n"
+			  + "\t\t2 Pan_troglodytes;\n"
+			  + "\tTREE first = [&R] (1:0.5,(2,3)):0.0;\n"
+			  + "\tTREE * second = (3,\n(1,2));\n"
+			  + "END;\n");
+	NexusReader reader = new NexusReader();
+	NameUsage<?>[] roots = reader.parseTrees(file);
+	assertThat(roots.length, is(2));
+	assertThat(reader.getTreeName(roots[0]), is("first"));
+	assertThat(reader.getTreeName(roots[1]), is("second"));
+
+	assertThat(literals(roots[0].getLowerNameUsages()).get(0), is("Homo sapiens"));
+	assertThat(roots[0].getLowerNameUsages().get(0).getNotes(), is("0.5"));
+	NameUsage<?> inner = roots[0].getLowerNameUsages().get(1);
+	assertThat(literals(inner.getLowerNameUsages()).toString(), is("[Pan_troglodytes, Gamma]"));
+
+	CompactTree[] trees = reader.parseCompactTrees(file);
+	assertThat(trees[1].getName(), is("second"));
+	assertThat(trees[1].getLabel(0), is("Gamma"));
+    }
+
+    @Test(expected = IOException.class)
+    public void notNexus() throws IOException {
+	new NexusReader().parseTrees(write("tree.nwk", "(a,b);"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * QueryExecutorTest.java:  testcases of QueryExecutor
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for QueryExecutor
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class QueryExecutorTest
+{
+    @Test
+    public void processAllItems() throws IOException {
+	List<Integer> items = new ArrayList<Integer>();
+	for(int i = 0; i < 100; i++)
+	    items.add(i);
+	final ConcurrentHashMap<Integer, Boolean> processed = new ConcurrentHashMap<Integer, Boolean>();
+	QueryExecutor.forEach(items, 4, new QueryExecutor.Task<Integer>() {
+		public void run(Integer item) {
+		    processed.put(item, Boolean.TRUE);
+		}
+	    });
+	assertThat(processed.size(), is(100));
+    }
+
+    @Test
+    public void boundConcurrency() throws IOException {
+	List<Integer> items = new ArrayList<Integer>();
+	for(int i = 0; i < 20; i++)
+	    items.add(i);
+	final AtomicInteger running = new AtomicInteger();
+	final AtomicInteger peak = new AtomicInteger();
+	QueryExecutor.forEach(items, 3, new QueryExecutor.Task<Integer>() {
+		public void run(Integer item) throws IOException {
+		    int now = running.incrementAndGet();
+		    peak.accumulateAndGet(now, Math::max);
+		    try {
+			Thread.sleep(5);
+		    }
+		    catch (InterruptedException e) {
+			throw new IOException(e);
+		    }
+		    running.decrementAndGet();
+		}
+	    });
+	assertThat(peak.get() <= 3, is(true));
+    }
+
+    @Test
+    public void runConcurrently() throws IOException {
+	List<Integer> items = new ArrayList<Integer>();
+	items.add(1);
+	items.add(2);
+	final CountDownLatch latch = new CountDownLatch(2);
+	QueryExecutor.forEach(items, 2, new QueryExecutor.Task<Integer>() {
+		public void run(Integer item) throws IOException {
+		    latch.countDown();
+		    try {
+			if(!latch.await(5, TimeUnit.SECONDS))
+			    throw new IOException("not concurrent");
+		    }
+		    catch (InterruptedException e) {
+			throw new IOException(e);
+		    }
+		}
+	    });
+    }
+
+    @Test
+    public void waitForRunningItems() throws IOException {
+	List<Integer> items = new ArrayList<Integer>();
+	for(int i = 0; i < 8; i++)
+	    items.add(i);
+	final AtomicInteger done = new AtomicInteger();
+	QueryExecutor.forEach(items, 4, new QueryExecutor.Task<Integer>() {
+		public void run(Integer item) throws IOException {
+		    try {
+			// items on pool threads outlast those on the calling thread
+			Thread.sleep(Thread.currentThread().getName().startsWith("query") ? 50 : 5);
+		    }
+		    catch (InterruptedException e) {
+			throw new IOException(e);
+		    }
+		    done.incrementAndGet();
+		}
+	    });
+	assertThat(done.get(), is(8));
+    }
+
+    @Test(expected = IOException.class)
+    public void propagateFailure() throws IOException {
+	List<Integer> items = new ArrayList<Integer>();
+	for(int i = 0; i < 10; i++)
+	    items.add(i);
+	QueryExecutor.forEach(items, 4, new QueryExecutor.Task<Integer>() {
+		public void run(Integer item) throws IOException {
+		    if(item == 5)
+			throw new IOException("failed");
+		}
+	    });
+    }
+}
@@ -30,16 +30,28 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 import static org.hamcrest.CoreMatchers.*;
 
+import java.io.IOException;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import java.text.DateFormat;
 
 import org.gbif.api.model.checklistbank.NameUsageMatch;
+import org.gbif.api.model.checklistbank.VernacularName;
+
+import org.gbif.api.model.common.LinneanClassification;
 
 import org.gbif.api.model.checklistbank.search.NameUsageSearchResult;
 import org.gbif.api.model.checklistbank.search.NameUsageSuggestResult;
@@ -70,7 +82,7 @@ import org.nomencurator.model.gbif.NubNameUsage;
 /**
  * Unit test for NubExchangerTest
  *
- * @version 	18 July 2016
+ * @version 	18 Oct. 2026
  * @author 	Nozomi `James' Ytow
  */
 public class NubExchangerTest
@@ -383,6 +395,137 @@ public class NubExchangerTest
 	assertTrue(true);
     }
 
+    /**
+     * {@code SpeciesAPIClient} matching {@code names} offline to usage keys
+     * from {@code base} in their order, counting match requests per name.
+     * {@code FAILING} is matched to a usage which cannot be loaded.
+     */
+    protected static class MatchingClient
+	extends SpeciesAPIClient
+    {
+	public static final String FAILING = "Failingia unloadable";
+
+	protected final int base;
+
+	protected final List<String> names;
+
+	protected final Map<String, AtomicInteger> requests = new ConcurrentHashMap<String, AtomicInteger>();
+
+	public MatchingClient(int base, String ... names)
+	{
+	    super();
+	    this.base = base;
+	    this.names = Arrays.asList(names);
+	}
+
+	public int getKey(String name)
+	{
+	    return base + names.indexOf(name);
+	}
+
+	public int getRequests(String name)
+	{
+	    AtomicInteger count = requests.get(name);
+	    return count == null ? 0 : count.get();
+	}
+
+	@Override
+	public NameUsageMatch match(String scientificName, org.gbif.api.vocabulary.Rank rank, LinneanClassification classification,
+				    boolean strict, boolean verbose)
+	{
+	    requests.putIfAbsent(scientificName, new AtomicInteger());
+	    requests.get(scientificName).incrementAndGet();
+	    NameUsageMatch match = new NameUsageMatch();
+	    match.setScientificName(scientificName);
+	    match.setCanonicalName(scientificName);
+	    match.setUsageKey(getKey(scientificName));
+	    match.setMatchType(NameUsageMatch.MatchType.EXACT);
+	    return match;
+	}
+
+	@Override
+	public org.gbif.api.model.checklistbank.NameUsage get(int usageKey)
+	    throws IOException
+	{
+	    int index = usageKey - base;
+	    if(index < 0 || index >= names.size())
+		return null;
+	    String name = names.get(index);
+	    if(FAILING.equals(name))
+		throw new IOException("unavailable usage " + usageKey);
+	    org.gbif.api.model.checklistbank.NameUsage nameUsage = new org.gbif.api.model.checklistbank.NameUsage();
+	    nameUsage.setKey(usageKey);
+	    nameUsage.setScientificName(name);
+	    nameUsage.setCanonicalName(name);
+	    nameUsage.setRank(org.gbif.api.vocabulary.Rank.SPECIES);
+	    return nameUsage;
+	}
+
+	@Override
+	public List<VernacularName> getVernacularNames(int usageKey)
+	{
+	    return Collections.emptyList();
+	}
+    }
+
+    @Test
+    public void matchInOrder() throws Exception {
+	MatchingClient client = new MatchingClient(910000000, "Puma concolor", "Panthera leo", "Lynx lynx");
+	NubExchanger exchanger = new NubExchanger(client, new DatasetAPIClient());
+	List<String> names = Arrays.asList("Lynx lynx", "Puma concolor", "Panthera leo");
+
+	List<NubMatchResult> results = exchanger.match(names, null, true, false, null, null);
+	assertThat(results.size(), is(names.size()));
+	for(int i = 0; i < names.size(); i++) {
+	    NubMatchResult result = results.get(i);
+	    assertThat(result.getName(), is(names.get(i)));
+	    assertThat(result.isFailed(), is(false));
+	    assertThat(result.getBest(), is(notNullValue()));
+	    assertThat(result.getMatch().getUsageKey(), is(client.getKey(names.get(i))));
+	}
+    }
+
+    @Test
+    public void matchEachNameOnce() throws Exception {
+	MatchingClient client = new MatchingClient(920000000, "Puma concolor", "Panthera leo");
+	NubExchanger exchanger = new NubExchanger(client, new DatasetAPIClient());
+	List<String> names = Arrays.asList("Puma concolor", "Panthera leo", "Puma concolor", "Puma concolor");
+
+	List<NubMatchResult> results = exchanger.match(names, null, true, false, null, null);
+	assertThat(results.size(), is(names.size()));
+	assertThat(client.getRequests("Puma concolor"), is(1));
+	assertThat(client.getRequests("Panthera leo"), is(1));
+	assertThat(results.get(0).isDuplicate(), is(false));
+	assertThat(results.get(1).isDuplicate(), is(false));
+	assertThat(results.get(2).isDuplicate(), is(true));
+	assertThat(results.get(3).isDuplicate(), is(true));
+	assertThat(results.get(3).getName(), is("Puma concolor"));
+	assertThat(results.get(3).getBest(), is(sameInstance(results.get(0).getBest())));
+    }
+
+    @Test
+    public void matchDespiteFailure() throws Exception {
+	MatchingClient client = new MatchingClient(930000000, "Puma concolor", MatchingClient.FAILING, "Panthera leo");
+	NubExchanger exchanger = new NubExchanger(client, new DatasetAPIClient());
+	List<String> names = Arrays.asList("Puma concolor", MatchingClient.FAILING, "Panthera leo");
+
+	List<NubMatchResult> results = exchanger.match(names, null, true, false, null, null);
+	assertThat(results.size(), is(names.size()));
+
+	NubMatchResult failed = results.get(1);
+	assertThat(failed.getName(), is(MatchingClient.FAILING));
+	assertThat(failed.isFailed(), is(true));
+	assertThat(failed.getFailure().getMessage(), is("unavailable usage 930000001"));
+	assertThat(failed.getBest(), is(nullValue()));
+	assertThat(failed.getNameUsages().isEmpty(), is(true));
+
+	// other elements of the batch are matched
+	assertThat(results.get(0).isFailed(), is(false));
+	assertThat(results.get(0).getBest(), is(notNullValue()));
+	assertThat(results.get(2).isFailed(), is(false));
+	assertThat(results.get(2).getBest(), is(notNullValue()));
+    }
+
     /*
     @Test
     public void test_getLowerNameUsages() {
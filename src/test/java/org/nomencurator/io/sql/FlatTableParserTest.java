@@ -0,0 +1,129 @@
+/*
+ * FlatTableParserTest.java:  testcases of FlatTableParser
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io.sql;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.nomencurator.model.DefaultNameUsage;
+import org.nomencurator.model.NameUsage;
+
+/**
+ * Unit test for FlatTableParser
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class FlatTableParserTest
+{
+    protected static final String TABLE =
+	"dwc:taxonID\tdwc:parentNameUsageID\tdwc:taxonRank\tdwc:scientificName\tdwc:scientificNameAuthorship\n" +
+	"3\t2\tspecies\tAus bus\tSmith, 1900\n" +
+	"\n" +
+	"2\t1\tgenus\tAus\t\n" +
+	"1\t\tfamily\tAidae\t\n" +
+	"4\t2\tspecies\tAus cus\t\n" +
+	"5\t9\tspecies\tBus dus\t\n" +
+	"6\t1\tgenus\t\t\n";
+
+    protected String getName(NameUsage<?> nameUsage) {
+	return nameUsage == null ? null : nameUsage.getLiteral();
+    }
+
+    @Test
+    public void parseHierarchy() throws IOException {
+	FlatTableParser parser = new FlatTableParser(8, 2);
+	DefaultNameUsage root = parser.parseHierarchy(new StringReader(TABLE));
+
+	// Aidae and orphaned Bus dus under a synthetic root
+	assertThat(root.getLowerNameUsages().size(), is(2));
+	NameUsage<DefaultNameUsage> family = root.getLowerNameUsages().get(0);
+	assertThat(getName(family), is("Aidae"));
+	assertThat(getName(root.getLowerNameUsages().get(1)), is("Bus dus"));
+
+	NameUsage<DefaultNameUsage> genus = family.getLowerNameUsages().get(0);
+	assertThat(getName(genus), is("Aus"));
+	assertThat(genus.getLowerNameUsages().size(), is(2));
+	assertThat(getName(genus.getLowerNameUsages().get(0)), is("Aus bus"));
+	assertThat(genus.getLowerNameUsages().get(0).getAuthority(), is("Smith, 1900"));
+	assertThat(genus.getLowerNameUsages().get(0).getRankLiteral(), is("species"));
+    }
+
+    @Test
+    public void batchesParentsFirst() throws IOException {
+	final Set<NameUsage<?>> accepted = Collections.newSetFromMap(new IdentityHashMap<NameUsage<?>, Boolean>());
+	final List<String> names = new ArrayList<String>();
+	FlatTableParser.Sink sink = new FlatTableParser.Sink() {
+		public List<DefaultNameUsage> accept(List<DefaultNameUsage> batch) {
+		    List<DefaultNameUsage> stubs = new ArrayList<DefaultNameUsage>();
+		    for(DefaultNameUsage nameUsage : batch) {
+			NameUsage<?> higher = nameUsage.getHigherNameUsage();
+			assertThat(higher == null || accepted.contains(higher), is(true));
+			accepted.add(nameUsage);
+			names.add(nameUsage.getLiteral());
+			DefaultNameUsage stub = new FlatTableParser.FlatNameUsage(nameUsage.getLocalKey());
+			stub.setLiteral(nameUsage.getLiteral());
+			stubs.add(stub);
+			accepted.add(stub);
+		    }
+		    return stubs;
+		}
+
+		public void finish() { }
+	    };
+
+	FlatTableParser parser = new FlatTableParser(16, 1);
+	FlatTableImportResult result = parser.parse(new StringReader(TABLE), sink);
+
+	assertThat(names.toString(), is("[Aidae, Aus, Aus bus, Aus cus, Bus dus]"));
+	assertThat(result.getRowCount(), is(6));
+	assertThat(result.getNameUsageCount(), is(5));
+	assertThat(result.getOrphanCount(), is(1));
+	assertThat(result.getSkippedCount(), is(1));
+	assertThat(result.getBatchCount(), is(5));
+    }
+
+    @Test
+    public void parseQuotedColumns() throws IOException {
+	FlatTableParser parser = new FlatTableParser();
+	parser.setDelimiter(',');
+	parser.setQuote('"');
+	parser.setHeader(false);
+	DefaultNameUsage root = parser.parseHierarchy(new StringReader(
+	    "1,,genus,Aus,\"Smith, \"\"Jr.\"\"\"\r\n" +
+	    "2,1,species,\"Aus\nbus\",\n"));
+
+	assertThat(getName(root), is("Aus"));
+	assertThat(root.getAuthority(), is("Smith, \"Jr.\""));
+	assertThat(getName(root.getLowerNameUsages().get(0)), is("Aus\nbus"));
+    }
+}
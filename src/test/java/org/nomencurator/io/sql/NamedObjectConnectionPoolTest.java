@@ -0,0 +1,176 @@
+/*
+ * NamedObjectConnectionPoolTest.java:  testcases of NamedObjectConnectionPool
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.io.sql;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.PrintWriter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Unit test for NamedObjectConnectionPool
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NamedObjectConnectionPoolTest
+{
+    /**
+     * {@code DataSource} of {@code Connection}s which only remember
+     * whether they are closed and are valid while {@code valid} is true.
+     */
+    static class TestDataSource
+	implements DataSource
+    {
+	final AtomicInteger opened = new AtomicInteger();
+
+	final AtomicInteger closed = new AtomicInteger();
+
+	final AtomicBoolean valid = new AtomicBoolean(true);
+
+	/** run when a returned {@code Connection} is reset, or null */
+	volatile Runnable onReset;
+
+	public Connection getConnection() {
+	    opened.incrementAndGet();
+	    return (Connection)Proxy.newProxyInstance(getClass().getClassLoader(),
+						      new Class<?>[]{Connection.class},
+						      new InvocationHandler() {
+							  public Object invoke(Object proxy, Method method, Object[] args) {
+							      String name = method.getName();
+							      if(name.equals("isValid"))
+								  return valid.get();
+							      if(name.equals("getAutoCommit")) {
+								  Runnable runnable = onReset;
+								  if(runnable != null)
+								      runnable.run();
+								  return Boolean.TRUE;
+							      }
+							      if(name.equals("close"))
+								  closed.incrementAndGet();
+							      return null;
+							  }
+						      });
+	}
+
+	public Connection getConnection(String user, String password) { return getConnection(); }
+	public PrintWriter getLogWriter() { return null; }
+	public void setLogWriter(PrintWriter out) { }
+	public void setLoginTimeout(int seconds) { }
+	public int getLoginTimeout() { return 0; }
+	public Logger getParentLogger() { return null; }
+	public <T> T unwrap(Class<T> iface) { return null; }
+	public boolean isWrapperFor(Class<?> iface) { return false; }
+    }
+
+    @Test
+    public void reuseReturnedConnection() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	NamedObjectConnectionPool pool = new NamedObjectConnectionPool(source, "test", null, 2);
+	NamedObjectConnection<?> first = pool.getConnection();
+	assertThat(pool.getActiveCount(), is(1));
+	first.close();
+	assertThat(pool.getActiveCount(), is(0));
+	assertThat(pool.getIdleCount(), is(1));
+	assertThat(pool.getConnection(), is(sameInstance((Object)first)));
+	assertThat(source.opened.get(), is(1));
+    }
+
+    @Test
+    public void boundedBySize() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	NamedObjectConnectionPool pool = new NamedObjectConnectionPool(source, "test", null, 2);
+	NamedObjectConnection<?> first = pool.getConnection();
+	NamedObjectConnection<?> second = pool.getConnection();
+	assertThat(first, is(not(sameInstance(second))));
+	try {
+	    pool.getConnection(10, TimeUnit.MILLISECONDS);
+	    fail("pool exceeded its size");
+	}
+	catch (SQLException e) {
+	}
+	second.close();
+	assertThat(pool.getConnection(10, TimeUnit.MILLISECONDS), is(sameInstance((Object)second)));
+    }
+
+    @Test
+    public void discardInvalidConnection() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	NamedObjectConnectionPool pool = new NamedObjectConnectionPool(source, "test", null, 2);
+	NamedObjectConnection<?> first = pool.getConnection();
+	first.close();
+	source.valid.set(false);
+	NamedObjectConnection<?> second = pool.getConnection();
+	assertThat(second, is(not(sameInstance(first))));
+	assertThat(source.closed.get(), is(1));
+	assertThat(source.opened.get(), is(2));
+    }
+
+    @Test
+    public void closeConnectionsReturnedAfterClose() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	NamedObjectConnectionPool pool = new NamedObjectConnectionPool(source, "test", null, 2);
+	NamedObjectConnection<?> first = pool.getConnection();
+	NamedObjectConnection<?> second = pool.getConnection();
+	first.close();
+	pool.close();
+	assertThat(source.closed.get(), is(1));
+	second.close();
+	assertThat(source.closed.get(), is(2));
+	assertThat(pool.getIdleCount(), is(0));
+    }
+
+    @Test
+    public void closeConnectionsReturnedWhileClosing() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	final NamedObjectConnectionPool pool = new NamedObjectConnectionPool(source, "test", null, 2);
+	NamedObjectConnection<?> first = pool.getConnection();
+	// the pool is closed after the connection is checked but before it is pooled
+	source.onReset = new Runnable() {
+		public void run() {
+		    pool.close();
+		}
+	    };
+	first.close();
+	assertThat(pool.isClosed(), is(true));
+	assertThat(pool.getIdleCount(), is(0));
+	assertThat(source.closed.get(), is(1));
+	assertThat(pool.getActiveCount(), is(0));
+    }
+}
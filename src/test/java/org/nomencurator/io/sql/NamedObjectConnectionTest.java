@@ -0,0 +1,449 @@
+/*
+ * NamedObjectConnectionTest.java:  testcases of bulk access by NamedObjectConnection
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.io.sql;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.PrintWriter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.nomencurator.model.Appearance;
+import org.nomencurator.model.NamedObject;
+import org.nomencurator.model.NameUsage;
+import org.nomencurator.model.Publication;
+
+/**
+ * Unit test for bulk access by NamedObjectConnection, through
+ * {@code Connection}s to a table of named objects held in memory
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NamedObjectConnectionTest
+{
+    /** Number of databases, to give each test its own caches */
+    static final AtomicInteger databases = new AtomicInteger();
+
+    /** SQL statement executed with its parameters */
+    static class Execution
+    {
+	final String sql;
+
+	final List<Object> parameters;
+
+	Execution(String sql, Collection<Object> parameters) {
+	    this.sql = sql;
+	    this.parameters = new ArrayList<Object>(parameters);
+	}
+
+	boolean isSelect() { return sql.startsWith("SELECT"); }
+
+	public String toString() { return sql + " " + parameters; }
+    }
+
+    /**
+     * {@code DataSource} of {@code Connection}s to rows of named_object
+     * joined with their subtype tables, recording statements executed.
+     */
+    static class TestDataSource
+	implements DataSource
+    {
+	/** Rows by object ID */
+	final TreeMap<Integer, Map<String, Object>> rows = new TreeMap<Integer, Map<String, Object>>();
+
+	final List<Execution> executed = new ArrayList<Execution>();
+
+	/** Object IDs in order of insertion */
+	final List<Integer> inserted = new ArrayList<Integer>();
+
+	int commits;
+
+	Map<String, Object> put(int objectID, String objectType, String persistentID) {
+	    Map<String, Object> row = new LinkedHashMap<String, Object>();
+	    row.put("object_id", objectID);
+	    row.put("object_type", objectType);
+	    row.put("persistent_id", persistentID);
+	    rows.put(objectID, row);
+	    return row;
+	}
+
+	Object proxy(Class<?> type, InvocationHandler handler) {
+	    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler);
+	}
+
+	static Object defaultValue(Class<?> type) {
+	    if(type == Boolean.TYPE)
+		return Boolean.FALSE;
+	    if(type == Integer.TYPE)
+		return Integer.valueOf(0);
+	    if(type == Long.TYPE)
+		return Long.valueOf(0L);
+	    return null;
+	}
+
+	public Connection getConnection() {
+	    return (Connection)proxy(Connection.class, new InvocationHandler() {
+		    public Object invoke(Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			if(name.equals("isValid") || name.equals("getAutoCommit"))
+			    return Boolean.TRUE;
+			if(name.equals("prepareStatement") || name.equals("prepareCall"))
+			    return statement((String)args[0]);
+			if(name.equals("getMetaData"))
+			    return proxy(DatabaseMetaData.class, new InvocationHandler() {
+				    public Object invoke(Object proxy, Method method, Object[] args) {
+					if(method.getName().equals("getProcedures"))
+					    return resultSet(new ArrayList<Map<String, Object>>());
+					return defaultValue(method.getReturnType());
+				    }
+				});
+			if(name.equals("commit"))
+			    commits++;
+			return defaultValue(method.getReturnType());
+		    }
+		});
+	}
+
+	CallableStatement statement(final String sql) {
+	    final Map<Integer, Object> parameters = new TreeMap<Integer, Object>();
+	    final List<Map<Integer, Object>> batch = new ArrayList<Map<Integer, Object>>();
+	    return (CallableStatement)proxy(CallableStatement.class, new InvocationHandler() {
+		    public Object invoke(Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			if(name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+			    parameters.put((Integer)args[0], name.equals("setNull") ? null : args[1]);
+			}
+			else if(name.equals("addBatch")) {
+			    batch.add(new TreeMap<Integer, Object>(parameters));
+			}
+			else if(name.equals("executeBatch")) {
+			    for(Map<Integer, Object> values : batch)
+				update(sql, values);
+			    int[] counts = new int[batch.size()];
+			    batch.clear();
+			    return counts;
+			}
+			else if(name.equals("execute")) {
+			    update(sql, parameters);
+			}
+			else if(name.equals("executeQuery")) {
+			    return query(sql, parameters);
+			}
+			return defaultValue(method.getReturnType());
+		    }
+		});
+	}
+
+	void update(String sql, Map<Integer, Object> parameters) {
+	    executed.add(new Execution(sql, parameters.values()));
+	    if(sql.startsWith("INSERT INTO named_object")) {
+		int objectID = (Integer)parameters.get(1);
+		put(objectID, (String)parameters.get(2), (String)parameters.get(3));
+		inserted.add(objectID);
+	    }
+	    else if(sql.startsWith("UPDATE")) {
+		// values of the row followed by its object ID
+		List<Object> values = new ArrayList<Object>(parameters.values());
+		Object objectID = values.remove(values.size() - 1);
+		rows.get(objectID).put("values", values);
+	    }
+	}
+
+	ResultSet query(String sql, Map<Integer, Object> parameters) {
+	    executed.add(new Execution(sql, parameters.values()));
+	    List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+	    if(sql.contains("MAX(object_id)")) {
+		Map<String, Object> row = new LinkedHashMap<String, Object>();
+		row.put("max", rows.isEmpty() ? null : rows.lastKey());
+		result.add(row);
+	    }
+	    else if(sql.contains("persistent_id = ?")) {
+		for(Map<String, Object> row : rows.values()) {
+		    if(row.get("persistent_id").equals(parameters.get(1))) {
+			Map<String, Object> objectID = new LinkedHashMap<String, Object>();
+			objectID.put("object_id", row.get("object_id"));
+			result.add(objectID);
+		    }
+		}
+	    }
+	    else if(sql.contains(" IN (")) {
+		String table = null;
+		if(sql.contains(" JOIN "))
+		    table = sql.substring(sql.indexOf(" JOIN ") + 6).split(" ")[0];
+		for(Object objectID : new HashSet<Object>(parameters.values())) {
+		    Map<String, Object> row = rows.get(objectID);
+		    if(row != null
+		       && (table == null || table.equals(((String)row.get("object_type")).toLowerCase())))
+			result.add(row);
+		}
+	    }
+	    return resultSet(result);
+	}
+
+	ResultSet resultSet(final List<Map<String, Object>> result) {
+	    return (ResultSet)proxy(ResultSet.class, new InvocationHandler() {
+		    int cursor = -1;
+		    boolean wasNull = result.isEmpty();
+		    public Object invoke(Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			if(name.equals("next"))
+			    return ++cursor < result.size();
+			if(name.equals("wasNull"))
+			    return wasNull;
+			if(!name.startsWith("get") || args == null || args.length != 1)
+			    return defaultValue(method.getReturnType());
+
+			Map<String, Object> row = result.get(cursor);
+			Object value = (args[0] instanceof Integer) ?
+			    new ArrayList<Object>(row.values()).get((Integer)args[0] - 1) : row.get(args[0]);
+			wasNull = (value == null);
+			if(name.equals("getInt"))
+			    return wasNull ? 0 : ((Number)value).intValue();
+			if(name.equals("getString"))
+			    return wasNull ? null : value.toString();
+			return null;
+		    }
+		});
+	}
+
+	public Connection getConnection(String user, String password) { return getConnection(); }
+	public PrintWriter getLogWriter() { return null; }
+	public void setLogWriter(PrintWriter out) { }
+	public void setLoginTimeout(int seconds) { }
+	public int getLoginTimeout() { return 0; }
+	public Logger getParentLogger() { return null; }
+	public <T> T unwrap(Class<T> iface) { return null; }
+	public boolean isWrapperFor(Class<?> iface) { return false; }
+    }
+
+    protected NamedObjectConnectionPool createPool(TestDataSource source) {
+	return new NamedObjectConnectionPool(source, "test" + databases.incrementAndGet(), null, 2);
+    }
+
+    protected List<Execution> getExecutions(TestDataSource source, String prefix) {
+	List<Execution> executions = new ArrayList<Execution>();
+	for(Execution execution : source.executed) {
+	    if(execution.sql.startsWith(prefix))
+		executions.add(execution);
+	}
+	return executions;
+    }
+
+    /**
+     * Returns values set to the row of {@code objectID} after insertion
+     */
+    protected List<?> getValues(TestDataSource source, int objectID) {
+	return (List<?>)source.rows.get(objectID).get("values");
+    }
+
+    /**
+     * Puts a chain of NameUsages 10 < 11 < 12 where 10 appears in
+     * Appearance 20 in Publication 21
+     */
+    protected void putHierarchy(TestDataSource source) {
+	source.put(10, "NameUsage", "Felis catus").put("literal", "Felis catus");
+	source.rows.get(10).put("appearance", 20);
+	source.rows.get(10).put("higher_taxon", 11);
+	source.put(11, "NameUsage", "Felis").put("literal", "Felis");
+	source.rows.get(11).put("higher_taxon", 12);
+	source.put(12, "NameUsage", "Felidae").put("literal", "Felidae");
+	source.put(20, "Appearance", "Appearance::1").put("publication", 21);
+	source.put(21, "Publication", "Publication::1");
+    }
+
+    @Test
+    public void fetchInPaddedChunks() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	for(int i = 1; i <= 5; i++)
+	    source.put(i, "Publication", "Publication::" + i).put("year", Integer.toString(2000 + i));
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	Map<Integer, NamedObject<?>> objects =
+	    connection.getNamedObjects(Arrays.asList(3, 1, 5, 2, 4), 0, 2);
+	assertThat(new ArrayList<Integer>(objects.keySet()), is(Arrays.asList(3, 1, 5, 2, 4)));
+	assertThat(((Publication)objects.get(5)).getYear(), is("2005"));
+
+	List<Execution> types = getExecutions(source, "SELECT object_id, object_type");
+	List<Execution> publications = getExecutions(source, "SELECT *");
+	assertThat(types.size(), is(3));
+	assertThat(publications.size(), is(3));
+	// a short chunk repeats its last object ID to share the statement
+	assertThat(types.get(2).parameters, is(Arrays.<Object>asList(4, 4)));
+	assertThat(publications.get(2).parameters.size(), is(2));
+
+	// cached ones are not queried again
+	source.executed.clear();
+	assertThat(connection.getNamedObjects(Arrays.asList(1, 2), 0, 2).get(1),
+		   is(sameInstance(objects.get(1))));
+	assertThat(source.executed.isEmpty(), is(true));
+    }
+
+    @Test
+    public void resolveBreadthFirst() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	putHierarchy(source);
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	NameUsage<?> species =
+	    (NameUsage<?>)connection.getNamedObjects(Arrays.asList(10), 0).get(10);
+	NameUsage<?> genus = species.getHigherNameUsage();
+	assertThat(genus.getLiteral(), is("Felis"));
+	assertThat(genus.getHigherNameUsage().getLiteral(), is("Felidae"));
+	assertThat(species.getAppearance().getPublication(), is(notNullValue()));
+	assertThat(connection.getNamedObjects(Arrays.asList(11), 0).get(11),
+		   is(sameInstance((Object)genus)));
+
+	// a query of types per level, and no query per object
+	List<Execution> types = getExecutions(source, "SELECT object_id, object_type");
+	assertThat(types.size(), is(3));
+	assertThat(new HashSet<Object>(types.get(1).parameters), is(new HashSet<Object>(Arrays.asList(11, 20))));
+	assertThat(new HashSet<Object>(types.get(2).parameters), is(new HashSet<Object>(Arrays.asList(12, 21))));
+	for(Execution execution : source.executed) {
+	    if(execution.isSelect())
+		assertThat(execution.toString(), execution.sql.contains(" IN ("), is(true));
+	}
+    }
+
+    @Test
+    public void resolveNominally() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	putHierarchy(source);
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	NameUsage<?> species =
+	    (NameUsage<?>)connection.getNamedObjects(Arrays.asList(10), NamedObjectConnection.NOMINAL).get(10);
+	assertThat(species.getHigherNameUsage().getLiteral(), is("Felis"));
+	assertThat(species.getAppearance(), is(notNullValue()));
+
+	// persistent IDs of references are queried at once, without loading them
+	List<Execution> types = getExecutions(source, "SELECT object_id, object_type");
+	assertThat(types.size(), is(2));
+	assertThat(new HashSet<Object>(types.get(1).parameters), is(new HashSet<Object>(Arrays.asList(11, 20))));
+	assertThat(getExecutions(source, "SELECT *").size(), is(1));
+    }
+
+    protected Publication createPublication(String title) {
+	Publication publication = new Publication();
+	publication.setCitationTitle(title);
+	publication.setYear("2026");
+	return publication;
+    }
+
+    @Test
+    public void insertInChunks() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	source.put(100, "Publication", "Publication::100");
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	List<Publication> publications = new ArrayList<Publication>();
+	for(int i = 0; i < 5; i++)
+	    publications.add(createPublication("Journal " + i));
+	BulkInsertResult result = connection.insert(publications, 2);
+	assertThat(result.getInsertedCount(), is(5));
+	assertThat(result.getChunkCount(), is(3));
+	assertThat(source.commits, is(3));
+	assertThat(source.inserted, is(Arrays.asList(101, 102, 103, 104, 105)));
+	assertThat(connection.getObjectID(publications.get(4)), is(105));
+
+	// inserted ones are skipped
+	result = connection.insert(publications, 2);
+	assertThat(result.getInsertedCount(), is(0));
+	assertThat(result.getSkippedCount(), is(5));
+    }
+
+    @Test
+    public void insertReferredFirst() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	Publication journal = createPublication("Journal");
+	Publication issue = createPublication("Issue");
+	issue.setContainer(journal);
+	Appearance appearance = new Appearance();
+	appearance.setPages("1");
+	appearance.setPublication(issue);
+
+	BulkInsertResult result = connection.insert(Arrays.asList(appearance), 1);
+	assertThat(result.getInsertedCount(), is(3));
+	int journalID = connection.getObjectID(journal);
+	int issueID = connection.getObjectID(issue);
+	int appearanceID = connection.getObjectID(appearance);
+	assertThat(source.inserted, is(Arrays.asList(journalID, issueID, appearanceID)));
+	assertThat(getValues(source, issueID).contains(journalID), is(true));
+	assertThat(getValues(source, appearanceID).contains(issueID), is(true));
+	// nothing is inserted by a transaction of its own
+	assertThat(getExecutions(source, "BEGIN").isEmpty(), is(true));
+    }
+
+    @Test
+    public void lookUpReferredInDatabase() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	Publication journal = createPublication("Journal");
+	source.put(7, "Publication", journal.getLiteral());
+	NamedObjectConnection<?> connection = createPool(source).getConnection();
+
+	Publication issue = createPublication("Issue");
+	issue.setContainer(journal);
+	assertThat(connection.insert(Arrays.asList(issue), 10).getInsertedCount(), is(1));
+	assertThat(source.inserted, is(Arrays.asList(8)));
+	assertThat(getValues(source, 8).contains(7), is(true));
+    }
+
+    @Test
+    public void allocateDisjointObjectIDs() throws SQLException {
+	TestDataSource source = new TestDataSource();
+	source.put(100, "Publication", "Publication::100");
+	NamedObjectConnectionPool pool = createPool(source);
+	NamedObjectConnection<?> first = pool.getConnection();
+	NamedObjectConnection<?> second = pool.getConnection();
+	// neither range is committed yet
+	assertThat(first.allocateObjectIDs(10), is(101));
+	assertThat(second.allocateObjectIDs(10), is(111));
+    }
+}
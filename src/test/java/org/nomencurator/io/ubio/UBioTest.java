@@ -0,0 +1,171 @@
+/*
+ * UBioTest.java:  testcases of UBio
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.io.ubio;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.nomencurator.model.NameUsage;
+import org.nomencurator.model.Publication;
+
+import org.nomencurator.model.ubio.UBioNameUsageNode;
+
+import org.ubio.io.xml.XMLWebService;
+
+import org.ubio.model.ClassificationBankObject;
+import org.ubio.model.ClassificationNode;
+
+/**
+ * Unit test for UBio, using a stand-in of the uBio service which
+ * returns a complete tree of classification bank objects
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class UBioTest
+{
+    /** Number of children of each node */
+    protected static final int BRANCHES = 3;
+
+    /** IDs of nodes below this are leaves */
+    protected static final int LEAVES = 1000;
+
+    /**
+     * {@code XMLWebService} counting lookups of each classification bank ID,
+     * where node {@code id} has children {@code id * 10 + 1} to {@code id * 10 + BRANCHES}.
+     */
+    protected static class CountingService
+	extends XMLWebService
+    {
+	protected Map<Integer, AtomicInteger> lookups = new ConcurrentHashMap<Integer, AtomicInteger>();
+
+	public CountingService()
+	    throws Exception
+	{
+	    super("test");
+	}
+
+	public ClassificationBankObject classificationBankObject(int classificationBankID,
+								 boolean includeLowerTaxa,
+								 boolean includeHigherTaxa,
+								 boolean includeBibliographies,
+								 boolean includeSynonyms)
+	{
+	    lookups.computeIfAbsent(classificationBankID, id -> new AtomicInteger()).incrementAndGet();
+	    ClassificationBankObject object = new ClassificationBankObject(classificationBankID);
+	    object.setChildren(classificationBankID < LEAVES ? children(classificationBankID) : null);
+	    return object;
+	}
+
+	public int getLookups()
+	{
+	    int total = 0;
+	    for(AtomicInteger count : lookups.values())
+		total += count.get();
+	    return total;
+	}
+    }
+
+    protected static List<ClassificationNode> children(int parent)
+    {
+	List<ClassificationNode> children = new ArrayList<ClassificationNode>(BRANCHES);
+	for(int i = 1; i <= BRANCHES; i++) {
+	    ClassificationNode child = new ClassificationNode();
+	    child.setClassificationBankID(parent * 10 + i);
+	    child.setNameString("taxon" + (parent * 10 + i));
+	    child.setRankName("genus");
+	    children.add(child);
+	}
+	return children;
+    }
+
+    protected static int count(List<? extends NameUsage<UBioNameUsageNode>> nodes)
+    {
+	if(nodes == null)
+	    return 0;
+	int count = nodes.size();
+	for(NameUsage<UBioNameUsageNode> node : nodes)
+	    count += count(node.getLowerNameUsages());
+	return count;
+    }
+
+    @Test
+    public void getLowerNameUsagesLooksUpEachNodeOnce() throws Exception {
+	CountingService service = new CountingService();
+	UBio ubio = new UBio("test");
+	ubio.setXmlWebService(service);
+	ubio.setConcurrency(4);
+
+	// three levels of 3, 9 and 27 nodes, of which the upper two are looked up
+	List<UBioNameUsageNode> lowers = ubio.getLowerNameUsages(children(1), 3, null, new Publication());
+	assertThat(lowers.size(), is(BRANCHES));
+	assertThat(count(lowers), is(3 + 9 + 27));
+	assertThat(service.lookups.size(), is(3 + 9));
+	for(AtomicInteger lookups : service.lookups.values())
+	    assertThat(lookups.get(), is(1));
+
+	ubio.getLowerNameUsages(children(1), 3, null, new Publication());
+	assertThat(service.getLookups(), is(3 + 9));
+
+	ubio.clear();
+	assertThat(ubio.getClassificationBankObjects().size(), is(0));
+	ubio.getLowerNameUsages(children(1), 2, null, new Publication());
+	assertThat(service.getLookups(), is(3 + 9 + 3));
+    }
+
+    @Test
+    public void getLowerNameUsagesToLeaves() throws Exception {
+	CountingService service = new CountingService();
+	UBio ubio = new UBio("test");
+	ubio.setXmlWebService(service);
+
+	// nodes of the third level are leaves
+	List<UBioNameUsageNode> lowers = ubio.getLowerNameUsages(children(1), -1, null, new Publication());
+	assertThat(count(lowers), is(3 + 9 + 27));
+	assertThat(service.getLookups(), is(3 + 9 + 27));
+	List<NameUsage<UBioNameUsageNode>> leaves =
+	    lowers.get(0).getLowerNameUsages().get(0).getLowerNameUsages().get(0).getLowerNameUsages();
+	assertThat(leaves == null || leaves.isEmpty(), is(true));
+    }
+
+    @Test
+    public void classificationBankObjectServesNarrowerLookups() throws Exception {
+	CountingService service = new CountingService();
+	UBio ubio = new UBio("test");
+	ubio.setXmlWebService(service);
+
+	ClassificationBankObject object = ubio.classificationBankObject(12, true, true, true, true);
+	assertThat(ubio.classificationBankObject(12, true, false, false, false), is(sameInstance(object)));
+	assertThat(service.getLookups(), is(1));
+	ubio.classificationBankObject(13, true, false, false, false);
+	ubio.classificationBankObject(13, true, true, true, true);
+	assertThat(service.getLookups(), is(3));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * AbstractNamedObjectTest.java:  testcases of AbstractNamedObject equality
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.model;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for Equality modes and persistent IDs of AbstractNamedObject
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class AbstractNamedObjectTest
+{
+    @After
+    public void tearDown() {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.CONTENTS);
+    }
+
+    protected DefaultNameUsage create(String name) {
+	DefaultNameUsage nameUsage = new DefaultNameUsage();
+	nameUsage.setRankLiteral("species");
+	nameUsage.setLiteral(name);
+	return nameUsage;
+    }
+
+    @Test
+    public void equalsByPersistentID() {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.PERSISTENT_ID);
+	DefaultNameUsage a = create("Homo sapiens");
+	DefaultNameUsage b = create("Homo sapiens");
+	b.setNotes("different notes");
+	assertThat(a.equals(b), is(true));
+	assertThat(a.hashCode(), is(b.hashCode()));
+	assertThat(a.equals(create("Pan troglodytes")), is(false));
+
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.CONTENTS);
+	assertThat(a.equals(b), is(false));
+    }
+
+    @Test
+    public void invalidateOnMutation() {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.PERSISTENT_ID);
+	DefaultNameUsage nameUsage = create("Homo sapiens");
+	int hash = nameUsage.hashCode();
+	nameUsage.setLiteral("Pan troglodytes");
+	assertThat(nameUsage.hashCode() == hash, is(false));
+
+	Map<DefaultNameUsage, String> map = new HashMap<DefaultNameUsage, String>();
+	map.put(nameUsage, "chimpanzee");
+	assertThat(map.get(create("Pan troglodytes")), is("chimpanzee"));
+
+	nameUsage.setRankLiteral("subspecies");
+	assertThat(nameUsage.equals(create("Pan troglodytes")), is(false));
+    }
+
+    @Test
+    public void cachePersistentID() {
+	Publication publication = new Publication();
+	publication.setAuthorNames("Linnaeus");
+	publication.setYear("1758");
+	Appearance appearance = new Appearance(publication, "20", null, null);
+
+	String pid = appearance.getPersistentID();
+	assertThat(appearance.getPersistentID(), is(sameInstance(pid)));
+	assertThat(pid.contains("Linnaeus"), is(true));
+	PersistentIDKey key = appearance.getPersistentIDKey();
+
+	// modification of the Publication changes the Appearance's persistent ID
+	publication.setYear("1759");
+	assertThat(appearance.getPersistentID().contains("1759"), is(true));
+	assertThat(appearance.getPersistentIDKey().equals(key), is(false));
+
+	publication.setYear("1758");
+	assertThat(appearance.getPersistentID(), is(pid));
+	assertThat(appearance.getPersistentIDKey(), is(key));
+    }
+
+    @Test
+    public void keepPersistentIDOnComparison() {
+	AbstractNamedObject.setEquality(AbstractNamedObject.Equality.PERSISTENT_ID);
+	DefaultNameUsage a = create("Homo sapiens");
+	DefaultNameUsage b = create("Pan troglodytes");
+	String pid = a.getPersistentID();
+	final int[] events = {0};
+	a.addPropertyChangeListener(event -> events[0]++);
+
+	// neither comparison nor modification of another object discards the cache
+	assertThat(a.equals(b), is(false));
+	a.hashCode();
+	b.setLiteral("Pan paniscus");
+	assertThat(a.getPersistentID(), is(sameInstance(pid)));
+	assertThat(events[0], is(0));
+    }
+
+    @Test
+    public void invalidateDependentPersistentID() {
+	Publication publication = new Publication();
+	publication.setAuthorNames("Linnaeus");
+	publication.setYear("1758");
+	Appearance appearance = new Appearance(publication, "20", null, null);
+	DefaultNameUsage nameUsage = create("Homo sapiens");
+	nameUsage.setAppearance(appearance);
+	DefaultNameUsage unrelated = create("Pan troglodytes");
+
+	String pid = nameUsage.getPersistentID();
+	String unrelatedPID = unrelated.getPersistentID();
+	assertThat(pid.contains("1758"), is(true));
+
+	// modification of the Publication reaches the NameUsage through the Appearance
+	publication.setYear("1759");
+	assertThat(nameUsage.getPersistentID().contains("1759"), is(true));
+	assertThat(unrelated.getPersistentID(), is(sameInstance(unrelatedPID)));
+
+	// a replaced Appearance no longer affects the NameUsage
+	nameUsage.setAppearance(new Appearance(new Publication(), "21", null, null));
+	pid = nameUsage.getPersistentID();
+	appearance.setPages("22");
+	assertThat(nameUsage.getPersistentID(), is(sameInstance(pid)));
+    }
+
+    @Test
+    public void persistentIDKey() {
+	PersistentIDKey key = PersistentIDKey.valueOf("NameUsage#species_Homo sapiens_");
+	assertThat(key, is(PersistentIDKey.valueOf("NameUsage#species_Homo sapiens_")));
+	assertThat(key.equals(PersistentIDKey.valueOf("NameUsage#species_Homo sapiens__")), is(false));
+	assertThat(PersistentIDKey.valueOf(key.toByteArray()), is(key));
+	assertThat(key.toString().length(), is(2 * PersistentIDKey.BYTES));
+	assertThat(key.compareTo(PersistentIDKey.valueOf(key.toByteArray())), is(0));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * FuzzyNameResolverTest.java:  testcases of FuzzyNameResolver
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit test for FuzzyNameResolver
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class FuzzyNameResolverTest
+{
+    protected DefaultNameUsage createNameUsage(String literal, String rank) {
+	DefaultNameUsage nameUsage = new DefaultNameUsage();
+	nameUsage.setLiteral(literal);
+	nameUsage.setRankLiteral(rank);
+	return nameUsage;
+    }
+
+    protected FuzzyNameResolver createResolver() {
+	FuzzyNameResolver resolver = new FuzzyNameResolver();
+	resolver.put(createNameUsage("Homo sapiens", "species"));
+	resolver.put(createNameUsage("Homo erectus", "species"));
+	resolver.put(createNameUsage("Hominidae", "family"));
+	return resolver;
+    }
+
+    @Test
+    public void resolveMisspelt() {
+	FuzzyNameResolver resolver = createResolver();
+	resolver.setThreshold(0.6);
+	List<NameUsage> resolved = resolver.resolve("homo  Sapeins", null, NameUsage.class);
+	assertThat(resolved.size(), is(1));
+	assertThat(resolved.get(0).getLiteral(), is("Homo sapiens"));
+	assertThat(resolver.getStatistics().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void missBelowThreshold() {
+	FuzzyNameResolver resolver = createResolver();
+	assertThat(resolver.resolve("Pan troglodytes", null, NameUsage.class).isEmpty(), is(true));
+	assertThat(resolver.resolve("Homo sapiens", null, Publication.class).isEmpty(), is(true));
+	assertThat(resolver.getStatistics().getMissCount(), is(2L));
+    }
+
+    @Test
+    public void filterByRank() {
+	FuzzyNameResolver resolver = createResolver();
+	List<FuzzyNameResolver.Match> matches = resolver.search("Hominidae", Rank.SPECIES, 10);
+	for(FuzzyNameResolver.Match match : matches) {
+	    assertThat(((NameUsage<?>)match.getName()).getRank(), is(Rank.SPECIES));
+	}
+	matches = resolver.search("Hominidae", Rank.FAMILY, 10);
+	assertThat(matches.get(0).getName().getLiteral(), is("Hominidae"));
+	assertThat(matches.get(0).getScore(), is(1.0));
+    }
+
+    @Test
+    public void getExactly() {
+	FuzzyNameResolver resolver = createResolver();
+	List<NameUsage> found = resolver.get("homo  Sapiens", null, NameUsage.class);
+	assertThat(found.size(), is(1));
+	assertThat(found.get(0).getLiteral(), is("Homo sapiens"));
+	assertThat(resolver.get("Homo sapien", null, NameUsage.class).isEmpty(), is(true));
+	assertThat(resolver.get("Homo sapiens", Rank.GENUS, NameUsage.class).isEmpty(), is(true));
+	assertThat(resolver.getStatistics().getMissCount(), is(0L));
+    }
+
+    @Test
+    public void boundKeys() {
+	FuzzyNameResolver resolver = new FuzzyNameResolver();
+	resolver.setMaximumSize(8);
+	List<DefaultNameUsage> held = new ArrayList<DefaultNameUsage>();
+	for(int i = 0; i < 20; i++) {
+	    DefaultNameUsage nameUsage = createNameUsage("Homo species" + i, "species");
+	    held.add(nameUsage);
+	    resolver.put(nameUsage);
+	    assertThat(resolver.size() <= 8, is(true));
+	}
+	assertThat(resolver.getStatistics().getEvictionCount() > 0, is(true));
+	assertThat(resolver.get("Homo species19", null, NameUsage.class).size(), is(1));
+    }
+}
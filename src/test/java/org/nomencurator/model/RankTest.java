@@ -0,0 +1,104 @@
+/*
+ * RankTest.java:  testcases of Rank ordering
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import org.nomencurator.model.util.RankComparator;
+
+/**
+ * Unit test for ordinals of Rank
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class RankTest
+{
+    @Test
+    public void compareSortedRanks() {
+	assertThat(Rank.FAMILY.isHigher(Rank.GENUS), is(true));
+	assertThat(Rank.GENUS.isLower(Rank.FAMILY), is(true));
+	assertThat(Rank.get("superfamily").isHigher(Rank.FAMILY), is(true));
+	assertThat(Rank.get("subfamily").isLower(Rank.FAMILY), is(true));
+
+	Rank division = Rank.get("division");
+	assertThat(division.getOrdinal(), is(Rank.PHYLUM.getOrdinal()));
+	assertThat(division.isHigher(Rank.PHYLUM), is(false));
+	assertThat(division.isLower(Rank.PHYLUM), is(false));
+
+	assertThat(Rank.UNRANKED.getOrdinal(), is(-1));
+	assertThat(new RankComparator().compare(Rank.FAMILY, Rank.GENUS) > 0, is(true));
+    }
+
+    @Test
+    public void updateOrdinalsOnPut() {
+	Rank rank = new Rank("hyperfamily", null, Rank.get("superfamily"));
+	assertThat(rank.getOrdinal(), is(-1));
+	int family = Rank.FAMILY.getOrdinal();
+
+	Rank.put(rank);
+	try {
+	    assertThat(Rank.get("hyperfamily"), is(sameInstance(rank)));
+	    assertThat(rank.isHigher(Rank.get("superfamily")), is(true));
+	    assertThat(Rank.FAMILY.getOrdinal(), is(family + 1));
+	}
+	finally {
+	    Rank.remove(rank);
+	}
+	assertThat(rank.getOrdinal(), is(-1));
+	assertThat(Rank.FAMILY.getOrdinal(), is(family));
+    }
+
+    @Test
+    public void leaveParallelRanksUnordered() {
+	Rank strain = Rank.get("strain");
+	Rank subspecies = Rank.get("subspecies");
+	assertThat(strain.isOrderedWith(subspecies), is(false));
+	assertThat(strain.isHigher(subspecies), is(false));
+	assertThat(strain.isLower(subspecies), is(false));
+	assertThat(subspecies.isHigher(strain), is(false));
+	assertThat(subspecies.isLower(strain), is(false));
+
+	// both are in a chain with species
+	assertThat(strain.isLower(Rank.SPECIES), is(true));
+	assertThat(Rank.SPECIES.isHigher(subspecies), is(true));
+    }
+
+    @Test
+    public void updateOrdinalsOnLink() {
+	Rank rank = new Rank("hypofamily", null, null);
+	Rank.put(rank);
+	try {
+	    assertThat(rank.isOrderedWith(Rank.FAMILY), is(false));
+	    rank.setEquivalent(Rank.FAMILY);
+	    assertThat(rank.getOrdinal(), is(Rank.FAMILY.getOrdinal()));
+	    assertThat(rank.isOrderedWith(Rank.GENUS), is(true));
+	    rank.setEquivalent(null);
+	    assertThat(rank.isOrderedWith(Rank.GENUS), is(false));
+	}
+	finally {
+	    Rank.remove(rank);
+	}
+    }
+}
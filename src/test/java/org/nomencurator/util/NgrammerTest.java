@@ -0,0 +1,110 @@
+/*
+ * NgrammerTest.java:  testcases of Ngrammer
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.List;
+
+/**
+ * Unit test for Ngrammer
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class NgrammerTest
+{
+    protected Ngrammer createIndex() {
+	Ngrammer ngrammer = new Ngrammer();
+	ngrammer.put("Homo sapiens");
+	ngrammer.put("Homo erectus");
+	ngrammer.put("Pan troglodytes");
+	ngrammer.put("Pan paniscus");
+	ngrammer.put("Homo sapiens");
+	return ngrammer;
+    }
+
+    @Test
+    public void searchMisspelt() {
+	Ngrammer ngrammer = createIndex();
+	assertThat(ngrammer.size(), is(4));
+
+	List<Ngrammer.Match> matches = ngrammer.search("Homo sapeins", 2);
+	assertThat(matches.size(), is(2));
+	assertThat(matches.get(0).getItem(), is((Object)"Homo sapiens"));
+	assertThat(matches.get(1).getItem(), is((Object)"Homo erectus"));
+	assertThat(matches.get(0).getScore() > matches.get(1).getScore(), is(true));
+    }
+
+    @Test
+    public void scoreExactMatch() {
+	Ngrammer ngrammer = createIndex();
+	assertThat(ngrammer.search("Pan paniscus", 1).get(0).getScore(), is(1.0));
+
+	ngrammer.setSimilarity(Ngrammer.Similarity.JACCARD);
+	assertThat(ngrammer.search("Pan paniscus", 1).get(0).getScore(), is(1.0));
+    }
+
+    @Test
+    public void scoreDiceAndJaccard() {
+	Ngrammer ngrammer = new Ngrammer(2);
+	ngrammer.put("abcd");
+	// ab bc cd d against ab bc cx x
+	Ngrammer.Match match = ngrammer.search("abcx", 1).get(0);
+	assertThat(match.getScore(), is(2.0 * 2 / 8));
+
+	ngrammer.setSimilarity(Ngrammer.Similarity.JACCARD);
+	match = ngrammer.search("abcx", 1).get(0);
+	assertThat(match.getScore(), is(2.0 / 6));
+    }
+
+    @Test
+    public void applyMinimumScore() {
+	Ngrammer ngrammer = createIndex();
+	ngrammer.setMinimumScore(0.5);
+	List<Ngrammer.Match> matches = ngrammer.search("Homo sapeins", 10);
+	assertThat(matches.size(), is(1));
+	assertThat(ngrammer.search("Quercus", 10).isEmpty(), is(true));
+    }
+
+    @Test
+    public void reindexByKeyLength() {
+	Ngrammer ngrammer = createIndex();
+	ngrammer.setKeyLength(2);
+	assertThat(ngrammer.search("Pan troglodites", 1).get(0).getItem(), is((Object)"Pan troglodytes"));
+	assertThat(ngrammer.lookup("Pan").size(), is(2));
+    }
+
+    @Test
+    public void repeatSearch() {
+	Ngrammer ngrammer = createIndex();
+	double score = ngrammer.search("Homo sapeins", 1).get(0).getScore();
+	// counts of a search are not carried over to the next
+	assertThat(ngrammer.search("Homo sapeins", 1).get(0).getScore(), is(score));
+	ngrammer.put("Homo neanderthalensis");
+	assertThat(ngrammer.search("Homo sapeins", 1).get(0).getScore(), is(score));
+	assertThat(ngrammer.search("Homo neanderthalensis", 1).get(0).getScore(), is(1.0));
+	assertThat(ngrammer.search("Pan paniscus", 1).get(0).getScore(), is(1.0));
+    }
+}
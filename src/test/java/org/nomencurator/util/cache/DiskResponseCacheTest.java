@@ -0,0 +1,251 @@
+/*
+ * DiskResponseCacheTest.java:  testcases of DiskResponseCache
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit test for DiskResponseCache, using file URLs as a stand-in of web services
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class DiskResponseCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected String read(InputStream in) throws IOException {
+	try {
+	    ByteArrayOutputStream out = new ByteArrayOutputStream();
+	    DiskResponseCache.copy(in, out);
+	    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+	finally {
+	    in.close();
+	}
+    }
+
+    protected File createResource(String content) throws IOException {
+	File resource = folder.newFile();
+	Files.write(resource.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	return resource;
+    }
+
+    @Test
+    public void servedFromCache() throws IOException {
+	File resource = createResource("{\"key\":5231190}");
+	String url = resource.toURI().toURL().toString();
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+
+	assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	Files.write(resource.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+	assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	assertThat(cache.getStatistics().getHitCount(), is(1L));
+	assertThat(cache.getStatistics().getMissCount(), is(1L));
+    }
+
+    @Test
+    public void persistAcrossInstances() throws IOException {
+	File resource = createResource("{\"key\":5231190}");
+	String url = resource.toURI().toURL().toString();
+	File directory = folder.newFolder();
+	new DiskResponseCache(directory).get(url, "en");
+	resource.delete();
+
+	DiskResponseCache cache = new DiskResponseCache(directory);
+	cache.setOffline(true);
+	assertThat(cache.size(), is(1));
+	assertThat(read(cache.get(url, "en")), is("{\"key\":5231190}"));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void offlineWithoutEntry() throws IOException {
+	File resource = createResource("{}");
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	cache.setOffline(true);
+	cache.get(resource.toURI().toURL().toString(), null);
+    }
+
+    @Test
+    public void trimToMaxSize() throws IOException {
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder(), 1L);
+	cache.get(createResource("{\"key\":1}").toURI().toURL().toString(), null);
+	cache.get(createResource("{\"key\":2}").toURI().toURL().toString(), null);
+	assertThat(cache.size(), is(0));
+	assertThat(cache.getStatistics().getEvictionCount(), is(2L));
+    }
+
+    /**
+     * Starts a local HTTP server answering {@code status} given
+     * by the {@code AtomicInteger}, with a body if the status is 200
+     */
+    protected HttpServer serve(final AtomicInteger status) throws IOException {
+	HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+	server.createContext("/", new HttpHandler() {
+		public void handle(HttpExchange exchange) throws IOException {
+		    byte[] body = "{\"key\":5231190}".getBytes(StandardCharsets.UTF_8);
+		    int code = status.get();
+		    if(code == 200) {
+			exchange.sendResponseHeaders(code, body.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(body);
+			out.close();
+		    }
+		    else {
+			exchange.sendResponseHeaders(code, -1);
+			exchange.close();
+		    }
+		}
+	    });
+	server.start();
+	return server;
+    }
+
+    protected String getURL(HttpServer server) {
+	return "http://127.0.0.1:" + server.getAddress().getPort() + "/species/5231190";
+    }
+
+    @Test
+    public void staleWhileUnreachable() throws IOException {
+	HttpServer server = serve(new AtomicInteger(200));
+	String url = getURL(server);
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	cache.setMaxAge(0);
+	try {
+	    cache.get(url, null).close();
+	}
+	finally {
+	    server.stop(0);
+	}
+	assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void evictOnNotFound() throws IOException {
+	AtomicInteger status = new AtomicInteger(200);
+	HttpServer server = serve(status);
+	String url = getURL(server);
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	cache.setMaxAge(0);
+	try {
+	    cache.get(url, null).close();
+	    status.set(404);
+	    try {
+		cache.get(url, null);
+		fail("stale entry served for 404");
+	    }
+	    catch (FileNotFoundException e) {
+	    }
+	    assertThat(cache.size(), is(0));
+	}
+	finally {
+	    server.stop(0);
+	}
+    }
+
+    @Test
+    public void errorNotHiddenByStaleEntry() throws IOException {
+	AtomicInteger status = new AtomicInteger(200);
+	HttpServer server = serve(status);
+	String url = getURL(server);
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	cache.setMaxAge(0);
+	try {
+	    cache.get(url, null).close();
+	    status.set(503);
+	    try {
+		cache.get(url, null);
+		fail("stale entry served for 503");
+	    }
+	    catch (IOException e) {
+	    }
+	    // the entry is kept for the service to recover
+	    assertThat(cache.size(), is(1));
+	}
+	finally {
+	    server.stop(0);
+	}
+    }
+
+    @Test
+    public void revalidateByETag() throws IOException {
+	final AtomicInteger requests = new AtomicInteger();
+	HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+	server.createContext("/", new HttpHandler() {
+		public void handle(HttpExchange exchange) throws IOException {
+		    requests.incrementAndGet();
+		    exchange.getResponseHeaders().set("ETag", "\"v1\"");
+		    if("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		    }
+		    byte[] body = "{\"key\":5231190}".getBytes(StandardCharsets.UTF_8);
+		    exchange.sendResponseHeaders(200, body.length);
+		    OutputStream out = exchange.getResponseBody();
+		    out.write(body);
+		    out.close();
+		}
+	    });
+	server.start();
+	String url = getURL(server);
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	try {
+	    cache.setMaxAge(0);
+	    assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	    assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	    assertThat(cache.getRevalidationCount(), is(1L));
+
+	    // the entry restamped by the revalidation is fresh again
+	    cache.setMaxAge(60L * 1000L);
+	    assertThat(read(cache.get(url, null)), is("{\"key\":5231190}"));
+	    assertThat(requests.get(), is(2));
+	}
+	finally {
+	    server.stop(0);
+	}
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * IdentityMapTest.java:  testcases of IdentityMap
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.nomencurator.util.cache;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+/**
+ * Unit test for IdentityMap
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class IdentityMapTest
+{
+    @Test
+    public void getAfterPut() {
+	IdentityMap<String> map = new IdentityMap<String>();
+	String one = new String("one");
+	assertThat(map.put(1, one), is(nullValue()));
+	assertThat(map.get(1), is(sameInstance(one)));
+	assertThat(map.get(2), is(nullValue()));
+	assertThat(map.getStatistics().getHitCount(), is(1L));
+	assertThat(map.getStatistics().getMissCount(), is(1L));
+    }
+
+    @Test
+    public void getKey() {
+	IdentityMap<String> map = new IdentityMap<String>();
+	String one = new String("one");
+	map.put(1, one);
+	assertThat(map.getKey(one, 0), is(1));
+	assertThat(map.getKey("two", 0), is(0));
+	map.put(1, "uno");
+	assertThat(map.getKey(one, 0), is(0));
+	assertThat(map.getKey("uno", 0), is(1));
+    }
+
+    @Test
+    public void remove() {
+	IdentityMap<String> map = new IdentityMap<String>();
+	String one = new String("one");
+	map.put(1, one);
+	assertThat(map.remove(1), is(sameInstance(one)));
+	assertThat(map.get(1), is(nullValue()));
+	assertThat(map.getKey(one, 0), is(0));
+	assertThat(map.size(), is(0));
+    }
+
+    @Test
+    public void grow() {
+	IdentityMap<Integer> map = new IdentityMap<Integer>(IdentityMap.Strength.SOFT, 10000, 4);
+	Integer[] values = new Integer[10000];
+	for(int i = 0; i < values.length; i++) {
+	    values[i] = Integer.valueOf(i);
+	    map.put(i - 5000, values[i]);
+	}
+	assertThat(map.size(), is(values.length));
+	for(int i = 0; i < values.length; i++) {
+	    assertThat(map.get(i - 5000), is(sameInstance(values[i])));
+	    assertThat(map.getKey(values[i], Integer.MIN_VALUE), is(i - 5000));
+	}
+    }
+
+    @Test
+    public void reclaimUnusedValues() throws InterruptedException {
+	IdentityMap<Object> map = new IdentityMap<Object>(IdentityMap.Strength.WEAK, 0, 1);
+	Object kept = new Object();
+	map.put(1, kept);
+	map.put(2, new Object());
+	for(int i = 0; i < 50 && map.size() > 1; i++) {
+	    System.gc();
+	    Thread.sleep(10);
+	    map.cleanUp();
+	}
+	assertThat(map.get(1), is(sameInstance(kept)));
+	assertThat(map.get(2), is(nullValue()));
+	assertThat(map.size(), is(1));
+	assertThat(map.getStatistics().getEvictionCount(), is(1L));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * SingleFlightTest.java:  testcases of SingleFlight
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for SingleFlight
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class SingleFlightTest
+{
+    @Test
+    public void coalesceConcurrentRequests() throws Exception {
+	final SingleFlight<Integer, String> flight = new SingleFlight<Integer, String>();
+	final AtomicInteger loads = new AtomicInteger();
+	final CountDownLatch release = new CountDownLatch(1);
+	final int threads = 4;
+
+	ExecutorService executor = Executors.newFixedThreadPool(threads);
+	List<Future<String>> results = new ArrayList<Future<String>>();
+	for(int i = 0; i < threads; i++) {
+	    results.add(executor.submit(new Callable<String>() {
+		    public String call() throws IOException {
+			return flight.execute(5231190, new Callable<String>() {
+				public String call() throws InterruptedException {
+				    loads.incrementAndGet();
+				    release.await();
+				    return "Puma concolor";
+				}
+			    });
+		    }
+		}));
+	}
+
+	while(flight.getExecutionCount() + flight.getCoalescedCount() < threads)
+	    Thread.sleep(10);
+	release.countDown();
+
+	for(Future<String> result : results)
+	    assertThat(result.get(), is("Puma concolor"));
+	executor.shutdown();
+	executor.awaitTermination(10, TimeUnit.SECONDS);
+
+	assertThat(loads.get(), is(1));
+	assertThat(flight.getCoalescedCount(), is((long)(threads - 1)));
+	assertThat(flight.getInFlightCount(), is(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void propagateIOException() throws IOException {
+	new SingleFlight<Integer, String>().execute(1, new Callable<String>() {
+		public String call() throws IOException {
+		    throw new IOException();
+		}
+	    });
+    }
+}
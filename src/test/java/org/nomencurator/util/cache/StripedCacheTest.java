@@ -0,0 +1,107 @@
+/*
+ * StripedCacheTest.java:  testcases of StripedCache
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.nomencurator.util.cache;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for StripedCache
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class StripedCacheTest
+{
+    @Test
+    public void getAfterPut() {
+	Cache<Integer, String> cache = new StripedCache<Integer, String>(100);
+	cache.put(1, "one");
+	assertThat(cache.get(1), is("one"));
+	assertThat(cache.get(2), is(nullValue()));
+	assertThat(cache.getStatistics().getHitCount(), is(1L));
+	assertThat(cache.getStatistics().getMissCount(), is(1L));
+    }
+
+    @Test
+    public void putIfAbsent() {
+	Cache<Integer, String> cache = new StripedCache<Integer, String>(100);
+	assertThat(cache.putIfAbsent(1, "one"), is(nullValue()));
+	assertThat(cache.putIfAbsent(1, "uno"), is("one"));
+	assertThat(cache.get(1), is("one"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+	final List<Integer> evicted = new ArrayList<Integer>();
+	Cache<Integer, String> cache =
+	    new StripedCache<Integer, String>(2, StripedCache.UNLIMITED, null, StripedCache.UNLIMITED, TimeUnit.SECONDS, 1);
+	cache.addEvictionListener(new EvictionListener<Integer, String>() {
+		public void entryEvicted(EvictionEvent<Integer, String> event) {
+		    if(event.getCause() == EvictionEvent.Cause.SIZE)
+			evicted.add(event.getKey());
+		}
+	    });
+	cache.put(1, "one");
+	cache.put(2, "two");
+	cache.get(1);
+	cache.put(3, "three");
+
+	assertThat(cache.size(), is(2));
+	assertThat(evicted, is(Arrays.asList(2)));
+	assertThat(cache.get(1), is("one"));
+	assertThat(cache.getStatistics().getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void boundByWeight() {
+	Cache<Integer, String> cache =
+	    new StripedCache<Integer, String>(-1, 10L, new Weigher<Integer, String>() {
+		    public int weigh(Integer key, String value) {
+			return value.length();
+		    }
+		}, StripedCache.UNLIMITED, TimeUnit.SECONDS, 1);
+	cache.put(1, "aaaa");
+	cache.put(2, "bbbb");
+	cache.put(3, "cccc");
+
+	assertThat(cache.size(), is(2));
+	assertThat(cache.getWeight(), is(8L));
+	assertThat(cache.get(1), is(nullValue()));
+    }
+
+    @Test
+    public void expire() throws InterruptedException {
+	Cache<Integer, String> cache = new StripedCache<Integer, String>(100, 10, TimeUnit.MILLISECONDS);
+	cache.put(1, "one");
+	Thread.sleep(20);
+	assertThat(cache.get(1), is(nullValue()));
+	assertThat(cache.getStatistics().getExpirationCount(), is(1L));
+    }
+}
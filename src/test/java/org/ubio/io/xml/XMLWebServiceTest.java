@@ -0,0 +1,184 @@
+/*
+ * XMLWebServiceTest.java:  testcases of XMLWebService
+ *
+ * Copyright (c) 2026 Nozomi `James' Ytow
+ * All rights reserved.
+ */
+
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ubio.io.xml;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.nomencurator.util.cache.DiskResponseCache;
+
+import org.ubio.io.ClassificationBankSearchResult;
+import org.ubio.io.NamebankSearchHandler;
+import org.ubio.io.NamebankSearchResult;
+
+import org.ubio.model.ServiceData;
+import org.ubio.model.ScientificName;
+import org.ubio.model.VernacularName;
+
+/**
+ * Unit test for XMLWebService, using files named after queries
+ * as a stand-in of the uBio service
+ *
+ * @version 	18 Oct. 2026
+ * @author 	Nozomi `James' Ytow
+ */
+public class XMLWebServiceTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected static final String NAMEBANK_SEARCH =
+	"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+	+ "<results>\n"
+	+ "<serviceData><currentVersion>2.0</currentVersion></serviceData>\n"
+	+ "<scientificNames>\n"
+	+ "<value><namebankID>2478598</namebankID><nameString>" + XMLWebService.encode("Homo sapiens") + "</nameString><rankName>species</rankName></value>\n"
+	+ "<value><namebankID>109086</namebankID><nameString>" + XMLWebService.encode("Homo") + "</nameString><rankName>genus</rankName></value>\n"
+	+ "</scientificNames>\n"
+	+ "<vernacularNames>\n"
+	+ "<value><namebankID>6062786</namebankID><nameString>" + XMLWebService.encode("human") + "</nameString><languageCode>en</languageCode></value>\n"
+	+ "</vernacularNames>\n"
+	+ "</results>\n";
+
+    protected static final String CLASSIFICATION_BANK_SEARCH =
+	"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+	+ "<results>\n"
+	+ "<seniorNames>\n"
+	+ "<value><classificationBankID>1001</classificationBankID><classificationTitleID>82</classificationTitleID><classificationTitle>ITIS</classificationTitle></value>\n"
+	+ "</seniorNames>\n"
+	+ "<juniorNames>\n"
+	+ "<value><classificationBankID>1002</classificationBankID><classificationTitleID>82</classificationTitleID><seniorClassificationBankID>1001</seniorClassificationBankID></value>\n"
+	+ "</juniorNames>\n"
+	+ "</results>\n";
+
+    protected XMLWebService createService(File directory) throws Exception {
+	return new XMLWebService(directory.toURI().toURL().toString(), "key");
+    }
+
+    protected void respond(XMLWebService service, String query, String response) throws IOException {
+	File file = new File(new java.net.URL(service.getQueryURL(query)).getPath());
+	Files.write(file.toPath(), response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void namebankSearch() throws Exception {
+	XMLWebService service = createService(folder.getRoot());
+	respond(service, service.namebankSearchQuery("Homo", null, null, XMLWebService.SORT_UNSPECIFIED, true, true), NAMEBANK_SEARCH);
+
+	NamebankSearchResult result = service.namebankSearch("Homo");
+	assertThat(result.getServiceData().getCurrentVersion(), is("2.0"));
+	assertThat(result.getScientificNames().size(), is(2));
+	assertThat(XMLWebService.decode(result.getScientificNames().get(0).getNameString()), is("Homo sapiens"));
+	assertThat(result.getScientificNames().get(1).getNamebankID(), is(109086));
+	assertThat(result.getVernacularNames().size(), is(1));
+	assertThat(result.getVernacularNames().get(0).getLanguageCode(), is("en"));
+    }
+
+    @Test
+    public void stopStreaming() throws Exception {
+	XMLWebService service = createService(folder.getRoot());
+	respond(service, service.namebankSearchQuery("Homo", null, null, XMLWebService.SORT_UNSPECIFIED, true, true), NAMEBANK_SEARCH);
+
+	final List<ScientificName> names = new ArrayList<ScientificName>();
+	service.namebankSearch("Homo", new NamebankSearchHandler() {
+		public void serviceData(ServiceData serviceData) {
+		}
+		public boolean scientificName(ScientificName scientificName) {
+		    names.add(scientificName);
+		    return false;
+		}
+		public boolean vernacularName(VernacularName vernacularName) {
+		    fail("parsed after stop");
+		    return true;
+		}
+	    });
+	assertThat(names.size(), is(1));
+    }
+
+    @Test
+    public void classificationBankSearch() throws Exception {
+	XMLWebService service = createService(folder.getRoot());
+	respond(service, service.classificationBankSearchQuery("2478598", null), CLASSIFICATION_BANK_SEARCH);
+
+	ClassificationBankSearchResult result = service.classificationBankSearch(2478598);
+	assertThat(result.getSeniorNames().size(), is(1));
+	assertThat(result.getSeniorNames().get(0).getClassificationBankID(), is(1001));
+	assertThat(result.getJuniorNames().size(), is(1));
+	assertThat(result.getJuniorNames().get(0).getSeniorClassificationBankID(), is(1001));
+    }
+
+    @Test
+    public void failures() throws Exception {
+	XMLWebService service = createService(folder.getRoot());
+	try {
+	    service.namebankSearch("Pan");
+	    fail("missing response accepted");
+	}
+	catch (FileNotFoundException e) {
+	}
+
+	String query = service.namebankSearchQuery("Homo", null, null, XMLWebService.SORT_UNSPECIFIED, true, true);
+	respond(service, query, "<results><scientificNames><value>");
+	try {
+	    service.namebankSearch("Homo");
+	    fail("malformed response accepted");
+	}
+	catch (IOException e) {
+	    assertThat(e.getCause() instanceof XMLStreamException, is(true));
+	}
+	try {
+	    service.namebankSearch("Homo", new NamebankSearchResult());
+	    fail("malformed response accepted");
+	}
+	catch (IOException e) {
+	}
+    }
+
+    @Test
+    public void responseCache() throws Exception {
+	XMLWebService service = createService(folder.newFolder());
+	DiskResponseCache cache = new DiskResponseCache(folder.newFolder());
+	service.setResponseCache(cache);
+	String query = service.namebankSearchQuery("Homo", null, null, XMLWebService.SORT_UNSPECIFIED, true, true);
+	respond(service, query, NAMEBANK_SEARCH);
+
+	assertThat(service.namebankSearch("Homo").getScientificNames().size(), is(2));
+	new File(new java.net.URL(service.getQueryURL(query)).getPath()).delete();
+	assertThat(service.namebankSearch("Homo").getScientificNames().size(), is(2));
+	assertThat(cache.getStatistics().getHitCount(), is(1L));
+    }
+}